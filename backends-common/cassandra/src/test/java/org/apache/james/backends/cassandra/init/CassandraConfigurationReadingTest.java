@@ -60,6 +60,7 @@ class CassandraConfigurationReadingTest {
                 .blobPartSize(9)
                 .attachmentV2MigrationReadTimeout(10)
                 .messageAttachmentIdsReadTimeout(11)
+                .flagsUpdateChunkSize(12)
                 .consistencyLevelRegular("LOCAL_QUORUM")
                 .consistencyLevelLightweightTransaction("LOCAL_SERIAL")
                 .build());
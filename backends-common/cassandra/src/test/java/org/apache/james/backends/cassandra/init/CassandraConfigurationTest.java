@@ -70,6 +70,20 @@ class CassandraConfigurationTest {
             .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void flagsUpdateChunkSizeShouldThrowOnNegativeValue() {
+        assertThatThrownBy(() -> CassandraConfiguration.builder()
+                .flagsUpdateChunkSize(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void flagsUpdateChunkSizeShouldThrowOnZero() {
+        assertThatThrownBy(() -> CassandraConfiguration.builder()
+                .flagsUpdateChunkSize(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void messageReadChunkSizeShouldThrowOnNegativeValue() {
         assertThatThrownBy(() -> CassandraConfiguration.builder()
@@ -209,6 +223,7 @@ class CassandraConfigurationTest {
         int blobPartSize = 10;
         int attachmentV2MigrationReadTimeout = 11;
         int messageAttachmentIdReadTimeout = 12;
+        int flagsUpdateChunkSize = 13;
         String consistencyLevelRegular = "LOCAL_QUORUM";
         String consistencyLevelLightweightTransaction = "LOCAL_SERIAL";
 
@@ -224,6 +239,7 @@ class CassandraConfigurationTest {
             .blobPartSize(blobPartSize)
             .attachmentV2MigrationReadTimeout(attachmentV2MigrationReadTimeout)
             .messageAttachmentIdsReadTimeout(messageAttachmentIdReadTimeout)
+            .flagsUpdateChunkSize(flagsUpdateChunkSize)
             .consistencyLevelRegular(consistencyLevelRegular)
             .consistencyLevelLightweightTransaction(consistencyLevelLightweightTransaction)
             .build();
@@ -240,6 +256,7 @@ class CassandraConfigurationTest {
             softly.assertThat(configuration.getBlobPartSize()).isEqualTo(blobPartSize);
             softly.assertThat(configuration.getAttachmentV2MigrationReadTimeout()).isEqualTo(attachmentV2MigrationReadTimeout);
             softly.assertThat(configuration.getMessageAttachmentIdsReadTimeout()).isEqualTo(messageAttachmentIdReadTimeout);
+            softly.assertThat(configuration.getFlagsUpdateChunkSize()).isEqualTo(flagsUpdateChunkSize);
             softly.assertThat(configuration.getConsistencyLevelRegular()).isEqualTo(consistencyLevelRegular);
             softly.assertThat(configuration.getConsistencyLevelLightweightTransaction()).isEqualTo(consistencyLevelLightweightTransaction);
         });
@@ -0,0 +1,148 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es.v7;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounds of the bulk requests built by {@link ElasticSearchBulkProcessor}.
+ *
+ * A bulk request is sent as soon as it holds maxActions operations or maxSizeInBytes of payload, and at worst maxDelay
+ * after its first operation was submitted. At most maxConcurrentRequests bulk requests are in flight at once.
+ */
+public class BulkProcessorConfiguration {
+
+    @FunctionalInterface
+    public interface RequireMaxActions {
+        RequireMaxSizeInBytes maxActions(int maxActions);
+    }
+
+    @FunctionalInterface
+    public interface RequireMaxSizeInBytes {
+        RequireMaxDelay maxSizeInBytes(long maxSizeInBytes);
+    }
+
+    @FunctionalInterface
+    public interface RequireMaxDelay {
+        RequireMaxConcurrentRequests maxDelay(Duration maxDelay);
+    }
+
+    @FunctionalInterface
+    public interface RequireMaxConcurrentRequests {
+        ReadyToBuild maxConcurrentRequests(int maxConcurrentRequests);
+    }
+
+    public static class ReadyToBuild {
+        private final int maxActions;
+        private final long maxSizeInBytes;
+        private final Duration maxDelay;
+        private final int maxConcurrentRequests;
+
+        private ReadyToBuild(int maxActions, long maxSizeInBytes, Duration maxDelay, int maxConcurrentRequests) {
+            this.maxActions = maxActions;
+            this.maxSizeInBytes = maxSizeInBytes;
+            this.maxDelay = maxDelay;
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public BulkProcessorConfiguration build() {
+            return new BulkProcessorConfiguration(maxActions, maxSizeInBytes, maxDelay, maxConcurrentRequests);
+        }
+    }
+
+    public static RequireMaxActions builder() {
+        return maxActions -> maxSizeInBytes -> maxDelay -> maxConcurrentRequests -> new ReadyToBuild(maxActions, maxSizeInBytes, maxDelay, maxConcurrentRequests);
+    }
+
+    public static final int DEFAULT_MAX_ACTIONS = 500;
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 5 * 1024 * 1024;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(20);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+    public static final BulkProcessorConfiguration DEFAULT = new BulkProcessorConfiguration(
+        DEFAULT_MAX_ACTIONS,
+        DEFAULT_MAX_SIZE_IN_BYTES,
+        DEFAULT_MAX_DELAY,
+        DEFAULT_MAX_CONCURRENT_REQUESTS);
+
+    private final int maxActions;
+    private final long maxSizeInBytes;
+    private final Duration maxDelay;
+    private final int maxConcurrentRequests;
+
+    private BulkProcessorConfiguration(int maxActions, long maxSizeInBytes, Duration maxDelay, int maxConcurrentRequests) {
+        Preconditions.checkArgument(maxActions > 0, "maxActions should be strictly positive");
+        Preconditions.checkArgument(maxSizeInBytes > 0, "maxSizeInBytes should be strictly positive");
+        Preconditions.checkArgument(!maxDelay.isNegative() && !maxDelay.isZero(), "maxDelay should be strictly positive");
+        Preconditions.checkArgument(maxConcurrentRequests > 0, "maxConcurrentRequests should be strictly positive");
+
+        this.maxActions = maxActions;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxDelay = maxDelay;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getMaxActions() {
+        return maxActions;
+    }
+
+    public long getMaxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof BulkProcessorConfiguration) {
+            BulkProcessorConfiguration that = (BulkProcessorConfiguration) o;
+
+            return Objects.equals(this.maxActions, that.maxActions)
+                && Objects.equals(this.maxSizeInBytes, that.maxSizeInBytes)
+                && Objects.equals(this.maxDelay, that.maxDelay)
+                && Objects.equals(this.maxConcurrentRequests, that.maxConcurrentRequests);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxActions, maxSizeInBytes, maxDelay, maxConcurrentRequests);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxActions", maxActions)
+            .add("maxSizeInBytes", maxSizeInBytes)
+            .add("maxDelay", maxDelay)
+            .add("maxConcurrentRequests", maxConcurrentRequests)
+            .toString();
+    }
+}
@@ -0,0 +1,159 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es.v7;
+
+import static reactor.core.publisher.Sinks.EmitFailureHandler.FAIL_FAST;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.action.ActionRequestValidationException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Coalesces the operations submitted by concurrent callers into shared bulk requests.
+ *
+ * Each caller only gets the items of its own operations back: the failure of an operation is reported to the caller
+ * that submitted it, without impacting the other operations of the same bulk request.
+ */
+public class ElasticSearchBulkProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElasticSearchBulkProcessor.class);
+
+    private static class Batch {
+        private final BulkRequest request;
+        private final List<Sinks.One<BulkItemResponse>> responses;
+        private Optional<Disposable> scheduledFlush;
+
+        Batch() {
+            this.request = new BulkRequest();
+            this.responses = new ArrayList<>();
+            this.scheduledFlush = Optional.empty();
+        }
+
+        void add(DocWriteRequest<?> operation, Sinks.One<BulkItemResponse> response) {
+            request.add(operation);
+            responses.add(response);
+        }
+
+        void complete(BulkResponse response) {
+            BulkItemResponse[] items = response.getItems();
+            for (int i = 0; i < responses.size(); i++) {
+                responses.get(i).tryEmitValue(items[i]);
+            }
+        }
+
+        void fail(Throwable throwable) {
+            responses.forEach(response -> response.tryEmitError(throwable));
+        }
+    }
+
+    private final ReactorElasticSearchClient client;
+    private final BulkProcessorConfiguration configuration;
+    private final Sinks.Many<Batch> readyBatches;
+    private Batch currentBatch;
+
+    public ElasticSearchBulkProcessor(ReactorElasticSearchClient client, BulkProcessorConfiguration configuration) {
+        this.client = client;
+        this.configuration = configuration;
+        this.readyBatches = Sinks.many().unicast().onBackpressureBuffer();
+        this.currentBatch = new Batch();
+
+        readyBatches.asFlux()
+            .flatMap(this::execute, configuration.getMaxConcurrentRequests())
+            .subscribe();
+    }
+
+    /**
+     * Submit the operations of the given request, that will be sent along with operations of other callers.
+     *
+     * @return a response made of the items of the given operations, in order.
+     */
+    public Mono<BulkResponse> bulk(BulkRequest request) {
+        return Mono.defer(() -> {
+            ActionRequestValidationException validationException = request.validate();
+            if (validationException != null) {
+                return Mono.error(validationException);
+            }
+            long start = System.nanoTime();
+            return Flux.concat(submit(request.requests()))
+                .collectList()
+                .map(items -> new BulkResponse(items.toArray(BulkItemResponse[]::new),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        });
+    }
+
+    private synchronized List<Mono<BulkItemResponse>> submit(List<DocWriteRequest<?>> operations) {
+        List<Mono<BulkItemResponse>> responses = new ArrayList<>(operations.size());
+        for (DocWriteRequest<?> operation : operations) {
+            Sinks.One<BulkItemResponse> response = Sinks.one();
+            currentBatch.add(operation, response);
+            responses.add(response.asMono());
+            scheduleFlush();
+        }
+        return responses;
+    }
+
+    private void scheduleFlush() {
+        Batch batch = currentBatch;
+        if (batch.request.numberOfActions() >= configuration.getMaxActions()
+            || batch.request.estimatedSizeInBytes() >= configuration.getMaxSizeInBytes()) {
+            flush(batch);
+        } else if (batch.scheduledFlush.isEmpty()) {
+            batch.scheduledFlush = Optional.of(Mono.delay(configuration.getMaxDelay())
+                .subscribe(any -> flushOnDelay(batch)));
+        }
+    }
+
+    private synchronized void flushOnDelay(Batch batch) {
+        if (currentBatch == batch) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        batch.scheduledFlush.ifPresent(Disposable::dispose);
+        currentBatch = new Batch();
+        readyBatches.emitNext(batch, FAIL_FAST);
+    }
+
+    private Mono<Void> execute(Batch batch) {
+        return client.bulk(batch.request, RequestOptions.DEFAULT)
+            .doOnNext(batch::complete)
+            .onErrorResume(e -> {
+                LOGGER.warn("Failed to execute a bulk request of {} operations", batch.request.numberOfActions(), e);
+                batch.fail(e);
+                return Mono.empty();
+            })
+            .then();
+    }
+}
@@ -19,8 +19,10 @@
 package org.apache.james.backends.es.v7;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
@@ -48,22 +50,51 @@ public class ElasticSearchIndexer {
     private final ReactorElasticSearchClient client;
     private final AliasName aliasName;
     private final DeleteByQueryPerformer deleteByQueryPerformer;
+    private final Optional<ElasticSearchBulkProcessor> bulkProcessor;
 
     public ElasticSearchIndexer(ReactorElasticSearchClient client,
                                 WriteAliasName aliasName) {
+        this(client, aliasName, Optional.empty());
+    }
+
+    /**
+     * Index, update and delete operations are sent as bulk requests shared with concurrent callers, as bounded by
+     * the given configuration.
+     */
+    public ElasticSearchIndexer(ReactorElasticSearchClient client,
+                                WriteAliasName aliasName,
+                                BulkProcessorConfiguration bulkProcessorConfiguration) {
+        this(client, aliasName, Optional.of(new ElasticSearchBulkProcessor(client, bulkProcessorConfiguration)));
+    }
+
+    private ElasticSearchIndexer(ReactorElasticSearchClient client,
+                                 WriteAliasName aliasName,
+                                 Optional<ElasticSearchBulkProcessor> bulkProcessor) {
         this.client = client;
         this.deleteByQueryPerformer = new DeleteByQueryPerformer(client, aliasName);
         this.aliasName = aliasName;
+        this.bulkProcessor = bulkProcessor;
     }
 
     public Mono<IndexResponse> index(DocumentId id, String content, RoutingKey routingKey) {
         checkArgument(content);
         logContent(id, content);
-        return client.index(new IndexRequest(aliasName.getValue())
-                .id(id.asString())
-                .source(content, XContentType.JSON)
-                .routing(routingKey.asString()),
-            RequestOptions.DEFAULT);
+        IndexRequest request = new IndexRequest(aliasName.getValue())
+            .id(id.asString())
+            .source(content, XContentType.JSON)
+            .routing(routingKey.asString());
+
+        return bulkProcessor
+            .map(processor -> processor.bulk(new BulkRequest().add(request))
+                .flatMap(response -> asIndexResponse(response.getItems()[0])))
+            .orElseGet(() -> client.index(request, RequestOptions.DEFAULT));
+    }
+
+    private Mono<IndexResponse> asIndexResponse(BulkItemResponse item) {
+        if (item.isFailed()) {
+            return Mono.error(item.getFailure().getCause());
+        }
+        return Mono.just(item.getResponse());
     }
 
     private void logContent(DocumentId id, String content) {
@@ -82,7 +113,7 @@ public class ElasticSearchIndexer {
                 .doc(updatedDocumentPart.getUpdatedDocumentPart(), XContentType.JSON)
                 .routing(routingKey.asString())));
 
-        return client.bulk(request, RequestOptions.DEFAULT)
+        return bulk(request)
             .onErrorResume(ValidationException.class, exception -> {
                 LOGGER.warn("Error while updating index", exception);
                 return Mono.empty();
@@ -96,13 +127,19 @@ public class ElasticSearchIndexer {
                 .id(id.asString())
                 .routing(routingKey.asString())));
 
-        return client.bulk(request, RequestOptions.DEFAULT)
+        return bulk(request)
             .onErrorResume(ValidationException.class, exception -> {
                 LOGGER.warn("Error while deleting index", exception);
                 return Mono.empty();
             });
     }
 
+    private Mono<BulkResponse> bulk(BulkRequest request) {
+        return bulkProcessor
+            .map(processor -> processor.bulk(request))
+            .orElseGet(() -> client.bulk(request, RequestOptions.DEFAULT));
+    }
+
     public Mono<Void> deleteAllMatchingQuery(QueryBuilder queryBuilder, RoutingKey routingKey) {
         return deleteByQueryPerformer.perform(queryBuilder, routingKey);
     }
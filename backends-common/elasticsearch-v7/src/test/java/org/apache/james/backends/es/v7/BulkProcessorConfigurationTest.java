@@ -0,0 +1,89 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es.v7;
+
+import static org.apache.james.backends.es.v7.BulkProcessorConfiguration.DEFAULT_MAX_ACTIONS;
+import static org.apache.james.backends.es.v7.BulkProcessorConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS;
+import static org.apache.james.backends.es.v7.BulkProcessorConfiguration.DEFAULT_MAX_DELAY;
+import static org.apache.james.backends.es.v7.BulkProcessorConfiguration.DEFAULT_MAX_SIZE_IN_BYTES;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class BulkProcessorConfigurationTest {
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(BulkProcessorConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void buildShouldThrowWhenZeroMaxActions() {
+        assertThatThrownBy(() -> BulkProcessorConfiguration.builder()
+            .maxActions(0)
+            .maxSizeInBytes(DEFAULT_MAX_SIZE_IN_BYTES)
+            .maxDelay(DEFAULT_MAX_DELAY)
+            .maxConcurrentRequests(DEFAULT_MAX_CONCURRENT_REQUESTS)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxActions should be strictly positive");
+    }
+
+    @Test
+    void buildShouldThrowWhenNegativeMaxSize() {
+        assertThatThrownBy(() -> BulkProcessorConfiguration.builder()
+            .maxActions(DEFAULT_MAX_ACTIONS)
+            .maxSizeInBytes(-1)
+            .maxDelay(DEFAULT_MAX_DELAY)
+            .maxConcurrentRequests(DEFAULT_MAX_CONCURRENT_REQUESTS)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxSizeInBytes should be strictly positive");
+    }
+
+    @Test
+    void buildShouldThrowWhenZeroMaxDelay() {
+        assertThatThrownBy(() -> BulkProcessorConfiguration.builder()
+            .maxActions(DEFAULT_MAX_ACTIONS)
+            .maxSizeInBytes(DEFAULT_MAX_SIZE_IN_BYTES)
+            .maxDelay(Duration.ZERO)
+            .maxConcurrentRequests(DEFAULT_MAX_CONCURRENT_REQUESTS)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxDelay should be strictly positive");
+    }
+
+    @Test
+    void buildShouldThrowWhenZeroMaxConcurrentRequests() {
+        assertThatThrownBy(() -> BulkProcessorConfiguration.builder()
+            .maxActions(DEFAULT_MAX_ACTIONS)
+            .maxSizeInBytes(DEFAULT_MAX_SIZE_IN_BYTES)
+            .maxDelay(DEFAULT_MAX_DELAY)
+            .maxConcurrentRequests(0)
+            .build())
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("maxConcurrentRequests should be strictly positive");
+    }
+}
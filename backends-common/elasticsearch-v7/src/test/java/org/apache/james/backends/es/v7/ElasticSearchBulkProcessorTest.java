@@ -0,0 +1,210 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.backends.es.v7;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionRequestValidationException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.index.IndexResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.base.Strings;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ElasticSearchBulkProcessorTest {
+    private static final String INDEX = "index";
+    private static final String FAILING_ID = "failing";
+    private static final Duration LONG_DELAY = Duration.ofHours(1);
+
+    private ReactorElasticSearchClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ReactorElasticSearchClient.class);
+        when(client.bulk(any(), any())).thenAnswer(invocation -> Mono.just(respond(invocation.getArgument(0))));
+    }
+
+    private static BulkResponse respond(BulkRequest request) {
+        List<DocWriteRequest<?>> requests = request.requests();
+        BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+        for (int i = 0; i < items.length; i++) {
+            String id = requests.get(i).id();
+            if (id.equals(FAILING_ID)) {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX,
+                    new BulkItemResponse.Failure(INDEX, "_doc", id, new ElasticsearchException("boom")));
+            } else {
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX,
+                    new IndexResponse(new ShardId(INDEX, "uuid", 0), "_doc", id, 1, 1, 1, true));
+            }
+        }
+        return new BulkResponse(items, 1);
+    }
+
+    private static BulkRequest bulkRequest(String... ids) {
+        BulkRequest request = new BulkRequest();
+        for (String id : ids) {
+            request.add(new IndexRequest(INDEX).id(id).source("{}", XContentType.JSON));
+        }
+        return request;
+    }
+
+    private static BulkProcessorConfiguration configuration(int maxActions, long maxSizeInBytes, Duration maxDelay) {
+        return BulkProcessorConfiguration.builder()
+            .maxActions(maxActions)
+            .maxSizeInBytes(maxSizeInBytes)
+            .maxDelay(maxDelay)
+            .maxConcurrentRequests(1)
+            .build();
+    }
+
+    @Test
+    void bulkShouldReturnItemsOfTheSubmittedOperations() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(2, Long.MAX_VALUE, LONG_DELAY));
+
+        Mono<BulkResponse> first = testee.bulk(bulkRequest("1")).cache();
+        first.subscribe();
+        BulkResponse second = testee.bulk(bulkRequest("2")).block();
+
+        assertThat(second.getItems()).extracting(BulkItemResponse::getId).containsExactly("2");
+        assertThat(first.block().getItems()).extracting(BulkItemResponse::getId).containsExactly("1");
+    }
+
+    @Test
+    void operationsOfSeveralCallersShouldBeSentAsASingleBulkRequest() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(4, Long.MAX_VALUE, LONG_DELAY));
+
+        Flux.merge(testee.bulk(bulkRequest("1")), testee.bulk(bulkRequest("2", "3")), testee.bulk(bulkRequest("4")))
+            .collectList()
+            .block();
+
+        ArgumentCaptor<BulkRequest> captor = ArgumentCaptor.forClass(BulkRequest.class);
+        verify(client, times(1)).bulk(captor.capture(), any(RequestOptions.class));
+        assertThat(captor.getValue().requests()).extracting(DocWriteRequest::id).containsExactly("1", "2", "3", "4");
+    }
+
+    @Test
+    void bulkRequestsShouldNotExceedMaxActions() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(2, Long.MAX_VALUE, LONG_DELAY));
+
+        BulkResponse response = testee.bulk(bulkRequest("1", "2", "3", "4")).block();
+
+        assertThat(response.getItems()).extracting(BulkItemResponse::getId).containsExactly("1", "2", "3", "4");
+        verify(client, times(2)).bulk(any(), any());
+    }
+
+    @Test
+    void bulkRequestsShouldBeSentWhenExceedingMaxSize() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(100, 1024, LONG_DELAY));
+
+        BulkRequest request = new BulkRequest()
+            .add(new IndexRequest(INDEX).id("1").source("{\"field\":\"" + Strings.repeat("a", 2048) + "\"}", XContentType.JSON));
+
+        assertThat(testee.bulk(request).block().getItems()).hasSize(1);
+    }
+
+    @Test
+    void bulkRequestsShouldBeSentAfterMaxDelay() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(100, Long.MAX_VALUE, Duration.ofMillis(10)));
+
+        assertThat(testee.bulk(bulkRequest("1")).block(Duration.ofSeconds(5)).getItems()).hasSize(1);
+    }
+
+    @Test
+    void bulkShouldNotSubmitOperationsBeforeSubscription() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(1, Long.MAX_VALUE, LONG_DELAY));
+
+        testee.bulk(bulkRequest("1"));
+
+        verify(client, never()).bulk(any(), any());
+    }
+
+    @Test
+    void itemFailuresShouldOnlyBeReportedToTheirCaller() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(2, Long.MAX_VALUE, LONG_DELAY));
+
+        Mono<BulkResponse> failing = testee.bulk(bulkRequest(FAILING_ID)).cache();
+        failing.subscribe();
+        BulkResponse succeeding = testee.bulk(bulkRequest("1")).block();
+
+        assertThat(succeeding.hasFailures()).isFalse();
+        assertThat(failing.block().hasFailures()).isTrue();
+    }
+
+    @Test
+    void bulkFailuresShouldBeReportedToAllCallers() {
+        doReturn(Mono.error(new ElasticsearchException("unavailable")))
+            .when(client).bulk(any(), any());
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(2, Long.MAX_VALUE, LONG_DELAY));
+
+        Mono<BulkResponse> first = testee.bulk(bulkRequest("1")).cache();
+        first.subscribe(any -> { }, any -> { });
+
+        assertThatThrownBy(() -> testee.bulk(bulkRequest("2")).block())
+            .hasMessage("unavailable");
+        assertThatThrownBy(first::block)
+            .hasMessage("unavailable");
+    }
+
+    @Test
+    void processorShouldRecoverAfterBulkFailures() {
+        doReturn(Mono.error(new ElasticsearchException("unavailable")))
+            .doAnswer(invocation -> Mono.just(respond(invocation.getArgument(0))))
+            .when(client).bulk(any(), any());
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(1, Long.MAX_VALUE, LONG_DELAY));
+
+        assertThatThrownBy(() -> testee.bulk(bulkRequest("1")).block());
+
+        assertThat(testee.bulk(bulkRequest("2")).block().getItems()).hasSize(1);
+    }
+
+    @Test
+    void bulkShouldRejectInvalidRequests() {
+        ElasticSearchBulkProcessor testee = new ElasticSearchBulkProcessor(client, configuration(1, Long.MAX_VALUE, LONG_DELAY));
+
+        assertThatThrownBy(() -> testee.bulk(new BulkRequest().add(new DeleteRequest(INDEX))).block())
+            .isInstanceOf(ActionRequestValidationException.class);
+        verify(client, never()).bulk(any(), any());
+    }
+}
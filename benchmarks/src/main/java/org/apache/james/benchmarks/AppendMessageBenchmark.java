@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.inmemory.InMemoryMailboxManager;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link org.apache.james.mailbox.store.StoreMessageManager#appendMessage(MessageManager.AppendCommand, MailboxSession)}
+ * against the memory mappers: MIME parsing, attachment extraction, quota checks, uid/modseq allocation and event dispatching.
+ *
+ * The mailbox is recreated for each iteration so that its growth does not bias the measurements.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AppendMessageBenchmark {
+    private static final Username USERNAME = Username.of("bob@apache.org");
+
+    @Param({"1000"})
+    public int messageCount;
+
+    @Param({"4096", "65536"})
+    public int bodySize;
+
+    private MimeCorpus corpus;
+    private MailboxSession session;
+    private MessageManager messageManager;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateCorpus() {
+        corpus = MimeCorpus.generate(messageCount, bodySize);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws MailboxException {
+        InMemoryMailboxManager mailboxManager = InMemoryIntegrationResources.defaultResources().getMailboxManager();
+        session = mailboxManager.createSystemSession(USERNAME);
+        MailboxPath inbox = MailboxPath.inbox(session);
+        mailboxManager.createMailbox(inbox, session);
+        messageManager = mailboxManager.getMailbox(inbox, session);
+        next = 0;
+    }
+
+    @Benchmark
+    public MessageManager.AppendResult appendMessage() throws MailboxException {
+        return messageManager.appendMessage(MessageManager.AppendCommand.builder()
+            .build(corpus.message(next++)), session);
+    }
+}
@@ -0,0 +1,181 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+
+/**
+ * Compares two JMH JSON result files, typically obtained by running {@link BenchmarkRunner} on two commits.
+ *
+ * <pre>
+ *     java -cp benchmarks.jar org.apache.james.benchmarks.BaselineComparison baseline.json jmh-result.json
+ * </pre>
+ *
+ * A change is reported as significant when the confidence intervals of both scores do not overlap.
+ */
+public class BaselineComparison {
+    public static class Score {
+        private final String mode;
+        private final double value;
+        private final double error;
+        private final String unit;
+
+        public Score(String mode, double value, double error, String unit) {
+            this.mode = mode;
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public double getError() {
+            return error;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    public static class Change {
+        private final String benchmark;
+        private final Score baseline;
+        private final Score current;
+
+        public Change(String benchmark, Score baseline, Score current) {
+            this.benchmark = benchmark;
+            this.baseline = baseline;
+            this.current = current;
+        }
+
+        public String getBenchmark() {
+            return benchmark;
+        }
+
+        public double relativeChange() {
+            return (current.getValue() - baseline.getValue()) / baseline.getValue();
+        }
+
+        public boolean isSignificant() {
+            return Math.abs(current.getValue() - baseline.getValue()) > current.getError() + baseline.getError();
+        }
+
+        public boolean isRegression() {
+            if (!isSignificant()) {
+                return false;
+            }
+            boolean increased = current.getValue() > baseline.getValue();
+            return increased != current.higherIsBetter();
+        }
+
+        String format() {
+            return String.format("%-100s %14.3f %14.3f %-10s %+8.2f%% %s",
+                benchmark,
+                baseline.getValue(),
+                current.getValue(),
+                current.getUnit(),
+                relativeChange() * 100,
+                isRegression() ? "REGRESSION" : isSignificant() ? "IMPROVEMENT" : "");
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String... args) throws IOException {
+        Preconditions.checkArgument(args.length == 2, "Usage: BaselineComparison <baseline.json> <current.json>");
+
+        ImmutableList<Change> changes = compare(read(new File(args[0])), read(new File(args[1])));
+        changes.forEach(change -> System.out.println(change.format()));
+        if (changes.stream().anyMatch(Change::isRegression)) {
+            System.exit(1);
+        }
+    }
+
+    public static ImmutableList<Change> compare(Map<String, Score> baseline, Map<String, Score> current) {
+        return current.entrySet()
+            .stream()
+            .flatMap(entry -> Optional.ofNullable(baseline.get(entry.getKey()))
+                .filter(baselineScore -> baselineScore.getMode().equals(entry.getValue().getMode()))
+                .map(baselineScore -> new Change(entry.getKey(), baselineScore, entry.getValue()))
+                .stream())
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    public static ImmutableSortedMap<String, Score> read(File jmhJsonResult) throws IOException {
+        return parse(OBJECT_MAPPER.readTree(jmhJsonResult));
+    }
+
+    static ImmutableSortedMap<String, Score> parse(JsonNode results) {
+        return StreamSupport.stream(results.spliterator(), false)
+            .collect(ImmutableSortedMap.toImmutableSortedMap(
+                String::compareTo,
+                BaselineComparison::key,
+                result -> new Score(
+                    result.get("mode").asText(),
+                    result.get("primaryMetric").get("score").asDouble(),
+                    errorOf(result.get("primaryMetric")),
+                    result.get("primaryMetric").get("scoreUnit").asText())));
+    }
+
+    private static double errorOf(JsonNode primaryMetric) {
+        double error = primaryMetric.get("scoreError").asDouble();
+        if (Double.isNaN(error)) {
+            return 0;
+        }
+        return error;
+    }
+
+    private static String key(JsonNode result) {
+        String benchmark = result.get("benchmark").asText();
+        return Optional.ofNullable(result.get("params"))
+            .map(BaselineComparison::formatParams)
+            .map(params -> benchmark + params)
+            .orElse(benchmark);
+    }
+
+    private static String formatParams(JsonNode params) {
+        return ImmutableList.copyOf(params.fields())
+            .stream()
+            .map(field -> field.getKey() + "=" + field.getValue().asText())
+            .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,88 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.stream.IntStream;
+
+import javax.mail.Flags;
+
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.inmemory.InMemoryId;
+import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.mailbox.model.ByteContent;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
+import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Bytes;
+
+/**
+ * Exposes a {@link MimeCorpus} as stored {@link MailboxMessage}, as the mapper layer would return them.
+ */
+public class CorpusMailboxMessages {
+    public static final InMemoryId MAILBOX_ID = InMemoryId.of(1);
+
+    private static final byte[] HEADER_SEPARATOR = {'\r', '\n', '\r', '\n'};
+    private static final Instant BASE_INTERNAL_DATE = Instant.parse("2021-06-01T08:00:00Z");
+
+    public static ImmutableList<MailboxMessage> of(MimeCorpus corpus) {
+        return IntStream.range(0, corpus.size())
+            .mapToObj(index -> toMailboxMessage(index, corpus.message(index)))
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private static MailboxMessage toMailboxMessage(int index, byte[] content) {
+        MessageId messageId = InMemoryMessageId.of(index + 1);
+        return SimpleMailboxMessage.builder()
+            .messageId(messageId)
+            .threadId(ThreadId.fromBaseMessageId(messageId))
+            .uid(MessageUid.of(index + 1))
+            .modseq(ModSeq.of(index + 1))
+            .internalDate(Date.from(BASE_INTERNAL_DATE.plus(index, ChronoUnit.MINUTES)))
+            .size(content.length)
+            .bodyStartOctet(Bytes.indexOf(content, HEADER_SEPARATOR) + HEADER_SEPARATOR.length)
+            .content(new ByteContent(content))
+            .flags(flags(index))
+            .properties(new PropertyBuilder())
+            .mailboxId(MAILBOX_ID)
+            .build();
+    }
+
+    private static Flags flags(int index) {
+        Flags flags = new Flags();
+        if (index % 2 == 0) {
+            flags.add(Flags.Flag.SEEN);
+        }
+        if (index % 7 == 0) {
+            flags.add(Flags.Flag.FLAGGED);
+        }
+        if (index % 11 == 0) {
+            flags.add(Flags.Flag.ANSWERED);
+        }
+        return flags;
+    }
+}
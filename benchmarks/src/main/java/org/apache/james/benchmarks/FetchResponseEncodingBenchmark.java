@@ -0,0 +1,141 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.imap.decode.main.OutputStreamImapResponseWriter;
+import org.apache.james.imap.encode.FetchResponseEncoder;
+import org.apache.james.imap.encode.ImapResponseComposer;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.message.response.FetchResponse;
+import org.apache.james.imap.processor.fetch.EnvelopeBuilder;
+import org.apache.james.mailbox.MessageSequenceNumber;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.Content;
+import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mailbox.store.MessageResultImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Measures the encoding of FETCH responses for a whole mailbox, as issued by clients synchronising a folder
+ * (<code>FETCH 1:* (FLAGS UID INTERNALDATE RFC822.SIZE ENVELOPE)</code>) and downloading it (<code>FETCH 1:* (BODY[])</code>).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FetchResponseEncodingBenchmark {
+    private static class FullContentBodyElement implements FetchResponse.BodyElement {
+        private final Content content;
+
+        private FullContentBodyElement(Content content) {
+            this.content = content;
+        }
+
+        @Override
+        public String getName() {
+            return "BODY[]";
+        }
+
+        @Override
+        public long size() throws IOException {
+            try {
+                return content.size();
+            } catch (MailboxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return content.getInputStream();
+        }
+    }
+
+    @Param({"1000"})
+    public int messageCount;
+
+    @Param({"4096"})
+    public int bodySize;
+
+    private List<FetchResponse> envelopeResponses;
+    private List<FetchResponse> bodyResponses;
+    private ImapResponseComposer composer;
+    private FetchResponseEncoder encoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<MessageResult> messages = CorpusMailboxMessages.of(MimeCorpus.generate(messageCount, bodySize))
+            .stream()
+            .map(MessageResultImpl::new)
+            .collect(ImmutableList.toImmutableList());
+        EnvelopeBuilder envelopeBuilder = new EnvelopeBuilder();
+
+        envelopeResponses = messages.stream()
+            .map(Throwing.function(message -> new FetchResponse(MessageSequenceNumber.of((int) message.getUid().asLong()),
+                message.getFlags(), message.getUid(), null, message.getInternalDate(), message.getSize(),
+                envelopeBuilder.buildEnvelope(message.getHeaders()), null, null, null)))
+            .collect(ImmutableList.toImmutableList());
+        bodyResponses = messages.stream()
+            .map(Throwing.function(message -> new FetchResponse(MessageSequenceNumber.of((int) message.getUid().asLong()),
+                null, message.getUid(), null, null, null, null, null, null,
+                ImmutableList.of(new FullContentBodyElement(message.getFullContent())))))
+            .collect(ImmutableList.toImmutableList());
+        composer = new ImapResponseComposerImpl(new OutputStreamImapResponseWriter(ByteStreams.nullOutputStream()));
+        encoder = new FetchResponseEncoder(false);
+    }
+
+    @Benchmark
+    public ImapResponseComposer encodeEnvelopes() throws IOException {
+        return encode(envelopeResponses);
+    }
+
+    @Benchmark
+    public ImapResponseComposer encodeBodies() throws IOException {
+        return encode(bodyResponses);
+    }
+
+    private ImapResponseComposer encode(List<FetchResponse> responses) throws IOException {
+        for (FetchResponse response : responses) {
+            encoder.encode(response, composer);
+        }
+        return composer;
+    }
+}
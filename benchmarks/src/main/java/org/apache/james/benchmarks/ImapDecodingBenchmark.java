@@ -0,0 +1,124 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.james.core.Username;
+import org.apache.james.imap.decode.DecodingException;
+import org.apache.james.imap.decode.ImapDecoder;
+import org.apache.james.imap.decode.ImapRequestLineReader;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.apache.james.imap.decode.parser.SearchCommandParser;
+import org.apache.james.imap.encode.FakeImapSession;
+import org.apache.james.imap.main.DefaultImapDecoderFactory;
+import org.apache.james.imap.message.response.UnpooledStatusResponseFactory;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Measures the decoding of IMAP command lines, from the raw bytes read on the wire up to the
+ * messages handed over to the processors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImapDecodingBenchmark {
+    private static final List<String> SEARCH_KEYS = ImmutableList.of(
+        "ALL",
+        "UNSEEN UNDELETED",
+        "UID 1:100,200,300:* NOT DELETED",
+        "FROM \"alice.apache@example.com\" SINCE 1-Jun-2021 BEFORE 1-Jul-2021",
+        "OR SUBJECT meeting SUBJECT planning LARGER 10240",
+        "HEADER Message-ID \"<42.benchmark@james.apache.org>\"",
+        "(OR (FROM \"bob\" TO \"cedric\") (CC \"david\")) NOT (SEEN FLAGGED) BODY \"release review\"",
+        "CHARSET UTF-8 TEXT \"coffee\" SENTSINCE 1-Jan-2020 MODSEQ 42");
+
+    private static final List<String> COMMANDS = ImmutableList.of(
+        "A1 LIST \"\" \"*\"",
+        "A2 LSUB \"\" \"%\"",
+        "A3 STATUS INBOX (MESSAGES RECENT UIDNEXT UIDVALIDITY UNSEEN)",
+        "A4 SELECT \"INBOX.Archives.2021\"",
+        "A5 EXAMINE \"Sent Items\"",
+        "A6 CREATE \"INBOX.Projects.James\"",
+        "A7 SUBSCRIBE \"INBOX.Projects.James\"",
+        "A8 GETQUOTAROOT INBOX",
+        "A9 NOOP");
+
+    private List<byte[]> searchKeys;
+    private List<byte[]> commands;
+    private SearchCommandParser searchCommandParser;
+    private ImapDecoder decoder;
+    private FakeImapSession session;
+
+    @Setup
+    public void setUp() {
+        searchKeys = asCommandLines(SEARCH_KEYS);
+        commands = asCommandLines(COMMANDS);
+        searchCommandParser = new SearchCommandParser(new UnpooledStatusResponseFactory());
+        decoder = DefaultImapDecoderFactory.createDecoder();
+        session = new FakeImapSession();
+        session.authenticated();
+        session.setMailboxSession(MailboxSessionUtil.create(Username.of("bob@apache.org")));
+    }
+
+    @Benchmark
+    public void decodeSearchKeys(Blackhole blackhole) throws DecodingException {
+        for (byte[] searchKey : searchKeys) {
+            blackhole.consume(searchCommandParser.decode(session, reader(searchKey)));
+        }
+    }
+
+    @Benchmark
+    public void decodeCommands(Blackhole blackhole) {
+        for (byte[] command : commands) {
+            blackhole.consume(decoder.decode(reader(command), session));
+        }
+    }
+
+    private ImapRequestLineReader reader(byte[] line) {
+        return new ImapRequestStreamLineReader(new ByteArrayInputStream(line), ByteStreams.nullOutputStream());
+    }
+
+    private static List<byte[]> asCommandLines(List<String> lines) {
+        return lines.stream()
+            .map(line -> (line + "\r\n").getBytes(StandardCharsets.UTF_8))
+            .collect(ImmutableList.toImmutableList());
+    }
+}
@@ -0,0 +1,123 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageInputStreamSource;
+import org.apache.james.server.core.MimeMessageWrapper;
+import org.apache.mailet.AttributeName;
+import org.apache.mailet.AttributeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+
+/**
+ * Measures the (de)serialization of {@link MailImpl} as done by the mail queues and mail repositories,
+ * as well as the duplication and the writing of the underlying MIME message done along the mailet pipeline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailImplSerializationBenchmark {
+    private static final int ATTRIBUTE_COUNT = 10;
+
+    @Param({"1", "100"})
+    public int recipientCount;
+
+    @Param({"4096", "65536"})
+    public int bodySize;
+
+    private MailImpl mail;
+    private byte[] serializedMail;
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] message = MimeCorpus.generate(1, bodySize).message(0);
+
+        mail = MailImpl.builder()
+            .name("benchmark-mail")
+            .sender("sender@apache.org")
+            .addRecipients(IntStream.range(0, recipientCount)
+                .mapToObj(Throwing.intFunction(index -> new MailAddress("recipient" + index + "@apache.org")))
+                .collect(ImmutableList.toImmutableList()))
+            .remoteAddr("10.0.0.1")
+            .remoteHost("mx.apache.org")
+            .state("transport")
+            .addAttributes(IntStream.range(0, ATTRIBUTE_COUNT)
+                .mapToObj(index -> AttributeName.of("org.apache.james.benchmark.attribute" + index)
+                    .withValue(AttributeValue.of("value-" + index)))
+                .collect(ImmutableList.toImmutableList()))
+            .mimeMessage(new MimeMessageWrapper(new MimeMessageInputStreamSource("benchmark-mail", new ByteArrayInputStream(message))))
+            .build();
+        serializedMail = serialize();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(mail);
+        }
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(serializedMail))) {
+            return objectInputStream.readObject();
+        }
+    }
+
+    @Benchmark
+    public MailImpl duplicate() throws MessagingException {
+        return MailImpl.duplicate(mail);
+    }
+
+    @Benchmark
+    public void writeMessage() throws IOException, MessagingException {
+        mail.getMessage().writeTo(ByteStreams.nullOutputStream());
+    }
+}
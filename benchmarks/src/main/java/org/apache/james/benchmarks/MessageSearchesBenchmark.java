@@ -0,0 +1,120 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.apache.james.mailbox.extractor.TextExtractor;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.SearchQuery.AddressType;
+import org.apache.james.mailbox.model.SearchQuery.DateResolution;
+import org.apache.james.mailbox.model.SearchQuery.Sort;
+import org.apache.james.mailbox.model.SearchQuery.Sort.Order;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.apache.james.mailbox.store.extractor.DefaultTextExtractor;
+import org.apache.james.mailbox.store.mail.model.MailboxMessage;
+import org.apache.james.mailbox.store.search.MessageSearches;
+import org.apache.james.mailbox.store.search.SimpleMessageSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Measures the in-memory search used by the scanning search index, over a whole mailbox.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageSearchesBenchmark {
+    private static final SearchQuery FLAGS_QUERY = SearchQuery.of(
+        SearchQuery.flagIsUnSet(Flags.Flag.SEEN),
+        SearchQuery.flagIsSet(Flags.Flag.FLAGGED));
+    private static final SearchQuery HEADERS_QUERY = SearchQuery.of(
+        SearchQuery.address(AddressType.From, "alice"),
+        SearchQuery.headerContains("Subject", "meeting"));
+    private static final SearchQuery BODY_QUERY = SearchQuery.of(
+        SearchQuery.bodyContains("release review"));
+    private static final SearchQuery SORTED_QUERY = SearchQuery.builder()
+        .andCriteria(SearchQuery.sentDateAfter(Date.from(Instant.parse("2021-06-01T12:00:00Z")), DateResolution.Day))
+        .sorts(new Sort(SortClause.BaseSubject), new Sort(SortClause.Arrival, Order.REVERSE))
+        .build();
+
+    @Param({"1000", "10000"})
+    public int messageCount;
+
+    @Param({"4096"})
+    public int bodySize;
+
+    private List<MailboxMessage> messages;
+    private TextExtractor textExtractor;
+    private MailboxSession session;
+
+    @Setup
+    public void setUp() {
+        messages = CorpusMailboxMessages.of(MimeCorpus.generate(messageCount, bodySize));
+        textExtractor = new DefaultTextExtractor();
+        session = MailboxSessionUtil.create(Username.of("bob@apache.org"));
+    }
+
+    @Benchmark
+    public List<SimpleMessageSearchIndex.SearchResult> searchFlags() {
+        return search(FLAGS_QUERY);
+    }
+
+    @Benchmark
+    public List<SimpleMessageSearchIndex.SearchResult> searchHeaders() {
+        return search(HEADERS_QUERY);
+    }
+
+    @Benchmark
+    public List<SimpleMessageSearchIndex.SearchResult> searchBody() {
+        return search(BODY_QUERY);
+    }
+
+    @Benchmark
+    public List<SimpleMessageSearchIndex.SearchResult> searchSorted() {
+        return search(SORTED_QUERY);
+    }
+
+    private List<SimpleMessageSearchIndex.SearchResult> search(SearchQuery query) {
+        return ImmutableList.copyOf(new MessageSearches(messages.iterator(), query, textExtractor, null, session));
+    }
+}
@@ -0,0 +1,192 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Generates a reproducible corpus of RFC-5322 messages.
+ *
+ * Two corpora generated with the same seed, count and body size are byte for byte identical, which allows
+ * benchmark results obtained on different commits to be compared.
+ */
+public class MimeCorpus {
+    public static final long DEFAULT_SEED = 0x4A414D4553L;
+
+    static final ImmutableList<String> WORDS = ImmutableList.of(
+        "apache", "james", "mailbox", "server", "imap", "smtp", "message", "folder",
+        "quota", "search", "index", "thread", "delivery", "queue", "spool", "mailet",
+        "matcher", "domain", "user", "alias", "forward", "report", "meeting", "invoice",
+        "project", "release", "review", "budget", "planning", "holiday", "coffee", "lunch",
+        "cassandra", "rabbitmq", "elasticsearch", "blob", "storage", "cluster", "node", "backup",
+        "monday", "tuesday", "wednesday", "thursday", "friday", "weekend", "morning", "evening");
+    static final ImmutableList<String> FIRST_NAMES = ImmutableList.of(
+        "alice", "bob", "cedric", "david", "eve", "frank", "grace", "heidi", "ivan", "judy");
+    static final ImmutableList<String> DOMAINS = ImmutableList.of(
+        "apache.org", "example.com", "example.org", "linagora.com", "james.local");
+
+    private static final String CRLF = "\r\n";
+    private static final int LINE_LENGTH = 76;
+    private static final int MULTIPART_FREQUENCY = 4;
+    private static final int REPLY_FREQUENCY = 3;
+    private static final ZonedDateTime BASE_DATE = ZonedDateTime.parse("2021-06-01T08:00:00Z");
+
+    public static MimeCorpus generate(int messageCount, int bodySize) {
+        return generate(messageCount, bodySize, DEFAULT_SEED);
+    }
+
+    public static MimeCorpus generate(int messageCount, int bodySize, long seed) {
+        Preconditions.checkArgument(messageCount > 0, "'messageCount' needs to be strictly positive");
+        Preconditions.checkArgument(bodySize >= 0, "'bodySize' needs to be positive");
+
+        Random random = new Random(seed);
+        return new MimeCorpus(IntStream.range(0, messageCount)
+            .mapToObj(index -> generateMessage(random, index, bodySize))
+            .collect(ImmutableList.toImmutableList()));
+    }
+
+    private static byte[] generateMessage(Random random, int index, int bodySize) {
+        StringBuilder message = new StringBuilder(bodySize + 1024);
+        message.append("Date: ").append(DateTimeFormatter.RFC_1123_DATE_TIME.format(BASE_DATE.plusMinutes(index))).append(CRLF)
+            .append("From: ").append(address(random)).append(CRLF)
+            .append("To: ").append(address(random)).append(", ").append(address(random)).append(CRLF);
+        if (random.nextBoolean()) {
+            message.append("Cc: ").append(address(random)).append(CRLF);
+        }
+        boolean isReply = index > 0 && index % REPLY_FREQUENCY == 0;
+        message.append("Subject: ").append(isReply ? "Re: " : "").append(words(random, 3 + random.nextInt(5))).append(CRLF)
+            .append("Message-ID: ").append(messageId(index)).append(CRLF);
+        if (isReply) {
+            String parent = messageId(random.nextInt(index));
+            message.append("In-Reply-To: ").append(parent).append(CRLF)
+                .append("References: ").append(parent).append(CRLF);
+        }
+        message.append("MIME-Version: 1.0").append(CRLF);
+
+        if (index % MULTIPART_FREQUENCY == MULTIPART_FREQUENCY - 1) {
+            appendMultipart(message, random, index, bodySize);
+        } else {
+            message.append("Content-Type: text/plain; charset=UTF-8").append(CRLF)
+                .append("Content-Transfer-Encoding: 7bit").append(CRLF)
+                .append(CRLF);
+            appendText(message, random, bodySize);
+        }
+        return message.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendMultipart(StringBuilder message, Random random, int index, int bodySize) {
+        String boundary = "----=_Part_" + index;
+        byte[] attachment = new byte[bodySize / 2];
+        random.nextBytes(attachment);
+
+        message.append("Content-Type: multipart/mixed; boundary=\"").append(boundary).append("\"").append(CRLF)
+            .append(CRLF)
+            .append("--").append(boundary).append(CRLF)
+            .append("Content-Type: text/plain; charset=UTF-8").append(CRLF)
+            .append(CRLF);
+        appendText(message, random, bodySize - attachment.length);
+        message.append("--").append(boundary).append(CRLF)
+            .append("Content-Type: application/octet-stream; name=\"attachment-").append(index).append(".bin\"").append(CRLF)
+            .append("Content-Disposition: attachment; filename=\"attachment-").append(index).append(".bin\"").append(CRLF)
+            .append("Content-Transfer-Encoding: base64").append(CRLF)
+            .append(CRLF);
+        String encoded = Base64.getEncoder().encodeToString(attachment);
+        for (int start = 0; start < encoded.length(); start += LINE_LENGTH) {
+            message.append(encoded, start, Math.min(encoded.length(), start + LINE_LENGTH)).append(CRLF);
+        }
+        message.append("--").append(boundary).append("--").append(CRLF);
+    }
+
+    private static void appendText(StringBuilder message, Random random, int size) {
+        int written = 0;
+        while (written < size) {
+            StringBuilder line = new StringBuilder(LINE_LENGTH);
+            while (line.length() < LINE_LENGTH - 16) {
+                line.append(pick(random, WORDS)).append(' ');
+            }
+            message.append(line).append(CRLF);
+            written += line.length() + CRLF.length();
+        }
+    }
+
+    private static String address(Random random) {
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, WORDS);
+        return capitalize(firstName) + " " + capitalize(lastName)
+            + " <" + firstName + "." + lastName + "@" + pick(random, DOMAINS) + ">";
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            words.append(pick(random, WORDS));
+        }
+        return words.toString();
+    }
+
+    private static String messageId(int index) {
+        return "<" + index + ".benchmark@james.apache.org>";
+    }
+
+    private static String capitalize(String value) {
+        return value.substring(0, 1).toUpperCase(Locale.US) + value.substring(1);
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private final ImmutableList<byte[]> messages;
+
+    private MimeCorpus(ImmutableList<byte[]> messages) {
+        this.messages = messages;
+    }
+
+    public ImmutableList<byte[]> messages() {
+        return messages;
+    }
+
+    public byte[] message(int index) {
+        return messages.get(index % messages.size());
+    }
+
+    public int size() {
+        return messages.size();
+    }
+
+    public long totalSize() {
+        return messages.stream()
+            .mapToLong(message -> message.length)
+            .sum();
+    }
+}
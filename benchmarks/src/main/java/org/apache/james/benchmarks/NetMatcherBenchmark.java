@@ -0,0 +1,116 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.james.dnsservice.api.mock.DNSFixture;
+import org.apache.james.dnsservice.library.inetnetwork.InetNetworkBuilder;
+import org.apache.james.dnsservice.library.inetnetwork.model.InetNetwork;
+import org.apache.james.dnsservice.library.netmatcher.NetMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.fge.lambdas.Throwing;
+
+/**
+ * Measures matching an address against a list of networks, as done for each connection by the
+ * SMTP authorized networks and the network matching mailets.
+ *
+ * {@code linearScan} checks each network in turn and serves as the baseline {@link NetMatcher} is compared to.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NetMatcherBenchmark {
+    private static final long SEED = 42;
+    private static final int ADDRESS_COUNT = 1024;
+
+    @Param({"10", "1000", "100000"})
+    public int networkCount;
+
+    private NetMatcher netMatcher;
+    private List<InetNetwork> networks;
+    private InetAddress[] addresses;
+    private int next;
+
+    @Setup
+    public void setUp() throws UnknownHostException {
+        Random random = new Random(SEED);
+        List<String> nets = IntStream.range(0, networkCount)
+            .mapToObj(i -> randomIpV4(random) + "/" + (8 + random.nextInt(25)))
+            .collect(Collectors.toList());
+        InetNetworkBuilder builder = new InetNetworkBuilder(DNSFixture.DNS_SERVER_IPV4_MOCK);
+
+        netMatcher = new NetMatcher(nets, DNSFixture.DNS_SERVER_IPV4_MOCK);
+        networks = nets.stream()
+            .map(Throwing.function(builder::getFromString))
+            .collect(Collectors.toList());
+        addresses = new InetAddress[ADDRESS_COUNT];
+        for (int i = 0; i < ADDRESS_COUNT; i++) {
+            addresses[i] = InetAddress.getByName(randomIpV4(random));
+        }
+    }
+
+    @Benchmark
+    public boolean netMatcher() {
+        return netMatcher.matchInetNetwork(nextAddress());
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        InetAddress address = nextAddress();
+        for (InetNetwork network : networks) {
+            if (network.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private InetAddress nextAddress() {
+        next = (next + 1) % ADDRESS_COUNT;
+        return addresses[next];
+    }
+
+    private static String randomIpV4(Random random) {
+        return IntStream.range(0, 4)
+            .mapToObj(i -> String.valueOf(random.nextInt(256)))
+            .collect(Collectors.joining("."));
+    }
+}
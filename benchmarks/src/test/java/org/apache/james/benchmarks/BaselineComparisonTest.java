@@ -0,0 +1,81 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSortedMap;
+
+class BaselineComparisonTest {
+    private static final String BASELINE = "[" +
+        "{\"benchmark\":\"org.apache.james.benchmarks.A.run\",\"mode\":\"avgt\",\"params\":{\"size\":\"10\"}," +
+        "\"primaryMetric\":{\"score\":100.0,\"scoreError\":5.0,\"scoreUnit\":\"us/op\"}}," +
+        "{\"benchmark\":\"org.apache.james.benchmarks.B.run\",\"mode\":\"thrpt\"," +
+        "\"primaryMetric\":{\"score\":1000.0,\"scoreError\":\"NaN\",\"scoreUnit\":\"ops/s\"}}]";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void parseShouldIncludeParamsInKey() throws Exception {
+        ImmutableSortedMap<String, BaselineComparison.Score> scores = BaselineComparison.parse(OBJECT_MAPPER.readTree(BASELINE));
+
+        assertThat(scores).containsOnlyKeys(
+            "org.apache.james.benchmarks.A.run[size=10]",
+            "org.apache.james.benchmarks.B.run");
+    }
+
+    @Test
+    void parseShouldTreatMissingErrorAsZero() throws Exception {
+        ImmutableSortedMap<String, BaselineComparison.Score> scores = BaselineComparison.parse(OBJECT_MAPPER.readTree(BASELINE));
+
+        assertThat(scores.get("org.apache.james.benchmarks.B.run").getError()).isZero();
+    }
+
+    @Test
+    void slowerAverageTimeShouldBeARegression() throws Exception {
+        String current = BASELINE.replace("\"score\":100.0", "\"score\":150.0");
+
+        assertThat(BaselineComparison.compare(BaselineComparison.parse(OBJECT_MAPPER.readTree(BASELINE)), BaselineComparison.parse(OBJECT_MAPPER.readTree(current))))
+            .filteredOn(BaselineComparison.Change::isRegression)
+            .extracting(BaselineComparison.Change::getBenchmark)
+            .containsExactly("org.apache.james.benchmarks.A.run[size=10]");
+    }
+
+    @Test
+    void higherThroughputShouldNotBeARegression() throws Exception {
+        String current = BASELINE.replace("\"score\":1000.0", "\"score\":2000.0");
+
+        assertThat(BaselineComparison.compare(BaselineComparison.parse(OBJECT_MAPPER.readTree(BASELINE)), BaselineComparison.parse(OBJECT_MAPPER.readTree(current))))
+            .filteredOn(BaselineComparison.Change::isSignificant)
+            .allSatisfy(change -> assertThat(change.isRegression()).isFalse())
+            .hasSize(1);
+    }
+
+    @Test
+    void changesWithinErrorMarginShouldNotBeSignificant() throws Exception {
+        String current = BASELINE.replace("\"score\":100.0", "\"score\":104.0");
+
+        assertThat(BaselineComparison.compare(BaselineComparison.parse(OBJECT_MAPPER.readTree(BASELINE)), BaselineComparison.parse(OBJECT_MAPPER.readTree(current))))
+            .noneMatch(BaselineComparison.Change::isSignificant);
+    }
+}
@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.util.Properties;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import javax.mail.internet.MimeMultipart;
+
+import org.junit.jupiter.api.Test;
+
+class MimeCorpusTest {
+    @Test
+    void generateShouldBeReproducible() {
+        MimeCorpus first = MimeCorpus.generate(20, 1024);
+        MimeCorpus second = MimeCorpus.generate(20, 1024);
+
+        assertThat(first.messages()).zipSatisfy(second.messages(),
+            (left, right) -> assertThat(left).isEqualTo(right));
+    }
+
+    @Test
+    void generateShouldDependOnSeed() {
+        MimeCorpus first = MimeCorpus.generate(1, 1024, 1L);
+        MimeCorpus second = MimeCorpus.generate(1, 1024, 2L);
+
+        assertThat(first.message(0)).isNotEqualTo(second.message(0));
+    }
+
+    @Test
+    void generateShouldHonorMessageCount() {
+        assertThat(MimeCorpus.generate(42, 128).size()).isEqualTo(42);
+    }
+
+    @Test
+    void generateShouldHonorBodySize() {
+        MimeCorpus corpus = MimeCorpus.generate(10, 8192);
+
+        assertThat(corpus.totalSize()).isGreaterThan(10 * 8192);
+    }
+
+    @Test
+    void generateShouldRejectEmptyCorpus() {
+        assertThatThrownBy(() -> MimeCorpus.generate(0, 1024))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generatedMessagesShouldBeParseable() throws Exception {
+        MimeCorpus corpus = MimeCorpus.generate(4, 1024);
+
+        MimeMessage plainText = parse(corpus.message(0));
+        MimeMessage multipart = parse(corpus.message(3));
+
+        assertThat(plainText.getSubject()).isNotBlank();
+        assertThat(plainText.getFrom()).hasSize(1);
+        assertThat(plainText.getContent()).isInstanceOf(String.class);
+        assertThat(((MimeMultipart) multipart.getContent()).getCount()).isEqualTo(2);
+    }
+
+    private MimeMessage parse(byte[] message) throws Exception {
+        return new MimeMessage(Session.getDefaultInstance(new Properties()), new ByteArrayInputStream(message));
+    }
+}
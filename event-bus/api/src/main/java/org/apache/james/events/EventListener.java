@@ -19,11 +19,14 @@
 
 package org.apache.james.events;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -55,6 +58,37 @@ public interface EventListener {
         }
     }
 
+    /**
+     * Group listener opting in for batched delivery: event buses supporting it hand over up to
+     * {@link #getBatchSize()} events per invocation, waiting at most {@link #getBatchTimeout()} for a
+     * batch to fill up.
+     *
+     * Event buses not supporting batches deliver events one by one, as single element batches.
+     *
+     * When a batch fails, each of its events is retried, then stored in dead letters, independently.
+     * Implementations thus need to be idempotent, as some events of a failed batch might be processed
+     * several times. Failing with a {@link PartialBatchFailure} restricts retries to the events it lists.
+     */
+    interface ReactiveBatchGroupEventListener extends ReactiveGroupEventListener {
+        int DEFAULT_BATCH_SIZE = 100;
+        Duration DEFAULT_BATCH_TIMEOUT = Duration.ofMillis(100);
+
+        default int getBatchSize() {
+            return DEFAULT_BATCH_SIZE;
+        }
+
+        default Duration getBatchTimeout() {
+            return DEFAULT_BATCH_TIMEOUT;
+        }
+
+        Publisher<Void> reactiveEvents(List<Event> events);
+
+        @Override
+        default Publisher<Void> reactiveEvent(Event event) {
+            return reactiveEvents(ImmutableList.of(event));
+        }
+    }
+
     class ReactiveWrapper<T extends EventListener> implements ReactiveEventListener {
         protected final T delegate;
 
@@ -0,0 +1,46 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Signals that a {@link EventListener.ReactiveBatchGroupEventListener} processed only part of a batch: only the
+ * failed events are retried, the other ones being considered processed.
+ */
+public class PartialBatchFailure extends RuntimeException {
+    private final Set<Event.EventId> failedEvents;
+
+    public PartialBatchFailure(Collection<Event> failedEvents, Throwable cause) {
+        super("Failed to process " + failedEvents.size() + " events of the batch", cause);
+        Preconditions.checkArgument(!failedEvents.isEmpty(), "'failedEvents' should not be empty");
+        this.failedEvents = failedEvents.stream()
+            .map(Event::getEventId)
+            .collect(ImmutableSet.toImmutableSet());
+    }
+
+    public boolean hasFailed(Event event) {
+        return failedEvents.contains(event.getEventId());
+    }
+}
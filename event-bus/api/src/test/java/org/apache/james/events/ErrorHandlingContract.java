@@ -291,6 +291,23 @@ interface ErrorHandlingContract extends EventBusContract {
             .isEmpty();
     }
 
+    @Test
+    default void failingBatchShouldRetryEachOfItsEventsIndependently() {
+        EventBusTestFixture.BatchEventCollector listener = new EventBusTestFixture.BatchEventCollector(10, EVENT);
+
+        eventBus().register(listener, GROUP_A);
+        eventBus().dispatch(EVENT, NO_KEYS).block();
+        eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+        getSpeedProfile().longWaitCondition()
+            .untilAsserted(() -> assertThat(deadLetter().failedIds(GROUP_A)
+                .flatMap(insertionId -> deadLetter().failedEvent(GROUP_A, insertionId))
+                .toIterable())
+            .containsOnly(EVENT));
+        assertThat(listener.getEvents())
+            .containsOnly(EVENT_2);
+    }
+
     @Test
     default void deadLetterShouldStoreWhenRedeliverFailsGreaterThanMaxRetries() {
         EventCollector eventCollector = eventCollector();
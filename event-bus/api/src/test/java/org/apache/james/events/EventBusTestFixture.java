@@ -27,9 +27,11 @@ import static org.mockito.Mockito.when;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.james.core.Username;
+import org.reactivestreams.Publisher;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
@@ -37,6 +39,8 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import reactor.core.publisher.Mono;
+
 public interface EventBusTestFixture {
 
     class EventListenerCountingSuccessfulExecution implements EventListener {
@@ -57,6 +61,58 @@ public interface EventBusTestFixture {
         }
     }
 
+    class BatchEventCollector implements EventListener.ReactiveBatchGroupEventListener {
+        private final int batchSize;
+        private final ImmutableSet<Event> failingEvents;
+        private final ConcurrentLinkedQueue<List<Event>> batches = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failedBatchCount = new AtomicInteger();
+
+        BatchEventCollector(int batchSize, Event... failingEvents) {
+            this.batchSize = batchSize;
+            this.failingEvents = ImmutableSet.copyOf(failingEvents);
+        }
+
+        @Override
+        public Group getDefaultGroup() {
+            return new GroupA();
+        }
+
+        @Override
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public boolean isHandling(Event event) {
+            return true;
+        }
+
+        @Override
+        public Publisher<Void> reactiveEvents(List<Event> events) {
+            return Mono.fromRunnable(() -> {
+                if (events.stream().anyMatch(failingEvents::contains)) {
+                    failedBatchCount.incrementAndGet();
+                    throw new RuntimeException("throw to trigger retries");
+                }
+                batches.add(ImmutableList.copyOf(events));
+            });
+        }
+
+        public List<List<Event>> getBatches() {
+            return ImmutableList.copyOf(batches);
+        }
+
+        public int getFailedBatchCount() {
+            return failedBatchCount.get();
+        }
+
+        public List<Event> getEvents() {
+            return batches.stream()
+                .flatMap(List::stream)
+                .collect(ImmutableList.toImmutableList());
+        }
+    }
+
     class EventMatcherThrowingListener extends EventListenerCountingSuccessfulExecution {
         private final ImmutableSet<Event> eventsCauseThrowing;
 
@@ -49,12 +49,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import org.apache.james.core.Username;
+import org.apache.james.events.EventBusTestFixture.BatchEventCollector;
 import org.apache.james.events.EventBusTestFixture.TestEvent;
 import org.apache.james.mailbox.events.GenericGroup;
 import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.ImmutableSet;
 
+import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 
 public interface GroupContract {
@@ -98,6 +100,37 @@ public interface GroupContract {
             assertThat(rateExceeded).isFalse();
         }
 
+        @Test
+        default void batchListenerGroupShouldReceiveEvents() {
+            BatchEventCollector listener = new BatchEventCollector(10);
+
+            eventBus().register(listener, GROUP_A);
+
+            eventBus().dispatch(EVENT, NO_KEYS).block();
+            eventBus().dispatch(EVENT_2, NO_KEYS).block();
+
+            getSpeedProfile().shortWaitCondition()
+                .untilAsserted(() -> assertThat(listener.getEvents()).containsExactlyInAnyOrder(EVENT, EVENT_2));
+        }
+
+        @Test
+        default void batchListenerGroupShouldNotReceiveBatchesLargerThanBatchSize() {
+            int eventCount = 20;
+            int batchSize = 3;
+            BatchEventCollector listener = new BatchEventCollector(batchSize);
+
+            eventBus().register(listener, GROUP_A);
+
+            Flux.range(0, eventCount)
+                .flatMap(i -> eventBus().dispatch(new TestEvent(Event.EventId.random(), Username.of("user")), NO_KEYS))
+                .blockLast();
+
+            getSpeedProfile().shortWaitCondition()
+                .untilAsserted(() -> assertThat(listener.getEvents()).hasSize(eventCount));
+            assertThat(listener.getBatches())
+                .allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(batchSize));
+        }
+
         @Test
         default void groupNotificationShouldDeliverASingleEventToAllListenersAtTheSameTime() {
             CountDownLatch countDownLatch = new CountDownLatch(1);
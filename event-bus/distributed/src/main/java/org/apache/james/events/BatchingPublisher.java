@@ -0,0 +1,130 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.rabbitmq.CorrelableOutboundMessage;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
+import reactor.rabbitmq.Sender;
+
+/**
+ * Publishes messages with publisher confirms, coalescing the publications issued concurrently.
+ *
+ * Messages are sent right away while less than {@link #MAX_IN_FLIGHT_BATCHES} batches are awaiting their
+ * confirms. Otherwise they are queued, and sent together as a single batch as soon as a batch completes:
+ * no latency is added under low load while, under high load, a single publisher confirm round trip
+ * covers many messages.
+ */
+class BatchingPublisher {
+    private static final int MAX_IN_FLIGHT_BATCHES = 4;
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final Sender sender;
+    private final Queue<CorrelableOutboundMessage<Sinks.One<Void>>> pendingMessages;
+    private final AtomicInteger inFlightBatches;
+
+    BatchingPublisher(Sender sender) {
+        this.sender = sender;
+        this.pendingMessages = new ConcurrentLinkedQueue<>();
+        this.inFlightBatches = new AtomicInteger(0);
+    }
+
+    Mono<Void> publishWithConfirms(Collection<OutboundMessage> messages) {
+        return Mono.defer(() -> {
+            ImmutableList<CorrelableOutboundMessage<Sinks.One<Void>>> correlatedMessages = messages.stream()
+                .map(message -> new CorrelableOutboundMessage<>(message.getExchange(), message.getRoutingKey(),
+                    message.getProperties(), message.getBody(), Sinks.<Void>one()))
+                .collect(ImmutableList.toImmutableList());
+            pendingMessages.addAll(correlatedMessages);
+            drain();
+
+            return Flux.fromIterable(correlatedMessages)
+                .flatMap(message -> message.getCorrelationMetadata().asMono())
+                .then();
+        });
+    }
+
+    private void drain() {
+        while (!pendingMessages.isEmpty()) {
+            int inFlight = inFlightBatches.get();
+            if (inFlight >= MAX_IN_FLIGHT_BATCHES) {
+                // A batch is in flight and will drain the pending messages once completed
+                return;
+            }
+            if (inFlightBatches.compareAndSet(inFlight, inFlight + 1)) {
+                publishBatch(pollBatch())
+                    .doFinally(signal -> {
+                        inFlightBatches.decrementAndGet();
+                        drain();
+                    })
+                    .subscribe();
+            }
+        }
+    }
+
+    private List<CorrelableOutboundMessage<Sinks.One<Void>>> pollBatch() {
+        ImmutableList.Builder<CorrelableOutboundMessage<Sinks.One<Void>>> batch = ImmutableList.builder();
+        int size = 0;
+        CorrelableOutboundMessage<Sinks.One<Void>> message = pendingMessages.poll();
+        while (message != null) {
+            batch.add(message);
+            size++;
+            message = size < MAX_BATCH_SIZE ? pendingMessages.poll() : null;
+        }
+        return batch.build();
+    }
+
+    private Mono<Void> publishBatch(List<CorrelableOutboundMessage<Sinks.One<Void>>> batch) {
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        return sender.sendWithTypedPublishConfirms(Flux.fromIterable(batch))
+            .subscribeOn(Schedulers.elastic()) // channel.confirmSelect is synchronous
+            .doOnNext(this::complete)
+            .then()
+            .onErrorResume(e -> {
+                batch.forEach(message -> message.getCorrelationMetadata().tryEmitError(e));
+                return Mono.empty();
+            })
+            // Messages that did not get any confirm
+            .doOnSuccess(any -> batch.forEach(message -> message.getCorrelationMetadata().tryEmitError(new Exception("Publish was not confirmed"))));
+    }
+
+    private void complete(OutboundMessageResult<CorrelableOutboundMessage<Sinks.One<Void>>> result) {
+        Sinks.One<Void> sink = result.getOutboundMessage().getCorrelationMetadata();
+        if (result.isAck()) {
+            sink.tryEmitEmpty();
+        } else {
+            sink.tryEmitError(new Exception("Publish was not acked"));
+        }
+    }
+}
@@ -47,7 +47,6 @@ import com.rabbitmq.client.AMQP;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
-import reactor.core.scheduler.Schedulers;
 import reactor.rabbitmq.BindingSpecification;
 import reactor.rabbitmq.ExchangeSpecification;
 import reactor.rabbitmq.OutboundMessage;
@@ -64,6 +63,7 @@ public class EventDispatcher {
     private final NamingStrategy namingStrategy;
     private final EventSerializer eventSerializer;
     private final Sender sender;
+    private final BatchingPublisher batchingPublisher;
     private final LocalListenerRegistry localListenerRegistry;
     private final AMQP.BasicProperties basicProperties;
     private final ListenerExecutor listenerExecutor;
@@ -76,6 +76,7 @@ public class EventDispatcher {
         this.namingStrategy = namingStrategy;
         this.eventSerializer = eventSerializer;
         this.sender = sender;
+        this.batchingPublisher = new BatchingPublisher(sender);
         this.localListenerRegistry = localListenerRegistry;
         this.basicProperties = new AMQP.BasicProperties.Builder()
             .headers(ImmutableMap.of(EVENT_BUS_ID, eventBusId.asString()))
@@ -185,16 +186,18 @@ public class EventDispatcher {
         if (routingKeys.isEmpty()) {
             return Mono.empty();
         }
-        return sender.sendWithPublishConfirms(toMessages(serializedEvent, routingKeys))
-            .subscribeOn(Schedulers.elastic()) // channel.confirmSelect is synchronous
-            .filter(outboundMessageResult -> !outboundMessageResult.isAck())
-            .next()
-            .handle((result, sink) -> sink.error(new Exception("Publish was not acked")));
+        return batchingPublisher.publishWithConfirms(routingKeys.stream()
+            .map(routingKey -> toMessage(serializedEvent, routingKey))
+            .collect(ImmutableList.toImmutableList()));
     }
 
     private Flux<OutboundMessage> toMessages(byte[] serializedEvent, Collection<RoutingKey> routingKeys) {
         return Flux.fromIterable(routingKeys)
-                .map(routingKey -> new OutboundMessage(namingStrategy.exchange(), routingKey.asString(), basicProperties, serializedEvent));
+                .map(routingKey -> toMessage(serializedEvent, routingKey));
+    }
+
+    private OutboundMessage toMessage(byte[] serializedEvent, RoutingKey routingKey) {
+        return new OutboundMessage(namingStrategy.exchange(), routingKey.asString(), basicProperties, serializedEvent);
     }
 
     private byte[] serializeEvent(Event event) {
@@ -24,6 +24,7 @@ import static org.apache.james.backends.rabbitmq.Constants.DURABLE;
 import static org.apache.james.backends.rabbitmq.Constants.EXCLUSIVE;
 import static org.apache.james.backends.rabbitmq.Constants.REQUEUE;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -36,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
@@ -46,6 +48,8 @@ import reactor.rabbitmq.ConsumeOptions;
 import reactor.rabbitmq.QueueSpecification;
 import reactor.rabbitmq.Receiver;
 import reactor.rabbitmq.Sender;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 import reactor.util.retry.Retry;
 
 class GroupRegistration implements Registration {
@@ -72,6 +76,7 @@ class GroupRegistration implements Registration {
     private final NamingStrategy namingStrategy;
     private final ReactorRabbitMQChannelPool channelPool;
     private final EventListener.ReactiveEventListener listener;
+    private final Optional<EventListener.ReactiveBatchGroupEventListener> batchListener;
     private final WorkQueueName queueName;
     private final Runnable unregisterGroup;
     private final EventSerializer eventSerializer;
@@ -92,6 +97,9 @@ class GroupRegistration implements Registration {
         this.channelPool = channelPool;
         this.eventSerializer = eventSerializer;
         this.listener = listener;
+        this.batchListener = Optional.of(listener)
+            .filter(EventListener.ReactiveBatchGroupEventListener.class::isInstance)
+            .map(EventListener.ReactiveBatchGroupEventListener.class::cast);
         this.configuration = configuration;
         this.queueName = namingStrategy.workQueue(group);
         this.receiverProvider = receiverProvider;
@@ -134,17 +142,37 @@ class GroupRegistration implements Registration {
     }
 
     private Disposable consumeWorkQueue() {
-        return Flux.using(
+        Flux<AcknowledgableDelivery> deliveries = Flux.using(
                 receiverProvider::createReceiver,
-                receiver -> receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(EventBus.EXECUTION_RATE)),
+                receiver -> receiver.consumeManualAck(queueName.asString(), new ConsumeOptions().qos(prefetchCount())),
                 Receiver::close)
             .publishOn(Schedulers.parallel())
-            .filter(delivery -> Objects.nonNull(delivery.getBody()))
-            .flatMap(this::deliver, EventBus.EXECUTION_RATE)
+            .filter(delivery -> Objects.nonNull(delivery.getBody()));
+
+        return batchListener
+            .map(batchGroupListener -> deliveries.publish(sharedDeliveries -> Flux.merge(
+                sharedDeliveries.filter(this::isFirstAttempt)
+                    .bufferTimeout(batchGroupListener.getBatchSize(), batchGroupListener.getBatchTimeout())
+                    // bufferTimeout fails when a timeout fires without demand. Buffered deliveries are bounded by the prefetch count.
+                    .onBackpressureBuffer()
+                    .concatMap(batch -> deliverBatch(batchGroupListener, batch)),
+                // Retried deliveries wait for their backoff delay, hence are kept away from batches not to hold them up.
+                // Buffering prevents retries in flight from stopping the shared deliveries.
+                sharedDeliveries.filter(Predicate.not(this::isFirstAttempt))
+                    .onBackpressureBuffer()
+                    .flatMap(this::deliver, EventBus.EXECUTION_RATE))))
+            .orElseGet(() -> deliveries.flatMap(this::deliver, EventBus.EXECUTION_RATE))
             .subscribeOn(Schedulers.elastic())
             .subscribe();
     }
 
+    private int prefetchCount() {
+        // Allows the next batch to fill up while the current one is processed
+        return batchListener
+            .map(batchGroupListener -> Math.max(EventBus.EXECUTION_RATE, 2 * batchGroupListener.getBatchSize()))
+            .orElse(EventBus.EXECUTION_RATE);
+    }
+
     private Mono<Void> deliver(AcknowledgableDelivery acknowledgableDelivery) {
         byte[] eventAsBytes = acknowledgableDelivery.getBody();
         int currentRetryCount = getRetryCount(acknowledgableDelivery);
@@ -153,12 +181,62 @@ class GroupRegistration implements Registration {
             .flatMap(event -> delayGenerator.delayIfHaveTo(currentRetryCount)
                 .flatMap(any -> runListenerReliably(currentRetryCount, event))
                 .then(Mono.<Void>fromRunnable(acknowledgableDelivery::ack).subscribeOn(Schedulers.elastic())))
-            .onErrorResume(e -> {
-                LOGGER.error("Unable to process delivery for group {}", group, e);
-                return Mono.fromRunnable(() -> acknowledgableDelivery.nack(!REQUEUE))
-                    .subscribeOn(Schedulers.elastic())
-                    .then();
-            });
+            .onErrorResume(e -> nack(acknowledgableDelivery, e));
+    }
+
+    /**
+     * Only first delivery attempts are batched. Retried events are delivered one by one, as usual.
+     *
+     * Deliveries of a batch are acknowledged one by one: a multiple ack would also settle retried deliveries
+     * still being processed.
+     */
+    private Mono<Void> deliverBatch(EventListener.ReactiveBatchGroupEventListener batchListener, List<AcknowledgableDelivery> deliveries) {
+        return Flux.fromIterable(deliveries)
+            .concatMap(delivery -> deserializeEvent(delivery.getBody())
+                .map(event -> Tuples.of(delivery, event))
+                .onErrorResume(e -> nack(delivery, e).then(Mono.empty())))
+            .collectList()
+            .flatMapMany(deliveredEvents -> runBatchListenerReliably(batchListener, deliveredEvents))
+            .collectList()
+            .flatMap(this::ackAll);
+    }
+
+    private Flux<AcknowledgableDelivery> runBatchListenerReliably(EventListener.ReactiveBatchGroupEventListener batchListener,
+                                                                  List<Tuple2<AcknowledgableDelivery, Event>> deliveredEvents) {
+        if (deliveredEvents.isEmpty()) {
+            return Flux.empty();
+        }
+        ImmutableList<Event> events = deliveredEvents.stream()
+            .map(Tuple2::getT2)
+            .collect(ImmutableList.toImmutableList());
+
+        return listenerExecutor.executeBatch(batchListener, groupMdc(), events)
+            .thenMany(Flux.fromIterable(deliveredEvents).map(Tuple2::getT1))
+            .onErrorResume(throwable -> Flux.fromIterable(deliveredEvents)
+                .concatMap(deliveredEvent -> retryIfFailed(deliveredEvent, throwable)));
+    }
+
+    private Mono<AcknowledgableDelivery> retryIfFailed(Tuple2<AcknowledgableDelivery, Event> deliveredEvent, Throwable throwable) {
+        if (throwable instanceof PartialBatchFailure && !((PartialBatchFailure) throwable).hasFailed(deliveredEvent.getT2())) {
+            return Mono.just(deliveredEvent.getT1());
+        }
+        return retryHandler.handleRetry(deliveredEvent.getT2(), DEFAULT_RETRY_COUNT, throwable)
+            .thenReturn(deliveredEvent.getT1())
+            .onErrorResume(e -> nack(deliveredEvent.getT1(), e).then(Mono.empty()));
+    }
+
+    private Mono<Void> ackAll(List<AcknowledgableDelivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> deliveries.forEach(AcknowledgableDelivery::ack))
+            .subscribeOn(Schedulers.elastic());
+    }
+
+    private Mono<Void> nack(AcknowledgableDelivery delivery, Throwable e) {
+        LOGGER.error("Unable to process delivery for group {}", group, e);
+        return Mono.<Void>fromRunnable(() -> delivery.nack(!REQUEUE))
+            .subscribeOn(Schedulers.elastic());
     }
 
     public Mono<Void> runListenerReliably(int currentRetryCount, Event event) {
@@ -176,11 +254,16 @@ class GroupRegistration implements Registration {
     }
 
     private Mono<Void> runListener(Event event) {
-        return listenerExecutor.execute(
-            listener,
-            MDCBuilder.create()
-                .addToContext(EventBus.StructuredLoggingFields.GROUP, group.asString()),
-            event);
+        return listenerExecutor.execute(listener, groupMdc(), event);
+    }
+
+    private MDCBuilder groupMdc() {
+        return MDCBuilder.create()
+            .addToContext(EventBus.StructuredLoggingFields.GROUP, group.asString());
+    }
+
+    private boolean isFirstAttempt(AcknowledgableDelivery acknowledgableDelivery) {
+        return getRetryCount(acknowledgableDelivery) == DEFAULT_RETRY_COUNT;
     }
 
     private int getRetryCount(AcknowledgableDelivery acknowledgableDelivery) {
@@ -21,10 +21,15 @@ package org.apache.james.events;
 
 import static org.apache.james.events.EventBus.Metrics.timerName;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.util.MDCBuilder;
 import org.apache.james.util.ReactorUtils;
 
+import com.google.common.collect.ImmutableList;
+
 import reactor.core.publisher.Mono;
 
 class ListenerExecutor {
@@ -43,6 +48,26 @@ class ListenerExecutor {
         return Mono.empty();
     }
 
+    Mono<Void> executeBatch(EventListener.ReactiveBatchGroupEventListener listener, MDCBuilder mdcBuilder, List<Event> events) {
+        ImmutableList<Event> handledEvents = events.stream()
+            .filter(listener::isHandling)
+            .collect(ImmutableList.toImmutableList());
+        if (handledEvents.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(timerName(listener),
+            Mono.from(listener.reactiveEvents(handledEvents))
+                .subscriberContext(ReactorUtils.context("ListenerExecutor", mdc(listener, mdcBuilder, handledEvents)))));
+    }
+
+    private MDCBuilder mdc(EventListener listener, MDCBuilder mdcBuilder, List<Event> events) {
+        return mdcBuilder
+            .addToContext(EventBus.StructuredLoggingFields.EVENT_ID, events.stream()
+                .map(event -> event.getEventId().getId().toString())
+                .collect(Collectors.joining(",")))
+            .addToContext(EventBus.StructuredLoggingFields.LISTENER_CLASS, listener.getClass().getCanonicalName());
+    }
+
     private MDCBuilder mdc(EventListener listener, MDCBuilder mdcBuilder, Event event) {
         return mdcBuilder
             .addToContext(EventBus.StructuredLoggingFields.EVENT_ID, event.getEventId().getId().toString())
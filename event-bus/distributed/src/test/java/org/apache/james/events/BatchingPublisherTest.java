@@ -0,0 +1,120 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.rabbitmq.OutboundMessage;
+import reactor.rabbitmq.OutboundMessageResult;
+import reactor.rabbitmq.Sender;
+
+class BatchingPublisherTest {
+    private static final OutboundMessage MESSAGE = new OutboundMessage("exchange", "routingKey", "body".getBytes(StandardCharsets.UTF_8));
+
+    private Sender sender;
+    private BatchingPublisher testee;
+
+    @BeforeEach
+    void setUp() {
+        sender = mock(Sender.class);
+        testee = new BatchingPublisher(sender);
+    }
+
+    @Test
+    void publishWithConfirmsShouldCompleteWhenAcked() {
+        when(sender.sendWithTypedPublishConfirms(any())).thenAnswer(invocation -> confirmAll(invocation.getArgument(0), true));
+
+        assertThatCode(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE, MESSAGE)).block())
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void publishWithConfirmsShouldFailWhenNacked() {
+        when(sender.sendWithTypedPublishConfirms(any())).thenAnswer(invocation -> confirmAll(invocation.getArgument(0), false));
+
+        assertThatThrownBy(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)).block())
+            .hasMessageContaining("Publish was not acked");
+    }
+
+    @Test
+    void publishWithConfirmsShouldFailWhenNotConfirmed() {
+        when(sender.sendWithTypedPublishConfirms(any())).thenAnswer(invocation -> Flux.from(invocation.<Publisher<?>>getArgument(0)).thenMany(Flux.empty()));
+
+        assertThatThrownBy(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)).block())
+            .hasMessageContaining("Publish was not confirmed");
+    }
+
+    @Test
+    void publishWithConfirmsShouldFailWhenSendingFails() {
+        when(sender.sendWithTypedPublishConfirms(any())).thenReturn(Flux.error(new RuntimeException("boom")));
+
+        assertThatThrownBy(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)).block())
+            .hasMessageContaining("boom");
+    }
+
+    @Test
+    void publishWithConfirmsShouldRecoverAfterAFailure() {
+        when(sender.sendWithTypedPublishConfirms(any()))
+            .thenReturn(Flux.error(new RuntimeException("boom")))
+            .thenAnswer(invocation -> confirmAll(invocation.getArgument(0), true));
+
+        assertThatThrownBy(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)).block());
+        assertThatCode(() -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)).block())
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void concurrentPublicationsShouldBeCoalesced() {
+        AtomicInteger sendCount = new AtomicInteger(0);
+        when(sender.sendWithTypedPublishConfirms(any())).thenAnswer(invocation -> {
+            sendCount.incrementAndGet();
+            return confirmAll(invocation.getArgument(0), true)
+                .delaySequence(Duration.ofMillis(100));
+        });
+
+        int publicationCount = 100;
+        Flux.range(0, publicationCount)
+            .flatMap(i -> testee.publishWithConfirms(ImmutableList.of(MESSAGE)), publicationCount)
+            .blockLast();
+
+        assertThat(sendCount.get()).isLessThanOrEqualTo(10);
+    }
+
+    private Flux<OutboundMessageResult<OutboundMessage>> confirmAll(Publisher<OutboundMessage> messages, boolean ack) {
+        return Flux.from(messages)
+            .map(message -> new OutboundMessageResult<>(message, ack));
+    }
+}
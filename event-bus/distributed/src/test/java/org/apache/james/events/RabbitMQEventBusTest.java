@@ -184,6 +184,34 @@ class RabbitMQEventBusTest implements GroupContract.SingleEventBusGroupContract,
 
     }
 
+    @Test
+    void failingBatchListenerShouldNotDelayUnrelatedEvents() throws Exception {
+        RabbitMQEventBus eventBusWithLongBackoff = new RabbitMQEventBus(TEST_NAMING_STRATEGY, rabbitMQExtension.getSender(),
+            rabbitMQExtension.getReceiverProvider(), eventSerializer,
+            RetryBackoffConfiguration.builder()
+                .maxRetries(3)
+                .firstBackoff(Duration.ofSeconds(30))
+                .jitterFactor(RetryBackoffConfiguration.DEFAULT_JITTER_FACTOR)
+                .build(),
+            routingKeyConverter, memoryEventDeadLetters, new RecordingMetricFactory(),
+            rabbitMQExtension.getRabbitChannelPool(), EventBusId.random(), rabbitMQExtension.getRabbitMQ().getConfiguration());
+        eventBusWithLongBackoff.start();
+        try {
+            EventBusTestFixture.BatchEventCollector listener = new EventBusTestFixture.BatchEventCollector(10, EVENT);
+            eventBusWithLongBackoff.register(listener, GROUP_A);
+
+            eventBusWithLongBackoff.dispatch(EVENT, NO_KEYS).block();
+            getSpeedProfile().shortWaitCondition()
+                .untilAsserted(() -> assertThat(listener.getFailedBatchCount()).isEqualTo(1));
+            eventBusWithLongBackoff.dispatch(EVENT_2, NO_KEYS).block();
+
+            getSpeedProfile().shortWaitCondition()
+                .untilAsserted(() -> assertThat(listener.getEvents()).containsOnly(EVENT_2));
+        } finally {
+            eventBusWithLongBackoff.stop();
+        }
+    }
+
     @Test
     void eventProcessingShouldNotCrashOnInvalidMessage() {
         EventCollector listener = new EventCollector();
@@ -0,0 +1,59 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing
+
+import com.google.common.base.Preconditions
+import org.apache.james.eventsourcing.eventstore.EventStore
+import org.reactivestreams.Publisher
+
+import reactor.core.scala.publisher.SMono
+
+object SnapshotSubscriber {
+  val DEFAULT_INTERVAL: Int = 100
+}
+
+/**
+ * Saves a snapshot of an aggregate every `interval` events, so that loading it replays at most
+ * `interval` events whatever the length of its history.
+ *
+ * Being a subscriber, it only runs once the events were successfully appended, and a failure to save
+ * the snapshot does not fail the command: the next snapshot point will catch up.
+ */
+class SnapshotSubscriber(eventStore: EventStore, snapshotter: Snapshotter, interval: Int) extends ReactiveSubscriber {
+  Preconditions.checkArgument(interval > 0, "Snapshot interval should be strictly positive".asInstanceOf[Object])
+
+  def this(eventStore: EventStore, snapshotter: Snapshotter) = {
+    this(eventStore, snapshotter, SnapshotSubscriber.DEFAULT_INTERVAL)
+  }
+
+  override def handleReactive(event: Event): Publisher[Void] =
+    if (isSnapshotPoint(event.eventId)) {
+      snapshot(event.getAggregateId)
+    } else {
+      SMono.empty
+    }
+
+  private def isSnapshotPoint(eventId: EventId): Boolean = (eventId.serialize + 1) % interval == 0
+
+  private def snapshot(aggregateId: AggregateId): SMono[Void] =
+    SMono(eventStore.getEventsOfAggregate(aggregateId))
+      .filter(history => history.getEvents.nonEmpty)
+      .map(history => snapshotter.snapshot(aggregateId, history))
+      .flatMap(snapshot => SMono(eventStore.saveSnapshot(snapshot)))
+}
@@ -38,6 +38,8 @@ import scala.jdk.CollectionConverters._
 object EventSourcingSystemTest {
   val PAYLOAD_1 = "payload1"
   val PAYLOAD_2 = "payload2"
+  val PAYLOAD_3 = "payload3"
+  val PAYLOAD_4 = "payload4"
   val AGGREGATE_ID = TestAggregateId(42)
 
   class MyCommand(val payload: String) extends Command {
@@ -148,6 +150,68 @@ trait EventSourcingSystemTest {
       .isInstanceOf(classOf[IllegalArgumentException])
   }
 
+  @Test
+  def dispatchShouldSaveASnapshotEveryIntervalEvents(eventStore: EventStore) : Unit = {
+    val eventSourcingSystem = new EventSourcingSystem(
+      Set(simpleDispatcher(eventStore)),
+      Set(new SnapshotSubscriber(eventStore, payloadConcatenatingSnapshotter, 2)),
+      eventStore)
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_1))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_2))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_3))).block()
+
+    val history = SMono(eventStore.getEventsOfAggregate(EventSourcingSystemTest.AGGREGATE_ID)).block()
+    assertThat(history.getSnapshotAsJava)
+      .contains(TestSnapshot(EventSourcingSystemTest.AGGREGATE_ID, EventId.first.next, "payload1 payload2"))
+    assertThat(history.getEventsJava)
+      .containsOnly(TestEvent(EventId.first.next.next, EventSourcingSystemTest.AGGREGATE_ID, EventSourcingSystemTest.PAYLOAD_3))
+  }
+
+  @Test
+  def dispatchShouldBuildSnapshotsOnTopOfThePreviousOne(eventStore: EventStore) : Unit = {
+    val eventSourcingSystem = new EventSourcingSystem(
+      Set(simpleDispatcher(eventStore)),
+      Set(new SnapshotSubscriber(eventStore, payloadConcatenatingSnapshotter, 2)),
+      eventStore)
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_1))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_2))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_3))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_4))).block()
+
+    val history = SMono(eventStore.getEventsOfAggregate(EventSourcingSystemTest.AGGREGATE_ID)).block()
+    assertThat(history.getSnapshotAsJava)
+      .contains(TestSnapshot(EventSourcingSystemTest.AGGREGATE_ID, EventId.fromSerialized(3), "payload1 payload2 payload3 payload4"))
+    assertThat(history.getEventsJava).isEmpty()
+  }
+
+  @Test
+  def dispatchShouldNotSaveASnapshotBeforeTheInterval(eventStore: EventStore) : Unit = {
+    val eventSourcingSystem = new EventSourcingSystem(
+      Set(simpleDispatcher(eventStore)),
+      Set(new SnapshotSubscriber(eventStore, payloadConcatenatingSnapshotter, 3)),
+      eventStore)
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_1))).block()
+    Mono.from(eventSourcingSystem.dispatch(new EventSourcingSystemTest.MyCommand(EventSourcingSystemTest.PAYLOAD_2))).block()
+
+    assertThat(SMono(eventStore.getEventsOfAggregate(EventSourcingSystemTest.AGGREGATE_ID)).block().getSnapshotAsJava).isEmpty()
+  }
+
+  @Test
+  def snapshotSubscriberShouldRejectNonPositiveInterval(eventStore: EventStore) : Unit = {
+    assertThatThrownBy(() => new SnapshotSubscriber(eventStore, payloadConcatenatingSnapshotter, 0))
+      .isInstanceOf(classOf[IllegalArgumentException])
+  }
+
+  def payloadConcatenatingSnapshotter: Snapshotter = (aggregateId: AggregateId, history: History) => {
+    val previousData = history.getSnapshot.map {
+      case snapshot: TestSnapshot => List(snapshot.getData)
+    }.getOrElse(List())
+    val data = (previousData ++ history.getEvents.map {
+      case event: TestEvent => event.getData
+    }).mkString(" ")
+    TestSnapshot(aggregateId.asInstanceOf[TestAggregateId], history.getVersion.get, data)
+  }
+
   def simpleDispatcher(eventStore: EventStore) = new CommandHandler[EventSourcingSystemTest.MyCommand]() {
     override def handledClass: Class[EventSourcingSystemTest.MyCommand] = classOf[EventSourcingSystemTest.MyCommand]
 
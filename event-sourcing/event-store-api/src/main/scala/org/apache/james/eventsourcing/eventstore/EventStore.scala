@@ -18,7 +18,7 @@
  * ***************************************************************/
 package org.apache.james.eventsourcing.eventstore
 
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, Snapshot}
 
 import scala.annotation.varargs
 import org.reactivestreams.Publisher
@@ -35,5 +35,16 @@ trait EventStore {
    */
   def appendAll(events: Iterable[Event]): Publisher[Void]
 
+  /**
+   * The returned History starts from the latest saved snapshot of the aggregate, if any, and only holds the
+   * events following it.
+   */
   def getEventsOfAggregate(aggregateId: AggregateId): Publisher[History]
+
+  /**
+   * Saves a snapshot of an aggregate, sparing the replay of the events it covers upon later reads.
+   *
+   * A snapshot older than the latest saved one for the same aggregate is ignored.
+   */
+  def saveSnapshot(snapshot: Snapshot): Publisher[Void]
 }
\ No newline at end of file
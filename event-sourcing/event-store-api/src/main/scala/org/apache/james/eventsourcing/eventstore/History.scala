@@ -18,7 +18,7 @@
  ****************************************************************/
 package org.apache.james.eventsourcing.eventstore
 
-import org.apache.james.eventsourcing.{Event, EventId}
+import org.apache.james.eventsourcing.{Event, EventId, Snapshot}
 
 import java.util.Optional
 import scala.annotation.varargs
@@ -26,18 +26,30 @@ import scala.jdk.CollectionConverters._
 import scala.jdk.OptionConverters._
 
 object History {
-  def empty: History = new History(Nil)
+  def empty: History = new History(Nil, None)
 
-  def of(events: List[Event]): History = new History(events)
+  def of(events: List[Event]): History = new History(events, None)
 
   @varargs
   def of(events: Event*): History = of(events.toList)
+
+  def fromSnapshot(snapshot: Snapshot, events: List[Event]): History = new History(events, Some(snapshot))
+
+  @varargs
+  def fromSnapshot(snapshot: Snapshot, events: Event*): History = fromSnapshot(snapshot, events.toList)
 }
 
-final case class History private(events: List[Event]) {
+/**
+ * Events of an aggregate, optionally starting from a snapshot. When a snapshot is present, the events are the ones
+ * following it.
+ */
+final case class History private(events: List[Event], snapshot: Option[Snapshot]) {
   if (hasEventIdDuplicates(events)) {
     throw EventStoreFailedException("Event History contains duplicated EventId")
   }
+  if (hasEventsPartOfSnapshot(events, snapshot)) {
+    throw EventStoreFailedException("Event History contains events already part of its snapshot")
+  }
 
   private def hasEventIdDuplicates(events: List[Event]) = {
     val eventIdsNumber = events.map(event => event.eventId)
@@ -46,9 +58,13 @@ final case class History private(events: List[Event]) {
     eventIdsNumber != events.size
   }
 
+  private def hasEventsPartOfSnapshot(events: List[Event], snapshot: Option[Snapshot]) =
+    snapshot.exists(snapshot => events.exists(event => event.eventId.compareTo(snapshot.version) <= 0))
+
   def getVersion: Option[EventId] = events
     .map(event => event.eventId)
     .maxOption
+    .orElse(snapshot.map(_.version))
 
   def getVersionAsJava: Optional[EventId] = getVersion.toJava
 
@@ -56,6 +72,10 @@ final case class History private(events: List[Event]) {
 
   def getEventsJava:java.util.List[Event] = events.asJava
 
+  def getSnapshot: Option[Snapshot] = snapshot
+
+  def getSnapshotAsJava: Optional[Snapshot] = snapshot.toJava
+
   def getNextEventId: EventId = getVersion
     .map(eventId => eventId.next)
     .getOrElse(EventId.first)
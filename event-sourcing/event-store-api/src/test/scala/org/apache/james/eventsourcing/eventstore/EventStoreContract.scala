@@ -18,7 +18,7 @@
  ****************************************************************/
 package org.apache.james.eventsourcing.eventstore
 
-import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestEvent}
+import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestEvent, TestSnapshot}
 import org.assertj.core.api.Assertions.{assertThat, assertThatCode, assertThatThrownBy}
 import org.junit.jupiter.api.Test
 
@@ -82,4 +82,75 @@ trait EventStoreContract {
     assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1)).block())
       .isEqualTo(History.of(event1, event2))
   }
-}
\ No newline at end of file
+
+  @Test
+  def getEventsOfAggregateShouldStartFromTheSavedSnapshot(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(event1.eventId.next, EventStoreContract.AGGREGATE_1, "second")
+    val snapshot = TestSnapshot(EventStoreContract.AGGREGATE_1, event2.eventId, "first second")
+    SMono(testee.appendAll(event1, event2)).block()
+    SMono(testee.saveSnapshot(snapshot)).block()
+    assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1)).block())
+      .isEqualTo(History.fromSnapshot(snapshot))
+  }
+
+  @Test
+  def getEventsOfAggregateShouldReturnEventsFollowingTheSavedSnapshot(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(event1.eventId.next, EventStoreContract.AGGREGATE_1, "second")
+    val snapshot = TestSnapshot(EventStoreContract.AGGREGATE_1, event1.eventId, "first")
+    SMono(testee.appendAll(event1)).block()
+    SMono(testee.saveSnapshot(snapshot)).block()
+    SMono(testee.appendAll(event2)).block()
+    assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1)).block())
+      .isEqualTo(History.fromSnapshot(snapshot, event2))
+  }
+
+  @Test
+  def getEventsOfAggregateShouldStartFromTheLatestSavedSnapshot(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(event1.eventId.next, EventStoreContract.AGGREGATE_1, "second")
+    val snapshot1 = TestSnapshot(EventStoreContract.AGGREGATE_1, event1.eventId, "first")
+    val snapshot2 = TestSnapshot(EventStoreContract.AGGREGATE_1, event2.eventId, "first second")
+    SMono(testee.appendAll(event1, event2)).block()
+    SMono(testee.saveSnapshot(snapshot1)).block()
+    SMono(testee.saveSnapshot(snapshot2)).block()
+    assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1)).block())
+      .isEqualTo(History.fromSnapshot(snapshot2))
+  }
+
+  @Test
+  def appendShouldThrowWhenTryingToRewriteHistoryCoveredByASnapshot(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    SMono(testee.append(event1)).block()
+    SMono(testee.saveSnapshot(TestSnapshot(EventStoreContract.AGGREGATE_1, event1.eventId, "first"))).block()
+    val event2 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "second")
+    assertThatThrownBy(
+      () => SMono(testee.append(event2)).block())
+      .isInstanceOf(classOf[EventStoreFailedException])
+  }
+
+  @Test
+  def snapshotsShouldNotLeakToOtherAggregates(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_2, "second")
+    SMono(testee.appendAll(event1)).block()
+    SMono(testee.appendAll(event2)).block()
+    SMono(testee.saveSnapshot(TestSnapshot(EventStoreContract.AGGREGATE_1, event1.eventId, "first"))).block()
+    assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_2)).block())
+      .isEqualTo(History.of(event2))
+  }
+
+  @Test
+  def saveSnapshotShouldNotReplaceAMoreRecentSnapshot(testee: EventStore) : Unit = {
+    val event1 = TestEvent(EventId.first, EventStoreContract.AGGREGATE_1, "first")
+    val event2 = TestEvent(event1.eventId.next, EventStoreContract.AGGREGATE_1, "second")
+    val snapshot1 = TestSnapshot(EventStoreContract.AGGREGATE_1, event1.eventId, "first")
+    val snapshot2 = TestSnapshot(EventStoreContract.AGGREGATE_1, event2.eventId, "first second")
+    SMono(testee.appendAll(event1, event2)).block()
+    SMono(testee.saveSnapshot(snapshot2)).block()
+    SMono(testee.saveSnapshot(snapshot1)).block()
+    assertThat(SMono(testee.getEventsOfAggregate(EventStoreContract.AGGREGATE_1)).block())
+      .isEqualTo(History.fromSnapshot(snapshot2))
+  }
+}
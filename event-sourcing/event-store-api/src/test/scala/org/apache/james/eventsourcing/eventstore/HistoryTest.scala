@@ -18,7 +18,7 @@
  ****************************************************************/
 package org.apache.james.eventsourcing.eventstore
 
-import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestEvent}
+import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestEvent, TestSnapshot}
 import org.assertj.core.api.Assertions.{assertThat, assertThatThrownBy}
 import org.junit.jupiter.api.Test
 
@@ -52,4 +52,47 @@ class HistoryTest {
     assertThatThrownBy(() => History.of(event1, event2))
       .isInstanceOf(classOf[EventStoreFailedException])
   }
-}
\ No newline at end of file
+
+  @Test
+  def getVersionShouldReturnSnapshotVersionWhenNoFollowingEvents() : Unit = {
+    val snapshot = TestSnapshot(TestAggregateId(42), EventId.fromSerialized(5), "any")
+    assertThat(History.fromSnapshot(snapshot).getVersion)
+      .isEqualTo(Some(snapshot.version))
+  }
+
+  @Test
+  def getVersionShouldReturnHighestEventIdWhenFollowingASnapshot() : Unit = {
+    val snapshot = TestSnapshot(TestAggregateId(42), EventId.fromSerialized(5), "any")
+    val event = TestEvent(snapshot.version.next, TestAggregateId(42), "any")
+    assertThat(History.fromSnapshot(snapshot, event).getVersion)
+      .isEqualTo(Some(event.eventId))
+  }
+
+  @Test
+  def getNextEventIdShouldFollowSnapshotVersion() : Unit = {
+    val snapshot = TestSnapshot(TestAggregateId(42), EventId.fromSerialized(5), "any")
+    assertThat(History.fromSnapshot(snapshot).getNextEventId)
+      .isEqualTo(snapshot.version.next)
+  }
+
+  @Test
+  def getSnapshotShouldReturnEmptyWhenNoSnapshot() : Unit =
+    assertThat(History.of(TestEvent(EventId.first, TestAggregateId(42), "any")).getSnapshot)
+      .isEqualTo(None)
+
+  @Test
+  def getEventsShouldOnlyReturnEventsFollowingTheSnapshot() : Unit = {
+    val snapshot = TestSnapshot(TestAggregateId(42), EventId.fromSerialized(5), "any")
+    val event = TestEvent(snapshot.version.next, TestAggregateId(42), "any")
+    assertThat(History.fromSnapshot(snapshot, event).getEventsJava)
+      .containsExactly(event)
+  }
+
+  @Test
+  def historyShouldThrowWhenEventsArePartOfTheSnapshot() : Unit = {
+    val snapshot = TestSnapshot(TestAggregateId(42), EventId.fromSerialized(5), "any")
+    val event = TestEvent(snapshot.version, TestAggregateId(42), "any")
+    assertThatThrownBy(() => History.fromSnapshot(snapshot, event))
+      .isInstanceOf(classOf[EventStoreFailedException])
+  }
+}
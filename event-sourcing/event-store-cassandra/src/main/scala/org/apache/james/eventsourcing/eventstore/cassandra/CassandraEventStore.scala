@@ -22,12 +22,22 @@ import com.google.common.base.Preconditions
 import javax.inject.Inject
 
 import org.apache.james.eventsourcing.eventstore.{EventStore, EventStoreFailedException, History}
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, Snapshot}
 import org.reactivestreams.Publisher
 
 import reactor.core.scala.publisher.SMono
 
-class CassandraEventStore @Inject() (eventStoreDao: EventStoreDao) extends EventStore {
+class CassandraEventStore(eventStoreDao: EventStoreDao, snapshotDao: Option[SnapshotDao]) extends EventStore {
+
+  @Inject()
+  def this(eventStoreDao: EventStoreDao, snapshotDao: SnapshotDao) = {
+    this(eventStoreDao, Some(snapshotDao))
+  }
+
+  def this(eventStoreDao: EventStoreDao) = {
+    this(eventStoreDao, None)
+  }
+
   override def appendAll(events: Iterable[Event]): Publisher[Void] = {
     if (events.nonEmpty) {
       doAppendAll(events)
@@ -49,6 +59,14 @@ class CassandraEventStore @Inject() (eventStoreDao: EventStoreDao) extends Event
   }
 
   override def getEventsOfAggregate(aggregateId: AggregateId): SMono[History] = {
-    eventStoreDao.getEventsOfAggregate(aggregateId)
+    snapshotDao.map(_.retrieve(aggregateId))
+      .getOrElse(SMono.empty)
+      .flatMap(snapshot => eventStoreDao.getEventsOfAggregate(snapshot))
+      .switchIfEmpty(SMono.defer(() => eventStoreDao.getEventsOfAggregate(aggregateId)))
+  }
+
+  override def saveSnapshot(snapshot: Snapshot): Publisher[Void] = {
+    snapshotDao.map(_.save(snapshot))
+      .getOrElse(SMono.empty)
   }
 }
@@ -24,7 +24,8 @@ import com.datastax.driver.core.DataType
 import com.datastax.driver.core.schemabuilder.{Create, SchemaBuilder}
 
 object CassandraEventStoreModule {
-  val MODULE = CassandraModule.table(CassandraEventStoreTable.EVENTS_TABLE)
+  val MODULE = CassandraModule.builder()
+    .table(CassandraEventStoreTable.EVENTS_TABLE)
     .comment("Store events of a EventSourcing aggregate")
     .options((options: Create.Options) => options
       .compactionOptions(SchemaBuilder.leveledStrategy())
@@ -34,5 +35,15 @@ object CassandraEventStoreModule {
     .statement(_.addPartitionKey(CassandraEventStoreTable.AGGREGATE_ID, DataType.varchar)
       .addClusteringColumn(CassandraEventStoreTable.EVENT_ID, DataType.cint)
       .addColumn(CassandraEventStoreTable.EVENT, DataType.text))
+    .table(CassandraEventStoreTable.SNAPSHOTS_TABLE)
+    .comment("Store the latest snapshots of an EventSourcing aggregate, sparing the replay of the events they cover")
+    .options((options: Create.Options) => options
+      .clusteringOrder(CassandraEventStoreTable.VERSION, SchemaBuilder.Direction.DESC)
+      .caching(
+        SchemaBuilder.KeyCaching.ALL,
+        SchemaBuilder.rows(CassandraConstants.DEFAULT_CACHED_ROW_PER_PARTITION)))
+    .statement(_.addPartitionKey(CassandraEventStoreTable.AGGREGATE_ID, DataType.varchar)
+      .addClusteringColumn(CassandraEventStoreTable.VERSION, DataType.cint)
+      .addColumn(CassandraEventStoreTable.SNAPSHOT, DataType.text))
     .build
 }
\ No newline at end of file
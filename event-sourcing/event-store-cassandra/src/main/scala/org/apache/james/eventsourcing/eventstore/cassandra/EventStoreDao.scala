@@ -27,7 +27,7 @@ import org.apache.james.backends.cassandra.init.configuration.CassandraConsisten
 import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor
 import org.apache.james.eventsourcing.eventstore.History
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreTable.{AGGREGATE_ID, EVENT, EVENTS_TABLE, EVENT_ID}
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, Snapshot}
 
 import reactor.core.scala.publisher.{SFlux, SMono}
 
@@ -38,6 +38,7 @@ class EventStoreDao @Inject() (val session: Session,
   private val consistencyLevel: ConsistencyLevel = consistenciesConfiguration.getLightweightTransaction
   private val insert = prepareInsert(session)
   private val select = prepareSelect(session)
+  private val selectAfter = prepareSelectAfter(session)
 
   private def prepareInsert(session: Session): PreparedStatement = {
     session.prepare(
@@ -55,6 +56,14 @@ class EventStoreDao @Inject() (val session: Session,
       .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID))))
   }
 
+  private def prepareSelectAfter(session: Session): PreparedStatement = {
+    session.prepare(QueryBuilder
+      .select()
+      .from(EVENTS_TABLE)
+      .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID)))
+      .and(QueryBuilder.gt(EVENT_ID, bindMarker(EVENT_ID))))
+  }
+
   private[cassandra] def appendAll(events: Iterable[Event]): SMono[Boolean] = {
     SMono(cassandraAsyncExecutor.executeReturnApplied(appendQuery(events))
       .map(_.booleanValue()))
@@ -81,13 +90,25 @@ class EventStoreDao @Inject() (val session: Session,
   private[cassandra] def getEventsOfAggregate(aggregateId: AggregateId): SMono[History] = {
     val preparedStatement = select.bind.setString(AGGREGATE_ID, aggregateId.asAggregateKey)
       .setConsistencyLevel(consistencyLevel)
-    val rows: SFlux[Row] = SFlux[Row](cassandraAsyncExecutor.executeRows(preparedStatement))
+    readEvents(preparedStatement)
+      .map(History.of(_))
+  }
+
+  private[cassandra] def getEventsOfAggregate(snapshot: Snapshot): SMono[History] = {
+    val preparedStatement = selectAfter.bind.setString(AGGREGATE_ID, snapshot.getAggregateId.asAggregateKey)
+      .setInt(EVENT_ID, snapshot.version.serialize)
+      .setConsistencyLevel(consistencyLevel)
+
+    readEvents(preparedStatement)
+      .map(events => History.fromSnapshot(snapshot, events))
+  }
+
+  private def readEvents(statement: Statement): SMono[List[Event]] = {
+    val rows: SFlux[Row] = SFlux[Row](cassandraAsyncExecutor.executeRows(statement))
 
     val events: SFlux[Event] = rows.map(toEvent)
-    val listEvents: SMono[List[Event]] = events.collectSeq()
+    events.collectSeq()
       .map(_.toList)
-
-    listEvents.map(History.of(_))
   }
 
   private def toEvent(row: Row): Event = {
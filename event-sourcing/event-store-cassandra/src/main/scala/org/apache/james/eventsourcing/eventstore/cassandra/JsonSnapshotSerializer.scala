@@ -0,0 +1,65 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.cassandra
+
+import java.io.IOException
+import java.util
+
+import com.fasterxml.jackson.core.JsonProcessingException
+import com.google.common.collect.ImmutableSet
+import javax.inject.Inject
+import org.apache.james.eventsourcing.Snapshot
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.{SnapshotDTO, SnapshotDTOModule}
+import org.apache.james.json.JsonGenericSerializer
+
+import scala.annotation.varargs
+
+object JsonSnapshotSerializer {
+  @SafeVarargs
+  @varargs
+  def forModules(modules: SnapshotDTOModule[_ <: Snapshot, _ <: SnapshotDTO]*): JsonSnapshotSerializer =
+    new JsonSnapshotSerializer(ImmutableSet.copyOf(modules.toArray))
+
+  class InvalidSnapshotException(original: JsonGenericSerializer.InvalidTypeException) extends RuntimeException(original)
+
+  class UnknownSnapshotException(original: JsonGenericSerializer.UnknownTypeException) extends RuntimeException(original)
+}
+
+class JsonSnapshotSerializer @Inject()(modules: util.Set[SnapshotDTOModule[_ <: Snapshot, _ <: SnapshotDTO]]) {
+
+  private val jsonGenericSerializer: JsonGenericSerializer[Snapshot, SnapshotDTO] = JsonGenericSerializer
+    .forModules(modules)
+    .withoutNestedType()
+
+  @throws[JsonProcessingException]
+  def serialize(snapshot: Snapshot): String = try jsonGenericSerializer.serialize(snapshot)
+  catch {
+    case e: JsonGenericSerializer.UnknownTypeException =>
+      throw new JsonSnapshotSerializer.UnknownSnapshotException(e)
+  }
+
+  @throws[IOException]
+  def deserialize(value: String): Snapshot = try jsonGenericSerializer.deserialize(value)
+  catch {
+    case e: JsonGenericSerializer.UnknownTypeException =>
+      throw new JsonSnapshotSerializer.UnknownSnapshotException(e)
+    case e: JsonGenericSerializer.InvalidTypeException =>
+      throw new JsonSnapshotSerializer.InvalidSnapshotException(e)
+  }
+}
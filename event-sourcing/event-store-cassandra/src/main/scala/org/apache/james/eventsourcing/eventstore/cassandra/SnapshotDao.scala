@@ -0,0 +1,90 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.cassandra
+
+import com.datastax.driver.core.querybuilder.QueryBuilder
+import com.datastax.driver.core.querybuilder.QueryBuilder.{bindMarker, delete, desc, insertInto, lt}
+import com.datastax.driver.core.{PreparedStatement, Row, Session}
+import javax.inject.Inject
+
+import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor
+import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreTable.{AGGREGATE_ID, SNAPSHOT, SNAPSHOTS_TABLE, VERSION}
+import org.apache.james.eventsourcing.{AggregateId, Snapshot}
+
+import reactor.core.scala.publisher.SMono
+
+class SnapshotDao @Inject() (val session: Session,
+                             val jsonSnapshotSerializer: JsonSnapshotSerializer) {
+  private val cassandraAsyncExecutor = new CassandraAsyncExecutor(session)
+  private val insert = prepareInsert(session)
+  private val deleteOlder = prepareDeleteOlder(session)
+  private val selectLatest = prepareSelectLatest(session)
+
+  private def prepareInsert(session: Session): PreparedStatement = {
+    session.prepare(
+      insertInto(SNAPSHOTS_TABLE)
+        .value(AGGREGATE_ID, bindMarker(AGGREGATE_ID))
+        .value(VERSION, bindMarker(VERSION))
+        .value(SNAPSHOT, bindMarker(SNAPSHOT)))
+  }
+
+  private def prepareDeleteOlder(session: Session): PreparedStatement = {
+    session.prepare(
+      delete()
+        .from(SNAPSHOTS_TABLE)
+        .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID)))
+        .and(lt(VERSION, bindMarker(VERSION))))
+  }
+
+  private def prepareSelectLatest(session: Session): PreparedStatement = {
+    session.prepare(QueryBuilder
+      .select()
+      .from(SNAPSHOTS_TABLE)
+      .where(QueryBuilder.eq(AGGREGATE_ID, bindMarker(AGGREGATE_ID)))
+      .orderBy(desc(VERSION))
+      .limit(1))
+  }
+
+  /**
+   * Snapshots are clustered by version: the most recent one is read first whatever the order the writes
+   * are applied in. Snapshots older than the saved one are then removed.
+   */
+  private[cassandra] def save(snapshot: Snapshot): SMono[Void] = {
+    val aggregateKey = snapshot.getAggregateId.asAggregateKey
+    val version = snapshot.version.serialize
+
+    SMono(cassandraAsyncExecutor.executeVoid(insert.bind
+      .setString(AGGREGATE_ID, aggregateKey)
+      .setInt(VERSION, version)
+      .setString(SNAPSHOT, jsonSnapshotSerializer.serialize(snapshot))))
+      .`then`(SMono(cassandraAsyncExecutor.executeVoid(deleteOlder.bind
+        .setString(AGGREGATE_ID, aggregateKey)
+        .setInt(VERSION, version))))
+  }
+
+  private[cassandra] def retrieve(aggregateId: AggregateId): SMono[Snapshot] = {
+    SMono(cassandraAsyncExecutor.executeSingleRow(selectLatest.bind
+      .setString(AGGREGATE_ID, aggregateId.asAggregateKey)))
+      .map(toSnapshot)
+  }
+
+  private def toSnapshot(row: Row): Snapshot = {
+    jsonSnapshotSerializer.deserialize(row.getString(SNAPSHOT))
+  }
+}
@@ -29,21 +29,36 @@ import org.junit.jupiter.api.extension.ParameterContext
 import org.junit.jupiter.api.extension.ParameterResolutionException
 import org.junit.jupiter.api.extension.ParameterResolver
 
-class CassandraEventStoreExtension(var cassandra: CassandraClusterExtension, val eventSerializer: JsonEventSerializer)
+class CassandraEventStoreExtension(var cassandra: CassandraClusterExtension, val eventSerializer: JsonEventSerializer, val snapshotSerializer: Option[JsonSnapshotSerializer])
   extends BeforeAllCallback with AfterAllCallback with BeforeEachCallback with AfterEachCallback with ParameterResolver {
 
   private var eventStoreDao : Option[EventStoreDao] = None
+  private var snapshotDao : Option[SnapshotDao] = None
+
+  def this(cassandra: CassandraClusterExtension, eventSerializer: JsonEventSerializer) {
+    this(cassandra, eventSerializer, None)
+  }
+
+  def this(cassandra: CassandraClusterExtension, eventSerializer: JsonEventSerializer, snapshotSerializer: JsonSnapshotSerializer) {
+    this(cassandra, eventSerializer, Some(snapshotSerializer))
+  }
 
   def this(eventSerializer: JsonEventSerializer) {
     this(new CassandraClusterExtension(CassandraEventStoreModule.MODULE), eventSerializer)
   }
 
+  def this(eventSerializer: JsonEventSerializer, snapshotSerializer: JsonSnapshotSerializer) {
+    this(new CassandraClusterExtension(CassandraEventStoreModule.MODULE), eventSerializer, snapshotSerializer)
+  }
+
   override def beforeAll(context: ExtensionContext): Unit = cassandra.beforeAll(context)
 
   override def afterAll(context: ExtensionContext): Unit = cassandra.afterAll(context)
 
-  override def beforeEach(context: ExtensionContext): Unit = eventStoreDao =
-    Some(new EventStoreDao(cassandra.getCassandraCluster.getConf, eventSerializer, cassandra.getCassandraConsistenciesConfiguration))
+  override def beforeEach(context: ExtensionContext): Unit = {
+    eventStoreDao = Some(new EventStoreDao(cassandra.getCassandraCluster.getConf, eventSerializer, cassandra.getCassandraConsistenciesConfiguration))
+    snapshotDao = snapshotSerializer.map(new SnapshotDao(cassandra.getCassandraCluster.getConf, _))
+  }
 
   override def afterEach(context: ExtensionContext): Unit = cassandra.afterEach(context)
 
@@ -53,5 +68,5 @@ class CassandraEventStoreExtension(var cassandra: CassandraClusterExtension, val
 
   @throws[ParameterResolutionException]
   override def resolveParameter(parameterContext: ParameterContext, extensionContext: ExtensionContext): CassandraEventStore =
-    new CassandraEventStore(eventStoreDao.get)
+    new CassandraEventStore(eventStoreDao.get, snapshotDao)
 }
\ No newline at end of file
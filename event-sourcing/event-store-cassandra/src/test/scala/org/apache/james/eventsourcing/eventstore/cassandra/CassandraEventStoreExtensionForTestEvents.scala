@@ -21,4 +21,6 @@ package org.apache.james.eventsourcing.eventstore.cassandra
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.TestEventDTOModules
 import org.junit.jupiter.api.extension.Extension
 
-class CassandraEventStoreExtensionForTestEvents extends CassandraEventStoreExtension(JsonEventSerializer.forModules(TestEventDTOModules.TEST_TYPE).withoutNestedType) with Extension
+class CassandraEventStoreExtensionForTestEvents extends CassandraEventStoreExtension(
+  JsonEventSerializer.forModules(TestEventDTOModules.TEST_TYPE).withoutNestedType,
+  JsonSnapshotSerializer.forModules(TestEventDTOModules.TEST_SNAPSHOT_TYPE)) with Extension
@@ -0,0 +1,63 @@
+ /***************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.cassandra
+
+import net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.TestEventDTOModules
+import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestSnapshot}
+import org.assertj.core.api.Assertions.{assertThat, assertThatThrownBy}
+import org.junit.jupiter.api.Test
+
+object JsonSnapshotSerializerTest {
+  val TEST_SNAPSHOT: TestSnapshot = TestSnapshot(TestAggregateId(1), EventId.fromSerialized(41), "state")
+  val TEST_SNAPSHOT_JSON: String = "{\"type\":\"test-snapshot\",\"data\":\"state\",\"version\":41,\"aggregate\":1}"
+  val MISSING_TYPE_SNAPSHOT_JSON: String = "{\"data\":\"state\",\"version\":41,\"aggregate\":1}"
+}
+
+class JsonSnapshotSerializerTest {
+  @Test
+  def shouldSerializeKnownSnapshot(): Unit =
+    assertThatJson(JsonSnapshotSerializer.forModules(TestEventDTOModules.TEST_SNAPSHOT_TYPE)
+      .serialize(JsonSnapshotSerializerTest.TEST_SNAPSHOT))
+      .isEqualTo(JsonSnapshotSerializerTest.TEST_SNAPSHOT_JSON)
+
+  @Test
+  def shouldDeserializeKnownSnapshot(): Unit =
+    assertThat(JsonSnapshotSerializer.forModules(TestEventDTOModules.TEST_SNAPSHOT_TYPE)
+      .deserialize(JsonSnapshotSerializerTest.TEST_SNAPSHOT_JSON))
+      .isEqualTo(JsonSnapshotSerializerTest.TEST_SNAPSHOT)
+
+  @Test
+  def shouldThrowWhenSerializeUnknownSnapshot(): Unit =
+    assertThatThrownBy(() => JsonSnapshotSerializer.forModules()
+      .serialize(JsonSnapshotSerializerTest.TEST_SNAPSHOT))
+      .isInstanceOf(classOf[JsonSnapshotSerializer.UnknownSnapshotException])
+
+  @Test
+  def shouldThrowWhenDeserializeUnknownSnapshot(): Unit =
+    assertThatThrownBy(() => JsonSnapshotSerializer.forModules()
+      .deserialize(JsonSnapshotSerializerTest.TEST_SNAPSHOT_JSON))
+      .isInstanceOf(classOf[JsonSnapshotSerializer.UnknownSnapshotException])
+
+  @Test
+  def deserializeShouldThrowWhenSnapshotWithMissingType(): Unit =
+    assertThatThrownBy(() => JsonSnapshotSerializer.forModules(TestEventDTOModules.TEST_SNAPSHOT_TYPE)
+      .deserialize(JsonSnapshotSerializerTest.MISSING_TYPE_SNAPSHOT_JSON))
+      .isInstanceOf(classOf[JsonSnapshotSerializer.InvalidSnapshotException])
+}
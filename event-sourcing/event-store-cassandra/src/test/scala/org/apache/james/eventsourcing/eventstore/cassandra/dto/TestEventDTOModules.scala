@@ -18,7 +18,7 @@
  ****************************************************************/
 package org.apache.james.eventsourcing.eventstore.cassandra.dto
 
-import org.apache.james.eventsourcing.TestEvent
+import org.apache.james.eventsourcing.{TestEvent, TestSnapshot}
 import org.apache.james.json.DTOModule
 
 object TestEventDTOModules {
@@ -44,4 +44,16 @@ object TestEventDTOModules {
       event.getAggregateId.getId))
     .typeName("other-type")
     .withFactory(EventDTOModule.apply)
+
+  val TEST_SNAPSHOT_TYPE: SnapshotDTOModule[TestSnapshot, TestSnapshotDTO] = SnapshotDTOModule
+    .forSnapshot(classOf[TestSnapshot])
+    .convertToDTO(classOf[TestSnapshotDTO])
+    .toDomainObjectConverter(_.toSnapshot)
+    .toDTOConverter((snapshot: TestSnapshot, typeName: String) => TestSnapshotDTO(
+      typeName,
+      snapshot.getData,
+      snapshot.version.serialize,
+      snapshot.getAggregateId.getId))
+    .typeName("test-snapshot")
+    .withFactory(SnapshotDTOModule.apply)
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.eventsourcing.eventstore.cassandra.dto
+
+import com.fasterxml.jackson.annotation.{JsonCreator, JsonIgnore, JsonProperty}
+import org.apache.james.eventsourcing.{EventId, TestAggregateId, TestSnapshot}
+
+final case class TestSnapshotDTO @JsonCreator() (@JsonProperty("type") `type`: String,
+                                                 @JsonProperty("data") data: String,
+                                                 @JsonProperty("version") version: Int,
+                                                 @JsonProperty("aggregate") aggregate: Int) extends SnapshotDTO {
+  override def getType: String = `type`
+
+  def getData: String = data
+
+  def getVersion: Int = version
+
+  def getAggregate: Int = aggregate
+
+  @JsonIgnore def toSnapshot: TestSnapshot = TestSnapshot(TestAggregateId(aggregate), EventId.fromSerialized(version), data)
+}
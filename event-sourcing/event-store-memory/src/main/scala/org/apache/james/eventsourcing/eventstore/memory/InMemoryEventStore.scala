@@ -22,7 +22,7 @@ import java.util.concurrent.atomic.AtomicReference
 
 import com.google.common.base.Preconditions
 import org.apache.james.eventsourcing.eventstore.{EventStore, History}
-import org.apache.james.eventsourcing.{AggregateId, Event}
+import org.apache.james.eventsourcing.{AggregateId, Event, Snapshot}
 import org.reactivestreams.Publisher
 
 import reactor.core.scala.publisher.SMono
@@ -30,6 +30,8 @@ import reactor.core.scala.publisher.SMono
 class InMemoryEventStore() extends EventStore {
   private val storeRef: AtomicReference[Map[AggregateId, History]] =
     new AtomicReference(Map().withDefault(_ => History.empty))
+  private val snapshotsRef: AtomicReference[Map[AggregateId, Snapshot]] =
+    new AtomicReference(Map())
 
   override def appendAll(events: Iterable[Event]): Publisher[Void] = {
     if (events.nonEmpty) {
@@ -41,9 +43,19 @@ class InMemoryEventStore() extends EventStore {
 
   override def getEventsOfAggregate(aggregateId: AggregateId): Publisher[History] = {
     Preconditions.checkNotNull(aggregateId)
-    SMono.fromCallable(() => storeRef.get()(aggregateId))
+    SMono.fromCallable(() => withSnapshot(storeRef.get()(aggregateId), snapshotsRef.get().get(aggregateId)))
   }
 
+  override def saveSnapshot(snapshot: Snapshot): Publisher[Void] =
+    SMono.fromCallable(() => snapshotsRef.updateAndGet(snapshots => snapshots.get(snapshot.getAggregateId) match {
+      case Some(existing) if existing.version.compareTo(snapshot.version) >= 0 => snapshots
+      case _ => snapshots.updated(snapshot.getAggregateId, snapshot)
+    })).`then`()
+
+  private def withSnapshot(history: History, snapshot: Option[Snapshot]): History = snapshot
+    .map(snapshot => History.fromSnapshot(snapshot, history.getEvents.filter(_.eventId.compareTo(snapshot.version) > 0)))
+    .getOrElse(history)
+
   private def doAppendAll(events: Iterable[Event]): Boolean = {
     val aggregateId: AggregateId = getAggregateId(events)
     storeRef.updateAndGet(store => {
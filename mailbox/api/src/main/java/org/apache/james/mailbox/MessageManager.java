@@ -389,6 +389,15 @@ public interface MessageManager {
 
     Publisher<ComposedMessageIdWithMetaData> listMessagesMetadata(MessageRange set, MailboxSession session);
 
+    /**
+     * Reads at most {@code length} octets of the full content of a message, starting at {@code offset}, without
+     * retrieving the rest of the content when the underlying storage allows it.
+     *
+     * @return the content within the range, truncated to the end of the message (empty if the range starts after the
+     *  end of the message), or an empty publisher when the message is not found
+     */
+    Publisher<Content> getFullContent(MessageUid uid, long offset, long length, MailboxSession mailboxSession);
+
     /**
      * Return the underlying {@link Mailbox}
      */
@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import javax.mail.Flags;
 import javax.mail.Flags.Flag;
@@ -41,6 +42,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.james.backends.cassandra.init.configuration.CassandraConfiguration;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.mailbox.ApplicableFlagBuilder;
 import org.apache.james.mailbox.FlagsBuilder;
 import org.apache.james.mailbox.MessageManager.FlagsUpdateMode;
@@ -74,6 +76,7 @@ import com.github.fge.lambdas.Throwing;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Streams;
+import com.google.common.primitives.Bytes;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -87,6 +90,7 @@ public class CassandraMessageMapper implements MessageMapper {
     private static final int MAX_RETRY = 5;
     private static final Duration MIN_RETRY_BACKOFF = Duration.ofMillis(10);
     private static final Duration MAX_RETRY_BACKOFF = Duration.ofMillis(1000);
+    private static final int FLAGS_UPDATE_BATCH_SIZE = 1000;
 
     private final ModSeqProvider modSeqProvider;
     private final UidProvider uidProvider;
@@ -153,14 +157,29 @@ public class CassandraMessageMapper implements MessageMapper {
     public Mono<MailboxCounters> getMailboxCountersReactive(Mailbox mailbox) {
         CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
         return readMailboxCounters(mailboxId)
-            .flatMap(counters -> {
-                if (!counters.isValid()) {
-                    return fixCounters(mailbox)
-                        .then(readMailboxCounters(mailboxId));
-                }
-                return Mono.just(counters);
-            })
-            .doOnNext(counters -> readRepair(mailbox, counters));
+            .flatMap(counters -> checkCounters(mailbox, counters));
+    }
+
+    @Override
+    public Flux<MailboxCounters> getMailboxCountersReactive(Collection<Mailbox> mailboxes) {
+        List<CassandraId> mailboxIds = mailboxes.stream()
+            .map(mailbox -> (CassandraId) mailbox.getMailboxId())
+            .collect(ImmutableList.toImmutableList());
+
+        return mailboxCounterDAO.retrieveMailboxCounters(mailboxIds)
+            .collectMap(MailboxCounters::getMailboxId, Function.identity())
+            .flatMapMany(countersById -> Flux.fromIterable(mailboxes)
+                .concatMap(mailbox -> checkCounters(mailbox, countersById.getOrDefault(mailbox.getMailboxId(),
+                    MailboxCounters.empty(mailbox.getMailboxId())))));
+    }
+
+    private Mono<MailboxCounters> checkCounters(Mailbox mailbox, MailboxCounters counters) {
+        Mono<MailboxCounters> validCounters = Mono.just(counters);
+        if (!counters.isValid()) {
+            validCounters = fixCounters(mailbox)
+                .then(readMailboxCounters((CassandraId) mailbox.getMailboxId()));
+        }
+        return validCounters.doOnNext(checkedCounters -> readRepair(mailbox, checkedCounters));
     }
 
     public Mono<MailboxCounters> readMailboxCounters(CassandraId mailboxId) {
@@ -270,6 +289,35 @@ public class CassandraMessageMapper implements MessageMapper {
             .flatMap(messageRepresentation -> attachmentLoader.addAttachmentToMessage(messageRepresentation, fetchType));
     }
 
+    @Override
+    public Mono<byte[]> getFullContent(Mailbox mailbox, MessageUid uid, long offset, long length) {
+        if (length <= 0) {
+            return Mono.just(EMPTY_BYTE_ARRAY);
+        }
+        CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
+        ByteRange range = ByteRange.of(offset, length);
+
+        return messageIdDAO.retrieve(mailboxId, uid)
+            .handle(ReactorUtils.publishIfPresent())
+            .flatMap(metadata -> messageDAOV3.retrieveMessage(metadata.getComposedMessageId(), FetchType.Metadata)
+                .switchIfEmpty(messageDAO.retrieveMessage(metadata.getComposedMessageId(), FetchType.Metadata)))
+            .flatMap(message -> readRange(message.getHeaderId(), 0, message.getBodyStartOctet(), range)
+                .zipWith(readRange(message.getBodyId(), message.getBodyStartOctet(), Long.MAX_VALUE, range), Bytes::concat));
+    }
+
+    /**
+     * Reads the part of the range stored in the given blob, which holds the octets of the full content from
+     * {@code blobStart} to {@code blobEnd}
+     */
+    private Mono<byte[]> readRange(BlobId blobId, long blobStart, long blobEnd, ByteRange range) {
+        long start = Math.max(range.getOffset(), blobStart);
+        long end = Math.min(range.getEndExclusive(), blobEnd);
+        if (start >= end) {
+            return Mono.just(EMPTY_BYTE_ARRAY);
+        }
+        return Mono.from(blobStore.readBytes(blobStore.getDefaultBucketName(), blobId, ByteRange.of(start - blobStart, end - start)));
+    }
+
     @Override
     public List<MessageUid> findRecentMessageUidsInMailbox(Mailbox mailbox) {
         CassandraId mailboxId = (CassandraId) mailbox.getMailboxId();
@@ -449,8 +497,17 @@ public class CassandraMessageMapper implements MessageMapper {
     private Mono<FlagsUpdateStageResult> runUpdateStage(CassandraId mailboxId, Flux<ComposedMessageIdWithMetaData> toBeUpdated, FlagsUpdateCalculator flagsUpdateCalculator) {
         return computeNewModSeq(mailboxId)
             .flatMapMany(newModSeq -> toBeUpdated
-            .concatMap(metadata -> tryFlagsUpdate(flagsUpdateCalculator, newModSeq, metadata)))
-            .reduce(FlagsUpdateStageResult.none(), FlagsUpdateStageResult::merge)
+                .buffer(FLAGS_UPDATE_BATCH_SIZE)
+                .concatMap(batch -> runUpdateBatch(mailboxId, batch, newModSeq, flagsUpdateCalculator)))
+            .collectList()
+            .map(FlagsUpdateStageResult::aggregate);
+    }
+
+    private Mono<FlagsUpdateStageResult> runUpdateBatch(CassandraId mailboxId, List<ComposedMessageIdWithMetaData> batch, ModSeq newModSeq, FlagsUpdateCalculator flagsUpdateCalculator) {
+        return Flux.fromIterable(batch)
+            .flatMapSequential(metadata -> tryFlagsUpdate(flagsUpdateCalculator, newModSeq, metadata), cassandraConfiguration.getFlagsUpdateChunkSize())
+            .collectList()
+            .map(FlagsUpdateStageResult::aggregate)
             .flatMap(result -> updateIndexesForUpdatesResult(mailboxId, result));
     }
 
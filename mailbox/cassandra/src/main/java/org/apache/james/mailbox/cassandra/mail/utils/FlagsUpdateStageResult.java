@@ -19,6 +19,7 @@
 
 package org.apache.james.mailbox.cassandra.mail.utils;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -41,6 +42,16 @@ public class FlagsUpdateStageResult {
         return new FlagsUpdateStageResult(ImmutableList.of(), ImmutableList.of());
     }
 
+    public static FlagsUpdateStageResult aggregate(Collection<FlagsUpdateStageResult> results) {
+        ImmutableList.Builder<ComposedMessageId> failed = ImmutableList.builder();
+        ImmutableList.Builder<UpdatedFlags> succeeded = ImmutableList.builder();
+        results.forEach(result -> {
+            failed.addAll(result.failed);
+            succeeded.addAll(result.succeeded);
+        });
+        return new FlagsUpdateStageResult(failed.build(), succeeded.build());
+    }
+
     private final ImmutableList<ComposedMessageId> failed;
     private final ImmutableList<UpdatedFlags> succeeded;
 
@@ -22,6 +22,8 @@ package org.apache.james.mailbox.cassandra.mail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.util.stream.IntStream;
+
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.CassandraClusterExtension;
 import org.apache.james.core.Username;
@@ -35,6 +37,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.google.common.collect.ImmutableList;
+
 class CassandraMailboxCounterDAOTest {
     private static final UidValidity UID_VALIDITY = UidValidity.of(15);
     private static final CassandraId MAILBOX_ID = CassandraId.timeBased();
@@ -67,6 +71,46 @@ class CassandraMailboxCounterDAOTest {
         assertThat(testee.retrieveMailboxCounters(MAILBOX_ID).hasElement().block()).isFalse();
     }
 
+    @Test
+    void retrieveMailboxCountersShouldReadSeveralMailboxes() {
+        CassandraId otherMailboxId = CassandraId.timeBased();
+        testee.incrementUnseenAndCount(MAILBOX_ID).block();
+        testee.incrementCount(otherMailboxId).block();
+
+        assertThat(testee.retrieveMailboxCounters(ImmutableList.of(MAILBOX_ID, otherMailboxId)).collectList().block())
+            .containsExactlyInAnyOrder(
+                MailboxCounters.builder()
+                    .mailboxId(MAILBOX_ID)
+                    .count(1)
+                    .unseen(1)
+                    .build(),
+                MailboxCounters.builder()
+                    .mailboxId(otherMailboxId)
+                    .count(1)
+                    .unseen(0)
+                    .build());
+    }
+
+    @Test
+    void retrieveMailboxCountersShouldOmitMailboxesWithoutCounters() {
+        testee.incrementCount(MAILBOX_ID).block();
+
+        assertThat(testee.retrieveMailboxCounters(ImmutableList.of(MAILBOX_ID, CassandraId.timeBased())).collectList().block())
+            .extracting(MailboxCounters::getMailboxId)
+            .containsExactly(MAILBOX_ID);
+    }
+
+    @Test
+    void retrieveMailboxCountersShouldReadMoreMailboxesThanASingleQueryAllows() {
+        ImmutableList<CassandraId> mailboxIds = IntStream.range(0, 250)
+            .mapToObj(i -> CassandraId.timeBased())
+            .collect(ImmutableList.toImmutableList());
+        mailboxIds.forEach(mailboxId -> testee.incrementCount(mailboxId).block());
+
+        assertThat(testee.retrieveMailboxCounters(mailboxIds).collectList().block())
+            .hasSize(250);
+    }
+
     @Test
     void incrementCountShouldAddOneWhenAbsent() {
         testee.incrementCount(MAILBOX_ID).block();
@@ -197,6 +197,20 @@ class CassandraMessageMapperTest extends MessageMapperTest {
                 .hasSize(limit);
         }
 
+        @Test
+        void getFullContentShouldNotReadTheBodyWhenTheRangeIsWithinTheHeaders(CassandraCluster cassandra) throws MailboxException {
+            saveMessages();
+
+            StatementRecorder statementRecorder = new StatementRecorder();
+            cassandra.getConf().recordStatements(statementRecorder);
+
+            messageMapper.getFullContent(benwaInboxMailbox, message1.getUid(), 0, 10).block();
+
+            assertThat(statementRecorder.listExecutedStatements(Selector.preparedStatementStartingWith(
+                "SELECT * FROM blobParts")))
+                .hasSize(1);
+        }
+
         @Test
         void updateFlagsShouldLimitModSeqAllocation(CassandraCluster cassandra) throws MailboxException {
             saveMessages();
@@ -136,6 +136,22 @@ class FlagsUpdateStageResultTest {
             .containsExactly(UPDATED_FLAGS);
     }
 
+    @Test
+    void aggregateShouldReturnNoneWhenEmpty() {
+        assertThat(FlagsUpdateStageResult.aggregate(ImmutableList.of()))
+            .isEqualTo(FlagsUpdateStageResult.none());
+    }
+
+    @Test
+    void aggregateShouldConcatenateResultsInOrder() {
+        assertThat(FlagsUpdateStageResult.aggregate(ImmutableList.of(
+                FlagsUpdateStageResult.success(UPDATED_FLAGS),
+                FlagsUpdateStageResult.fail(UID),
+                FlagsUpdateStageResult.success(OTHER_UPDATED_FLAGS),
+                FlagsUpdateStageResult.fail(OTHER_UID))))
+            .isEqualTo(new FlagsUpdateStageResult(ImmutableList.of(UID, OTHER_UID), ImmutableList.of(UPDATED_FLAGS, OTHER_UPDATED_FLAGS)));
+    }
+
     @Test
     void keepSuccessShouldDiscardFailedUids() {
         FlagsUpdateStageResult flagsUpdateStageResult = new FlagsUpdateStageResult(ImmutableList.of(UID), ImmutableList.of(UPDATED_FLAGS));
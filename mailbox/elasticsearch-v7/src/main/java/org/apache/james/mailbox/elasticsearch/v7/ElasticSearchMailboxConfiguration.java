@@ -19,13 +19,17 @@
 
 package org.apache.james.mailbox.elasticsearch.v7;
 
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
+import org.apache.james.backends.es.v7.BulkProcessorConfiguration;
 import org.apache.james.backends.es.v7.IndexName;
 import org.apache.james.backends.es.v7.ReadAliasName;
 import org.apache.james.backends.es.v7.WriteAliasName;
+import org.apache.james.util.DurationParser;
+import org.apache.james.util.Size;
 
 public class ElasticSearchMailboxConfiguration {
 
@@ -34,12 +38,14 @@ public class ElasticSearchMailboxConfiguration {
         private Optional<ReadAliasName> readAliasMailboxName;
         private Optional<WriteAliasName> writeAliasMailboxName;
         private Optional<IndexAttachments> indexAttachment;
+        private Optional<BulkProcessorConfiguration> bulkProcessorConfiguration;
 
         Builder() {
             indexMailboxName = Optional.empty();
             readAliasMailboxName = Optional.empty();
             writeAliasMailboxName = Optional.empty();
             indexAttachment = Optional.empty();
+            bulkProcessorConfiguration = Optional.empty();
         }
 
         Builder indexMailboxName(Optional<IndexName> indexMailboxName) {
@@ -63,6 +69,10 @@ public class ElasticSearchMailboxConfiguration {
             return this;
         }
 
+        Builder bulkProcessorConfiguration(BulkProcessorConfiguration bulkProcessorConfiguration) {
+            this.bulkProcessorConfiguration = Optional.of(bulkProcessorConfiguration);
+            return this;
+        }
 
 
         public ElasticSearchMailboxConfiguration build() {
@@ -70,7 +80,8 @@ public class ElasticSearchMailboxConfiguration {
                 indexMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_INDEX),
                 readAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_READ_ALIAS),
                 writeAliasMailboxName.orElse(MailboxElasticSearchConstants.DEFAULT_MAILBOX_WRITE_ALIAS),
-                indexAttachment.orElse(IndexAttachments.YES));
+                indexAttachment.orElse(IndexAttachments.YES),
+                bulkProcessorConfiguration.orElse(BulkProcessorConfiguration.DEFAULT));
         }
     }
 
@@ -86,6 +97,10 @@ public class ElasticSearchMailboxConfiguration {
     private static final String ELASTICSEARCH_ALIAS_WRITE_MAILBOX_NAME = "elasticsearch.alias.write.mailbox.name";
     private static final String ELASTICSEARCH_INDEX_ATTACHMENTS = "elasticsearch.indexAttachments";
     private static final boolean DEFAULT_INDEX_ATTACHMENTS = true;
+    private static final String ELASTICSEARCH_BULK_MAX_ACTIONS = "elasticsearch.bulk.maxActions";
+    private static final String ELASTICSEARCH_BULK_MAX_SIZE = "elasticsearch.bulk.maxSize";
+    private static final String ELASTICSEARCH_BULK_MAX_DELAY = "elasticsearch.bulk.maxDelay";
+    private static final String ELASTICSEARCH_BULK_MAX_CONCURRENT_REQUESTS = "elasticsearch.bulk.maxConcurrentRequests";
 
     public static final ElasticSearchMailboxConfiguration DEFAULT_CONFIGURATION = builder().build();
 
@@ -95,6 +110,7 @@ public class ElasticSearchMailboxConfiguration {
             .readAliasMailboxName(computeMailboxReadAlias(configuration))
             .writeAliasMailboxName(computeMailboxWriteAlias(configuration))
             .indexAttachment(provideIndexAttachments(configuration))
+            .bulkProcessorConfiguration(provideBulkProcessorConfiguration(configuration))
             .build();
     }
 
@@ -127,18 +143,34 @@ public class ElasticSearchMailboxConfiguration {
         return IndexAttachments.NO;
     }
 
+    private static BulkProcessorConfiguration provideBulkProcessorConfiguration(Configuration configuration) {
+        return BulkProcessorConfiguration.builder()
+            .maxActions(configuration.getInt(ELASTICSEARCH_BULK_MAX_ACTIONS, BulkProcessorConfiguration.DEFAULT_MAX_ACTIONS))
+            .maxSizeInBytes(Optional.ofNullable(configuration.getString(ELASTICSEARCH_BULK_MAX_SIZE))
+                .map(size -> Size.parse(size).asBytes())
+                .orElse(BulkProcessorConfiguration.DEFAULT_MAX_SIZE_IN_BYTES))
+            .maxDelay(Optional.ofNullable(configuration.getString(ELASTICSEARCH_BULK_MAX_DELAY))
+                .map(delay -> DurationParser.parse(delay, ChronoUnit.MILLIS))
+                .orElse(BulkProcessorConfiguration.DEFAULT_MAX_DELAY))
+            .maxConcurrentRequests(configuration.getInt(ELASTICSEARCH_BULK_MAX_CONCURRENT_REQUESTS, BulkProcessorConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS))
+            .build();
+    }
+
 
     private final IndexName indexMailboxName;
     private final ReadAliasName readAliasMailboxName;
     private final WriteAliasName writeAliasMailboxName;
     private final IndexAttachments indexAttachment;
+    private final BulkProcessorConfiguration bulkProcessorConfiguration;
 
     private ElasticSearchMailboxConfiguration(IndexName indexMailboxName, ReadAliasName readAliasMailboxName,
-                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment) {
+                                              WriteAliasName writeAliasMailboxName, IndexAttachments indexAttachment,
+                                              BulkProcessorConfiguration bulkProcessorConfiguration) {
         this.indexMailboxName = indexMailboxName;
         this.readAliasMailboxName = readAliasMailboxName;
         this.writeAliasMailboxName = writeAliasMailboxName;
         this.indexAttachment = indexAttachment;
+        this.bulkProcessorConfiguration = bulkProcessorConfiguration;
     }
 
 
@@ -158,6 +190,10 @@ public class ElasticSearchMailboxConfiguration {
         return indexAttachment;
     }
 
+    public BulkProcessorConfiguration getBulkProcessorConfiguration() {
+        return bulkProcessorConfiguration;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof ElasticSearchMailboxConfiguration) {
@@ -166,13 +202,14 @@ public class ElasticSearchMailboxConfiguration {
             return Objects.equals(this.indexAttachment, that.indexAttachment)
                 && Objects.equals(this.indexMailboxName, that.indexMailboxName)
                 && Objects.equals(this.readAliasMailboxName, that.readAliasMailboxName)
-                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName);
+                && Objects.equals(this.writeAliasMailboxName, that.writeAliasMailboxName)
+                && Objects.equals(this.bulkProcessorConfiguration, that.bulkProcessorConfiguration);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName);
+        return Objects.hash(indexMailboxName, readAliasMailboxName, writeAliasMailboxName, indexAttachment, writeAliasMailboxName, bulkProcessorConfiguration);
     }
 }
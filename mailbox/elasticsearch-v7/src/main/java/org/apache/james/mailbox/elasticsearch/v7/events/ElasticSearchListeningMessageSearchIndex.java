@@ -29,6 +29,7 @@ import static org.apache.james.mailbox.elasticsearch.v7.json.JsonMessageConstant
 import static org.apache.james.util.ReactorUtils.publishIfPresent;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
@@ -61,8 +62,12 @@ import org.apache.james.mailbox.model.UpdatedFlags;
 import org.apache.james.mailbox.store.MailboxSessionMapperFactory;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.search.ListeningMessageSearchIndex;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.rest.RestStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -181,7 +186,7 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
                 .map(uid ->  indexIdFor(mailboxId, uid))
                 .collect(toImmutableList()),
                 routingKeyFactory.from(mailboxId))
-            .then();
+            .flatMap(this::failOnItemFailures);
     }
 
     @Override
@@ -204,10 +209,29 @@ public class ElasticSearchListeningMessageSearchIndex extends ListeningMessageSe
                 .sneakyThrow())
             .window(FLAGS_UPDATE_PROCESSING_WINDOW_SIZE)
             .concatMap(flux -> flux.collect(toImmutableList())
-                .flatMap(updates -> elasticSearchIndexer.update(updates, routingKey)))
+                .flatMap(updates -> elasticSearchIndexer.update(updates, routingKey))
+                .flatMap(this::failOnItemFailures))
             .then();
     }
 
+    /**
+     * Operations of an event may be part of a bulk request shared with other events: their failures are reported
+     * individually so that only the impacted event gets retried. Operations on missing documents are not failures.
+     */
+    private Mono<Void> failOnItemFailures(BulkResponse response) {
+        List<BulkItemResponse.Failure> failures = Arrays.stream(response.getItems())
+            .filter(BulkItemResponse::isFailed)
+            .map(BulkItemResponse::getFailure)
+            .filter(failure -> failure.getStatus() != RestStatus.NOT_FOUND)
+            .collect(toImmutableList());
+
+        if (failures.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.error(new ElasticsearchException("Failed to apply {} operations, first failure: {}",
+            failures.get(0).getCause(), failures.size(), failures.get(0).getMessage()));
+    }
+
     private UpdatedRepresentation createUpdatedDocumentPartFromUpdatedFlags(MailboxId mailboxId, UpdatedFlags updatedFlags) throws JsonProcessingException {
         return new UpdatedRepresentation(
             indexIdFor(mailboxId, updatedFlags.getUid()),
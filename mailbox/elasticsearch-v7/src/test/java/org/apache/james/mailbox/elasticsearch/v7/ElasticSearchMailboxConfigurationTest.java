@@ -21,7 +21,10 @@ package org.apache.james.mailbox.elasticsearch.v7;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
+import org.apache.james.backends.es.v7.BulkProcessorConfiguration;
 import org.apache.james.backends.es.v7.IndexName;
 import org.apache.james.backends.es.v7.ReadAliasName;
 import org.apache.james.backends.es.v7.WriteAliasName;
@@ -224,4 +227,46 @@ class ElasticSearchMailboxConfigurationTest {
             .isEqualTo(IndexAttachments.YES);
     }
 
-}
\ No newline at end of file
+    @Test
+    void getBulkProcessorConfigurationShouldReturnConfiguredValues() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+        configuration.addProperty("elasticsearch.bulk.maxActions", 100);
+        configuration.addProperty("elasticsearch.bulk.maxSize", "1M");
+        configuration.addProperty("elasticsearch.bulk.maxDelay", "1s");
+        configuration.addProperty("elasticsearch.bulk.maxConcurrentRequests", 2);
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkProcessorConfiguration())
+            .isEqualTo(BulkProcessorConfiguration.builder()
+                .maxActions(100)
+                .maxSizeInBytes(1024 * 1024)
+                .maxDelay(Duration.ofSeconds(1))
+                .maxConcurrentRequests(2)
+                .build());
+    }
+
+    @Test
+    void getBulkProcessorConfigurationShouldDefaultToMillisecondsForMaxDelay() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+        configuration.addProperty("elasticsearch.bulk.maxDelay", "50");
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkProcessorConfiguration().getMaxDelay())
+            .isEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    void getBulkProcessorConfigurationShouldReturnDefaultValueWhenMissing() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("elasticsearch.hosts", "127.0.0.1");
+
+        ElasticSearchMailboxConfiguration elasticSearchConfiguration = ElasticSearchMailboxConfiguration.fromProperties(configuration);
+
+        assertThat(elasticSearchConfiguration.getBulkProcessorConfiguration())
+            .isEqualTo(BulkProcessorConfiguration.DEFAULT);
+    }
+}
@@ -0,0 +1,178 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.inmemory.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.james.core.quota.QuotaCountUsage;
+import org.apache.james.core.quota.QuotaSizeUsage;
+import org.apache.james.mailbox.inmemory.manager.InMemoryIntegrationResources;
+import org.apache.james.mailbox.model.CurrentQuotas;
+import org.apache.james.mailbox.model.QuotaOperation;
+import org.apache.james.mailbox.model.QuotaRoot;
+import org.apache.james.mailbox.quota.CurrentQuotaManager;
+import org.apache.james.mailbox.store.quota.CachingCurrentQuotaManager;
+import org.apache.james.mailbox.store.quota.CurrentQuotaManagerContract;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Mono;
+
+class CachingCurrentQuotaManagerTest implements CurrentQuotaManagerContract {
+    private static final Duration TIME_TO_LIVE = Duration.ofMillis(200);
+    private static final QuotaOperation OPERATION = new QuotaOperation(QUOTA_ROOT, QuotaCountUsage.count(10), QuotaSizeUsage.size(100));
+
+    CurrentQuotaManager delegate;
+    CurrentQuotaManager testee;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryIntegrationResources resources = InMemoryIntegrationResources.defaultResources();
+
+        delegate = resources.getCurrentQuotaManager();
+        testee = new CachingCurrentQuotaManager(delegate, TIME_TO_LIVE);
+    }
+
+    @Override
+    public CurrentQuotaManager testee() {
+        return testee;
+    }
+
+    @Test
+    void constructorShouldThrowOnZeroTimeToLive() {
+        assertThatThrownBy(() -> new CachingCurrentQuotaManager(delegate, Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructorShouldThrowOnNegativeTimeToLive() {
+        assertThatThrownBy(() -> new CachingCurrentQuotaManager(delegate, Duration.ofSeconds(-1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getCurrentQuotasShouldNotSeeRemoteUpdatesBeforeTimeToLiveExpires() {
+        Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block();
+
+        Mono.from(delegate.increase(OPERATION)).block();
+
+        assertThat(Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CurrentQuotas.emptyQuotas());
+    }
+
+    @Test
+    void getCurrentQuotasShouldSeeRemoteUpdatesOnceTimeToLiveExpires() throws Exception {
+        Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block();
+
+        Mono.from(delegate.increase(OPERATION)).block();
+        Thread.sleep(TIME_TO_LIVE.multipliedBy(2).toMillis());
+
+        assertThat(Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CURRENT_QUOTAS);
+    }
+
+    @Test
+    void localIncreaseShouldInvalidateCachedQuotas() {
+        Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block();
+
+        Mono.from(testee.increase(OPERATION)).block();
+
+        assertThat(Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CURRENT_QUOTAS);
+    }
+
+    @Test
+    void localDecreaseShouldInvalidateCachedQuotas() {
+        Mono.from(testee.increase(OPERATION)).block();
+        Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block();
+
+        Mono.from(testee.decrease(OPERATION)).block();
+
+        assertThat(Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CurrentQuotas.emptyQuotas());
+    }
+
+    @Test
+    void setCurrentQuotasShouldInvalidateCachedQuotas() {
+        Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block();
+
+        Mono.from(testee.setCurrentQuotas(RESET_QUOTA_OPERATION)).block();
+
+        assertThat(Mono.from(testee.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CURRENT_QUOTAS);
+    }
+
+    @Test
+    void readStartedBeforeALocalUpdateShouldNotCacheItsStaleResult() {
+        CompletableFuture<Void> readGate = new CompletableFuture<>();
+        CachingCurrentQuotaManager cachingManager = new CachingCurrentQuotaManager(new GatedReadCurrentQuotaManager(delegate, readGate), Duration.ofHours(1));
+        CompletableFuture<CurrentQuotas> staleRead = Mono.from(cachingManager.getCurrentQuotas(QUOTA_ROOT)).toFuture();
+
+        Mono.from(cachingManager.increase(OPERATION)).block();
+        readGate.complete(null);
+
+        assertThat(staleRead.join()).isEqualTo(CurrentQuotas.emptyQuotas());
+        assertThat(Mono.from(cachingManager.getCurrentQuotas(QUOTA_ROOT)).block()).isEqualTo(CURRENT_QUOTAS);
+    }
+
+    /**
+     * Reads the current quotas right away, but only returns them once the gate is completed
+     */
+    private static class GatedReadCurrentQuotaManager implements CurrentQuotaManager {
+        private final CurrentQuotaManager delegate;
+        private final CompletableFuture<Void> readGate;
+
+        GatedReadCurrentQuotaManager(CurrentQuotaManager delegate, CompletableFuture<Void> readGate) {
+            this.delegate = delegate;
+            this.readGate = readGate;
+        }
+
+        @Override
+        public Publisher<QuotaCountUsage> getCurrentMessageCount(QuotaRoot quotaRoot) {
+            return delegate.getCurrentMessageCount(quotaRoot);
+        }
+
+        @Override
+        public Publisher<QuotaSizeUsage> getCurrentStorage(QuotaRoot quotaRoot) {
+            return delegate.getCurrentStorage(quotaRoot);
+        }
+
+        @Override
+        public Publisher<CurrentQuotas> getCurrentQuotas(QuotaRoot quotaRoot) {
+            return Mono.from(delegate.getCurrentQuotas(quotaRoot))
+                .delayUntil(any -> Mono.fromFuture(readGate));
+        }
+
+        @Override
+        public Publisher<Void> increase(QuotaOperation quotaOperation) {
+            return delegate.increase(quotaOperation);
+        }
+
+        @Override
+        public Publisher<Void> decrease(QuotaOperation quotaOperation) {
+            return delegate.decrease(quotaOperation);
+        }
+
+        @Override
+        public Publisher<Void> setCurrentQuotas(QuotaOperation quotaOperation) {
+            return delegate.setCurrentQuotas(quotaOperation);
+        }
+    }
+}
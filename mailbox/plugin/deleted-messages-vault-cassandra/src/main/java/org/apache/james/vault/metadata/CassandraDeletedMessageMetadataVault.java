@@ -19,23 +19,42 @@
 
 package org.apache.james.vault.metadata;
 
+import static org.apache.james.util.ReactorUtils.DEFAULT_CONCURRENCY;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
 import javax.inject.Inject;
 
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.DeletedMessage;
+import org.apache.james.vault.search.IndexedCriterion;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
+import com.google.common.collect.ImmutableSet;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
     private final MetadataDAO metadataDAO;
     private final StorageInformationDAO storageInformationDAO;
     private final UserPerBucketDAO userPerBucketDAO;
+    private final SearchIndexDAO searchIndexDAO;
+    private final Set<BucketName> checkedBuckets;
 
     @Inject
-    CassandraDeletedMessageMetadataVault(MetadataDAO metadataDAO, StorageInformationDAO storageInformationDAO, UserPerBucketDAO userPerBucketDAO) {
+    CassandraDeletedMessageMetadataVault(MetadataDAO metadataDAO, StorageInformationDAO storageInformationDAO, UserPerBucketDAO userPerBucketDAO,
+                                         SearchIndexDAO searchIndexDAO) {
         this.metadataDAO = metadataDAO;
         this.storageInformationDAO = storageInformationDAO;
         this.userPerBucketDAO = userPerBucketDAO;
+        this.searchIndexDAO = searchIndexDAO;
+        this.checkedBuckets = ConcurrentHashMap.newKeySet();
     }
 
     @Override
@@ -45,24 +64,50 @@ public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetad
         MessageId messageId = deletedMessage.getDeletedMessage().getMessageId();
         return storageInformationDAO.referenceStorageInformation(owner, messageId, deletedMessage.getStorageInformation())
             .then(metadataDAO.store(deletedMessage))
+            .then(searchIndexDAO.index(deletedMessage))
+            .then(markIndexedWhenNew(bucketName))
             .then(userPerBucketDAO.addUser(bucketName, owner));
     }
 
+    /**
+     * A bucket having no user yet only holds indexed messages: the bucket can then be searched through the indexes.
+     */
+    private Mono<Void> markIndexedWhenNew(BucketName bucketName) {
+        if (checkedBuckets.contains(bucketName)) {
+            return Mono.empty();
+        }
+        return userPerBucketDAO.retrieveUsers(bucketName)
+            .hasElements()
+            .flatMap(hasUsers -> {
+                if (hasUsers) {
+                    return Mono.<Void>empty();
+                }
+                return searchIndexDAO.markIndexed(bucketName);
+            })
+            .doOnSuccess(any -> checkedBuckets.add(bucketName));
+    }
+
     @Override
     public Publisher<Void> removeMetadataRelatedToBucket(BucketName bucketName) {
         return userPerBucketDAO.retrieveUsers(bucketName)
-            .concatMap(user -> metadataDAO.retrieveMessageIds(bucketName, user)
+            .concatMap(user -> metadataDAO.retrieveMetadata(bucketName, user)
+                .concatMap(message -> searchIndexDAO.unindex(message.getDeletedMessage()))
+                .thenMany(metadataDAO.retrieveMessageIds(bucketName, user))
                 .map(messageId -> new DeletedMessageIdentifier(user, messageId))
                 .concatMap(deletedMessageIdentifier -> storageInformationDAO.deleteStorageInformation(
                     deletedMessageIdentifier.getOwner(),
                     deletedMessageIdentifier.getMessageId()))
                 .then(metadataDAO.deleteInBucket(bucketName, user)))
-            .then(userPerBucketDAO.deleteBucket(bucketName));
+            .then(userPerBucketDAO.deleteBucket(bucketName))
+            .then(searchIndexDAO.unmarkIndexed(bucketName))
+            .doOnSuccess(any -> checkedBuckets.remove(bucketName));
     }
 
     @Override
     public Publisher<Void> remove(BucketName bucketName, Username username, MessageId messageId) {
-        return storageInformationDAO.deleteStorageInformation(username, messageId)
+        return metadataDAO.retrieveMetadata(bucketName, username, messageId)
+            .flatMap(message -> searchIndexDAO.unindex(message.getDeletedMessage()))
+            .then(storageInformationDAO.deleteStorageInformation(username, messageId))
             .then(metadataDAO.deleteMessage(bucketName, username, messageId));
     }
 
@@ -80,4 +125,28 @@ public class CassandraDeletedMessageMetadataVault implements DeletedMessageMetad
     public Publisher<BucketName> listRelatedBuckets() {
         return userPerBucketDAO.retrieveBuckets();
     }
+
+    @Override
+    public Publisher<DeletedMessageWithStorageInformation> search(Username username, Query query) {
+        Predicate<DeletedMessage> predicate = query.toPredicate();
+        return IndexedCriterion.of(query)
+            .map(criterion -> indexedSearch(username, criterion))
+            .orElseGet(() -> scan(username, userPerBucketDAO.retrieveBuckets()))
+            .filter(message -> predicate.test(message.getDeletedMessage()));
+    }
+
+    private Flux<DeletedMessageWithStorageInformation> indexedSearch(Username username, IndexedCriterion criterion) {
+        return searchIndexDAO.retrieveIndexedBuckets()
+            .collect(ImmutableSet.toImmutableSet())
+            .flatMapMany(indexedBuckets -> Flux.merge(
+                searchIndexDAO.lookup(username, criterion)
+                    .filter(entry -> indexedBuckets.contains(entry.getT1()))
+                    .flatMap(entry -> metadataDAO.retrieveMetadata(entry.getT1(), username, entry.getT2()), DEFAULT_CONCURRENCY),
+                scan(username, userPerBucketDAO.retrieveBuckets()
+                    .filter(bucketName -> !indexedBuckets.contains(bucketName)))));
+    }
+
+    private Flux<DeletedMessageWithStorageInformation> scan(Username username, Flux<BucketName> bucketNames) {
+        return bucketNames.concatMap(bucketName -> metadataDAO.retrieveMetadata(bucketName, username));
+    }
 }
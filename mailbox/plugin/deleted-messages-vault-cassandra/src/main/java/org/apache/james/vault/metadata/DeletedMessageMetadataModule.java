@@ -20,6 +20,7 @@
 package org.apache.james.vault.metadata;
 
 import static com.datastax.driver.core.DataType.text;
+import static com.datastax.driver.core.DataType.timestamp;
 
 import org.apache.james.backends.cassandra.components.CassandraModule;
 
@@ -53,6 +54,48 @@ public interface DeletedMessageMetadataModule {
         String PAYLOAD = "payload";
     }
 
+    interface DeletionDateIndexTable {
+        String TABLE = "deletedMessageByDeletionDate";
+
+        String OWNER = "owner";
+        String DELETION_DATE = "deletionDate";
+        String MESSAGE_ID = "messageId";
+        String BUCKET_NAME = "bucketName";
+    }
+
+    interface SenderIndexTable {
+        String TABLE = "deletedMessageBySender";
+
+        String OWNER = "owner";
+        String SENDER = "sender";
+        String MESSAGE_ID = "messageId";
+        String BUCKET_NAME = "bucketName";
+    }
+
+    interface SubjectIndexTable {
+        String TABLE = "deletedMessageBySubject";
+
+        String OWNER = "owner";
+        String SUBJECT_HASH = "subjectHash";
+        String MESSAGE_ID = "messageId";
+        String BUCKET_NAME = "bucketName";
+    }
+
+    interface OriginMailboxIndexTable {
+        String TABLE = "deletedMessageByOriginMailbox";
+
+        String OWNER = "owner";
+        String MAILBOX_ID = "mailboxId";
+        String MESSAGE_ID = "messageId";
+        String BUCKET_NAME = "bucketName";
+    }
+
+    interface IndexedBucketTable {
+        String TABLE = "deletedMessageIndexedBuckets";
+
+        String BUCKET_NAME = "bucketName";
+    }
+
     CassandraModule MODULE = CassandraModule
         .builder()
 
@@ -84,5 +127,44 @@ public interface DeletedMessageMetadataModule {
             .addClusteringColumn(DeletedMessageMetadataTable.MESSAGE_ID, text())
             .addColumn(DeletedMessageMetadataTable.PAYLOAD, text()))
 
+        .table(DeletionDateIndexTable.TABLE)
+        .comment("Indexes deleted messages of a user by deletion date in the BlobStore based DeletedMessages vault")
+        .statement(statement -> statement
+            .addPartitionKey(DeletionDateIndexTable.OWNER, text())
+            .addClusteringColumn(DeletionDateIndexTable.DELETION_DATE, timestamp())
+            .addClusteringColumn(DeletionDateIndexTable.MESSAGE_ID, text())
+            .addColumn(DeletionDateIndexTable.BUCKET_NAME, text()))
+
+        .table(SenderIndexTable.TABLE)
+        .comment("Indexes deleted messages of a user by sender in the BlobStore based DeletedMessages vault")
+        .statement(statement -> statement
+            .addPartitionKey(SenderIndexTable.OWNER, text())
+            .addPartitionKey(SenderIndexTable.SENDER, text())
+            .addClusteringColumn(SenderIndexTable.MESSAGE_ID, text())
+            .addColumn(SenderIndexTable.BUCKET_NAME, text()))
+
+        .table(SubjectIndexTable.TABLE)
+        .comment("Indexes deleted messages of a user by a hash of their lower cased subject in the BlobStore based DeletedMessages vault")
+        .statement(statement -> statement
+            .addPartitionKey(SubjectIndexTable.OWNER, text())
+            .addPartitionKey(SubjectIndexTable.SUBJECT_HASH, text())
+            .addClusteringColumn(SubjectIndexTable.MESSAGE_ID, text())
+            .addColumn(SubjectIndexTable.BUCKET_NAME, text()))
+
+        .table(OriginMailboxIndexTable.TABLE)
+        .comment("Indexes deleted messages of a user by origin mailbox in the BlobStore based DeletedMessages vault")
+        .statement(statement -> statement
+            .addPartitionKey(OriginMailboxIndexTable.OWNER, text())
+            .addPartitionKey(OriginMailboxIndexTable.MAILBOX_ID, text())
+            .addClusteringColumn(OriginMailboxIndexTable.MESSAGE_ID, text())
+            .addColumn(OriginMailboxIndexTable.BUCKET_NAME, text()))
+
+        .table(IndexedBucketTable.TABLE)
+        .comment("Holds the buckets of the BlobStore based DeletedMessages vault whose messages are all indexed")
+        .options(options -> options
+            .caching(SchemaBuilder.KeyCaching.ALL, SchemaBuilder.noRows()))
+        .statement(statement -> statement
+            .addPartitionKey(IndexedBucketTable.BUCKET_NAME, text()))
+
         .build();
 }
@@ -50,6 +50,7 @@ public class MetadataDAO {
     private final PreparedStatement removeStatement;
     private final PreparedStatement removeAllStatement;
     private final PreparedStatement readStatement;
+    private final PreparedStatement readOneStatement;
     private final PreparedStatement readMessageIdStatement;
     private final MessageId.Factory messageIdFactory;
     private final MetadataSerializer metadataSerializer;
@@ -61,6 +62,7 @@ public class MetadataDAO {
         this.removeStatement = prepareRemove(session);
         this.removeAllStatement = prepareRemoveAll(session);
         this.readStatement = prepareRead(session, PAYLOAD);
+        this.readOneStatement = prepareReadOne(session);
         this.readMessageIdStatement = prepareRead(session, MESSAGE_ID);
         this.messageIdFactory = messageIdFactory;
         this.metadataSerializer = metadataSerializer;
@@ -72,6 +74,13 @@ public class MetadataDAO {
             .and(eq(OWNER, bindMarker(OWNER))));
     }
 
+    private PreparedStatement prepareReadOne(Session session) {
+        return session.prepare(select(PAYLOAD).from(TABLE)
+            .where(eq(BUCKET_NAME, bindMarker(BUCKET_NAME)))
+            .and(eq(OWNER, bindMarker(OWNER)))
+            .and(eq(MESSAGE_ID, bindMarker(MESSAGE_ID))));
+    }
+
     private PreparedStatement prepareAdd(Session session) {
         return session.prepare(insertInto(TABLE)
             .value(BUCKET_NAME, bindMarker(BUCKET_NAME))
@@ -114,6 +123,17 @@ public class MetadataDAO {
             .handle(publishIfPresent());
     }
 
+    Mono<DeletedMessageWithStorageInformation> retrieveMetadata(BucketName bucketName, Username username, MessageId messageId) {
+        return cassandraAsyncExecutor.executeSingleRow(
+            readOneStatement.bind()
+                .setString(BUCKET_NAME, bucketName.asString())
+                .setString(OWNER, username.asString())
+                .setString(MESSAGE_ID, messageId.serialize()))
+            .map(row -> row.getString(PAYLOAD))
+            .map(metadataSerializer::deserialize)
+            .handle(publishIfPresent());
+    }
+
     Flux<MessageId> retrieveMessageIds(BucketName bucketName, Username username) {
         return cassandraAsyncExecutor.executeRows(
             readMessageIdStatement.bind()
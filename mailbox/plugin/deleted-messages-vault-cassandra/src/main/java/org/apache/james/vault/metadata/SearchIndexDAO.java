@@ -0,0 +1,264 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.delete;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.gte;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.lte;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+import org.apache.james.backends.cassandra.utils.CassandraAsyncExecutor;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.Username;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.DeletedMessage;
+import org.apache.james.vault.metadata.DeletedMessageMetadataModule.DeletionDateIndexTable;
+import org.apache.james.vault.metadata.DeletedMessageMetadataModule.IndexedBucketTable;
+import org.apache.james.vault.metadata.DeletedMessageMetadataModule.OriginMailboxIndexTable;
+import org.apache.james.vault.metadata.DeletedMessageMetadataModule.SenderIndexTable;
+import org.apache.james.vault.metadata.DeletedMessageMetadataModule.SubjectIndexTable;
+import org.apache.james.vault.search.IndexedCriterion;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.hash.Hashing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Indexes deleted messages by deletion date, sender, subject and origin mailbox, so that searches only read the
+ * metadata of candidate messages.
+ *
+ * Messages stored before these indexes existed are not indexed: only the buckets marked as indexed, whose first
+ * message was indexed, can be searched through them.
+ */
+public class SearchIndexDAO {
+    private static final Date MIN_DATE = new Date(Long.MIN_VALUE);
+    private static final Date MAX_DATE = new Date(Long.MAX_VALUE);
+    private static final String DELETION_DATE_FROM = "deletionDateFrom";
+    private static final String DELETION_DATE_TO = "deletionDateTo";
+
+    private static class KeyIndex {
+        private final String owner;
+        private final String key;
+        private final String messageId;
+        private final String bucketName;
+        private final PreparedStatement addStatement;
+        private final PreparedStatement removeStatement;
+        private final PreparedStatement readStatement;
+
+        KeyIndex(Session session, String table, String owner, String key, String messageId, String bucketName) {
+            this.owner = owner;
+            this.key = key;
+            this.messageId = messageId;
+            this.bucketName = bucketName;
+            this.addStatement = session.prepare(insertInto(table)
+                .value(owner, bindMarker(owner))
+                .value(key, bindMarker(key))
+                .value(messageId, bindMarker(messageId))
+                .value(bucketName, bindMarker(bucketName)));
+            this.removeStatement = session.prepare(delete().from(table)
+                .where(eq(owner, bindMarker(owner)))
+                .and(eq(key, bindMarker(key)))
+                .and(eq(messageId, bindMarker(messageId))));
+            this.readStatement = session.prepare(select(messageId, bucketName).from(table)
+                .where(eq(owner, bindMarker(owner)))
+                .and(eq(key, bindMarker(key))));
+        }
+
+        Mono<Void> add(CassandraAsyncExecutor executor, DeletedMessageWithStorageInformation message, String keyValue) {
+            return executor.executeVoid(addStatement.bind()
+                .setString(owner, message.getDeletedMessage().getOwner().asString())
+                .setString(key, keyValue)
+                .setString(messageId, message.getDeletedMessage().getMessageId().serialize())
+                .setString(bucketName, message.getStorageInformation().getBucketName().asString()));
+        }
+
+        Mono<Void> remove(CassandraAsyncExecutor executor, DeletedMessage message, String keyValue) {
+            return executor.executeVoid(removeStatement.bind()
+                .setString(owner, message.getOwner().asString())
+                .setString(key, keyValue)
+                .setString(messageId, message.getMessageId().serialize()));
+        }
+
+        Flux<Tuple2<BucketName, String>> read(CassandraAsyncExecutor executor, Username username, String keyValue) {
+            return executor.executeRows(readStatement.bind()
+                    .setString(owner, username.asString())
+                    .setString(key, keyValue))
+                .map(row -> Tuples.of(BucketName.of(row.getString(bucketName)), row.getString(messageId)));
+        }
+    }
+
+    static String subjectHash(String subject) {
+        return Hashing.sha256()
+            .hashString(IndexedCriterion.normalizeSubject(subject), StandardCharsets.UTF_8)
+            .toString();
+    }
+
+    private final CassandraAsyncExecutor cassandraAsyncExecutor;
+    private final MessageId.Factory messageIdFactory;
+    private final KeyIndex senderIndex;
+    private final KeyIndex subjectIndex;
+    private final KeyIndex originMailboxIndex;
+    private final PreparedStatement addDeletionDateStatement;
+    private final PreparedStatement removeDeletionDateStatement;
+    private final PreparedStatement readDeletionDateStatement;
+    private final PreparedStatement markIndexedBucketStatement;
+    private final PreparedStatement unmarkIndexedBucketStatement;
+    private final PreparedStatement listIndexedBucketsStatement;
+
+    @Inject
+    SearchIndexDAO(Session session, MessageId.Factory messageIdFactory) {
+        this.cassandraAsyncExecutor = new CassandraAsyncExecutor(session);
+        this.messageIdFactory = messageIdFactory;
+        this.senderIndex = new KeyIndex(session, SenderIndexTable.TABLE, SenderIndexTable.OWNER,
+            SenderIndexTable.SENDER, SenderIndexTable.MESSAGE_ID, SenderIndexTable.BUCKET_NAME);
+        this.subjectIndex = new KeyIndex(session, SubjectIndexTable.TABLE, SubjectIndexTable.OWNER,
+            SubjectIndexTable.SUBJECT_HASH, SubjectIndexTable.MESSAGE_ID, SubjectIndexTable.BUCKET_NAME);
+        this.originMailboxIndex = new KeyIndex(session, OriginMailboxIndexTable.TABLE, OriginMailboxIndexTable.OWNER,
+            OriginMailboxIndexTable.MAILBOX_ID, OriginMailboxIndexTable.MESSAGE_ID, OriginMailboxIndexTable.BUCKET_NAME);
+        this.addDeletionDateStatement = prepareAddDeletionDate(session);
+        this.removeDeletionDateStatement = prepareRemoveDeletionDate(session);
+        this.readDeletionDateStatement = prepareReadDeletionDate(session);
+        this.markIndexedBucketStatement = session.prepare(insertInto(IndexedBucketTable.TABLE)
+            .value(IndexedBucketTable.BUCKET_NAME, bindMarker(IndexedBucketTable.BUCKET_NAME)));
+        this.unmarkIndexedBucketStatement = session.prepare(delete().from(IndexedBucketTable.TABLE)
+            .where(eq(IndexedBucketTable.BUCKET_NAME, bindMarker(IndexedBucketTable.BUCKET_NAME))));
+        this.listIndexedBucketsStatement = session.prepare(select(IndexedBucketTable.BUCKET_NAME).from(IndexedBucketTable.TABLE));
+    }
+
+    private PreparedStatement prepareAddDeletionDate(Session session) {
+        return session.prepare(insertInto(DeletionDateIndexTable.TABLE)
+            .value(DeletionDateIndexTable.OWNER, bindMarker(DeletionDateIndexTable.OWNER))
+            .value(DeletionDateIndexTable.DELETION_DATE, bindMarker(DeletionDateIndexTable.DELETION_DATE))
+            .value(DeletionDateIndexTable.MESSAGE_ID, bindMarker(DeletionDateIndexTable.MESSAGE_ID))
+            .value(DeletionDateIndexTable.BUCKET_NAME, bindMarker(DeletionDateIndexTable.BUCKET_NAME)));
+    }
+
+    private PreparedStatement prepareRemoveDeletionDate(Session session) {
+        return session.prepare(delete().from(DeletionDateIndexTable.TABLE)
+            .where(eq(DeletionDateIndexTable.OWNER, bindMarker(DeletionDateIndexTable.OWNER)))
+            .and(eq(DeletionDateIndexTable.DELETION_DATE, bindMarker(DeletionDateIndexTable.DELETION_DATE)))
+            .and(eq(DeletionDateIndexTable.MESSAGE_ID, bindMarker(DeletionDateIndexTable.MESSAGE_ID))));
+    }
+
+    private PreparedStatement prepareReadDeletionDate(Session session) {
+        return session.prepare(select(DeletionDateIndexTable.MESSAGE_ID, DeletionDateIndexTable.BUCKET_NAME)
+            .from(DeletionDateIndexTable.TABLE)
+            .where(eq(DeletionDateIndexTable.OWNER, bindMarker(DeletionDateIndexTable.OWNER)))
+            .and(gte(DeletionDateIndexTable.DELETION_DATE, bindMarker(DELETION_DATE_FROM)))
+            .and(lte(DeletionDateIndexTable.DELETION_DATE, bindMarker(DELETION_DATE_TO))));
+    }
+
+    Mono<Void> index(DeletedMessageWithStorageInformation message) {
+        DeletedMessage deletedMessage = message.getDeletedMessage();
+        return Flux.concat(
+                cassandraAsyncExecutor.executeVoid(addDeletionDateStatement.bind()
+                    .setString(DeletionDateIndexTable.OWNER, deletedMessage.getOwner().asString())
+                    .setTimestamp(DeletionDateIndexTable.DELETION_DATE, Date.from(deletedMessage.getDeletionDate().toInstant()))
+                    .setString(DeletionDateIndexTable.MESSAGE_ID, deletedMessage.getMessageId().serialize())
+                    .setString(DeletionDateIndexTable.BUCKET_NAME, message.getStorageInformation().getBucketName().asString())),
+                Mono.justOrEmpty(deletedMessage.getSender().asOptional())
+                    .flatMap(sender -> senderIndex.add(cassandraAsyncExecutor, message, sender.asString())),
+                Mono.justOrEmpty(deletedMessage.getSubject())
+                    .flatMap(subject -> subjectIndex.add(cassandraAsyncExecutor, message, subjectHash(subject))),
+                Flux.fromIterable(deletedMessage.getOriginMailboxes())
+                    .concatMap(mailboxId -> originMailboxIndex.add(cassandraAsyncExecutor, message, mailboxId.serialize())))
+            .then();
+    }
+
+    Mono<Void> unindex(DeletedMessage deletedMessage) {
+        return Flux.concat(
+                Flux.fromIterable(deletedMessage.getOriginMailboxes())
+                    .concatMap(mailboxId -> originMailboxIndex.remove(cassandraAsyncExecutor, deletedMessage, mailboxId.serialize())),
+                Mono.justOrEmpty(deletedMessage.getSubject())
+                    .flatMap(subject -> subjectIndex.remove(cassandraAsyncExecutor, deletedMessage, subjectHash(subject))),
+                Mono.justOrEmpty(deletedMessage.getSender().asOptional())
+                    .flatMap(sender -> senderIndex.remove(cassandraAsyncExecutor, deletedMessage, sender.asString())),
+                cassandraAsyncExecutor.executeVoid(removeDeletionDateStatement.bind()
+                    .setString(DeletionDateIndexTable.OWNER, deletedMessage.getOwner().asString())
+                    .setTimestamp(DeletionDateIndexTable.DELETION_DATE, Date.from(deletedMessage.getDeletionDate().toInstant()))
+                    .setString(DeletionDateIndexTable.MESSAGE_ID, deletedMessage.getMessageId().serialize())))
+            .then();
+    }
+
+    Flux<Tuple2<BucketName, MessageId>> lookup(Username username, IndexedCriterion criterion) {
+        return criterion.accept(new IndexedCriterion.Visitor<Flux<Tuple2<BucketName, String>>>() {
+                @Override
+                public Flux<Tuple2<BucketName, String>> originMailbox(MailboxId mailboxId) {
+                    return originMailboxIndex.read(cassandraAsyncExecutor, username, mailboxId.serialize());
+                }
+
+                @Override
+                public Flux<Tuple2<BucketName, String>> sender(MailAddress sender) {
+                    return senderIndex.read(cassandraAsyncExecutor, username, sender.asString());
+                }
+
+                @Override
+                public Flux<Tuple2<BucketName, String>> subject(String normalizedSubject) {
+                    return subjectIndex.read(cassandraAsyncExecutor, username, subjectHash(normalizedSubject));
+                }
+
+                @Override
+                public Flux<Tuple2<BucketName, String>> deletionDate(Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound) {
+                    return readDeletionDates(username, lowerBound, upperBound);
+                }
+            })
+            .map(entry -> Tuples.of(entry.getT1(), messageIdFactory.fromString(entry.getT2())));
+    }
+
+    private Flux<Tuple2<BucketName, String>> readDeletionDates(Username username, Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound) {
+        return cassandraAsyncExecutor.executeRows(readDeletionDateStatement.bind()
+                .setString(DeletionDateIndexTable.OWNER, username.asString())
+                .setTimestamp(DELETION_DATE_FROM, lowerBound.map(date -> Date.from(date.toInstant())).orElse(MIN_DATE))
+                .setTimestamp(DELETION_DATE_TO, upperBound.map(date -> Date.from(date.toInstant())).orElse(MAX_DATE)))
+            .map(row -> Tuples.of(BucketName.of(row.getString(DeletionDateIndexTable.BUCKET_NAME)), row.getString(DeletionDateIndexTable.MESSAGE_ID)));
+    }
+
+    Mono<Void> markIndexed(BucketName bucketName) {
+        return cassandraAsyncExecutor.executeVoid(markIndexedBucketStatement.bind()
+            .setString(IndexedBucketTable.BUCKET_NAME, bucketName.asString()));
+    }
+
+    Mono<Void> unmarkIndexed(BucketName bucketName) {
+        return cassandraAsyncExecutor.executeVoid(unmarkIndexedBucketStatement.bind()
+            .setString(IndexedBucketTable.BUCKET_NAME, bucketName.asString()));
+    }
+
+    Flux<BucketName> retrieveIndexedBuckets() {
+        return cassandraAsyncExecutor.executeRows(listIndexedBucketsStatement.bind())
+            .map(row -> BucketName.of(row.getString(IndexedBucketTable.BUCKET_NAME)));
+    }
+}
@@ -20,11 +20,13 @@
 package org.apache.james.vault.metadata;
 
 import static org.apache.james.backends.cassandra.Scenario.Builder.fail;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
 import static org.apache.james.vault.DeletedMessageFixture.USERNAME;
 import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.MODULE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.BUCKET_NAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2_OTHER_BUCKET;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Optional;
@@ -36,6 +38,8 @@ import org.apache.james.blob.api.HashBlobId;
 import org.apache.james.mailbox.inmemory.InMemoryId;
 import org.apache.james.mailbox.inmemory.InMemoryMessageId;
 import org.apache.james.vault.dto.DeletedMessageWithStorageInformationConverter;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Nested;
@@ -53,6 +57,7 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
     private MetadataDAO metadataDAO;
     private StorageInformationDAO storageInformationDAO;
     private UserPerBucketDAO userPerBucketDAO;
+    private SearchIndexDAO searchIndexDAO;
 
     @BeforeEach
     void setUp(CassandraCluster cassandra) {
@@ -63,8 +68,9 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
         metadataDAO = new MetadataDAO(cassandra.getConf(), messageIdFactory, new MetadataSerializer(dtoConverter));
         storageInformationDAO = new StorageInformationDAO(cassandra.getConf(), blobIdFactory);
         userPerBucketDAO = new UserPerBucketDAO(cassandra.getConf());
+        searchIndexDAO = new SearchIndexDAO(cassandra.getConf(), messageIdFactory);
 
-        testee = new CassandraDeletedMessageMetadataVault(metadataDAO, storageInformationDAO, userPerBucketDAO);
+        testee = new CassandraDeletedMessageMetadataVault(metadataDAO, storageInformationDAO, userPerBucketDAO, searchIndexDAO);
     }
 
     @Override
@@ -319,4 +325,64 @@ public class CassandraDeletedMessageMetadataVaultTest implements DeletedMessageM
             assertThat(messages).isEmpty();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class IndexTest {
+        private void storeWithoutIndexing(DeletedMessageWithStorageInformation message) {
+            storageInformationDAO.referenceStorageInformation(message.getDeletedMessage().getOwner(),
+                message.getDeletedMessage().getMessageId(), message.getStorageInformation()).block();
+            metadataDAO.store(message).block();
+            userPerBucketDAO.addUser(message.getStorageInformation().getBucketName(), message.getDeletedMessage().getOwner()).block();
+        }
+
+        @Test
+        void storeShouldMarkNewBucketsAsIndexed() {
+            Mono.from(testee.store(DELETED_MESSAGE)).block();
+
+            assertThat(searchIndexDAO.retrieveIndexedBuckets().toStream()).containsExactly(BUCKET_NAME);
+        }
+
+        @Test
+        void storeShouldNotMarkBucketsHoldingMessagesStoredBeforeIndexing() {
+            storeWithoutIndexing(DELETED_MESSAGE);
+
+            Mono.from(testee.store(DELETED_MESSAGE_2)).block();
+
+            assertThat(searchIndexDAO.retrieveIndexedBuckets().toStream()).isEmpty();
+        }
+
+        @Test
+        void removeMetadataRelatedToBucketShouldUnmarkTheBucket() {
+            Mono.from(testee.store(DELETED_MESSAGE)).block();
+
+            Mono.from(testee.removeMetadataRelatedToBucket(BUCKET_NAME)).block();
+
+            assertThat(searchIndexDAO.retrieveIndexedBuckets().toStream()).isEmpty();
+        }
+
+        @Test
+        void searchShouldReturnMessagesStoredBeforeIndexing() {
+            storeWithoutIndexing(DELETED_MESSAGE);
+            Mono.from(testee.store(DELETED_MESSAGE_2)).block();
+            Mono.from(testee.store(DELETED_MESSAGE_2_OTHER_BUCKET)).block();
+
+            Stream<DeletedMessageWithStorageInformation> messages = Flux.from(testee.search(USERNAME,
+                Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1)))).toStream();
+            assertThat(messages).containsExactlyInAnyOrder(DELETED_MESSAGE, DELETED_MESSAGE_2, DELETED_MESSAGE_2_OTHER_BUCKET);
+        }
+
+        @Test
+        void searchShouldNotReadMetadataOfIndexedBucketsNotMatchingTheQuery(CassandraCluster cassandra) {
+            Mono.from(testee.store(DELETED_MESSAGE_2_OTHER_BUCKET)).block();
+
+            cassandra.getConf()
+                .registerScenario(fail()
+                    .forever()
+                    .whenQueryStartsWith("SELECT payload FROM deletedMessageMetadata WHERE bucketName=:bucketName AND owner=:owner;"));
+
+            Stream<DeletedMessageWithStorageInformation> messages = Flux.from(testee.search(USERNAME,
+                Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1)))).toStream();
+            assertThat(messages).containsExactly(DELETED_MESSAGE_2_OTHER_BUCKET);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.metadata;
+
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_3;
+import static org.apache.james.vault.DeletedMessageFixture.USERNAME;
+import static org.apache.james.vault.DeletedMessageFixture.USERNAME_2;
+import static org.apache.james.vault.metadata.DeletedMessageMetadataModule.MODULE;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.BUCKET_NAME;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OLD_DELETED_MESSAGE_OTHER_BUCKET;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_BUCKET_NAME;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_SUBJECT;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.apache.mailet.base.MailAddressFixture.SENDER2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import org.apache.james.backends.cassandra.CassandraCluster;
+import org.apache.james.backends.cassandra.CassandraClusterExtension;
+import org.apache.james.blob.api.BucketName;
+import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.IndexedCriterion;
+import org.apache.james.vault.search.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+class SearchIndexDAOTest {
+    @RegisterExtension
+    static CassandraClusterExtension cassandraCluster = new CassandraClusterExtension(MODULE);
+
+    private static final Tuple2<BucketName, MessageId> DELETED_MESSAGE_ENTRY = Tuples.of(BUCKET_NAME, DELETED_MESSAGE.getDeletedMessage().getMessageId());
+    private static final Tuple2<BucketName, MessageId> OLD_DELETED_MESSAGE_ENTRY = Tuples.of(OTHER_BUCKET_NAME, OLD_DELETED_MESSAGE_OTHER_BUCKET.getDeletedMessage().getMessageId());
+
+    private SearchIndexDAO testee;
+
+    @BeforeEach
+    void setUp(CassandraCluster cassandra) {
+        testee = new SearchIndexDAO(cassandra.getConf(), new InMemoryMessageId.Factory());
+    }
+
+    private Stream<Tuple2<BucketName, MessageId>> lookup(Query query) {
+        return testee.lookup(USERNAME, IndexedCriterion.of(query).get()).toStream();
+    }
+
+    @Test
+    void lookupShouldReturnEmptyWhenNothingIndexed() {
+        assertThat(lookup(Query.of(CriterionFactory.hasSender(SENDER)))).isEmpty();
+    }
+
+    @Test
+    void lookupShouldReturnMessagesOfTheOriginMailbox() {
+        testee.index(DELETED_MESSAGE).block();
+        testee.index(OLD_DELETED_MESSAGE_OTHER_BUCKET).block();
+
+        assertThat(lookup(Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1)))).containsExactly(DELETED_MESSAGE_ENTRY);
+        assertThat(lookup(Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_3)))).containsExactly(OLD_DELETED_MESSAGE_ENTRY);
+    }
+
+    @Test
+    void lookupShouldReturnMessagesOfTheSender() {
+        testee.index(DELETED_MESSAGE).block();
+        testee.index(OLD_DELETED_MESSAGE_OTHER_BUCKET).block();
+
+        assertThat(lookup(Query.of(CriterionFactory.hasSender(SENDER2)))).containsExactly(OLD_DELETED_MESSAGE_ENTRY);
+    }
+
+    @Test
+    void lookupShouldReturnMessagesOfTheSubjectIgnoringCase() {
+        testee.index(DELETED_MESSAGE).block();
+        testee.index(OLD_DELETED_MESSAGE_OTHER_BUCKET).block();
+
+        assertThat(lookup(Query.of(CriterionFactory.subject().equals(OTHER_SUBJECT.toUpperCase(Locale.US)))))
+            .containsExactly(OLD_DELETED_MESSAGE_ENTRY);
+    }
+
+    @Test
+    void lookupShouldReturnMessagesWithinTheDeletionDateRange() {
+        testee.index(DELETED_MESSAGE).block();
+        testee.index(OLD_DELETED_MESSAGE_OTHER_BUCKET).block();
+
+        assertThat(lookup(Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE)))).containsExactly(DELETED_MESSAGE_ENTRY);
+        assertThat(lookup(Query.of(CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE))))
+            .containsExactly(OLD_DELETED_MESSAGE_ENTRY, DELETED_MESSAGE_ENTRY);
+    }
+
+    @Test
+    void lookupShouldNotReturnMessagesOfOtherUsers() {
+        testee.index(DELETED_MESSAGE).block();
+
+        assertThat(testee.lookup(USERNAME_2, IndexedCriterion.of(Query.of(CriterionFactory.hasSender(SENDER))).get()).toStream())
+            .isEmpty();
+    }
+
+    @Test
+    void lookupShouldNotReturnUnindexedMessages() {
+        testee.index(DELETED_MESSAGE).block();
+        testee.index(OLD_DELETED_MESSAGE_OTHER_BUCKET).block();
+
+        testee.unindex(OLD_DELETED_MESSAGE_OTHER_BUCKET.getDeletedMessage()).block();
+
+        assertThat(lookup(Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_3)))).isEmpty();
+        assertThat(lookup(Query.of(CriterionFactory.hasSender(SENDER2)))).isEmpty();
+        assertThat(lookup(Query.of(CriterionFactory.subject().equals(OTHER_SUBJECT)))).isEmpty();
+        assertThat(lookup(Query.of(CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE)))).containsExactly(DELETED_MESSAGE_ENTRY);
+    }
+
+    @Test
+    void retrieveIndexedBucketsShouldReturnMarkedBuckets() {
+        testee.markIndexed(BUCKET_NAME).block();
+        testee.markIndexed(OTHER_BUCKET_NAME).block();
+
+        assertThat(testee.retrieveIndexedBuckets().toStream()).containsOnly(BUCKET_NAME, OTHER_BUCKET_NAME);
+    }
+
+    @Test
+    void retrieveIndexedBucketsShouldNotReturnUnmarkedBuckets() {
+        testee.markIndexed(BUCKET_NAME).block();
+        testee.markIndexed(OTHER_BUCKET_NAME).block();
+
+        testee.unmarkIndexed(BUCKET_NAME).block();
+
+        assertThat(testee.retrieveIndexedBuckets().toStream()).containsOnly(OTHER_BUCKET_NAME);
+    }
+}
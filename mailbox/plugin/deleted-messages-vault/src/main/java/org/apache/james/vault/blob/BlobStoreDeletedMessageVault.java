@@ -140,10 +140,8 @@ public class BlobStoreDeletedMessageVault implements DeletedMessageVault {
     }
 
     private Flux<DeletedMessage> searchOn(Username username, Query query) {
-        return Flux.from(messageMetadataVault.listRelatedBuckets())
-            .concatMap(bucketName -> messageMetadataVault.listMessages(bucketName, username))
-            .map(DeletedMessageWithStorageInformation::getDeletedMessage)
-            .filter(query.toPredicate());
+        return Flux.from(messageMetadataVault.search(username, query))
+            .map(DeletedMessageWithStorageInformation::getDeletedMessage);
     }
 
     @Override
@@ -19,31 +19,108 @@
 
 package org.apache.james.vault.memory.metadata;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.core.MailAddress;
 import org.apache.james.core.Username;
+import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.DeletedMessage;
 import org.apache.james.vault.metadata.DeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.DeletedMessageWithStorageInformation;
 import org.apache.james.vault.metadata.StorageInformation;
+import org.apache.james.vault.search.IndexedCriterion;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
 import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Table;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadataVault {
+    private static class UserIndex implements IndexedCriterion.Visitor<Collection<DeletedMessageWithStorageInformation>> {
+        private final SetMultimap<MailboxId, DeletedMessageWithStorageInformation> byOriginMailbox = HashMultimap.create();
+        private final SetMultimap<MailAddress, DeletedMessageWithStorageInformation> bySender = HashMultimap.create();
+        private final SetMultimap<String, DeletedMessageWithStorageInformation> bySubject = HashMultimap.create();
+        private final NavigableMap<Instant, Set<DeletedMessageWithStorageInformation>> byDeletionDate = new TreeMap<>();
+
+        void add(DeletedMessageWithStorageInformation message) {
+            DeletedMessage deletedMessage = message.getDeletedMessage();
+            deletedMessage.getOriginMailboxes().forEach(mailboxId -> byOriginMailbox.put(mailboxId, message));
+            deletedMessage.getSender().asOptional().ifPresent(sender -> bySender.put(sender, message));
+            deletedMessage.getSubject().ifPresent(subject -> bySubject.put(IndexedCriterion.normalizeSubject(subject), message));
+            byDeletionDate.computeIfAbsent(deletedMessage.getDeletionDate().toInstant(), any -> new HashSet<>())
+                .add(message);
+        }
+
+        void remove(DeletedMessageWithStorageInformation message) {
+            DeletedMessage deletedMessage = message.getDeletedMessage();
+            deletedMessage.getOriginMailboxes().forEach(mailboxId -> byOriginMailbox.remove(mailboxId, message));
+            deletedMessage.getSender().asOptional().ifPresent(sender -> bySender.remove(sender, message));
+            deletedMessage.getSubject().ifPresent(subject -> bySubject.remove(IndexedCriterion.normalizeSubject(subject), message));
+            Instant deletionDate = deletedMessage.getDeletionDate().toInstant();
+            Optional.ofNullable(byDeletionDate.get(deletionDate))
+                .ifPresent(messages -> {
+                    messages.remove(message);
+                    if (messages.isEmpty()) {
+                        byDeletionDate.remove(deletionDate);
+                    }
+                });
+        }
+
+        @Override
+        public Collection<DeletedMessageWithStorageInformation> originMailbox(MailboxId mailboxId) {
+            return ImmutableList.copyOf(byOriginMailbox.get(mailboxId));
+        }
+
+        @Override
+        public Collection<DeletedMessageWithStorageInformation> sender(MailAddress sender) {
+            return ImmutableList.copyOf(bySender.get(sender));
+        }
+
+        @Override
+        public Collection<DeletedMessageWithStorageInformation> subject(String normalizedSubject) {
+            return ImmutableList.copyOf(bySubject.get(normalizedSubject));
+        }
+
+        @Override
+        public Collection<DeletedMessageWithStorageInformation> deletionDate(Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound) {
+            Instant from = lowerBound.map(ZonedDateTime::toInstant).orElse(Instant.MIN);
+            Instant to = upperBound.map(ZonedDateTime::toInstant).orElse(Instant.MAX);
+            if (from.isAfter(to)) {
+                return ImmutableList.of();
+            }
+            return byDeletionDate.subMap(from, true, to, true)
+                .values()
+                .stream()
+                .flatMap(Set::stream)
+                .collect(ImmutableList.toImmutableList());
+        }
+    }
+
     private final Table<BucketName, Username, Map<MessageId, DeletedMessageWithStorageInformation>> table;
+    private final Map<Username, UserIndex> indexes;
 
     public MemoryDeletedMessageMetadataVault() {
         table = HashBasedTable.create();
+        indexes = new HashMap<>();
     }
 
     @Override
@@ -55,8 +132,11 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         return Mono.fromRunnable(() -> {
             synchronized (table) {
                 Map<MessageId, DeletedMessageWithStorageInformation> userVault = userVault(bucketName, owner);
-                userVault.put(messageId, deletedMessage);
+                Optional.ofNullable(userVault.put(messageId, deletedMessage))
+                    .ifPresent(this::unindex);
                 table.put(bucketName, owner, userVault);
+                indexes.computeIfAbsent(owner, any -> new UserIndex())
+                    .add(deletedMessage);
             }
         });
     }
@@ -65,6 +145,8 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
     public Publisher<Void> removeMetadataRelatedToBucket(BucketName bucketName) {
         return Mono.fromRunnable(() -> {
             synchronized (table) {
+                table.row(bucketName).values()
+                    .forEach(userVault -> userVault.values().forEach(this::unindex));
                 table.row(bucketName).clear();
             }
         });
@@ -74,7 +156,8 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
     public Publisher<Void> remove(BucketName bucketName, Username username, MessageId messageId) {
         return Mono.fromRunnable(() -> {
             synchronized (table) {
-                userVault(bucketName, username).remove(messageId);
+                Optional.ofNullable(userVault(bucketName, username).remove(messageId))
+                    .ifPresent(this::unindex);
             }
         });
     }
@@ -108,6 +191,31 @@ public class MemoryDeletedMessageMetadataVault implements DeletedMessageMetadata
         }
     }
 
+    @Override
+    public Publisher<DeletedMessageWithStorageInformation> search(Username username, Query query) {
+        Predicate<DeletedMessage> predicate = query.toPredicate();
+        synchronized (table) {
+            return Flux.fromIterable(candidates(username, query))
+                .filter(message -> predicate.test(message.getDeletedMessage()));
+        }
+    }
+
+    private Collection<DeletedMessageWithStorageInformation> candidates(Username username, Query query) {
+        return IndexedCriterion.of(query)
+            .map(criterion -> Optional.ofNullable(indexes.get(username))
+                .map(criterion::accept)
+                .orElse(ImmutableList.of()))
+            .orElseGet(() -> table.column(username).values()
+                .stream()
+                .flatMap(userVault -> userVault.values().stream())
+                .collect(ImmutableList.toImmutableList()));
+    }
+
+    private void unindex(DeletedMessageWithStorageInformation deletedMessage) {
+        Optional.ofNullable(indexes.get(deletedMessage.getDeletedMessage().getOwner()))
+            .ifPresent(userIndex -> userIndex.remove(deletedMessage));
+    }
+
     private Map<MessageId, DeletedMessageWithStorageInformation> userVault(BucketName bucketName, Username owner) {
         return Optional.ofNullable(table.get(bucketName, owner))
             .orElse(new HashMap<>());
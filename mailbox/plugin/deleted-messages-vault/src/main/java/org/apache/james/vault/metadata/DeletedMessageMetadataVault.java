@@ -22,6 +22,7 @@ package org.apache.james.vault.metadata;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.core.Username;
 import org.apache.james.mailbox.model.MessageId;
+import org.apache.james.vault.search.Query;
 import org.reactivestreams.Publisher;
 
 public interface DeletedMessageMetadataVault {
@@ -36,4 +37,10 @@ public interface DeletedMessageMetadataVault {
     Publisher<DeletedMessageWithStorageInformation> listMessages(BucketName bucketName, Username username);
 
     Publisher<BucketName> listRelatedBuckets();
+
+    /**
+     * Returns the messages of the user matching the query, relying on indexes to avoid reading all of them
+     * whenever the query allows it.
+     */
+    Publisher<DeletedMessageWithStorageInformation> search(Username username, Query query);
 }
@@ -0,0 +1,138 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.search;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.mailbox.model.MailboxId;
+
+/**
+ * The part of a {@link Query} that a metadata index can answer, allowing to read only the candidate messages
+ * of a user instead of all of them.
+ *
+ * Candidates read from an index still need to be filtered with {@link Query#toPredicate()}.
+ */
+public abstract class IndexedCriterion {
+
+    public interface Visitor<T> {
+        T originMailbox(MailboxId mailboxId);
+
+        T sender(MailAddress sender);
+
+        T subject(String normalizedSubject);
+
+        T deletionDate(Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound);
+    }
+
+    /**
+     * Selects the most selective indexed criterion of the query: origin mailbox, then sender, then subject, then
+     * deletion date range.
+     */
+    public static Optional<IndexedCriterion> of(Query query) {
+        List<Criterion<?>> criteria = query.getCriteria();
+        return Stream.<Optional<IndexedCriterion>>of(
+                find(criteria, FieldName.ORIGIN_MAILBOXES, Operator.CONTAINS)
+                    .map(mailboxId -> originMailbox((MailboxId) mailboxId)),
+                find(criteria, FieldName.SENDER, Operator.EQUALS)
+                    .map(sender -> sender((MailAddress) sender)),
+                find(criteria, FieldName.SUBJECT, Operator.EQUALS, Operator.EQUALS_IGNORE_CASE)
+                    .map(subject -> subject(normalizeSubject((String) subject))),
+                deletionDate(
+                    bound(criteria, Operator.AFTER_OR_EQUALS, IndexedCriterion::latest),
+                    bound(criteria, Operator.BEFORE_OR_EQUALS, IndexedCriterion::earliest)))
+            .flatMap(Optional::stream)
+            .findFirst();
+    }
+
+    public static String normalizeSubject(String subject) {
+        return subject.toLowerCase(Locale.US);
+    }
+
+    private static Optional<Object> find(List<Criterion<?>> criteria, FieldName fieldName, Operator... operators) {
+        return criteria.stream()
+            .filter(criterion -> criterion.getField().fieldName() == fieldName)
+            .filter(criterion -> Stream.of(operators).anyMatch(operator -> criterion.getValueMatcher().operator() == operator))
+            .<Object>map(criterion -> criterion.getValueMatcher().expectedValue())
+            .findFirst();
+    }
+
+    private static Optional<ZonedDateTime> bound(List<Criterion<?>> criteria, Operator operator, BinaryOperator<ZonedDateTime> tightest) {
+        return criteria.stream()
+            .filter(criterion -> criterion.getField().fieldName() == FieldName.DELETION_DATE)
+            .filter(criterion -> criterion.getValueMatcher().operator() == operator)
+            .map(criterion -> (ZonedDateTime) criterion.getValueMatcher().expectedValue())
+            .reduce(tightest);
+    }
+
+    private static ZonedDateTime latest(ZonedDateTime date1, ZonedDateTime date2) {
+        return date1.isAfter(date2) ? date1 : date2;
+    }
+
+    private static ZonedDateTime earliest(ZonedDateTime date1, ZonedDateTime date2) {
+        return date1.isBefore(date2) ? date1 : date2;
+    }
+
+    private static IndexedCriterion originMailbox(MailboxId mailboxId) {
+        return new IndexedCriterion() {
+            @Override
+            public <T> T accept(Visitor<T> visitor) {
+                return visitor.originMailbox(mailboxId);
+            }
+        };
+    }
+
+    private static IndexedCriterion sender(MailAddress sender) {
+        return new IndexedCriterion() {
+            @Override
+            public <T> T accept(Visitor<T> visitor) {
+                return visitor.sender(sender);
+            }
+        };
+    }
+
+    private static IndexedCriterion subject(String normalizedSubject) {
+        return new IndexedCriterion() {
+            @Override
+            public <T> T accept(Visitor<T> visitor) {
+                return visitor.subject(normalizedSubject);
+            }
+        };
+    }
+
+    private static Optional<IndexedCriterion> deletionDate(Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound) {
+        if (!lowerBound.isPresent() && !upperBound.isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(new IndexedCriterion() {
+            @Override
+            public <T> T accept(Visitor<T> visitor) {
+                return visitor.deletionDate(lowerBound, upperBound);
+            }
+        });
+    }
+
+    public abstract <T> T accept(Visitor<T> visitor);
+}
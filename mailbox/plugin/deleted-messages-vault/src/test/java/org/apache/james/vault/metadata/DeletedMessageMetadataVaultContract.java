@@ -19,19 +19,30 @@
 
 package org.apache.james.vault.metadata;
 
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_3;
+import static org.apache.james.vault.DeletedMessageFixture.OLD_DELETION_DATE;
 import static org.apache.james.vault.DeletedMessageFixture.USERNAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.BUCKET_NAME;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_2_OTHER_BUCKET;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.DELETED_MESSAGE_OTHER_USER;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OLD_DELETED_MESSAGE_OTHER_BUCKET;
 import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_BUCKET_NAME;
+import static org.apache.james.vault.metadata.DeletedMessageVaultMetadataFixture.OTHER_SUBJECT;
+import static org.apache.mailet.base.MailAddressFixture.SENDER2;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.vault.search.CriterionFactory;
+import org.apache.james.vault.search.Query;
 import org.junit.jupiter.api.Test;
 
 import reactor.core.publisher.Flux;
@@ -192,4 +203,118 @@ public interface DeletedMessageMetadataVaultContract {
 
         assertThat(storageInformation).isEmpty();
     }
+
+    @Test
+    default void searchShouldReturnAllMessagesOfTheUserWhenMatchingAll() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME, Query.ALL)).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE, OLD_DELETED_MESSAGE_OTHER_BUCKET);
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesOfOtherUsers() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_OTHER_USER)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE);
+    }
+
+    @Test
+    default void searchShouldReturnMessagesOfTheOriginMailbox() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_3)))).toStream();
+        assertThat(messages).containsOnly(OLD_DELETED_MESSAGE_OTHER_BUCKET);
+    }
+
+    @Test
+    default void searchShouldReturnMessagesOfTheSender() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.hasSender(SENDER2)))).toStream();
+        assertThat(messages).containsOnly(OLD_DELETED_MESSAGE_OTHER_BUCKET);
+    }
+
+    @Test
+    default void searchShouldReturnMessagesWithSubjectEqualsIgnoreCase() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.subject().equalsIgnoreCase(OTHER_SUBJECT.toUpperCase(Locale.US))))).toStream();
+        assertThat(messages).containsOnly(OLD_DELETED_MESSAGE_OTHER_BUCKET);
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesWithSubjectOnlyEqualsIgnoreCaseWhenEquals() {
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.subject().equals(OTHER_SUBJECT.toUpperCase(Locale.US))))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldReturnMessagesDeletedWithinTheDeletionDateRange() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE),
+                CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE.minusDays(1))))).toStream();
+        assertThat(messages).containsOnly(OLD_DELETED_MESSAGE_OTHER_BUCKET);
+    }
+
+    @Test
+    default void searchShouldReturnNoMessagesWhenTheDeletionDateRangeIsEmpty() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE.plusDays(1)),
+                CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE.minusDays(1))))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldApplyCriteriaNotAnsweredByIndexes() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+        Mono.from(metadataVault().store(OLD_DELETED_MESSAGE_OTHER_BUCKET)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.hasSender(SENDER2), CriterionFactory.hasNoAttachment()))).toStream();
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    default void searchShouldNotReturnRemovedMessages() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2)).block();
+
+        Mono.from(metadataVault().remove(BUCKET_NAME, USERNAME, DELETED_MESSAGE.getDeletedMessage().getMessageId())).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE_2);
+    }
+
+    @Test
+    default void searchShouldNotReturnMessagesOfRemovedBuckets() {
+        Mono.from(metadataVault().store(DELETED_MESSAGE)).block();
+        Mono.from(metadataVault().store(DELETED_MESSAGE_2_OTHER_BUCKET)).block();
+
+        Mono.from(metadataVault().removeMetadataRelatedToBucket(BUCKET_NAME)).block();
+
+        Stream<DeletedMessageWithStorageInformation> messages = Flux.from(metadataVault().search(USERNAME,
+            Query.of(CriterionFactory.deletionDate().afterOrEquals(DELETION_DATE)))).toStream();
+        assertThat(messages).containsOnly(DELETED_MESSAGE_2_OTHER_BUCKET);
+    }
 }
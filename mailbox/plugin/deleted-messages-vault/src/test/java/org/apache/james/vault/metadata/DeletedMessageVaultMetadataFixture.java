@@ -22,7 +22,11 @@ package org.apache.james.vault.metadata;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.mailbox.inmemory.InMemoryMessageId;
+import org.apache.james.vault.DeletedMessage;
 import org.apache.james.vault.DeletedMessageFixture;
+import org.apache.mailet.base.MailAddressFixture;
 
 public interface DeletedMessageVaultMetadataFixture {
     BlobId BLOB_ID = new HashBlobId.Factory().from("05dcb33b-8382-4744-923a-bc593ad84d23");
@@ -41,4 +45,20 @@ public interface DeletedMessageVaultMetadataFixture {
         OTHER_STORAGE_INFORMATION);
     DeletedMessageWithStorageInformation DELETED_MESSAGE = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE, STORAGE_INFORMATION);
     DeletedMessageWithStorageInformation DELETED_MESSAGE_2 = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE_2, STORAGE_INFORMATION);
+    DeletedMessageWithStorageInformation DELETED_MESSAGE_OTHER_USER = new DeletedMessageWithStorageInformation(DeletedMessageFixture.DELETED_MESSAGE_OTHER_USER, STORAGE_INFORMATION);
+
+    String OTHER_SUBJECT = "Other Subject";
+    DeletedMessageWithStorageInformation OLD_DELETED_MESSAGE_OTHER_BUCKET = new DeletedMessageWithStorageInformation(DeletedMessage.builder()
+            .messageId(InMemoryMessageId.of(46))
+            .originMailboxes(DeletedMessageFixture.MAILBOX_ID_3)
+            .user(DeletedMessageFixture.USERNAME)
+            .deliveryDate(DeletedMessageFixture.OLD_DELIVERY_DATE)
+            .deletionDate(DeletedMessageFixture.OLD_DELETION_DATE)
+            .sender(MaybeSender.of(MailAddressFixture.SENDER2))
+            .recipients(MailAddressFixture.RECIPIENT1)
+            .hasAttachment(true)
+            .size(DeletedMessageFixture.CONTENT.length)
+            .subject(OTHER_SUBJECT)
+            .build(),
+        OTHER_STORAGE_INFORMATION);
 }
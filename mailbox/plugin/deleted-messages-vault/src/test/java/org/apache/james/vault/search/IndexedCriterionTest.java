@@ -0,0 +1,149 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.vault.search;
+
+import static org.apache.james.vault.DeletedMessageFixture.DELETION_DATE;
+import static org.apache.james.vault.DeletedMessageFixture.MAILBOX_ID_1;
+import static org.apache.james.vault.DeletedMessageFixture.OLD_DELETION_DATE;
+import static org.apache.mailet.base.MailAddressFixture.RECIPIENT1;
+import static org.apache.mailet.base.MailAddressFixture.SENDER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.mailbox.model.MailboxId;
+import org.junit.jupiter.api.Test;
+
+class IndexedCriterionTest {
+    private static final IndexedCriterion.Visitor<String> DESCRIBER = new IndexedCriterion.Visitor<>() {
+        @Override
+        public String originMailbox(MailboxId mailboxId) {
+            return "originMailbox " + mailboxId.serialize();
+        }
+
+        @Override
+        public String sender(MailAddress sender) {
+            return "sender " + sender.asString();
+        }
+
+        @Override
+        public String subject(String normalizedSubject) {
+            return "subject " + normalizedSubject;
+        }
+
+        @Override
+        public String deletionDate(Optional<ZonedDateTime> lowerBound, Optional<ZonedDateTime> upperBound) {
+            return "deletionDate " + lowerBound.map(ZonedDateTime::toString).orElse("*")
+                + " " + upperBound.map(ZonedDateTime::toString).orElse("*");
+        }
+    };
+
+    private Optional<String> describe(Query query) {
+        return IndexedCriterion.of(query)
+            .map(criterion -> criterion.accept(DESCRIBER));
+    }
+
+    @Test
+    void ofShouldBeEmptyWhenMatchingAll() {
+        assertThat(describe(Query.ALL)).isEmpty();
+    }
+
+    @Test
+    void ofShouldBeEmptyWhenNoCriterionIsIndexed() {
+        assertThat(describe(Query.of(
+                CriterionFactory.containsRecipient(RECIPIENT1),
+                CriterionFactory.hasAttachment(),
+                CriterionFactory.deliveryDate().afterOrEquals(DELETION_DATE),
+                CriterionFactory.subject().contains("subject"),
+                CriterionFactory.subject().containsIgnoreCase("subject"))))
+            .isEmpty();
+    }
+
+    @Test
+    void ofShouldSelectOriginMailbox() {
+        assertThat(describe(Query.of(CriterionFactory.containsOriginMailbox(MAILBOX_ID_1))))
+            .contains("originMailbox " + MAILBOX_ID_1.serialize());
+    }
+
+    @Test
+    void ofShouldSelectSender() {
+        assertThat(describe(Query.of(CriterionFactory.hasSender(SENDER))))
+            .contains("sender " + SENDER.asString());
+    }
+
+    @Test
+    void ofShouldSelectNormalizedSubjectWhenEquals() {
+        assertThat(describe(Query.of(CriterionFactory.subject().equals("Some Subject"))))
+            .contains("subject some subject");
+    }
+
+    @Test
+    void ofShouldSelectNormalizedSubjectWhenEqualsIgnoreCase() {
+        assertThat(describe(Query.of(CriterionFactory.subject().equalsIgnoreCase("Some Subject"))))
+            .contains("subject some subject");
+    }
+
+    @Test
+    void ofShouldSelectOpenDeletionDateRanges() {
+        assertThat(describe(Query.of(CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE))))
+            .contains("deletionDate " + OLD_DELETION_DATE + " *");
+        assertThat(describe(Query.of(CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE))))
+            .contains("deletionDate * " + DELETION_DATE);
+    }
+
+    @Test
+    void ofShouldSelectTheNarrowestDeletionDateRange() {
+        assertThat(describe(Query.of(
+                CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE),
+                CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE.plusDays(1)),
+                CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE),
+                CriterionFactory.deletionDate().beforeOrEquals(DELETION_DATE.minusDays(1)))))
+            .contains("deletionDate " + OLD_DELETION_DATE.plusDays(1) + " " + DELETION_DATE.minusDays(1));
+    }
+
+    @Test
+    void ofShouldPreferOriginMailboxOverOtherIndexedCriteria() {
+        assertThat(describe(Query.of(
+                CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE),
+                CriterionFactory.subject().equals("subject"),
+                CriterionFactory.hasSender(SENDER),
+                CriterionFactory.containsOriginMailbox(MAILBOX_ID_1))))
+            .contains("originMailbox " + MAILBOX_ID_1.serialize());
+    }
+
+    @Test
+    void ofShouldPreferSenderOverSubjectAndDeletionDate() {
+        assertThat(describe(Query.of(
+                CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE),
+                CriterionFactory.subject().equals("subject"),
+                CriterionFactory.hasSender(SENDER))))
+            .contains("sender " + SENDER.asString());
+    }
+
+    @Test
+    void ofShouldPreferSubjectOverDeletionDate() {
+        assertThat(describe(Query.of(
+                CriterionFactory.deletionDate().afterOrEquals(OLD_DELETION_DATE),
+                CriterionFactory.subject().equals("subject"))))
+            .contains("subject subject");
+    }
+}
@@ -19,43 +19,37 @@
 package org.apache.james.mailbox.spamassassin;
 
 import java.io.InputStream;
-import java.util.List;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
 import org.apache.james.core.Username;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.spamassassin.SpamAssassinInvoker;
-import org.apache.james.util.Host;
+import org.reactivestreams.Publisher;
 
-import com.github.fge.lambdas.Throwing;
+import reactor.core.publisher.Mono;
 
 public class SpamAssassin {
 
-    private final MetricFactory metricFactory;
-    private final SpamAssassinConfiguration spamAssassinConfiguration;
+    private final Optional<SpamAssassinInvoker> invoker;
 
     @Inject
     public SpamAssassin(MetricFactory metricFactory, SpamAssassinConfiguration spamAssassinConfiguration) {
-        this.metricFactory = metricFactory;
-        this.spamAssassinConfiguration = spamAssassinConfiguration;
+        this.invoker = spamAssassinConfiguration.getHost()
+            .map(host -> new SpamAssassinInvoker(metricFactory, host.getHostName(), host.getPort(),
+                spamAssassinConfiguration.getClientConfiguration()));
     }
 
-    public void learnSpam(List<InputStream> messages, Username username) {
-        if (spamAssassinConfiguration.isEnable()) {
-            Host host = spamAssassinConfiguration.getHost().get();
-            SpamAssassinInvoker invoker = new SpamAssassinInvoker(metricFactory, host.getHostName(), host.getPort());
-            messages
-                .forEach(Throwing.consumer(message -> invoker.learnAsSpam(message, username)));
-        }
+    public Mono<Void> learnSpam(Publisher<InputStream> messages, Username username) {
+        return invoker
+            .map(spamAssassinInvoker -> spamAssassinInvoker.learnAsSpam(messages, username).then())
+            .orElse(Mono.empty());
     }
 
-    public void learnHam(List<InputStream> messages, Username username) {
-        if (spamAssassinConfiguration.isEnable()) {
-            Host host = spamAssassinConfiguration.getHost().get();
-            SpamAssassinInvoker invoker = new SpamAssassinInvoker(metricFactory, host.getHostName(), host.getPort());
-            messages
-                .forEach(Throwing.consumer(message -> invoker.learnAsHam(message, username)));
-        }
+    public Mono<Void> learnHam(Publisher<InputStream> messages, Username username) {
+        return invoker
+            .map(spamAssassinInvoker -> spamAssassinInvoker.learnAsHam(messages, username).then())
+            .orElse(Mono.empty());
     }
 }
@@ -22,6 +22,7 @@ package org.apache.james.mailbox.spamassassin;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.apache.james.spamassassin.SpamdClientConfiguration;
 import org.apache.james.util.Host;
 
 import com.google.common.base.MoreObjects;
@@ -29,9 +30,15 @@ import com.google.common.base.MoreObjects;
 public class SpamAssassinConfiguration {
 
     private final Optional<Host> host;
+    private final SpamdClientConfiguration clientConfiguration;
 
     public SpamAssassinConfiguration(Optional<Host> host) {
+        this(host, SpamdClientConfiguration.DEFAULT);
+    }
+
+    public SpamAssassinConfiguration(Optional<Host> host, SpamdClientConfiguration clientConfiguration) {
         this.host = host;
+        this.clientConfiguration = clientConfiguration;
     }
 
     public boolean isEnable() {
@@ -42,25 +49,31 @@ public class SpamAssassinConfiguration {
         return host;
     }
 
+    public SpamdClientConfiguration getClientConfiguration() {
+        return clientConfiguration;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof SpamAssassinConfiguration) {
             SpamAssassinConfiguration that = (SpamAssassinConfiguration) o;
 
-            return Objects.equals(this.host, that.host);
+            return Objects.equals(this.host, that.host)
+                && Objects.equals(this.clientConfiguration, that.clientConfiguration);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(host);
+        return Objects.hash(host, clientConfiguration);
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("host", host)
+                .add("clientConfiguration", clientConfiguration)
                 .toString();
     }
 }
@@ -19,8 +19,6 @@
 package org.apache.james.mailbox.spamassassin;
 
 import java.io.InputStream;
-import java.util.List;
-import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -42,13 +40,13 @@ import org.apache.james.mailbox.store.event.SpamEventListener;
 import org.apache.james.mailbox.store.mail.MessageMapper;
 import org.apache.james.mailbox.store.mail.model.MailboxMessage;
 import org.apache.james.mailbox.store.mail.model.Message;
-import org.apache.james.util.streams.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
 
 public class SpamAssassinListener implements SpamEventListener {
     public static class SpamAssassinListenerGroup extends Group {
@@ -56,7 +54,6 @@ public class SpamAssassinListener implements SpamEventListener {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SpamAssassinListener.class);
-    private static final int LIMIT = 1;
     private static final Group GROUP = new SpamAssassinListenerGroup();
 
     private final SpamAssassin spamAssassin;
@@ -107,34 +104,29 @@ public class SpamAssassinListener implements SpamEventListener {
             Mailbox mailbox = mapperFactory.getMailboxMapper(session).findMailboxById(addedEvent.getMailboxId()).block();
             MessageMapper messageMapper = mapperFactory.getMessageMapper(session);
 
-            List<InputStream> contents = MessageRange.toRanges(addedEvent.getUids())
-                .stream()
-                .flatMap(range -> retrieveMessages(messageMapper, mailbox, range))
-                .map(Throwing.function(MailboxMessage::getFullContent))
-                .collect(ImmutableList.toImmutableList());
-            spamAssassin.learnHam(contents, event.getUsername());
+            Flux<InputStream> contents = Flux.fromIterable(MessageRange.toRanges(addedEvent.getUids()))
+                .concatMap(range -> retrieveMessages(messageMapper, mailbox, range))
+                .map(Throwing.function(MailboxMessage::getFullContent));
+            spamAssassin.learnHam(contents, event.getUsername()).block();
         }
     }
 
     private void handleMessageMove(Event event, MailboxSession session, MessageMoveEvent messageMoveEvent) {
         if (isMessageMovedToSpamMailbox(messageMoveEvent)) {
             LOGGER.debug("Spam event detected");
-            ImmutableList<InputStream> messages = retrieveMessages(messageMoveEvent, session);
-            spamAssassin.learnSpam(messages, event.getUsername());
+            spamAssassin.learnSpam(retrieveMessages(messageMoveEvent, session), event.getUsername()).block();
         }
         if (isMessageMovedOutOfSpamMailbox(messageMoveEvent)) {
-            ImmutableList<InputStream> messages = retrieveMessages(messageMoveEvent, session);
-            spamAssassin.learnHam(messages, event.getUsername());
+            spamAssassin.learnHam(retrieveMessages(messageMoveEvent, session), event.getUsername()).block();
         }
     }
 
-    private Stream<MailboxMessage> retrieveMessages(MessageMapper messageMapper, Mailbox mailbox, MessageRange range) {
-        try {
-            return Iterators.toStream(messageMapper.findInMailbox(mailbox, range, MessageMapper.FetchType.Full, LIMIT));
-        } catch (MailboxException e) {
-            LOGGER.warn("Can not retrieve message {} {}", mailbox.getMailboxId(), range.toString(), e);
-            return Stream.empty();
-        }
+    private Flux<MailboxMessage> retrieveMessages(MessageMapper messageMapper, Mailbox mailbox, MessageRange range) {
+        return messageMapper.findInMailboxReactive(mailbox, range, MessageMapper.FetchType.Full, MessageMapper.UNLIMITED)
+            .onErrorResume(MailboxException.class, e -> {
+                LOGGER.warn("Can not retrieve message {} {}", mailbox.getMailboxId(), range.toString(), e);
+                return Flux.empty();
+            });
     }
 
     private boolean isAppendedToInbox(Added addedEvent) {
@@ -147,12 +139,10 @@ public class SpamAssassinListener implements SpamEventListener {
         }
     }
 
-    private ImmutableList<InputStream> retrieveMessages(MessageMoveEvent messageMoveEvent, MailboxSession session) {
+    private Flux<InputStream> retrieveMessages(MessageMoveEvent messageMoveEvent, MailboxSession session) {
         return mapperFactory.getMessageIdMapper(session)
-            .find(messageMoveEvent.getMessageIds(), MessageMapper.FetchType.Full)
-            .stream()
-            .map(Throwing.function(Message::getFullContent))
-            .collect(ImmutableList.toImmutableList());
+            .findReactive(messageMoveEvent.getMessageIds(), MessageMapper.FetchType.Full)
+            .map(Throwing.function(Message::getFullContent));
     }
 
     @VisibleForTesting
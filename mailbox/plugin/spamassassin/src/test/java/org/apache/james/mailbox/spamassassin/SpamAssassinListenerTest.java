@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
@@ -59,6 +60,13 @@ import org.apache.james.mailbox.store.mail.model.impl.PropertyBuilder;
 import org.apache.james.mailbox.store.mail.model.impl.SimpleMailboxMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 class SpamAssassinListenerTest {
     static final Username USER = Username.of("user");
@@ -87,6 +95,8 @@ class SpamAssassinListenerTest {
             .thenReturn(MAILBOX_SESSION);
 
         spamAssassin = mock(SpamAssassin.class);
+        when(spamAssassin.learnSpam(any(), any())).thenReturn(Mono.empty());
+        when(spamAssassin.learnHam(any(), any())).thenReturn(Mono.empty());
         mapperFactory = mailboxManager.getMapperFactory();
         MailboxMapper mailboxMapper = mapperFactory.createMailboxMapper(MAILBOX_SESSION);
         inbox = mailboxMapper.create(MailboxPath.forUser(USER, DefaultMailboxes.INBOX), UID_VALIDITY).block();
@@ -253,6 +263,26 @@ class SpamAssassinListenerTest {
         verify(spamAssassin).learnHam(any(), any());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void eventShouldLearnEveryMessageAddedInInboxAsHam() throws Exception {
+        SimpleMailboxMessage message1 = createMessage(inbox);
+        SimpleMailboxMessage message2 = createMessage(inbox);
+
+        Added addedEvent = EventFactory.added()
+            .randomEventId()
+            .mailboxSession(MAILBOX_SESSION)
+            .mailbox(inbox)
+            .addMetaData(ImmutableList.of(message1.metaData(), message2.metaData()))
+            .build();
+
+        listener.event(addedEvent);
+
+        ArgumentCaptor<Publisher<InputStream>> messages = ArgumentCaptor.forClass(Publisher.class);
+        verify(spamAssassin).learnHam(messages.capture(), any());
+        assertThat(Flux.from(messages.getValue()).count().block()).isEqualTo(2);
+    }
+
     @Test
     void eventShouldNotCallSpamAssassinHamLearningWhenTheMessageIsAddedInAMailboxOtherThanInbox() throws Exception {
         SimpleMailboxMessage message = createMessage(mailbox1);
@@ -672,13 +672,15 @@ public class StoreMailboxManager implements MailboxManager {
     private Function<Flux<Mailbox>, Flux<MailboxMetaData>> withCounters(MailboxSession session, List<Mailbox> mailboxes) {
         MessageMapper messageMapper = mailboxSessionMapperFactory.getMessageMapper(session);
         Map<MailboxPath, Boolean> parentMap = parentMap(mailboxes, session);
-        int concurrency = 4;
         return mailboxFlux -> mailboxFlux
-            .flatMap(mailbox -> retrieveCounters(messageMapper, mailbox, session)
-                .map(Throwing.<MailboxCounters, MailboxMetaData>function(
-                    counters -> toMailboxMetadata(session, parentMap, mailbox, counters))
-                    .sneakyThrow()),
-                concurrency);
+            .collectList()
+            .flatMapMany(matchingMailboxes -> retrieveCounters(messageMapper, matchingMailboxes, session)
+                .flatMapIterable(counters -> matchingMailboxes.stream()
+                    .map(Throwing.<Mailbox, MailboxMetaData>function(
+                        mailbox -> toMailboxMetadata(session, parentMap, mailbox,
+                            counters.getOrDefault(mailbox.getMailboxId(), MailboxCounters.empty(mailbox.getMailboxId()))))
+                        .sneakyThrow())
+                    .collect(ImmutableList.toImmutableList())));
     }
 
     private Map<MailboxPath, Boolean> parentMap(List<Mailbox> mailboxes, MailboxSession session) {
@@ -701,10 +703,15 @@ public class StoreMailboxManager implements MailboxManager {
                     .sneakyThrow());
     }
 
-    private Mono<MailboxCounters> retrieveCounters(MessageMapper messageMapper, Mailbox mailbox, MailboxSession session) {
-        return messageMapper.getMailboxCountersReactive(mailbox)
-            .filter(Throwing.<MailboxCounters>predicate(counter -> storeRightManager.hasRight(mailbox, Right.Read, session)).sneakyThrow())
-            .switchIfEmpty(Mono.just(MailboxCounters.empty(mailbox.getMailboxId())));
+    /**
+     * Counters of all the readable mailboxes are read at once, letting the mapper batch its reads.
+     */
+    private Mono<Map<MailboxId, MailboxCounters>> retrieveCounters(MessageMapper messageMapper, List<Mailbox> mailboxes, MailboxSession session) {
+        List<Mailbox> readableMailboxes = mailboxes.stream()
+            .filter(Throwing.<Mailbox>predicate(mailbox -> storeRightManager.hasRight(mailbox, Right.Read, session)).sneakyThrow())
+            .collect(ImmutableList.toImmutableList());
+        return messageMapper.getMailboxCountersReactive(readableMailboxes)
+            .collectMap(MailboxCounters::getMailboxId, Function.identity());
     }
 
     private Flux<Mailbox> searchMailboxes(MailboxQuery mailboxQuery, MailboxSession session, Right right) {
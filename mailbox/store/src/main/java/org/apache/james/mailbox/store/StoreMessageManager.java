@@ -61,6 +61,7 @@ import org.apache.james.mailbox.events.MailboxIdRegistrationKey;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.exception.ReadOnlyException;
 import org.apache.james.mailbox.exception.UnsupportedRightException;
+import org.apache.james.mailbox.model.ByteContent;
 import org.apache.james.mailbox.model.ComposedMessageId;
 import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
 import org.apache.james.mailbox.model.Content;
@@ -729,6 +730,13 @@ public class StoreMessageManager implements MessageManager {
         return messageMapper.listMessagesMetadata(mailbox, set);
     }
 
+    @Override
+    public Publisher<Content> getFullContent(MessageUid uid, long offset, long length, MailboxSession mailboxSession) {
+        MessageMapper messageMapper = mapperFactory.getMessageMapper(mailboxSession);
+        return messageMapper.getFullContent(mailbox, uid, offset, length)
+            .map(ByteContent::new);
+    }
+
     /**
      * Return a List which holds all uids of recent messages and optional reset
      * the recent flag on the messages for the uids
@@ -20,6 +20,10 @@ package org.apache.james.mailbox.store.mail;
 
 import static javax.mail.Flags.Flag.RECENT;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +51,7 @@ import org.reactivestreams.Publisher;
 
 import com.github.fge.lambdas.Throwing;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -91,6 +96,30 @@ public interface MessageMapper extends Mapper {
         }
     }
 
+    /**
+     * Reads at most {@code length} octets of the full content of a message, starting at {@code offset}.
+     *
+     * The default implementation reads the full content: implementations able to read a range of their underlying
+     * storage should override it.
+     *
+     * @return the octets within the range, truncated to the end of the message, or an empty Mono when the message is
+     *  not found
+     */
+    default Mono<byte[]> getFullContent(Mailbox mailbox, MessageUid uid, long offset, long length) {
+        return findInMailboxReactive(mailbox, MessageRange.one(uid), FetchType.Full, 1)
+            .next()
+            .map(Throwing.<MailboxMessage, byte[]>function(message -> readRange(message, offset, length)).sneakyThrow());
+    }
+
+    private static byte[] readRange(MailboxMessage message, long offset, long length) throws IOException {
+        try (InputStream fullContent = message.getFullContent()) {
+            ByteStreams.skipFully(fullContent, offset);
+            return ByteStreams.toByteArray(ByteStreams.limit(fullContent, length));
+        } catch (EOFException e) {
+            return new byte[0];
+        }
+    }
+
     /**
      * Returns a list of {@link MessageUid} which are marked as deleted
      */
@@ -108,6 +137,18 @@ public interface MessageMapper extends Mapper {
         return Mono.fromCallable(() -> getMailboxCounters(mailbox));
     }
 
+    /**
+     * Retrieve the counters of several mailboxes at once.
+     *
+     * Implementations able to read many mailboxes in a single round trip should override this method.
+     * Mailboxes without stored counters may be omitted.
+     */
+    default Flux<MailboxCounters> getMailboxCountersReactive(Collection<Mailbox> mailboxes) {
+        int concurrency = 4;
+        return Flux.fromIterable(mailboxes)
+            .flatMap(this::getMailboxCountersReactive, concurrency);
+    }
+
     /**
      * Delete the given {@link MailboxMessage}
      */
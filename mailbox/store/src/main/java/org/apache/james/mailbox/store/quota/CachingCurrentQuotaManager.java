@@ -0,0 +1,124 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailbox.store.quota;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.james.core.quota.QuotaCountUsage;
+import org.apache.james.core.quota.QuotaSizeUsage;
+import org.apache.james.mailbox.model.CurrentQuotas;
+import org.apache.james.mailbox.model.QuotaOperation;
+import org.apache.james.mailbox.model.QuotaRoot;
+import org.apache.james.mailbox.quota.CurrentQuotaManager;
+import org.reactivestreams.Publisher;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches current quotas read from the underlying {@link CurrentQuotaManager} for a short time.
+ *
+ * Local updates invalidate the cached value. Updates performed on other James nodes are however only seen once
+ * the cached value expires: the staleness of the current quotas, as seen by the quota checks, is bounded by the
+ * configured time to live.
+ *
+ * A read started before a local update can complete after it: each update thus gives its quota root a new
+ * generation, and a read only caches its result if the generation of the quota root did not change meanwhile.
+ */
+public class CachingCurrentQuotaManager implements CurrentQuotaManager {
+    private static final long MAXIMUM_CACHED_QUOTA_ROOTS = 10_000;
+
+    private final CurrentQuotaManager delegate;
+    private final Cache<QuotaRoot, CurrentQuotas> cache;
+    private final Cache<QuotaRoot, Long> generations;
+    private final AtomicLong generationCounter = new AtomicLong();
+
+    public CachingCurrentQuotaManager(CurrentQuotaManager delegate, Duration timeToLive) {
+        Preconditions.checkArgument(!timeToLive.isNegative() && !timeToLive.isZero(), "'timeToLive' needs to be strictly positive");
+
+        this.delegate = delegate;
+        this.cache = CacheBuilder.newBuilder()
+            .expireAfterWrite(timeToLive)
+            .maximumSize(MAXIMUM_CACHED_QUOTA_ROOTS)
+            .build();
+        // Generations are unique: an evicted generation is never mistaken for the one a read started with
+        this.generations = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_QUOTA_ROOTS)
+            .build();
+    }
+
+    @Override
+    public Publisher<QuotaCountUsage> getCurrentMessageCount(QuotaRoot quotaRoot) {
+        return Mono.from(getCurrentQuotas(quotaRoot))
+            .map(CurrentQuotas::count);
+    }
+
+    @Override
+    public Publisher<QuotaSizeUsage> getCurrentStorage(QuotaRoot quotaRoot) {
+        return Mono.from(getCurrentQuotas(quotaRoot))
+            .map(CurrentQuotas::size);
+    }
+
+    @Override
+    public Publisher<CurrentQuotas> getCurrentQuotas(QuotaRoot quotaRoot) {
+        return Mono.justOrEmpty(cache.getIfPresent(quotaRoot))
+            .switchIfEmpty(Mono.defer(() -> readAndCache(quotaRoot)));
+    }
+
+    private Mono<CurrentQuotas> readAndCache(QuotaRoot quotaRoot) {
+        long generation = generations.asMap().computeIfAbsent(quotaRoot, any -> generationCounter.incrementAndGet());
+
+        return Mono.from(delegate.getCurrentQuotas(quotaRoot))
+            .doOnNext(currentQuotas -> generations.asMap().computeIfPresent(quotaRoot, (any, currentGeneration) -> {
+                if (Objects.equals(currentGeneration, generation)) {
+                    cache.put(quotaRoot, currentQuotas);
+                }
+                return currentGeneration;
+            }));
+    }
+
+    @Override
+    public Publisher<Void> increase(QuotaOperation quotaOperation) {
+        return invalidateAfter(quotaOperation, delegate.increase(quotaOperation));
+    }
+
+    @Override
+    public Publisher<Void> decrease(QuotaOperation quotaOperation) {
+        return invalidateAfter(quotaOperation, delegate.decrease(quotaOperation));
+    }
+
+    @Override
+    public Publisher<Void> setCurrentQuotas(QuotaOperation quotaOperation) {
+        return invalidateAfter(quotaOperation, delegate.setCurrentQuotas(quotaOperation));
+    }
+
+    private Mono<Void> invalidateAfter(QuotaOperation quotaOperation, Publisher<Void> update) {
+        return Mono.from(update)
+            .doFinally(signal -> generations.asMap().compute(quotaOperation.quotaRoot(), (quotaRoot, any) -> {
+                cache.invalidate(quotaRoot);
+                return generationCounter.incrementAndGet();
+            }));
+    }
+}
@@ -19,6 +19,10 @@
 package org.apache.james.mailbox.store.quota;
 
 import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -29,6 +33,7 @@ import org.apache.james.events.Event;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.EventListener;
 import org.apache.james.events.Group;
+import org.apache.james.events.PartialBatchFailure;
 import org.apache.james.events.RegistrationKey;
 import org.apache.james.mailbox.events.MailboxEvents.Added;
 import org.apache.james.mailbox.events.MailboxEvents.Expunged;
@@ -41,16 +46,109 @@ import org.apache.james.mailbox.quota.QuotaManager;
 import org.apache.james.mailbox.quota.QuotaRootResolver;
 import org.apache.james.mailbox.store.event.EventFactory;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public class ListeningCurrentQuotaUpdater implements EventListener.ReactiveGroupEventListener, QuotaUpdater {
+/**
+ * Updates the current quotas upon message additions and deletions.
+ *
+ * Events are handled in batches: the changes of a batch are summed up per quota root, then written at once, sparing
+ * one counter update per event.
+ *
+ * Each counter update is tied to the events it sums up, so that a failed update only fails these events: retrying
+ * them does not apply the updates of other quota roots twice.
+ */
+public class ListeningCurrentQuotaUpdater implements EventListener.ReactiveBatchGroupEventListener, QuotaUpdater {
     public static class ListeningCurrentQuotaUpdaterGroup extends Group {
 
     }
 
+    private static class QuotaDelta {
+        static QuotaDelta increase(QuotaOperation operation, Username username, Event event) {
+            return new QuotaDelta(operation.quotaRoot(), Optional.of(username), operation.count().asLong(), operation.size().asLong(), ImmutableList.of(event));
+        }
+
+        static QuotaDelta decrease(QuotaOperation operation, Username username, Event event) {
+            return new QuotaDelta(operation.quotaRoot(), Optional.of(username), -operation.count().asLong(), -operation.size().asLong(), ImmutableList.of(event));
+        }
+
+        static QuotaDelta decrease(QuotaOperation operation, Event event) {
+            return new QuotaDelta(operation.quotaRoot(), Optional.empty(), -operation.count().asLong(), -operation.size().asLong(), ImmutableList.of(event));
+        }
+
+        private final QuotaRoot quotaRoot;
+        private final Optional<Username> username;
+        private final long count;
+        private final long size;
+        private final ImmutableList<Event> events;
+
+        private QuotaDelta(QuotaRoot quotaRoot, Optional<Username> username, long count, long size, ImmutableList<Event> events) {
+            this.quotaRoot = quotaRoot;
+            this.username = username;
+            this.count = count;
+            this.size = size;
+            this.events = events;
+        }
+
+        QuotaRoot getQuotaRoot() {
+            return quotaRoot;
+        }
+
+        Optional<Username> getUsername() {
+            return username;
+        }
+
+        ImmutableList<Event> getEvents() {
+            return events;
+        }
+
+        boolean isEmpty() {
+            return count == 0 && size == 0;
+        }
+
+        boolean isIncrease() {
+            return count >= 0 && size >= 0;
+        }
+
+        boolean isDecrease() {
+            return count <= 0 && size <= 0;
+        }
+
+        QuotaDelta merge(QuotaDelta other) {
+            return new QuotaDelta(quotaRoot, other.username.or(() -> username), count + other.count, size + other.size,
+                ImmutableList.<Event>builder()
+                    .addAll(events)
+                    .addAll(other.events)
+                    .build());
+        }
+
+        QuotaOperation asIncrease() {
+            return new QuotaOperation(quotaRoot, QuotaCountUsage.count(count), QuotaSizeUsage.size(size));
+        }
+
+        QuotaOperation asDecrease() {
+            return new QuotaOperation(quotaRoot, QuotaCountUsage.count(-count), QuotaSizeUsage.size(-size));
+        }
+    }
+
+    private static class FailedUpdate {
+        private final QuotaDelta delta;
+        private final Throwable error;
+
+        FailedUpdate(QuotaDelta delta, Throwable error) {
+            this.delta = delta;
+            this.error = error;
+        }
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListeningCurrentQuotaUpdater.class);
+
     public static final Group GROUP = new ListeningCurrentQuotaUpdaterGroup();
     private static final ImmutableSet<RegistrationKey> NO_REGISTRATION_KEYS = ImmutableSet.of();
 
@@ -78,15 +176,32 @@ public class ListeningCurrentQuotaUpdater implements EventListener.ReactiveGroup
     }
 
     @Override
-    public Publisher<Void> reactiveEvent(Event event) {
+    public Publisher<Void> reactiveEvents(List<Event> events) {
+        return Flux.fromIterable(events)
+            .concatMap(this::toQuotaDelta)
+            .collect(Collectors.groupingBy(QuotaDelta::getQuotaRoot, LinkedHashMap::new, ImmutableList.toImmutableList()))
+            .flatMapMany(deltasByQuotaRoot -> Flux.fromIterable(deltasByQuotaRoot.values()))
+            .concatMap(this::applyDeltas)
+            .collectList()
+            .flatMap(failedUpdates -> {
+                if (failedUpdates.isEmpty()) {
+                    return Mono.empty();
+                }
+                return Mono.error(asPartialBatchFailure(failedUpdates));
+            });
+    }
+
+    private Mono<QuotaDelta> toQuotaDelta(Event event) {
         if (event instanceof Added) {
             Added addedEvent = (Added) event;
             return Mono.from(quotaRootResolver.getQuotaRootReactive(addedEvent.getMailboxPath()))
-                .flatMap(quotaRoot -> handleAddedEvent(addedEvent, quotaRoot));
+                .flatMap(quotaRoot -> computeQuotaOperation(addedEvent, quotaRoot))
+                .map(operation -> QuotaDelta.increase(operation, addedEvent.getUsername(), event));
         } else if (event instanceof Expunged) {
             Expunged expungedEvent = (Expunged) event;
             return Mono.from(quotaRootResolver.getQuotaRootReactive(expungedEvent.getMailboxPath()))
-                .flatMap(quotaRoot -> handleExpungedEvent(expungedEvent, quotaRoot));
+                .flatMap(quotaRoot -> computeQuotaOperation(expungedEvent, quotaRoot))
+                .map(operation -> QuotaDelta.decrease(operation, expungedEvent.getUsername(), event));
         } else if (event instanceof MailboxDeletion) {
             MailboxDeletion mailboxDeletionEvent = (MailboxDeletion) event;
             return handleMailboxDeletionEvent(mailboxDeletionEvent);
@@ -94,18 +209,74 @@ public class ListeningCurrentQuotaUpdater implements EventListener.ReactiveGroup
         return Mono.empty();
     }
 
-    private Mono<Void> handleExpungedEvent(Expunged expunged, QuotaRoot quotaRoot) {
-        return computeQuotaOperation(expunged, quotaRoot)
-            .flatMap(quotaOperation ->
-                Mono.from(currentQuotaManager.decrease(quotaOperation))
-                    .then(dispatchNewQuota(quotaRoot, expunged.getUsername())));
+    private Flux<FailedUpdate> applyDeltas(List<QuotaDelta> deltas) {
+        QuotaDelta netDelta = deltas.stream()
+            .reduce(QuotaDelta::merge)
+            .orElseThrow();
+        if (netDelta.isEmpty()) {
+            return Flux.empty();
+        }
+        List<QuotaDelta> updates = splitIntoUpdates(deltas, netDelta);
+
+        return Flux.fromIterable(updates)
+            .concatMap(update -> applyUpdate(update)
+                .then(Mono.<FailedUpdate>empty())
+                .onErrorResume(e -> Mono.just(new FailedUpdate(update, e))))
+            .collectList()
+            .flatMapMany(failedUpdates -> {
+                if (failedUpdates.size() == updates.size()) {
+                    return Flux.fromIterable(failedUpdates);
+                }
+                return dispatchNewQuota(netDelta)
+                    .thenMany(Flux.fromIterable(failedUpdates));
+            });
+    }
+
+    /**
+     * A net delta increasing (or decreasing) both the count and the size is written at once. Otherwise the additions
+     * and the removals are written separately, each of the updates being retried with the events it sums up.
+     */
+    private List<QuotaDelta> splitIntoUpdates(List<QuotaDelta> deltas, QuotaDelta netDelta) {
+        if (netDelta.isIncrease() || netDelta.isDecrease()) {
+            return ImmutableList.of(netDelta);
+        }
+        return deltas.stream()
+            .collect(Collectors.partitioningBy(QuotaDelta::isIncrease, Collectors.reducing(QuotaDelta::merge)))
+            .values()
+            .stream()
+            .flatMap(Optional::stream)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private Mono<Void> applyUpdate(QuotaDelta delta) {
+        if (delta.isIncrease()) {
+            return Mono.from(currentQuotaManager.increase(delta.asIncrease()));
+        }
+        return Mono.from(currentQuotaManager.decrease(delta.asDecrease()));
+    }
+
+    private PartialBatchFailure asPartialBatchFailure(List<FailedUpdate> failedUpdates) {
+        ImmutableList<Event> failedEvents = failedUpdates.stream()
+            .flatMap(failedUpdate -> failedUpdate.delta.getEvents().stream())
+            .collect(ImmutableList.toImmutableList());
+        PartialBatchFailure failure = new PartialBatchFailure(failedEvents, failedUpdates.get(0).error);
+        failedUpdates.stream()
+            .skip(1)
+            .forEach(failedUpdate -> failure.addSuppressed(failedUpdate.error));
+        return failure;
     }
 
-    private Mono<Void> handleAddedEvent(Added added, QuotaRoot quotaRoot) {
-        return computeQuotaOperation(added, quotaRoot)
-            .flatMap(quotaOperation ->
-                Mono.from(currentQuotaManager.increase(quotaOperation))
-                    .then(dispatchNewQuota(quotaRoot, added.getUsername())));
+    /**
+     * Failing to notify the new quota does not fail the events, as retrying them would update the counters again.
+     */
+    private Mono<Void> dispatchNewQuota(QuotaDelta delta) {
+        return delta.getUsername()
+            .map(username -> dispatchNewQuota(delta.getQuotaRoot(), username)
+                .onErrorResume(e -> {
+                    LOGGER.error("Failed to dispatch the updated quota of {}", delta.getQuotaRoot().asString(), e);
+                    return Mono.empty();
+                }))
+            .orElse(Mono.empty());
     }
 
     private Mono<Void> dispatchNewQuota(QuotaRoot quotaRoot, Username username) {
@@ -139,12 +310,13 @@ public class ListeningCurrentQuotaUpdater implements EventListener.ReactiveGroup
             .sum();
     }
 
-    private Mono<Void> handleMailboxDeletionEvent(MailboxDeletion mailboxDeletionEvent) {
+    private Mono<QuotaDelta> handleMailboxDeletionEvent(MailboxDeletion mailboxDeletionEvent) {
         boolean mailboxContainedMessages = mailboxDeletionEvent.getDeletedMessageCount().asLong() > 0;
         if (mailboxContainedMessages) {
-            return Mono.from(currentQuotaManager.decrease(new QuotaOperation(mailboxDeletionEvent.getQuotaRoot(),
+            return Mono.just(QuotaDelta.decrease(new QuotaOperation(mailboxDeletionEvent.getQuotaRoot(),
                     mailboxDeletionEvent.getDeletedMessageCount(),
-                    mailboxDeletionEvent.getTotalDeletedSize())));
+                    mailboxDeletionEvent.getTotalDeletedSize()),
+                mailboxDeletionEvent));
         }
         return Mono.empty();
     }
@@ -25,6 +25,7 @@ import static org.apache.james.mailbox.store.mail.model.MessageAssert.assertThat
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Date;
 import java.util.Iterator;
@@ -258,6 +259,41 @@ public abstract class MessageMapperTest {
         assertMessages(Lists.newArrayList(retrievedMessageIterator)).containOnly(message2, message3, message4, message5);
     }
 
+    @Test
+    void getFullContentShouldReturnTheRequestedRange() throws MailboxException {
+        saveMessages();
+
+        byte[] content = messageMapper.getFullContent(benwaInboxMailbox, message1.getUid(), 10, 10).block();
+
+        assertThat(new String(content, StandardCharsets.US_ASCII)).isEqualTo("est1 \n\nBod");
+    }
+
+    @Test
+    void getFullContentShouldBeTruncatedToTheEndOfTheMessage() throws MailboxException {
+        saveMessages();
+
+        byte[] content = messageMapper.getFullContent(benwaInboxMailbox, message1.getUid(), 20, 100).block();
+
+        assertThat(new String(content, StandardCharsets.US_ASCII)).isEqualTo("y1\n.\n");
+    }
+
+    @Test
+    void getFullContentShouldReturnNoOctetWhenTheRangeStartsAfterTheEndOfTheMessage() throws MailboxException {
+        saveMessages();
+
+        byte[] content = messageMapper.getFullContent(benwaInboxMailbox, message1.getUid(), 100, 10).block();
+
+        assertThat(content).isEmpty();
+    }
+
+    @Test
+    void getFullContentShouldReturnEmptyWhenTheMessageIsNotFound() throws MailboxException {
+        saveMessages();
+        messageMapper.delete(benwaInboxMailbox, message1);
+
+        assertThat(messageMapper.getFullContent(benwaInboxMailbox, message1.getUid(), 0, 10).blockOptional()).isEmpty();
+    }
+
     @Test
     void messagesRetrievedUsingFetchTypeMetadataShouldHaveAtLastMetadataDataLoaded() throws MailboxException, IOException {
         saveMessages();
@@ -20,11 +20,15 @@
 package org.apache.james.mailbox.store.quota;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -40,11 +44,13 @@ import org.apache.james.core.quota.QuotaSizeUsage;
 import org.apache.james.events.Event;
 import org.apache.james.events.EventBus;
 import org.apache.james.events.Group;
+import org.apache.james.events.PartialBatchFailure;
 import org.apache.james.mailbox.MessageUid;
 import org.apache.james.mailbox.ModSeq;
 import org.apache.james.mailbox.events.MailboxEvents.Added;
 import org.apache.james.mailbox.events.MailboxEvents.Expunged;
 import org.apache.james.mailbox.events.MailboxEvents.MailboxDeletion;
+import org.apache.james.mailbox.events.MailboxEvents.MetaDataHoldingEvent;
 import org.apache.james.mailbox.model.MailboxId;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.MessageMetaData;
@@ -59,8 +65,10 @@ import org.apache.james.mailbox.store.mail.model.DefaultMessageId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 class ListeningCurrentQuotaUpdaterTest {
@@ -72,9 +80,12 @@ class ListeningCurrentQuotaUpdaterTest {
     static final MailboxPath MAILBOX_PATH = MailboxPath.forUser(USERNAME_BENWA, "path");
     static final QuotaRoot QUOTA_ROOT = QuotaRoot.quotaRoot(BENWA, Optional.empty());
     static final QuotaOperation QUOTA = new QuotaOperation(QUOTA_ROOT, QuotaCountUsage.count(2), QuotaSizeUsage.size(2 * SIZE));
+    static final MailboxPath BOB_MAILBOX_PATH = MailboxPath.forUser(Username.of("bob"), "path");
+    static final QuotaRoot BOB_QUOTA_ROOT = QuotaRoot.quotaRoot("bob", Optional.empty());
 
     CurrentQuotaManager mockedCurrentQuotaManager;
     QuotaRootResolver mockedQuotaRootResolver;
+    QuotaManager quotaManager;
     ListeningCurrentQuotaUpdater testee;
 
     @BeforeEach
@@ -83,8 +94,8 @@ class ListeningCurrentQuotaUpdaterTest {
         mockedCurrentQuotaManager = mock(CurrentQuotaManager.class);
         EventBus eventBus = mock(EventBus.class);
         when(eventBus.dispatch(any(Event.class), anySet())).thenReturn(Mono.empty());
-        QuotaManager quotaManager = mock(QuotaManager.class);
-        when(quotaManager.getQuotasReactive(eq(QUOTA_ROOT))).thenReturn(Mono.empty());
+        quotaManager = mock(QuotaManager.class);
+        when(quotaManager.getQuotasReactive(any(QuotaRoot.class))).thenReturn(Mono.empty());
         testee = new ListeningCurrentQuotaUpdater(mockedCurrentQuotaManager, mockedQuotaRootResolver,
             eventBus, quotaManager);
     }
@@ -194,4 +205,122 @@ class ListeningCurrentQuotaUpdaterTest {
 
         verifyZeroInteractions(mockedCurrentQuotaManager);
     }
+
+    @Test
+    void batchOfAddedEventsShouldIncreaseCurrentQuotaValuesOnce() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+        when(mockedCurrentQuotaManager.increase(any())).thenAnswer(any -> Mono.empty());
+
+        Flux.from(testee.reactiveEvents(ImmutableList.of(
+                addedEvent(MessageUid.of(36), MessageUid.of(38)),
+                addedEvent(MessageUid.of(40)))))
+            .blockLast();
+
+        verify(mockedCurrentQuotaManager, times(1)).increase(any());
+        verify(mockedCurrentQuotaManager).increase(new QuotaOperation(QUOTA_ROOT, QuotaCountUsage.count(3), QuotaSizeUsage.size(3 * SIZE)));
+        verify(mockedCurrentQuotaManager, never()).decrease(any());
+    }
+
+    @Test
+    void batchOfAddedAndExpungedEventsShouldOnlyApplyTheNetDelta() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+        when(mockedCurrentQuotaManager.increase(any())).thenAnswer(any -> Mono.empty());
+
+        Flux.from(testee.reactiveEvents(ImmutableList.of(
+                addedEvent(MessageUid.of(36), MessageUid.of(38), MessageUid.of(40)),
+                expungedEvent(MessageUid.of(36)))))
+            .blockLast();
+
+        verify(mockedCurrentQuotaManager).increase(QUOTA);
+        verify(mockedCurrentQuotaManager, never()).decrease(any());
+    }
+
+    @Test
+    void batchOfCompensatingEventsShouldNotUpdateCurrentQuotaValues() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+
+        Flux.from(testee.reactiveEvents(ImmutableList.of(
+                addedEvent(MessageUid.of(36)),
+                expungedEvent(MessageUid.of(36)))))
+            .blockLast();
+
+        verifyZeroInteractions(mockedCurrentQuotaManager);
+    }
+
+    @Test
+    void failedUpdateShouldOnlyFailTheEventsOfItsQuotaRoot() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(BOB_MAILBOX_PATH))).thenReturn(Mono.just(BOB_QUOTA_ROOT));
+        when(mockedCurrentQuotaManager.increase(any())).thenAnswer(any -> Mono.empty());
+        when(mockedCurrentQuotaManager.increase(argThat(operation -> operation.quotaRoot().equals(BOB_QUOTA_ROOT))))
+            .thenReturn(Mono.error(new RuntimeException()));
+        Added benwaEvent = addedEvent(MAILBOX_PATH, MessageUid.of(36));
+        Added bobEvent = addedEvent(BOB_MAILBOX_PATH, MessageUid.of(36));
+
+        assertThatThrownBy(() -> Flux.from(testee.reactiveEvents(ImmutableList.of(benwaEvent, bobEvent))).blockLast())
+            .isInstanceOfSatisfying(PartialBatchFailure.class, failure -> {
+                assertThat(failure.hasFailed(bobEvent)).isTrue();
+                assertThat(failure.hasFailed(benwaEvent)).isFalse();
+            });
+    }
+
+    @Test
+    void retryingFailedEventsShouldNotUpdateOtherQuotaRootsTwice() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(BOB_MAILBOX_PATH))).thenReturn(Mono.just(BOB_QUOTA_ROOT));
+        when(mockedCurrentQuotaManager.increase(any())).thenAnswer(any -> Mono.empty());
+        when(mockedCurrentQuotaManager.increase(argThat(operation -> operation.quotaRoot().equals(BOB_QUOTA_ROOT))))
+            .thenReturn(Mono.error(new RuntimeException()))
+            .thenReturn(Mono.empty());
+        ImmutableList<Event> batch = ImmutableList.of(
+            addedEvent(MAILBOX_PATH, MessageUid.of(36)),
+            addedEvent(BOB_MAILBOX_PATH, MessageUid.of(36)));
+
+        Flux.from(testee.reactiveEvents(batch))
+            .onErrorResume(PartialBatchFailure.class, failure -> Flux.fromIterable(batch)
+                .filter(failure::hasFailed)
+                .concatMap(testee::reactiveEvent))
+            .blockLast();
+
+        verify(mockedCurrentQuotaManager, times(1)).increase(new QuotaOperation(QUOTA_ROOT, QuotaCountUsage.count(1), QuotaSizeUsage.size(SIZE)));
+        verify(mockedCurrentQuotaManager, times(2)).increase(new QuotaOperation(BOB_QUOTA_ROOT, QuotaCountUsage.count(1), QuotaSizeUsage.size(SIZE)));
+    }
+
+    @Test
+    void failingToDispatchTheNewQuotaShouldNotFailTheBatch() {
+        when(mockedQuotaRootResolver.getQuotaRootReactive(eq(MAILBOX_PATH))).thenReturn(Mono.just(QUOTA_ROOT));
+        when(mockedCurrentQuotaManager.increase(any())).thenAnswer(any -> Mono.empty());
+        when(quotaManager.getQuotasReactive(any(QuotaRoot.class))).thenReturn(Mono.error(new RuntimeException()));
+
+        assertThatCode(() -> Flux.from(testee.reactiveEvents(ImmutableList.of(addedEvent(MessageUid.of(36))))).blockLast())
+            .doesNotThrowAnyException();
+    }
+
+    private Added addedEvent(MessageUid... uids) {
+        return addedEvent(MAILBOX_PATH, uids);
+    }
+
+    private Added addedEvent(MailboxPath mailboxPath, MessageUid... uids) {
+        Added added = mock(Added.class);
+        mockMetaDataHoldingEvent(added, uids);
+        when(added.getMailboxPath()).thenReturn(mailboxPath);
+        return added;
+    }
+
+    private Expunged expungedEvent(MessageUid... uids) {
+        Expunged expunged = mock(Expunged.class);
+        mockMetaDataHoldingEvent(expunged, uids);
+        return expunged;
+    }
+
+    private void mockMetaDataHoldingEvent(MetaDataHoldingEvent event, MessageUid... uids) {
+        for (MessageUid uid : uids) {
+            when(event.getMetaData(uid)).thenReturn(new MessageMetaData(uid, ModSeq.first(), new Flags(), SIZE, new Date(), new DefaultMessageId(), ThreadId.fromBaseMessageId(new DefaultMessageId())));
+        }
+        when(event.getUids()).thenReturn(Lists.newArrayList(uids));
+        when(event.getMailboxId()).thenReturn(MAILBOX_ID);
+        when(event.getMailboxPath()).thenReturn(MAILBOX_PATH);
+        when(event.getUsername()).thenReturn(USERNAME_BENWA);
+        when(event.getEventId()).thenReturn(Event.EventId.random());
+    }
 }
@@ -137,7 +137,21 @@ public interface Mail extends Serializable, Cloneable {
      * @throws MessagingException when an error occurs while retrieving the message
      */
     MimeMessage getMessage() throws MessagingException;
-    
+
+    /**
+     * Returns the MIME structure of the message stored in this mail.
+     *
+     * Implementations may cache it until the message is modified, so that the message gets parsed once regardless
+     * of the number of mailets and matchers inspecting it. Modifications of nested parts are only taken into account
+     * once {@link MimeMessage#saveChanges()} is called.
+     *
+     * @return the MIME structure of the wrapped message
+     * @throws MessagingException when an error occurs while parsing the message
+     */
+    default MimeStructure getMimeStructure() throws MessagingException {
+        return MimeStructure.of(getMessage());
+    }
+
     /**
      * Returns the message recipients as a Collection of MailAddress objects,
      * as specified by the SMTP "RCPT TO" command, or internally defined.
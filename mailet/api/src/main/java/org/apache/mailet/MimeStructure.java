@@ -0,0 +1,262 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.mailet;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.mail.Header;
+import javax.mail.MessagingException;
+import javax.mail.Multipart;
+import javax.mail.Part;
+import javax.mail.internet.MimeUtility;
+import javax.mail.internet.ParseException;
+
+import org.apache.james.mime4j.codec.DecodeMonitor;
+import org.apache.james.mime4j.dom.field.ContentTypeField;
+import org.apache.james.mime4j.field.ContentTypeFieldLenientImpl;
+import org.apache.james.mime4j.stream.RawField;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+
+/**
+ * Immutable view of the MIME structure of a message: its parts, their types, dispositions and decoded headers.
+ *
+ * It allows mailets and matchers to inspect a message without walking the JavaMail object graph themselves.
+ * See {@link Mail#getMimeStructure()}.
+ */
+public class MimeStructure {
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String DEFAULT_MIME_TYPE = "text/plain";
+    private static final String MULTIPART_PRIMARY_TYPE = "multipart";
+    private static final String RFC822_MIME_TYPE = "message/rfc822";
+    private static final String WILDCARD = "*";
+
+    public static MimeStructure of(Part part) throws MessagingException {
+        Optional<ContentTypeField> contentType = parseContentType(part);
+        Optional<String> declaredMimeType = contentType
+            .map(ContentTypeField::getMimeType)
+            .filter(type -> !Strings.isNullOrEmpty(type));
+
+        return new MimeStructure(declaredMimeType,
+            contentType.flatMap(type -> Optional.ofNullable(Strings.emptyToNull(type.getCharset()))),
+            disposition(part),
+            fileName(part),
+            part.getSize(),
+            headers(part),
+            children(part, declaredMimeType.orElse(DEFAULT_MIME_TYPE)));
+    }
+
+    private static Optional<ContentTypeField> parseContentType(Part part) throws MessagingException {
+        String[] values = part.getHeader(CONTENT_TYPE);
+        if (values == null || values.length == 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(ContentTypeFieldLenientImpl.PARSER.parse(new RawField(CONTENT_TYPE, values[0]), DecodeMonitor.SILENT));
+        } catch (Exception e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> disposition(Part part) throws MessagingException {
+        try {
+            return Optional.ofNullable(part.getDisposition())
+                .map(disposition -> disposition.toLowerCase(Locale.US));
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<String> fileName(Part part) throws MessagingException {
+        try {
+            return Optional.ofNullable(part.getFileName());
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static ImmutableListMultimap<String, String> headers(Part part) throws MessagingException {
+        ImmutableListMultimap.Builder<String, String> headers = ImmutableListMultimap.builder();
+        Enumeration<Header> allHeaders = part.getAllHeaders();
+        while (allHeaders != null && allHeaders.hasMoreElements()) {
+            Header header = allHeaders.nextElement();
+            headers.put(header.getName().toLowerCase(Locale.US), decode(header.getValue()));
+        }
+        return headers.build();
+    }
+
+    private static String decode(String value) {
+        String unfolded = MimeUtility.unfold(value);
+        try {
+            return MimeUtility.decodeText(unfolded);
+        } catch (UnsupportedEncodingException e) {
+            return unfolded;
+        }
+    }
+
+    private static ImmutableList<MimeStructure> children(Part part, String mimeType) throws MessagingException {
+        if (!mimeType.startsWith(MULTIPART_PRIMARY_TYPE + "/") && !mimeType.equals(RFC822_MIME_TYPE)) {
+            return ImmutableList.of();
+        }
+        Object content = content(part);
+        if (content instanceof Multipart) {
+            Multipart multipart = (Multipart) content;
+            ImmutableList.Builder<MimeStructure> children = ImmutableList.builder();
+            for (int i = 0; i < multipart.getCount(); i++) {
+                children.add(of(multipart.getBodyPart(i)));
+            }
+            return children.build();
+        }
+        if (content instanceof Part) {
+            return ImmutableList.of(of((Part) content));
+        }
+        return ImmutableList.of();
+    }
+
+    private static Object content(Part part) throws MessagingException {
+        try {
+            return part.getContent();
+        } catch (IOException e) {
+            throw new MessagingException("Unable to read the content of a MIME part", e);
+        }
+    }
+
+    private final Optional<String> declaredMimeType;
+    private final String mimeType;
+    private final Optional<String> charset;
+    private final Optional<String> disposition;
+    private final Optional<String> fileName;
+    private final int size;
+    private final ImmutableListMultimap<String, String> headers;
+    private final ImmutableList<MimeStructure> children;
+
+    private MimeStructure(Optional<String> declaredMimeType, Optional<String> charset, Optional<String> disposition, Optional<String> fileName,
+                          int size, ImmutableListMultimap<String, String> headers, ImmutableList<MimeStructure> children) {
+        this.declaredMimeType = declaredMimeType;
+        this.mimeType = declaredMimeType.orElse(DEFAULT_MIME_TYPE);
+        this.charset = charset;
+        this.disposition = disposition;
+        this.fileName = fileName;
+        this.size = size;
+        this.headers = headers;
+        this.children = children;
+    }
+
+    /**
+     * @return the lower cased base type specified by the Content-Type header of this part, if any and valid.
+     */
+    public Optional<String> getDeclaredMimeType() {
+        return declaredMimeType;
+    }
+
+    /**
+     * @return the lower cased base type of this part, defaulting to text/plain when missing or invalid.
+     * The Content-Type header is parsed leniently.
+     */
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @param pattern a MIME type, possibly with a wildcard sub type, like text/*
+     */
+    public boolean isMimeType(String pattern) {
+        String lowerCasedPattern = pattern.toLowerCase(Locale.US);
+        if (lowerCasedPattern.endsWith("/" + WILDCARD)) {
+            return mimeType.startsWith(lowerCasedPattern.substring(0, lowerCasedPattern.length() - WILDCARD.length()));
+        }
+        return mimeType.equals(lowerCasedPattern);
+    }
+
+    public boolean isMultipart() {
+        return mimeType.startsWith(MULTIPART_PRIMARY_TYPE + "/");
+    }
+
+    public Optional<String> getCharset() {
+        return charset;
+    }
+
+    /**
+     * @return the lower cased disposition of this part, if any.
+     */
+    public Optional<String> getDisposition() {
+        return disposition;
+    }
+
+    public boolean isAttachment() {
+        return disposition.filter(Part.ATTACHMENT::equals).isPresent();
+    }
+
+    public Optional<String> getFileName() {
+        return fileName;
+    }
+
+    /**
+     * @return the size in bytes of the encoded content of this part, or -1 when unknown.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the unfolded, decoded values of the given header, matched case insensitively.
+     */
+    public List<String> getHeader(String name) {
+        return headers.get(name.toLowerCase(Locale.US));
+    }
+
+    /**
+     * @return the headers of this part, keyed by their lower cased names.
+     */
+    public ImmutableListMultimap<String, String> getHeaders() {
+        return headers;
+    }
+
+    public List<MimeStructure> getChildren() {
+        return children;
+    }
+
+    /**
+     * @return this part followed by all of its descendants, depth first.
+     */
+    public Stream<MimeStructure> parts() {
+        return Stream.concat(Stream.of(this), children.stream().flatMap(MimeStructure::parts));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("mimeType", mimeType)
+            .add("disposition", disposition)
+            .add("fileName", fileName)
+            .add("size", size)
+            .add("children", children)
+            .toString();
+    }
+}
@@ -0,0 +1,117 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.mailet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class MimeStructureTest {
+    private static final String MULTIPART_MESSAGE = "Subject: =?UTF-8?Q?Caf=C3=A9?=\r\n" +
+        "MIME-Version: 1.0\r\n" +
+        "Content-Type: multipart/mixed; boundary=\"frontier\"\r\n" +
+        "\r\n" +
+        "--frontier\r\n" +
+        "Content-Type: text/plain; charset=UTF-8\r\n" +
+        "\r\n" +
+        "Hello\r\n" +
+        "--frontier\r\n" +
+        "Content-Type: application/PDF\r\n" +
+        "Content-Disposition: ATTACHMENT; filename=\"report.pdf\"\r\n" +
+        "\r\n" +
+        "JVBERi0=\r\n" +
+        "--frontier\r\n" +
+        "Content-Type: message/rfc822\r\n" +
+        "\r\n" +
+        "Subject: inner\r\n" +
+        "Content-Type: text/html\r\n" +
+        "\r\n" +
+        "<p>inner</p>\r\n" +
+        "--frontier--\r\n";
+
+    private static MimeMessage parse(String message) throws Exception {
+        return new MimeMessage(Session.getDefaultInstance(new Properties()),
+            new ByteArrayInputStream(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void ofShouldExposeTheTreeOfParts() throws Exception {
+        MimeStructure structure = MimeStructure.of(parse(MULTIPART_MESSAGE));
+
+        assertThat(structure.parts().map(MimeStructure::getMimeType))
+            .containsExactly("multipart/mixed", "text/plain", "application/pdf", "message/rfc822", "text/html");
+    }
+
+    @Test
+    void ofShouldDecodeHeaders() throws Exception {
+        MimeStructure structure = MimeStructure.of(parse(MULTIPART_MESSAGE));
+
+        assertThat(structure.getHeader("subject")).containsExactly("Café");
+    }
+
+    @Test
+    void ofShouldExposeAttachments() throws Exception {
+        MimeStructure attachment = MimeStructure.of(parse(MULTIPART_MESSAGE)).getChildren().get(1);
+
+        assertThat(attachment.isAttachment()).isTrue();
+        assertThat(attachment.getFileName()).contains("report.pdf");
+    }
+
+    @Test
+    void ofShouldExposeCharset() throws Exception {
+        MimeStructure textPart = MimeStructure.of(parse(MULTIPART_MESSAGE)).getChildren().get(0);
+
+        assertThat(textPart.getCharset()).contains("UTF-8");
+    }
+
+    @Test
+    void ofShouldDefaultToTextPlainWhenNoContentType() throws Exception {
+        MimeStructure structure = MimeStructure.of(parse("Subject: test\r\n\r\nbody\r\n"));
+
+        assertThat(structure.getMimeType()).isEqualTo("text/plain");
+        assertThat(structure.getDeclaredMimeType()).isEmpty();
+        assertThat(structure.getChildren()).isEmpty();
+    }
+
+    @Test
+    void ofShouldBeLenientWhenInvalidCharset() throws Exception {
+        MimeStructure structure = MimeStructure.of(parse("Content-Type: text/html; charset=\r\n\r\nbody\r\n"));
+
+        assertThat(structure.getMimeType()).isEqualTo("text/html");
+        assertThat(structure.getCharset()).isEmpty();
+    }
+
+    @Test
+    void isMimeTypeShouldSupportWildcards() throws Exception {
+        MimeStructure structure = MimeStructure.of(parse(MULTIPART_MESSAGE));
+
+        assertThat(ImmutableList.of(structure.isMimeType("multipart/*"), structure.isMimeType("MULTIPART/MIXED"), structure.isMimeType("text/*")))
+            .containsExactly(true, true, false);
+    }
+}
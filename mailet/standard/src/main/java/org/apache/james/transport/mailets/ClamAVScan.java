@@ -34,12 +34,16 @@ import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Locale;
 import java.util.Set;
 
+import javax.inject.Inject;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
 import org.apache.james.core.MailAddress;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
 import org.apache.mailet.Attribute;
 import org.apache.mailet.AttributeName;
 import org.apache.mailet.AttributeValue;
@@ -84,7 +88,13 @@ import com.google.common.collect.ImmutableSet;
  * between each connection retry during startup.
  * The default is <I>30000</I> (30 seconds).</LI>
  * <LI><CODE>&lt;streamBufferSize&gt;</CODE>: the BufferedOutputStream buffer size to use
- * writing to the <I>stream connection</I>. The default is <I>8192</I>.</LI>
+ * writing to the <I>stream connection</I>, or the buffer used to group small writes into chunks when
+ * using the <CODE>INSTREAM</CODE> protocol. The default is <I>8192</I>.</LI>
+ * <LI><CODE>&lt;protocol&gt;</CODE>: either <CODE>STREAM</CODE> or <CODE>INSTREAM</CODE>.
+ * The default is <CODE>STREAM</CODE>, which opens two connections per mail. <CODE>INSTREAM</CODE>
+ * scans mails on long lived <CODE>IDSESSION</CODE> connections, see below.</LI>
+ * <LI><CODE>&lt;poolSize&gt;</CODE>: when using the <CODE>INSTREAM</CODE> protocol, the maximum
+ * number of idle CLAMD sessions kept open. The default is <I>8</I>.</LI>
  * </UL>
  * <p/>
  * <P>The actions performed are as follows:</P>
@@ -121,8 +131,25 @@ import com.google.common.collect.ImmutableSet;
  * <LI>adds the "<CODE>X-MessageIsInfected</CODE>" <I>header</I> to either
  * "<CODE>true</CODE>" or "<CODE>false</CODE>";</LI>
  * </OL>
+ * <LI>For every mail, when the <CODE>&lt;protocol&gt;</CODE> is <CODE>INSTREAM</CODE></LI>
+ * <OL>
+ * <LI>borrows an idle session, or connects to CLAMD at the "next" IP in the round-robin list
+ * and sends a "<CODE>IDSESSION</CODE>" request;</LI>
+ * <LI>sends a "<CODE>INSTREAM</CODE>" request on the session, followed by the mime message
+ * as length prefixed chunks and a zero length chunk;</LI>
+ * <LI>gets the "<CODE>stream: OK</CODE>" or "<CODE>stream: ... FOUND</CODE>" answer;</LI>
+ * <LI>gives the session back to the pool, or closes it if it failed. A mail failing on a pooled
+ * session is retried once on a new one, as CLAMD closes sessions idle for longer than its
+ * <CODE>IdleTimeout</CODE>;</LI>
+ * <LI>marks the mail and the message as above.</LI>
+ * </OL>
  * </UL>
  * <p/>
+ * <P>The number of opened, idle and in use CLAMD sessions are reported through the
+ * <CODE>clamav:connections:opened</CODE>, <CODE>clamav:connections:idle</CODE> and
+ * <CODE>clamav:connections:inUse</CODE> metrics, and scan durations through the
+ * <CODE>clamav:scan</CODE> timer.</P>
+ * <p/>
  * <P>Some notes regarding <a href="http://www.clamav.net/">clamav.conf</a>:</p>
  * <UL>
  * <LI><CODE>LocalSocket</CODE> must be commented out</LI>
@@ -187,6 +214,11 @@ import com.google.common.collect.ImmutableSet;
  */
 @Experimental
 public class ClamAVScan extends GenericMailet {
+    public enum Protocol {
+        STREAM,
+        INSTREAM
+    }
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ClamAVScan.class);
 
     private static final int DEFAULT_PORT = 3310;
@@ -197,6 +229,12 @@ public class ClamAVScan extends GenericMailet {
 
     private static final int DEFAULT_STREAM_BUFFER_SIZE = 8192;
 
+    private static final Protocol DEFAULT_PROTOCOL = Protocol.STREAM;
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    private static final String SCAN_METRIC = "clamav:scan";
+
     //private static final int DEFAULT_CONNECTION_TIMEOUT = 20000;
 
     private static final String STREAM_PORT_STRING = "PORT ";
@@ -237,6 +275,16 @@ public class ClamAVScan extends GenericMailet {
      */
     private int streamBufferSize;
 
+    /**
+     * Holds value of property protocol.
+     */
+    private Protocol protocol;
+
+    /**
+     * Holds value of property poolSize.
+     */
+    private int poolSize;
+
     /**
      * Holds value of property addresses.
      */
@@ -247,6 +295,18 @@ public class ClamAVScan extends GenericMailet {
      */
     private int nextAddressIndex;
 
+    /**
+     * Holds the CLAMD sessions when using the INSTREAM protocol.
+     */
+    private ClamdSessionPool sessionPool;
+
+    private final MetricFactory metricFactory;
+
+    @Inject
+    public ClamAVScan(MetricFactory metricFactory) {
+        this.metricFactory = metricFactory;
+    }
+
     @Override
     public String getMailetInfo() {
         return "Antivirus Check using ClamAV (CLAMD)";
@@ -263,7 +323,9 @@ public class ClamAVScan extends GenericMailet {
                 "port",
                 "maxPings",
                 "pingIntervalMilli",
-                "streamBufferSize"
+                "streamBufferSize",
+                "protocol",
+                "poolSize"
         );
     }
 
@@ -446,6 +508,68 @@ public class ClamAVScan extends GenericMailet {
         this.streamBufferSize = streamBufferSize;
     }
 
+    /**
+     * Initializer for property protocol.
+     */
+    protected void initProtocol() {
+        String protocolParam = getInitParameter("protocol");
+        setProtocol((protocolParam == null) ? DEFAULT_PROTOCOL : Protocol.valueOf(protocolParam.trim().toUpperCase(Locale.US)));
+        if (isDebug()) {
+            LOGGER.debug("protocol: {}", getProtocol());
+        }
+    }
+
+    /**
+     * Getter for property protocol.
+     *
+     * @return Value of property protocol.
+     */
+    public Protocol getProtocol() {
+
+        return this.protocol;
+    }
+
+    /**
+     * Setter for property protocol.
+     *
+     * @param protocol New value of property protocol.
+     */
+    public void setProtocol(Protocol protocol) {
+
+        this.protocol = protocol;
+    }
+
+    /**
+     * Initializer for property poolSize.
+     */
+    protected void initPoolSize() {
+        String poolSizeParam = getInitParameter("poolSize");
+        setPoolSize((poolSizeParam == null) ? DEFAULT_POOL_SIZE : Integer.parseInt(poolSizeParam));
+        if (isDebug()) {
+            LOGGER.debug("poolSize: {}", getPoolSize());
+        }
+    }
+
+    /**
+     * Getter for property poolSize.
+     *
+     * @return Value of property poolSize.
+     */
+    public int getPoolSize() {
+
+        return this.poolSize;
+    }
+
+    /**
+     * Setter for property poolSize.
+     *
+     * @param poolSize New value of property poolSize.
+     */
+    public void setPoolSize(int poolSize) {
+
+        this.poolSize = poolSize;
+    }
+
     /**
      * Indexed getter for property addresses.
      *
@@ -560,12 +684,21 @@ public class ClamAVScan extends GenericMailet {
             initMaxPings();
             initPingIntervalMilli();
             initStreamBufferSize();
+            initProtocol();
+            initPoolSize();
 
             // If "maxPings is > ping the CLAMD server to check if it is up
             if (getMaxPings() > 0) {
                 ping();
             }
 
+            if (getProtocol() == Protocol.INSTREAM) {
+                sessionPool = new ClamdSessionPool(
+                    () -> ClamdSession.open(getClamdSocket(), getStreamBufferSize()),
+                    getPoolSize(),
+                    metricFactory);
+            }
+
         } catch (Exception e) {
             LOGGER.error("Exception thrown", e);
             throw new MessagingException("Exception thrown", e);
@@ -596,6 +729,48 @@ public class ClamAVScan extends GenericMailet {
             return;
         }
 
+        TimeMetric timeMetric = metricFactory.timer(SCAN_METRIC);
+        try {
+            if (getProtocol() == Protocol.INSTREAM) {
+                scanOnSession(mail, mimeMessage);
+            } else {
+                scanOnStream(mail, mimeMessage);
+            }
+        } finally {
+            timeMetric.stopAndPublish();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (sessionPool != null) {
+            sessionPool.close();
+        }
+    }
+
+    private void scanOnSession(Mail mail, MimeMessage mimeMessage) throws MessagingException {
+        String answer;
+        try {
+            answer = sessionPool.scan(mimeMessage);
+        } catch (Exception ex) {
+            LOGGER.error("Exception caught calling CLAMD: {}", ex.getMessage(), ex);
+            throw new MessagingException("Exception caught", ex);
+        }
+
+        if (answer.endsWith(FOUND_STRING)) {
+            String logMessage = answer + " (by CLAMD)";
+            LOGGER.debug(logMessage);
+            markInfected(mail, mimeMessage, logMessage);
+        } else {
+            if (isDebug()) {
+                LOGGER.debug("OK (by CLAMD)");
+            }
+            markClean(mail, mimeMessage);
+        }
+        saveChangesIgnoringErrors(mimeMessage);
+    }
+
+    private void scanOnStream(Mail mail, MimeMessage mimeMessage) throws MessagingException {
         Socket clamdSocket = getClamdSocket();
 
         try (Socket socket = clamdSocket;
@@ -642,44 +817,15 @@ public class ClamAVScan extends GenericMailet {
                 writer.close();
 
                 if (virusFound) {
-                    String errorMessage = mail.getErrorMessage();
-                    if (errorMessage == null) {
-                        errorMessage = "";
-                    } else {
-                        errorMessage += "\r\n";
-                    }
-                    StringBuilder sb = new StringBuilder(errorMessage);
-                    sb.append(logMessage).append("\r\n");
-
-                    // write mail and message info to log
-                    logMailInfo(mail);
-                    logMessageInfo(mimeMessage);
-
-                    // mark the mail with a mail attribute to check later on by other matchers/mailets
-                    mail.setAttribute(makeAttribute(true));
-
-                    // sets the error message to be shown in any "notifyXxx" message
-                    mail.setErrorMessage(sb.toString());
-
-                    // mark the message with a header string
-                    mimeMessage.setHeader(HEADER_NAME, "true");
-
+                    markInfected(mail, mimeMessage, logMessage);
                 } else {
                     if (isDebug()) {
                         LOGGER.debug("OK (by CLAMD on {})", socket.getInetAddress());
                     }
-                    mail.setAttribute(makeAttribute(false));
-
-                    // mark the message with a header string
-                    mimeMessage.setHeader(HEADER_NAME, "false");
-
+                    markClean(mail, mimeMessage);
                 }
 
-                try {
-                    saveChanges(mimeMessage);
-                } catch (Exception ex) {
-                    LOGGER.error("Exception caught while saving changes (header) to the MimeMessage. Ignoring ...", ex);
-                }
+                saveChangesIgnoringErrors(mimeMessage);
             }
         } catch (Exception ex) {
             LOGGER.error("Exception caught calling CLAMD on {}: {}", clamdSocket.getInetAddress(), ex.getMessage(), ex);
@@ -688,6 +834,45 @@ public class ClamAVScan extends GenericMailet {
 
     }
 
+    private void markInfected(Mail mail, MimeMessage mimeMessage, String logMessage) throws MessagingException {
+        String errorMessage = mail.getErrorMessage();
+        if (errorMessage == null) {
+            errorMessage = "";
+        } else {
+            errorMessage += "\r\n";
+        }
+        StringBuilder sb = new StringBuilder(errorMessage);
+        sb.append(logMessage).append("\r\n");
+
+        // write mail and message info to log
+        logMailInfo(mail);
+        logMessageInfo(mimeMessage);
+
+        // mark the mail with a mail attribute to check later on by other matchers/mailets
+        mail.setAttribute(makeAttribute(true));
+
+        // sets the error message to be shown in any "notifyXxx" message
+        mail.setErrorMessage(sb.toString());
+
+        // mark the message with a header string
+        mimeMessage.setHeader(HEADER_NAME, "true");
+    }
+
+    private void markClean(Mail mail, MimeMessage mimeMessage) throws MessagingException {
+        mail.setAttribute(makeAttribute(false));
+
+        // mark the message with a header string
+        mimeMessage.setHeader(HEADER_NAME, "false");
+    }
+
+    private void saveChangesIgnoringErrors(MimeMessage mimeMessage) {
+        try {
+            saveChanges(mimeMessage);
+        } catch (Exception ex) {
+            LOGGER.error("Exception caught while saving changes (header) to the MimeMessage. Ignoring ...", ex);
+        }
+    }
+
     private Attribute makeAttribute(boolean value) {
         return new Attribute(MAIL_ATTRIBUTE_NAME, AttributeValue.of(value));
     }
@@ -0,0 +1,197 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+/**
+ * A long lived CLAMD connection, opened with <CODE>IDSESSION</CODE>, on which messages are
+ * scanned one after the other using the <CODE>INSTREAM</CODE> command.
+ *
+ * A session is not thread safe: it is meant to be borrowed from a {@link ClamdSessionPool}
+ * for the duration of a single scan.
+ */
+class ClamdSession implements Closeable {
+
+    /**
+     * Splits what is written to it into <CODE>INSTREAM</CODE> chunks: a 4 bytes big endian length
+     * followed by that many bytes. Writes at least as large as the chunk size are forwarded as is,
+     * without being copied. Closing it writes the zero length terminating chunk but leaves the
+     * underlying stream open.
+     */
+    static class ChunkedOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte[] buffer;
+        private int count;
+
+        ChunkedOutputStream(OutputStream out, int chunkSize) {
+            this.out = new DataOutputStream(out);
+            this.buffer = new byte[chunkSize];
+            this.count = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            buffer[count++] = (byte) b;
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (length >= buffer.length) {
+                flushBuffer();
+                writeChunk(bytes, offset, length);
+                return;
+            }
+            if (length > buffer.length - count) {
+                flushBuffer();
+            }
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushBuffer();
+            out.writeInt(0);
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count > 0) {
+                writeChunk(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        private void writeChunk(byte[] bytes, int offset, int length) throws IOException {
+            out.writeInt(length);
+            out.write(bytes, offset, length);
+        }
+    }
+
+    private static final byte[] IDSESSION = command("IDSESSION");
+    private static final byte[] INSTREAM = command("INSTREAM");
+    private static final byte[] END = command("END");
+    private static final String REPLY_ID_SEPARATOR = ": ";
+    private static final String ERROR_STRING = "ERROR";
+
+    private static byte[] command(String name) {
+        return ("z" + name + "\0").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static ClamdSession open(Socket socket, int chunkSize) throws IOException {
+        ClamdSession session = new ClamdSession(socket, chunkSize);
+        try {
+            session.out.write(IDSESSION);
+            return session;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final InputStream in;
+    private final int chunkSize;
+    private int nextRequestId;
+
+    private ClamdSession(Socket socket, int chunkSize) throws IOException {
+        this.socket = socket;
+        this.out = new BufferedOutputStream(socket.getOutputStream(), chunkSize);
+        this.in = new BufferedInputStream(socket.getInputStream());
+        this.chunkSize = chunkSize;
+        this.nextRequestId = 1;
+    }
+
+    InetAddress getInetAddress() {
+        return socket.getInetAddress();
+    }
+
+    /**
+     * Streams the message to CLAMD and reads the matching reply.
+     *
+     * @return the reply of CLAMD stripped from its request id, for instance "<CODE>stream: OK</CODE>"
+     * or "<CODE>stream: Eicar-Signature FOUND</CODE>"
+     * @throws IOException if the connection failed, after which the session must be discarded
+     * @throws MessagingException if CLAMD answered with an error, or if the message could not be written
+     */
+    String scan(MimeMessage message) throws IOException, MessagingException {
+        int requestId = nextRequestId++;
+
+        out.write(INSTREAM);
+        try (ChunkedOutputStream chunks = new ChunkedOutputStream(out, chunkSize)) {
+            message.writeTo(chunks);
+        }
+        out.flush();
+
+        String reply = readReply();
+        String expectedPrefix = requestId + REPLY_ID_SEPARATOR;
+        if (!reply.startsWith(expectedPrefix)) {
+            throw new IOException("Unexpected CLAMD reply for request " + requestId + ": \"" + reply + "\"");
+        }
+        String answer = reply.substring(expectedPrefix.length()).trim();
+        if (answer.endsWith(ERROR_STRING)) {
+            throw new MessagingException("CLAMD failed to scan the message: \"" + answer + "\"");
+        }
+        return answer;
+    }
+
+    private String readReply() throws IOException {
+        ByteArrayOutputStream reply = new ByteArrayOutputStream();
+        for (; ; ) {
+            int b = in.read();
+            if (b == -1) {
+                throw new EOFException("CLAMD closed the session");
+            }
+            if (b == '\0') {
+                return reply.toString(StandardCharsets.US_ASCII);
+            }
+            reply.write(b);
+        }
+    }
+
+    /**
+     * Ends the session politely then closes the connection.
+     */
+    @Override
+    public void close() throws IOException {
+        try (Socket toClose = socket) {
+            out.write(END);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Keeps up to <CODE>poolSize</CODE> idle {@link ClamdSession}s around so that scans do not pay
+ * for a TCP connection each.
+ *
+ * Each scan uses a session exclusively: concurrent scans borrow distinct sessions, opening new
+ * ones when none is idle. A session is discarded as soon as anything goes wrong with it. As CLAMD
+ * closes sessions idle for longer than its <CODE>IdleTimeout</CODE>, a scan failing on a pooled
+ * session is retried once on a fresh one.
+ */
+class ClamdSessionPool implements Closeable {
+
+    @FunctionalInterface
+    interface SessionFactory {
+        ClamdSession create() throws MessagingException, IOException;
+    }
+
+    static final String OPENED_CONNECTIONS_METRIC = "clamav:connections:opened";
+    static final String IDLE_CONNECTIONS_METRIC = "clamav:connections:idle";
+    static final String IN_USE_CONNECTIONS_METRIC = "clamav:connections:inUse";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClamdSessionPool.class);
+
+    private final SessionFactory sessionFactory;
+    private final BlockingDeque<ClamdSession> idleSessions;
+    private final Metric openedConnections;
+    private final Metric idleConnections;
+    private final Metric inUseConnections;
+
+    ClamdSessionPool(SessionFactory sessionFactory, int poolSize, MetricFactory metricFactory) {
+        Preconditions.checkArgument(poolSize > 0, "'poolSize' needs to be strictly positive");
+
+        this.sessionFactory = sessionFactory;
+        this.idleSessions = new LinkedBlockingDeque<>(poolSize);
+        this.openedConnections = metricFactory.generate(OPENED_CONNECTIONS_METRIC);
+        this.idleConnections = metricFactory.generate(IDLE_CONNECTIONS_METRIC);
+        this.inUseConnections = metricFactory.generate(IN_USE_CONNECTIONS_METRIC);
+    }
+
+    /**
+     * Scans the message on an idle session if any, on a new one otherwise.
+     *
+     * @return the answer of CLAMD, see {@link ClamdSession#scan(MimeMessage)}
+     */
+    String scan(MimeMessage message) throws IOException, MessagingException {
+        ClamdSession pooled = idleSessions.pollFirst();
+        if (pooled != null) {
+            idleConnections.decrement();
+            try {
+                return scan(pooled, message);
+            } catch (IOException e) {
+                LOGGER.debug("Pooled CLAMD session on {} failed, retrying on a new session", pooled.getInetAddress(), e);
+            }
+        }
+        return scan(openSession(), message);
+    }
+
+    private ClamdSession openSession() throws IOException, MessagingException {
+        ClamdSession session = sessionFactory.create();
+        openedConnections.increment();
+        return session;
+    }
+
+    private String scan(ClamdSession session, MimeMessage message) throws IOException, MessagingException {
+        inUseConnections.increment();
+        try {
+            String answer = session.scan(message);
+            release(session);
+            return answer;
+        } catch (IOException | MessagingException | RuntimeException e) {
+            discard(session);
+            throw e;
+        } finally {
+            inUseConnections.decrement();
+        }
+    }
+
+    private void release(ClamdSession session) {
+        // Most recently used sessions are reused first so that surplus ones time out on the CLAMD side
+        if (idleSessions.offerFirst(session)) {
+            idleConnections.increment();
+        } else {
+            discard(session);
+        }
+    }
+
+    private void discard(ClamdSession session) {
+        try {
+            session.close();
+        } catch (IOException e) {
+            LOGGER.debug("Failed closing CLAMD session on {}", session.getInetAddress(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        ClamdSession session = idleSessions.pollFirst();
+        while (session != null) {
+            idleConnections.decrement();
+            discard(session);
+            session = idleSessions.pollFirst();
+        }
+    }
+}
@@ -20,21 +20,12 @@
 
 package org.apache.james.transport.matchers;
 
-import static org.apache.mailet.base.RFC2822Headers.CONTENT_TYPE;
-
 import java.util.Collection;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import org.apache.james.core.MailAddress;
-import org.apache.james.mime4j.codec.DecodeMonitor;
-import org.apache.james.mime4j.field.ContentTypeFieldLenientImpl;
-import org.apache.james.mime4j.stream.RawField;
-import org.apache.james.util.StreamUtils;
 import org.apache.mailet.Mail;
 import org.apache.mailet.base.GenericMatcher;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
@@ -50,8 +41,6 @@ import com.google.common.collect.ImmutableSet;
  */
 public class HasMimeType extends GenericMatcher {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(HasMimeType.class);
-
     private Set<String> acceptedContentTypes;
 
     @Override
@@ -61,24 +50,11 @@ public class HasMimeType extends GenericMatcher {
 
     @Override
     public Collection<MailAddress> match(Mail mail) throws javax.mail.MessagingException {
-        return StreamUtils.ofNullable(mail.getMessage().getHeader(CONTENT_TYPE))
-            .flatMap(this::getMimeType)
+        return mail.getMimeStructure()
+            .getDeclaredMimeType()
             .filter(acceptedContentTypes::contains)
-            .findAny()
             .map(any -> mail.getRecipients())
             .orElse(ImmutableList.of());
     }
 
-    private Stream<String> getMimeType(String rawValue) {
-        try {
-            return Stream.of(ContentTypeFieldLenientImpl.PARSER
-                .parse(new RawField(CONTENT_TYPE, rawValue),
-                    DecodeMonitor.SILENT)
-                .getMimeType());
-        } catch (Exception e) {
-            LOGGER.warn("Error while parsing message's mimeType {}", rawValue, e);
-            return Stream.empty();
-        }
-    }
-
 }
@@ -0,0 +1,283 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.core.builder.MimeMessageBuilder;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.util.concurrency.ConcurrentTestRunner;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.AttributeName;
+import org.apache.mailet.AttributeValue;
+import org.apache.mailet.Mail;
+import org.apache.mailet.base.test.FakeMail;
+import org.apache.mailet.base.test.FakeMailetConfig;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+
+class ClamAVScanTest {
+    private static final AttributeName INFECTED = AttributeName.of("org.apache.james.infected");
+    private static final String HEADER_NAME = "X-MessageIsInfected";
+
+    private FakeClamd clamd;
+    private RecordingMetricFactory metricFactory;
+    private ClamAVScan testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clamd = new FakeClamd();
+        metricFactory = new RecordingMetricFactory();
+        testee = new ClamAVScan(metricFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        testee.destroy();
+        clamd.close();
+    }
+
+    private FakeMailetConfig.Builder configuration(String protocol) {
+        return FakeMailetConfig.builder()
+            .mailetName("ClamAVScan")
+            .setProperty("host", "127.0.0.1")
+            .setProperty("port", String.valueOf(clamd.getPort()))
+            .setProperty("maxPings", "1")
+            .setProperty("pingIntervalMilli", "1")
+            .setProperty("protocol", protocol);
+    }
+
+    private Mail mail(String text) throws MessagingException {
+        return FakeMail.builder()
+            .name("mail")
+            .sender("sender@domain.tld")
+            .recipient("recipient@domain.tld")
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText(text))
+            .build();
+    }
+
+    private Mail cleanMail() throws MessagingException {
+        return mail("clean content");
+    }
+
+    private Mail infectedMail() throws MessagingException {
+        return mail(FakeClamd.VIRUS_SIGNATURE);
+    }
+
+    @Test
+    void initShouldFailOnUnknownProtocol() {
+        assertThatThrownBy(() -> testee.init(configuration("UNKNOWN").build()))
+            .isInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    void initShouldDefaultToStreamProtocol() throws Exception {
+        testee.init(FakeMailetConfig.builder()
+            .mailetName("ClamAVScan")
+            .setProperty("host", "127.0.0.1")
+            .setProperty("port", String.valueOf(clamd.getPort()))
+            .build());
+
+        assertThat(testee.getProtocol()).isEqualTo(ClamAVScan.Protocol.STREAM);
+    }
+
+    @Nested
+    class Stream {
+        @BeforeEach
+        void setUp() throws Exception {
+            testee.init(configuration("STREAM").build());
+        }
+
+        @Test
+        void serviceShouldMarkCleanMails() throws Exception {
+            Mail mail = cleanMail();
+
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(false)));
+            assertThat(mail.getMessage().getHeader(HEADER_NAME)).containsExactly("false");
+        }
+
+        @Test
+        void serviceShouldMarkInfectedMails() throws Exception {
+            Mail mail = infectedMail();
+
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(true)));
+            assertThat(mail.getMessage().getHeader(HEADER_NAME)).containsExactly("true");
+            assertThat(mail.getErrorMessage()).contains("Eicar-Test-Signature FOUND");
+        }
+    }
+
+    @Nested
+    class InStream {
+        @BeforeEach
+        void setUp() throws Exception {
+            testee.init(configuration("INSTREAM")
+                .setProperty("poolSize", "2")
+                .setProperty("streamBufferSize", "1024")
+                .build());
+        }
+
+        @Test
+        void serviceShouldMarkCleanMails() throws Exception {
+            Mail mail = cleanMail();
+
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(false)));
+            assertThat(mail.getMessage().getHeader(HEADER_NAME)).containsExactly("false");
+        }
+
+        @Test
+        void serviceShouldMarkInfectedMails() throws Exception {
+            Mail mail = infectedMail();
+
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(true)));
+            assertThat(mail.getMessage().getHeader(HEADER_NAME)).containsExactly("true");
+            assertThat(mail.getErrorMessage()).contains("Eicar-Test-Signature FOUND");
+        }
+
+        @Test
+        void serviceShouldSkipAlreadyScannedMails() throws Exception {
+            Mail mail = cleanMail();
+            mail.setAttribute(new Attribute(INFECTED, AttributeValue.of(false)));
+
+            testee.service(mail);
+
+            assertThat(clamd.getScannedContents()).isEmpty();
+        }
+
+        @Test
+        void serviceShouldStreamTheWholeMessage() throws Exception {
+            Mail mail = mail(Strings.repeat("0123456789abcdef\r\n", 10_000));
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            mail.getMessage().writeTo(expected);
+
+            testee.service(mail);
+
+            assertThat(clamd.getScannedContents()).containsExactly(expected.toByteArray());
+        }
+
+        @Test
+        void serviceShouldReuseSessions() throws Exception {
+            int pingConnections = clamd.getAcceptedConnections();
+
+            testee.service(cleanMail());
+            testee.service(infectedMail());
+            testee.service(cleanMail());
+
+            assertThat(clamd.getAcceptedConnections() - pingConnections).isEqualTo(1);
+            assertThat(metricFactory.countFor(ClamdSessionPool.OPENED_CONNECTIONS_METRIC)).isEqualTo(1);
+            assertThat(metricFactory.countFor(ClamdSessionPool.IDLE_CONNECTIONS_METRIC)).isEqualTo(1);
+            assertThat(metricFactory.countFor(ClamdSessionPool.IN_USE_CONNECTIONS_METRIC)).isEqualTo(0);
+        }
+
+        @Test
+        void serviceShouldRecordScanDurations() throws Exception {
+            testee.service(cleanMail());
+            testee.service(cleanMail());
+
+            assertThat(metricFactory.executionTimesFor("clamav:scan")).hasSize(2);
+        }
+
+        @Test
+        void serviceShouldRetryOnANewSessionWhenThePooledOneWasClosed() throws Exception {
+            testee.service(cleanMail());
+            clamd.closeSessions();
+
+            Mail mail = infectedMail();
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(true)));
+            assertThat(metricFactory.countFor(ClamdSessionPool.OPENED_CONNECTIONS_METRIC)).isEqualTo(2);
+            assertThat(metricFactory.countFor(ClamdSessionPool.IDLE_CONNECTIONS_METRIC)).isEqualTo(1);
+        }
+
+        @Test
+        void serviceShouldFailWhenClamdReportsAnError() throws Exception {
+            clamd.setStreamMaxLength(10);
+            Mail mail = cleanMail();
+
+            assertThatThrownBy(() -> testee.service(mail))
+                .isInstanceOf(MessagingException.class);
+            assertThat(mail.getAttribute(INFECTED)).isEmpty();
+            assertThat(metricFactory.countFor(ClamdSessionPool.IDLE_CONNECTIONS_METRIC)).isEqualTo(0);
+        }
+
+        @Test
+        void serviceShouldRecoverAfterAnError() throws Exception {
+            clamd.setStreamMaxLength(10);
+            assertThatThrownBy(() -> testee.service(cleanMail()))
+                .isInstanceOf(MessagingException.class);
+            clamd.setStreamMaxLength(Integer.MAX_VALUE);
+
+            Mail mail = cleanMail();
+            testee.service(mail);
+
+            assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(false)));
+        }
+
+        @Test
+        void concurrentScansShouldNotKeepMoreThanPoolSizeIdleSessions() throws Exception {
+            ConcurrentTestRunner.builder()
+                .operation((threadNumber, step) -> {
+                    Mail mail = step % 2 == 0 ? cleanMail() : infectedMail();
+                    testee.service(mail);
+                    assertThat(mail.getAttribute(INFECTED)).contains(new Attribute(INFECTED, AttributeValue.of(step % 2 != 0)));
+                })
+                .threadCount(8)
+                .operationCount(10)
+                .runSuccessfullyWithin(Duration.ofMinutes(1));
+
+            assertThat(clamd.getScannedContents()).hasSize(80);
+            assertThat(metricFactory.countFor(ClamdSessionPool.IDLE_CONNECTIONS_METRIC)).isBetween(1, 2);
+            assertThat(metricFactory.countFor(ClamdSessionPool.IN_USE_CONNECTIONS_METRIC)).isEqualTo(0);
+        }
+
+        @Test
+        void destroyShouldEndIdleSessions() throws Exception {
+            testee.service(cleanMail());
+
+            testee.destroy();
+
+            assertThat(metricFactory.countFor(ClamdSessionPool.IDLE_CONNECTIONS_METRIC)).isEqualTo(0);
+            Awaitility.await()
+                .atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(clamd.getEndedSessions()).isEqualTo(1));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers the PING, STREAM and IDSESSION / INSTREAM / END commands the way CLAMD does.
+ *
+ * Streams containing {@link #VIRUS_SIGNATURE} are reported as infected.
+ */
+class FakeClamd implements AutoCloseable {
+    static final String VIRUS_SIGNATURE = "X5O!P%@AP[4\\PZX54(P^)7CC)7}$EICAR-STANDARD-ANTIVIRUS-TEST-FILE!$H+H*";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final AtomicInteger acceptedConnections;
+    private final AtomicInteger endedSessions;
+    private final List<byte[]> scannedContents;
+    private final Set<Socket> openSessions;
+    private volatile int streamMaxLength;
+
+    FakeClamd() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newCachedThreadPool();
+        this.acceptedConnections = new AtomicInteger();
+        this.endedSessions = new AtomicInteger();
+        this.scannedContents = new CopyOnWriteArrayList<>();
+        this.openSessions = ConcurrentHashMap.newKeySet();
+        this.streamMaxLength = Integer.MAX_VALUE;
+        executor.submit(this::acceptConnections);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    int getAcceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    int getEndedSessions() {
+        return endedSessions.get();
+    }
+
+    List<byte[]> getScannedContents() {
+        return scannedContents;
+    }
+
+    void setStreamMaxLength(int streamMaxLength) {
+        this.streamMaxLength = streamMaxLength;
+    }
+
+    /**
+     * Closes the open sessions, as CLAMD does once their IdleTimeout is exceeded.
+     */
+    void closeSessions() throws IOException {
+        for (Socket session : openSessions) {
+            session.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        closeSessions();
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        try {
+            while (true) {
+                Socket socket = serverSocket.accept();
+                acceptedConnections.incrementAndGet();
+                executor.submit(() -> handle(socket));
+            }
+        } catch (IOException e) {
+            // server socket closed
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket connection = socket) {
+            DataInputStream in = new DataInputStream(connection.getInputStream());
+            OutputStream out = connection.getOutputStream();
+            String command = readCommand(in);
+            if ("PING".equals(command)) {
+                write(out, "PONG\n");
+            } else if ("STREAM".equals(command)) {
+                stream(out);
+            } else if ("IDSESSION".equals(command)) {
+                openSessions.add(connection);
+                session(in, out);
+            }
+        } catch (IOException e) {
+            // connection closed
+        } finally {
+            openSessions.remove(socket);
+        }
+    }
+
+    private void stream(OutputStream out) throws IOException {
+        try (ServerSocket streamServerSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            write(out, "PORT " + streamServerSocket.getLocalPort() + "\n");
+            try (Socket streamSocket = streamServerSocket.accept()) {
+                byte[] content = streamSocket.getInputStream().readAllBytes();
+                write(out, verdict(content) + "\n");
+            }
+        }
+    }
+
+    private void session(DataInputStream in, OutputStream out) throws IOException {
+        int requestId = 1;
+        while (true) {
+            String command = readCommand(in);
+            if (command == null) {
+                return;
+            }
+            if ("END".equals(command)) {
+                endedSessions.incrementAndGet();
+                return;
+            }
+            if ("INSTREAM".equals(command)) {
+                write(out, requestId + ": " + verdict(readChunks(in)) + "\0");
+            } else {
+                write(out, requestId + ": UNKNOWN COMMAND\0");
+            }
+            requestId++;
+        }
+    }
+
+    private byte[] readChunks(DataInputStream in) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        while (true) {
+            int length = in.readInt();
+            if (length == 0) {
+                return content.toByteArray();
+            }
+            byte[] chunk = new byte[length];
+            in.readFully(chunk);
+            content.write(chunk);
+        }
+    }
+
+    private String verdict(byte[] content) {
+        if (content.length > streamMaxLength) {
+            return "INSTREAM size limit exceeded. ERROR";
+        }
+        scannedContents.add(content);
+        if (new String(content, StandardCharsets.US_ASCII).contains(VIRUS_SIGNATURE)) {
+            return "stream: Eicar-Test-Signature FOUND";
+        }
+        return "stream: OK";
+    }
+
+    private String readCommand(InputStream in) throws IOException {
+        int first = in.read();
+        if (first == -1) {
+            return null;
+        }
+        char terminator = first == 'z' ? '\0' : '\n';
+        StringBuilder command = new StringBuilder();
+        if (first != 'z' && first != 'n') {
+            command.append((char) first);
+        }
+        for (int b = in.read(); b != -1 && b != terminator; b = in.read()) {
+            command.append((char) b);
+        }
+        return command.toString().trim();
+    }
+
+    private void write(OutputStream out, String answer) throws IOException {
+        out.write(answer.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -28,7 +28,6 @@ import javax.inject.Inject;
 import org.apache.james.lifecycle.api.Startable;
 import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
-import org.mpierce.metrics.reservoir.hdrhistogram.HdrHistogramReservoir;
 import org.reactivestreams.Publisher;
 
 import com.codahale.metrics.Meter;
@@ -43,11 +42,17 @@ import reactor.core.publisher.Mono;
 public class DropWizardMetricFactory implements MetricFactory, Startable {
 
     private final MetricRegistry metricRegistry;
+    private final TimerReservoirFactory timerReservoirFactory;
     private final JmxReporter jmxReporter;
 
-    @Inject
     public DropWizardMetricFactory(MetricRegistry metricRegistry) {
+        this(metricRegistry, TimerReservoirFactory.CUMULATIVE);
+    }
+
+    @Inject
+    public DropWizardMetricFactory(MetricRegistry metricRegistry, TimerReservoirFactory timerReservoirFactory) {
         this.metricRegistry = metricRegistry;
+        this.timerReservoirFactory = timerReservoirFactory;
         this.jmxReporter = JmxReporter.forRegistry(metricRegistry)
             .build();
     }
@@ -60,7 +65,7 @@ public class DropWizardMetricFactory implements MetricFactory, Startable {
     @Override
     public DropWizardTimeMetric timer(String name) {
         return new DropWizardTimeMetric(name, metricRegistry.timer(name,
-            () -> new Timer(new HdrHistogramReservoir())));
+            () -> new Timer(timerReservoirFactory.create())));
     }
 
     @Override
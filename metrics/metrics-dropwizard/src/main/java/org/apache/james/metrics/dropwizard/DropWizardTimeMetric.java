@@ -94,6 +94,6 @@ public class DropWizardTimeMetric implements TimeMetric {
     @Override
     public ExecutionResult stopAndPublish() {
         return new DropWizardExecutionResult(name, Duration.ofNanos(context.stop()),
-            () -> Duration.ofNanos(Math.round(timer.getSnapshot().get999thPercentile())));
+            () -> Duration.ofNanos(Math.round(timer.getSnapshot().get99thPercentile())));
     }
 }
@@ -0,0 +1,150 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.dropwizard;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Preconditions;
+
+/**
+ * {@link Reservoir} exposing the distribution of the values recorded during the last completed interval.
+ *
+ * Values are recorded without locking nor allocation into an HdrHistogram {@link Recorder}. Snapshots are rotated at
+ * most once per interval, whatever the number of readers (reporters, p99 logging), so that percentiles reflect recent
+ * activity instead of the whole uptime.
+ */
+public class HdrHistogramIntervalReservoir implements Reservoir {
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
+
+    static class HdrHistogramSnapshot extends Snapshot {
+        private final Histogram histogram;
+
+        HdrHistogramSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            Preconditions.checkArgument(quantile >= 0.0 && quantile <= 1.0, "%s is not in [0..1]", quantile);
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        @Override
+        public long[] getValues() {
+            return StreamSupport.stream(histogram.recordedValues().spliterator(), false)
+                .flatMapToLong(value -> repeat(value.getValueIteratedTo(), value.getCountAtValueIteratedTo()))
+                .toArray();
+        }
+
+        private LongStream repeat(long value, long count) {
+            return LongStream.generate(() -> value).limit(count);
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter writer = new PrintWriter(output, false, StandardCharsets.UTF_8)) {
+                for (HistogramIterationValue value : histogram.recordedValues()) {
+                    writer.printf("%d\t%d%n", value.getValueIteratedTo(), value.getCountAtValueIteratedTo());
+                }
+            }
+        }
+    }
+
+    private final Recorder recorder;
+    private final Duration interval;
+    private final Clock clock;
+    private Histogram intervalHistogram;
+    private Snapshot snapshot;
+    private Instant intervalStart;
+
+    public HdrHistogramIntervalReservoir(Duration interval) {
+        this(interval, Clock.systemUTC());
+    }
+
+    HdrHistogramIntervalReservoir(Duration interval, Clock clock) {
+        Preconditions.checkArgument(!interval.isNegative() && !interval.isZero(), "'interval' should be strictly positive");
+
+        this.recorder = new Recorder(SIGNIFICANT_VALUE_DIGITS);
+        this.interval = interval;
+        this.clock = clock;
+        this.intervalHistogram = recorder.getIntervalHistogram();
+        this.snapshot = new HdrHistogramSnapshot(intervalHistogram.copy());
+        this.intervalStart = clock.instant();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(value);
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        Instant now = clock.instant();
+        if (!now.isBefore(intervalStart.plus(interval))) {
+            intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+            snapshot = new HdrHistogramSnapshot(intervalHistogram.copy());
+            intervalStart = now;
+        }
+        return snapshot;
+    }
+}
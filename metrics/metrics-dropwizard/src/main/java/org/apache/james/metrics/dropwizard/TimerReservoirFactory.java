@@ -0,0 +1,46 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.dropwizard;
+
+import java.time.Duration;
+
+import org.mpierce.metrics.reservoir.hdrhistogram.HdrHistogramReservoir;
+
+import com.codahale.metrics.Reservoir;
+
+/**
+ * Creates the {@link Reservoir} backing each timer of a {@link DropWizardMetricFactory}.
+ */
+@FunctionalInterface
+public interface TimerReservoirFactory {
+    /**
+     * Percentiles are computed over all the values recorded since startup.
+     */
+    TimerReservoirFactory CUMULATIVE = HdrHistogramReservoir::new;
+
+    /**
+     * Percentiles are computed over the values recorded during the last completed interval.
+     */
+    static TimerReservoirFactory interval(Duration interval) {
+        return () -> new HdrHistogramIntervalReservoir(interval);
+    }
+
+    Reservoir create();
+}
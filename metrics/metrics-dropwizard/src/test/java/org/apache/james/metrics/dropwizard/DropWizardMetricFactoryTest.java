@@ -117,6 +117,22 @@ class DropWizardMetricFactoryTest implements MetricFactoryContract {
         });
     }
 
+    @Test
+    void timerShouldUseTheGivenReservoir() {
+        DropWizardMetricFactory intervalTestee = new DropWizardMetricFactory(new MetricRegistry(),
+            TimerReservoirFactory.interval(Duration.ofHours(1)));
+
+        Mono.from(intervalTestee.decoratePublisherWithTimerMetric("any", Mono.delay(Duration.ofMillis(10))))
+            .block();
+
+        SoftAssertions.assertSoftly(softly -> {
+            softly.assertThat(intervalTestee.timer("any").getTimer().getCount())
+                .isEqualTo(1);
+            softly.assertThat(intervalTestee.timer("any").getTimer().getSnapshot().size())
+                .isZero();
+        });
+    }
+
      @Test
     void timerShouldAllowRecordingIndividualAndTotalTimingWithP99() {
         Duration duration = Duration.ofMillis(100);
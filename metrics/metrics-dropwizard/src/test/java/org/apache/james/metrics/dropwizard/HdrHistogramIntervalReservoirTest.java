@@ -0,0 +1,146 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.metrics.dropwizard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.stream.LongStream;
+
+import org.assertj.core.data.Percentage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.Snapshot;
+
+class HdrHistogramIntervalReservoirTest {
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+    private static final Percentage HDR_PRECISION = Percentage.withPercentage(1);
+
+    static class AdjustableClock extends Clock {
+        private Instant instant = Instant.parse("2021-07-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private AdjustableClock clock;
+    private HdrHistogramIntervalReservoir testee;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AdjustableClock();
+        testee = new HdrHistogramIntervalReservoir(INTERVAL, clock);
+    }
+
+    @Test
+    void constructorShouldRejectZeroInterval() {
+        assertThatThrownBy(() -> new HdrHistogramIntervalReservoir(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void snapshotShouldBeEmptyByDefault() {
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+        assertThat(snapshot.get99thPercentile()).isZero();
+    }
+
+    @Test
+    void snapshotShouldNotExposeValuesOfTheOngoingInterval() {
+        testee.update(1000);
+
+        assertThat(testee.getSnapshot().size()).isZero();
+    }
+
+    @Test
+    void snapshotShouldExposeValuesOfTheCompletedInterval() {
+        LongStream.rangeClosed(1, 1000).forEach(testee::update);
+        clock.advance(INTERVAL);
+
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(1000);
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isCloseTo(1000, HDR_PRECISION);
+        assertThat(snapshot.getMedian()).isCloseTo(500, HDR_PRECISION);
+        assertThat(snapshot.get99thPercentile()).isCloseTo(990, HDR_PRECISION);
+        assertThat(snapshot.get999thPercentile()).isCloseTo(999, HDR_PRECISION);
+    }
+
+    @Test
+    void snapshotShouldBeStableWithinAnInterval() {
+        testee.update(1000);
+        clock.advance(INTERVAL);
+        Snapshot first = testee.getSnapshot();
+
+        testee.update(2000);
+        clock.advance(INTERVAL.dividedBy(2));
+
+        assertThat(testee.getSnapshot()).isSameAs(first);
+    }
+
+    @Test
+    void snapshotShouldForgetValuesOfPreviousIntervals() {
+        testee.update(1000);
+        clock.advance(INTERVAL);
+        testee.getSnapshot();
+
+        testee.update(10);
+        clock.advance(INTERVAL);
+        Snapshot snapshot = testee.getSnapshot();
+
+        assertThat(snapshot.size()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isEqualTo(10);
+    }
+
+    @Test
+    void getValuesShouldReturnRecordedValues() {
+        testee.update(10);
+        testee.update(10);
+        testee.update(20);
+        clock.advance(INTERVAL);
+
+        assertThat(testee.getSnapshot().getValues()).containsExactly(10, 10, 20);
+    }
+}
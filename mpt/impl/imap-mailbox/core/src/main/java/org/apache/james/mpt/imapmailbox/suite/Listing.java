@@ -85,4 +85,11 @@ public abstract class Listing implements ImapTestConstants {
             .withLocale(Locale.ITALY)
             .run("ListPercentWildcard");
     }
+
+    @Test
+    public void testListStatusUS() throws Exception {
+        simpleScriptedTestProtocol
+            .withLocale(Locale.US)
+            .run("ListStatus");
+    }
 }
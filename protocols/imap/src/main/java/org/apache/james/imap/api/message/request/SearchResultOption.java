@@ -48,5 +48,12 @@ public enum SearchResultOption {
      * 
      * See RFC5182 2.4. Interaction with ESEARCH Extension
      */
-    SAVE
+    SAVE,
+
+    /**
+     * Return a window of the matched messages, identified by their position in the result.
+     *
+     * See RFC5267 4.4. PARTIAL Search Return Option
+     */
+    PARTIAL
 }
@@ -0,0 +1,47 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.imap.api.message.request;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Threading algorithms supported by the THREAD command. See RFC5256
+ */
+public enum ThreadAlgorithm {
+    /**
+     * Threads messages by base subject, each thread being flat and ordered by sent date
+     */
+    ORDEREDSUBJECT,
+
+    /**
+     * Threads messages according to their References and In-Reply-To headers, then by base subject
+     */
+    REFERENCES;
+
+    public static Optional<ThreadAlgorithm> parse(String value) {
+        return Arrays.stream(values())
+            .filter(algorithm -> algorithm.name().equalsIgnoreCase(value))
+            .findFirst();
+    }
+
+    public String asCapability() {
+        return "THREAD=" + name();
+    }
+}
@@ -86,6 +86,8 @@ public class ImapParserFactory implements ImapCommandParserFactory {
             new CopyCommandParser(statusResponseFactory),
             new MoveCommandParser(statusResponseFactory),
             new SearchCommandParser(statusResponseFactory),
+            new SortCommandParser(statusResponseFactory),
+            new ThreadCommandParser(statusResponseFactory),
             new FetchCommandParser(statusResponseFactory),
             new StoreCommandParser(statusResponseFactory),
             new UidCommandParser(this, statusResponseFactory),
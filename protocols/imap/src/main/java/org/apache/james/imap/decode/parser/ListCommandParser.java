@@ -18,10 +18,15 @@
  ****************************************************************/
 package org.apache.james.imap.decode.parser;
 
+import java.util.Locale;
+import java.util.Optional;
+
 import org.apache.james.imap.api.ImapCommand;
 import org.apache.james.imap.api.ImapConstants;
 import org.apache.james.imap.api.ImapMessage;
 import org.apache.james.imap.api.Tag;
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.StatusDataItems;
 import org.apache.james.imap.api.message.response.StatusResponseFactory;
 import org.apache.james.imap.api.process.ImapSession;
 import org.apache.james.imap.decode.DecodingException;
@@ -75,10 +80,51 @@ public class ListCommandParser extends AbstractUidCommandParser {
     protected ImapMessage decode(ImapRequestLineReader request, Tag tag, boolean useUids, ImapSession session) throws DecodingException {
         String referenceName = request.mailbox();
         String mailboxPattern = listMailbox(request);
+        if (supportsReturnOptions() && ImapRequestLineReader.cap(request.nextNonSpaceChar()) == 'R') {
+            Optional<StatusDataItems> statusDataItems = returnOptions(request);
+            request.eol();
+            return new ListRequest(referenceName, mailboxPattern, statusDataItems, tag);
+        }
         request.eol();
         return createMessage(referenceName, mailboxPattern, tag);
     }
 
+    /**
+     * Whether the LIST-EXTENDED <code>RETURN</code> options are accepted, see RFC5258 and RFC5819.
+     */
+    protected boolean supportsReturnOptions() {
+        return true;
+    }
+
+    /**
+     * Reads the <code>RETURN</code> options. Only <code>STATUS</code> (RFC5819) is supported, <code>CHILDREN</code>
+     * is accepted as children information is always returned.
+     */
+    private Optional<StatusDataItems> returnOptions(ImapRequestLineReader request) throws DecodingException {
+        String word = request.atom();
+        if (!word.equalsIgnoreCase("RETURN")) {
+            throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Expected RETURN but was " + word);
+        }
+        request.nextWordChar();
+        request.consumeChar('(');
+
+        Optional<StatusDataItems> statusDataItems = Optional.empty();
+        while (request.nextWordChar() != ')') {
+            String option = request.atom().toUpperCase(Locale.US);
+            switch (option) {
+            case "STATUS":
+                statusDataItems = Optional.of(StatusCommandParser.statusDataItems(request));
+                break;
+            case "CHILDREN":
+                break;
+            default:
+                throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Unsupported LIST return option " + option);
+            }
+        }
+        request.consumeChar(')');
+        return statusDataItems;
+    }
+
     protected ImapMessage createMessage(String referenceName, String mailboxPattern, Tag tag) {
         return new ListRequest(referenceName, mailboxPattern, tag);
     }
@@ -32,6 +32,11 @@ public class LsubCommandParser extends ListCommandParser {
         super(ImapConstants.LSUB_COMMAND, statusResponseFactory);
     }
 
+    @Override
+    protected boolean supportsReturnOptions() {
+        return false;
+    }
+
     @Override
     protected ImapMessage createMessage(String referenceName, String mailboxPattern, Tag tag) {
         return new LsubRequest(referenceName, mailboxPattern, tag);
@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.james.imap.api.ImapCommand;
 import org.apache.james.imap.api.ImapConstants;
 import org.apache.james.imap.api.ImapMessage;
 import org.apache.james.imap.api.Tag;
@@ -55,6 +56,10 @@ public class SearchCommandParser extends AbstractUidCommandParser {
         super(ImapConstants.SEARCH_COMMAND, statusResponseFactory);
     }
 
+    protected SearchCommandParser(ImapCommand command, StatusResponseFactory statusResponseFactory) {
+        super(command, statusResponseFactory);
+    }
+
     /**
      * Parses the request argument into a valid search term.
      * 
@@ -901,6 +906,24 @@ public class SearchCommandParser extends AbstractUidCommandParser {
         return result;
     }
 
+    /**
+     * Parses the space separated search keys ending the request, as used by commands taking a mandatory charset
+     * before their search criteria (SORT, THREAD).
+     */
+    protected SearchKey searchKeys(ImapSession session, ImapRequestLineReader request, Charset charset) throws DecodingException {
+        List<SearchKey> keys = new ArrayList<>();
+        do {
+            request.nextWordChar();
+            keys.add(searchKey(session, request, charset, false));
+        } while (request.nextChar() == ' ');
+        request.eol();
+
+        if (keys.size() == 1) {
+            return keys.get(0);
+        }
+        return SearchKey.buildAnd(keys);
+    }
+
     private ImapMessage unsupportedCharset(Tag tag) {
         final ResponseCode badCharset = StatusResponse.ResponseCode.badCharset();
         return taggedNo(tag, ImapConstants.SEARCH_COMMAND, HumanReadableText.BAD_CHARSET, badCharset);
@@ -0,0 +1,184 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+package org.apache.james.imap.decode.parser;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.api.ImapMessage;
+import org.apache.james.imap.api.Tag;
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.request.SearchKey;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.imap.api.message.request.SearchResultOption;
+import org.apache.james.imap.api.message.response.StatusResponse;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.api.process.ImapSession;
+import org.apache.james.imap.decode.DecodingException;
+import org.apache.james.imap.decode.ImapRequestLineReader;
+import org.apache.james.imap.message.request.SortRequest;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.SearchQuery.Sort.Order;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parse SORT commands, see RFC5256. The optional <code>RETURN</code> clause of RFC5267 (ESORT) is supported too,
+ * including the <code>PARTIAL</code> result option.
+ */
+public class SortCommandParser extends SearchCommandParser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortCommandParser.class);
+
+    public SortCommandParser(StatusResponseFactory statusResponseFactory) {
+        super(ImapConstants.SORT_COMMAND, statusResponseFactory);
+    }
+
+    @Override
+    protected ImapMessage decode(ImapRequestLineReader request, Tag tag, boolean useUids, ImapSession session) throws DecodingException {
+        try {
+            List<SearchResultOption> options = new ArrayList<>();
+            Optional<IdRange> partialRange = Optional.empty();
+            if (ImapRequestLineReader.cap(request.nextWordChar()) == 'R') {
+                String word = request.atom();
+                if (!word.equalsIgnoreCase("RETURN")) {
+                    throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Expected RETURN but was " + word);
+                }
+                partialRange = parseOptions(request, options);
+            }
+            List<SearchQuery.Sort> sorts = parseSortCriteria(request);
+
+            Charset charset = Charset.forName(request.astring());
+            SearchKey key = searchKeys(session, request, charset);
+            return new SortRequest(new SearchOperation(key, options), sorts, partialRange, useUids, tag);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            LOGGER.debug("Unable to decode request", e);
+            return taggedNo(tag, ImapConstants.SORT_COMMAND, HumanReadableText.BAD_CHARSET, StatusResponse.ResponseCode.badCharset());
+        }
+    }
+
+    /**
+     * Parse the sort criteria list. Messages matching all the criteria are returned in mailbox order, hence
+     * a final ascending UID sort is appended.
+     */
+    private List<SearchQuery.Sort> parseSortCriteria(ImapRequestLineReader request) throws DecodingException {
+        List<SearchQuery.Sort> sorts = new ArrayList<>();
+        request.nextWordChar();
+        request.consumeChar('(');
+        Order order = Order.NATURAL;
+        while (request.nextWordChar() != ')') {
+            String criterion = request.atom().toUpperCase(Locale.US);
+            if (criterion.equals("REVERSE")) {
+                if (order == Order.REVERSE) {
+                    throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "REVERSE must be followed by a sort key");
+                }
+                order = Order.REVERSE;
+            } else {
+                sorts.add(new SearchQuery.Sort(sortClause(criterion), order));
+                order = Order.NATURAL;
+            }
+        }
+        request.consumeChar(')');
+        if (sorts.isEmpty() || order == Order.REVERSE) {
+            throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Missing sort key");
+        }
+        sorts.add(new SearchQuery.Sort(SortClause.Uid, Order.NATURAL));
+        return sorts;
+    }
+
+    private SortClause sortClause(String criterion) throws DecodingException {
+        switch (criterion) {
+        case "ARRIVAL":
+            return SortClause.Arrival;
+        case "CC":
+            return SortClause.MailboxCc;
+        case "DATE":
+            return SortClause.SentDate;
+        case "FROM":
+            return SortClause.MailboxFrom;
+        case "SIZE":
+            return SortClause.Size;
+        case "SUBJECT":
+            return SortClause.BaseSubject;
+        case "TO":
+            return SortClause.MailboxTo;
+        default:
+            throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Unknown sort key " + criterion);
+        }
+    }
+
+    /**
+     * Parse the ESORT result options into the given list, see RFC5267.
+     *
+     * @return the range requested by the <code>PARTIAL</code> option, if any
+     */
+    private Optional<IdRange> parseOptions(ImapRequestLineReader request, List<SearchResultOption> options) throws DecodingException {
+        Optional<IdRange> partialRange = Optional.empty();
+        request.nextWordChar();
+        request.consumeChar('(');
+        while (request.nextWordChar() != ')') {
+            String option = request.atom().toUpperCase(Locale.US);
+            switch (option) {
+            case "ALL":
+                options.add(SearchResultOption.ALL);
+                break;
+            case "COUNT":
+                options.add(SearchResultOption.COUNT);
+                break;
+            case "MAX":
+                options.add(SearchResultOption.MAX);
+                break;
+            case "MIN":
+                options.add(SearchResultOption.MIN);
+                break;
+            case "SAVE":
+                options.add(SearchResultOption.SAVE);
+                break;
+            case "PARTIAL":
+                partialRange = Optional.of(partialRange(request));
+                options.add(SearchResultOption.PARTIAL);
+                break;
+            default:
+                throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "Unknown sort result option " + option);
+            }
+        }
+        request.consumeChar(')');
+        // if the options are empty then we parsed RETURN () which is a shortcut for ALL.
+        // See http://www.faqs.org/rfcs/rfc4731.html 3.1
+        if (options.isEmpty()) {
+            options.add(SearchResultOption.ALL);
+        }
+        return partialRange;
+    }
+
+    private IdRange partialRange(ImapRequestLineReader request) throws DecodingException {
+        IdRange[] ranges = request.parseIdRange();
+        if (ranges.length != 1 || ranges[0].getLowVal() < 1 || ranges[0].getHighVal() == Long.MAX_VALUE) {
+            throw new DecodingException(HumanReadableText.ILLEGAL_ARGUMENTS, "PARTIAL expects a single range of positive numbers");
+        }
+        return ranges[0];
+    }
+}
@@ -48,6 +48,8 @@ public class ESearchResponseEncoder implements ImapResponseEncoder<ESearchRespon
         boolean useUid = response.getUseUid();
         ModSeq highestModSeq = response.getHighestModSeq();
         List<SearchResultOption> options = response.getSearchResultOptions();
+        IdRange partialRange = response.getPartialRange();
+        IdRange[] partial = response.getPartial();
         
         composer.untagged().message("ESEARCH").openParen().message("TAG").quote(tag.asString()).closeParen();
         if (useUid) {
@@ -70,6 +72,18 @@ public class ESearchResponseEncoder implements ImapResponseEncoder<ESearchRespon
             composer.message(SearchResultOption.ALL.name());
             composer.sequenceSet(allUids);
         }
+        // See RFC5267 4.4. PARTIAL Search Return Option
+        if (partialRange != null && options.contains(SearchResultOption.PARTIAL)) {
+            composer.message(SearchResultOption.PARTIAL.name());
+            composer.openParen();
+            composer.message(partialRange.getFormattedString());
+            if (partial == null || partial.length == 0) {
+                composer.nil();
+            } else {
+                composer.sequenceSet(partial);
+            }
+            composer.closeParen();
+        }
         
         // Add the MODSEQ to the response if needed. 
         //
@@ -0,0 +1,80 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.encode;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.message.response.ThreadResponse;
+import org.apache.james.imap.message.response.ThreadResponse.Node;
+
+/**
+ * Encoders <code>THREAD</code> responses, see RFC5256.
+ *
+ * <pre>
+ * thread-list     = "(" (thread-members / thread-nested) / (thread-members thread-nested) ")"
+ * thread-members  = nz-number *(SP nz-number)
+ * thread-nested   = 2*thread-list
+ * </pre>
+ */
+public class ThreadResponseEncoder implements ImapResponseEncoder<ThreadResponse> {
+    @Override
+    public Class<ThreadResponse> acceptableMessages() {
+        return ThreadResponse.class;
+    }
+
+    @Override
+    public void encode(ThreadResponse response, ImapResponseComposer composer) throws IOException {
+        composer.untagged();
+        composer.commandName(ImapConstants.THREAD_COMMAND);
+        threadLists(response.getThreads(), composer);
+        composer.end();
+    }
+
+    private void threadLists(List<Node> nodes, ImapResponseComposer composer) throws IOException {
+        boolean first = true;
+        for (Node node : nodes) {
+            if (!first) {
+                // Sibling thread lists are not separated by spaces
+                composer.skipNextSpace();
+            }
+            composer.openParen();
+            members(node, composer);
+            composer.closeParen();
+            first = false;
+        }
+    }
+
+    /**
+     * A chain of single children is written as a list of members, several children as nested thread lists.
+     */
+    private void members(Node node, ImapResponseComposer composer) throws IOException {
+        if (node.getId().isPresent()) {
+            composer.message(node.getId().get());
+        }
+        List<Node> children = node.getChildren();
+        if (children.size() == 1) {
+            members(children.get(0), composer);
+        } else {
+            threadLists(children, composer);
+        }
+    }
+}
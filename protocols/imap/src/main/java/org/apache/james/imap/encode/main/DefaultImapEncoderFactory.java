@@ -51,7 +51,9 @@ import org.apache.james.imap.encode.QuotaResponseEncoder;
 import org.apache.james.imap.encode.QuotaRootResponseEncoder;
 import org.apache.james.imap.encode.RecentResponseEncoder;
 import org.apache.james.imap.encode.SearchResponseEncoder;
+import org.apache.james.imap.encode.SortResponseEncoder;
 import org.apache.james.imap.encode.StatusResponseEncoder;
+import org.apache.james.imap.encode.ThreadResponseEncoder;
 import org.apache.james.imap.encode.VanishedResponseEncoder;
 import org.apache.james.imap.encode.XListResponseEncoder;
 import org.apache.james.imap.encode.base.EndImapEncoder;
@@ -111,6 +113,8 @@ public class DefaultImapEncoderFactory implements ImapEncoderFactory {
             new ExistsResponseEncoder(),
             new MailboxStatusResponseEncoder(),
             new SearchResponseEncoder(),
+            new SortResponseEncoder(),
+            new ThreadResponseEncoder(),
             new LSubResponseEncoder(),
             new XListResponseEncoder(),
             new FlagsResponseEncoder(),
@@ -18,8 +18,11 @@
  ****************************************************************/
 package org.apache.james.imap.message.request;
 
+import java.util.Optional;
+
 import org.apache.james.imap.api.ImapConstants;
 import org.apache.james.imap.api.Tag;
+import org.apache.james.imap.api.message.StatusDataItems;
 
 import com.google.common.base.MoreObjects;
 
@@ -28,10 +31,17 @@ public class ListRequest extends AbstractImapRequest {
 
     private final String mailboxPattern;
 
+    private final Optional<StatusDataItems> statusDataItems;
+
     public ListRequest(String referenceName, String mailboxPattern, Tag tag) {
+        this(referenceName, mailboxPattern, Optional.empty(), tag);
+    }
+
+    public ListRequest(String referenceName, String mailboxPattern, Optional<StatusDataItems> statusDataItems, Tag tag) {
         super(tag, ImapConstants.LIST_COMMAND);
         this.baseReferenceName = referenceName;
         this.mailboxPattern = mailboxPattern;
+        this.statusDataItems = statusDataItems;
     }
 
     public final String getBaseReferenceName() {
@@ -42,11 +52,19 @@ public class ListRequest extends AbstractImapRequest {
         return mailboxPattern;
     }
 
+    /**
+     * The status data items requested through the <code>STATUS</code> return option, see RFC5819.
+     */
+    public final Optional<StatusDataItems> getStatusDataItems() {
+        return statusDataItems;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
             .add("baseReferenceName", baseReferenceName)
             .add("mailboxPattern", mailboxPattern)
+            .add("statusDataItems", statusDataItems)
             .toString();
     }
 }
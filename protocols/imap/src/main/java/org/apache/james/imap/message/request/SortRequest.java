@@ -0,0 +1,79 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.message.request;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.api.Tag;
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.mailbox.model.SearchQuery;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <code>SORT</code> request, see RFC5256. Results can be returned as <code>ESEARCH</code> responses, see RFC5267.
+ */
+public class SortRequest extends AbstractImapRequest {
+    private final SearchOperation operation;
+    private final List<SearchQuery.Sort> sorts;
+    private final Optional<IdRange> partialRange;
+    private final boolean useUids;
+
+    public SortRequest(SearchOperation operation, List<SearchQuery.Sort> sorts, Optional<IdRange> partialRange, boolean useUids, Tag tag) {
+        super(tag, ImapConstants.SORT_COMMAND);
+        this.operation = operation;
+        this.sorts = sorts;
+        this.partialRange = partialRange;
+        this.useUids = useUids;
+    }
+
+    public final SearchOperation getSearchOperation() {
+        return operation;
+    }
+
+    public final List<SearchQuery.Sort> getSorts() {
+        return sorts;
+    }
+
+    /**
+     * Window of the sorted results, 1-based and inclusive, to be returned when the
+     * {@link org.apache.james.imap.api.message.request.SearchResultOption#PARTIAL} option is requested.
+     */
+    public final Optional<IdRange> getPartialRange() {
+        return partialRange;
+    }
+
+    public final boolean isUseUids() {
+        return useUids;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("operation", operation)
+            .add("sorts", sorts)
+            .add("partialRange", partialRange)
+            .add("useUids", useUids)
+            .toString();
+    }
+}
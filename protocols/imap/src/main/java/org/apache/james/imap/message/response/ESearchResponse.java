@@ -38,8 +38,15 @@ public class ESearchResponse implements ImapResponseMessage {
     private final List<SearchResultOption> options;
     private final ModSeq highestModSeq;
     private UidRange[] allUids;
+    private final IdRange partialRange;
+    private final IdRange[] partial;
 
     public ESearchResponse(long minUid, long maxUid, long count, IdRange[] all, UidRange[] allUids, ModSeq highestModSeq, Tag tag, boolean useUid, List<SearchResultOption> options) {
+        this(minUid, maxUid, count, all, allUids, highestModSeq, tag, useUid, options, null, null);
+    }
+
+    public ESearchResponse(long minUid, long maxUid, long count, IdRange[] all, UidRange[] allUids, ModSeq highestModSeq, Tag tag, boolean useUid, List<SearchResultOption> options,
+                           IdRange partialRange, IdRange[] partial) {
         this.options = options;
         this.minUid = minUid;
         this.maxUid = maxUid;
@@ -49,6 +56,8 @@ public class ESearchResponse implements ImapResponseMessage {
         this.allUids = allUids;
         this.useUid = useUid;
         this.highestModSeq = highestModSeq;
+        this.partialRange = partialRange;
+        this.partial = partial;
     }
     
     public final long getCount() {
@@ -86,5 +95,19 @@ public class ESearchResponse implements ImapResponseMessage {
     public final ModSeq getHighestModSeq() {
         return highestModSeq;
     }
+
+    /**
+     * Return the range of result positions requested by the <code>PARTIAL</code> option, see RFC5267.
+     */
+    public IdRange getPartialRange() {
+        return partialRange;
+    }
+
+    /**
+     * Return the messages found within {@link #getPartialRange()}.
+     */
+    public IdRange[] getPartial() {
+        return partial;
+    }
     
 }
@@ -88,11 +88,19 @@ public class DefaultProcessorChain {
         LSubProcessor lsubProcessor = new LSubProcessor(statusProcessor, mailboxManager, subscriptionManager, statusResponseFactory, metricFactory);
         XListProcessor xlistProcessor = new XListProcessor(lsubProcessor, mailboxManager, statusResponseFactory, mailboxTyper, metricFactory);
         ListProcessor listProcessor = new ListProcessor(xlistProcessor, mailboxManager, statusResponseFactory, metricFactory);
+        // LIST-STATUS extension. See RFC5819
+        capabilityProcessor.addProcessor(listProcessor);
         SearchProcessor searchProcessor = new SearchProcessor(listProcessor, mailboxManager, statusResponseFactory, metricFactory);
         // WITHIN extension
         capabilityProcessor.addProcessor(searchProcessor);
-
-        SelectProcessor selectProcessor = new SelectProcessor(searchProcessor, mailboxManager, eventBus, statusResponseFactory, metricFactory);
+        SortProcessor sortProcessor = new SortProcessor(searchProcessor, mailboxManager, statusResponseFactory, metricFactory);
+        // SORT and ESORT extensions. See RFC5256 and RFC5267
+        capabilityProcessor.addProcessor(sortProcessor);
+        ThreadProcessor threadProcessor = new ThreadProcessor(sortProcessor, mailboxManager, statusResponseFactory, metricFactory);
+        // THREAD extension. See RFC5256
+        capabilityProcessor.addProcessor(threadProcessor);
+
+        SelectProcessor selectProcessor = new SelectProcessor(threadProcessor, mailboxManager, eventBus, statusResponseFactory, metricFactory);
         NamespaceProcessor namespaceProcessor = new NamespaceProcessor(selectProcessor, mailboxManager, statusResponseFactory, metricFactory);
 
         capabilityProcessor.addProcessor(xlistProcessor);
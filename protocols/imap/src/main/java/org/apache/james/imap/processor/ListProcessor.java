@@ -19,13 +19,18 @@
 
 package org.apache.james.imap.processor;
 
+import static org.apache.james.mailbox.MailboxManager.MailboxSearchFetchType.Counters;
 import static org.apache.james.mailbox.MailboxManager.MailboxSearchFetchType.Minimal;
 
 import java.io.Closeable;
+import java.util.List;
+import java.util.Optional;
 
 import org.apache.james.imap.api.ImapMessage;
 import org.apache.james.imap.api.display.HumanReadableText;
 import org.apache.james.imap.api.display.ModifiedUtf7;
+import org.apache.james.imap.api.message.Capability;
+import org.apache.james.imap.api.message.StatusDataItems;
 import org.apache.james.imap.api.message.response.ImapResponseMessage;
 import org.apache.james.imap.api.message.response.StatusResponseFactory;
 import org.apache.james.imap.api.process.ImapProcessor;
@@ -34,10 +39,14 @@ import org.apache.james.imap.api.process.MailboxType;
 import org.apache.james.imap.main.PathConverter;
 import org.apache.james.imap.message.request.ListRequest;
 import org.apache.james.imap.message.response.ListResponse;
+import org.apache.james.imap.message.response.MailboxStatusResponse;
 import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxManager.MailboxSearchFetchType;
 import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
 import org.apache.james.mailbox.exception.MailboxException;
 import org.apache.james.mailbox.model.MailboxConstants;
+import org.apache.james.mailbox.model.MailboxCounters;
 import org.apache.james.mailbox.model.MailboxMetaData;
 import org.apache.james.mailbox.model.MailboxPath;
 import org.apache.james.mailbox.model.search.MailboxQuery;
@@ -47,8 +56,11 @@ import org.apache.james.util.MDCBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ListProcessor extends AbstractMailboxProcessor<ListRequest> {
+import com.google.common.collect.ImmutableList;
+
+public class ListProcessor extends AbstractMailboxProcessor<ListRequest> implements CapabilityImplementingProcessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(ListProcessor.class);
+    private static final List<Capability> CAPS = ImmutableList.of(Capability.of("LIST-STATUS"));
 
     public ListProcessor(ImapProcessor next, MailboxManager mailboxManager, StatusResponseFactory factory,
             MetricFactory metricFactory) {
@@ -77,7 +89,7 @@ public class ListProcessor extends AbstractMailboxProcessor<ListRequest> {
             if (mailboxPatternString.length() == 0) {
                 respondNamespace(baseReferenceName, responder, mailboxSession);
             } else {
-                respondMailboxList(baseReferenceName, mailboxPatternString, session, responder, mailboxSession);
+                respondMailboxList(baseReferenceName, mailboxPatternString, request.getStatusDataItems(), session, responder, mailboxSession);
             }
             okComplete(request, responder);
         } catch (MailboxException e) {
@@ -119,7 +131,8 @@ public class ListProcessor extends AbstractMailboxProcessor<ListRequest> {
         }
     }
 
-    private void respondMailboxList(String referenceName, String mailboxName, ImapSession session, Responder responder, MailboxSession mailboxSession) throws MailboxException {
+    private void respondMailboxList(String referenceName, String mailboxName, Optional<StatusDataItems> statusDataItems, ImapSession session,
+                                    Responder responder, MailboxSession mailboxSession) throws MailboxException {
         // If the mailboxPattern is fully qualified, ignore the
         // reference name.
         String finalReferencename = referenceName;
@@ -132,17 +145,61 @@ public class ListProcessor extends AbstractMailboxProcessor<ListRequest> {
 
         MailboxPath basePath = computeBasePath(session, finalReferencename, isRelative);
 
-        getMailboxManager().search(
+        List<MailboxMetaData> results = getMailboxManager().search(
                 MailboxQuery.builder()
                     .userAndNamespaceFrom(basePath)
                     .expression(new PrefixedRegex(
                         basePath.getName(),
                         ModifiedUtf7.decodeModifiedUTF7(mailboxName),
                         mailboxSession.getPathDelimiter()))
-                    .build(), Minimal, mailboxSession)
-            .doOnNext(metaData -> processResult(responder, isRelative, metaData, getMailboxType(session, metaData.getPath())))
-            .then()
+                    .build(), fetchType(statusDataItems), mailboxSession)
+            .collectList()
             .block();
+
+        for (MailboxMetaData metaData : results) {
+            processResult(responder, isRelative, metaData, getMailboxType(session, metaData.getPath()));
+            if (statusDataItems.isPresent()) {
+                respondStatus(responder, isRelative, metaData, statusDataItems.get(), mailboxSession);
+            }
+        }
+    }
+
+    /**
+     * Message and unseen counts are read along with the mailboxes, in a single batch, see RFC5819.
+     */
+    private MailboxSearchFetchType fetchType(Optional<StatusDataItems> statusDataItems) {
+        if (statusDataItems.map(ListProcessor::needsCountersOnly).orElse(false)) {
+            return Counters;
+        }
+        return Minimal;
+    }
+
+    private static boolean needsCountersOnly(StatusDataItems statusDataItems) {
+        return !statusDataItems.isRecent()
+            && !statusDataItems.isUidNext()
+            && !statusDataItems.isUidValidity()
+            && !statusDataItems.isHighestModSeq();
+    }
+
+    private void respondStatus(Responder responder, boolean relative, MailboxMetaData listResult, StatusDataItems statusDataItems,
+                               MailboxSession mailboxSession) throws MailboxException {
+        if (listResult.getSelectability() == MailboxMetaData.Selectability.NOSELECT) {
+            return;
+        }
+        String mailboxName = ModifiedUtf7.encodeModifiedUTF7(mailboxName(relative, listResult.getPath(), listResult.getHierarchyDelimiter()));
+
+        if (needsCountersOnly(statusDataItems)) {
+            MailboxCounters counters = listResult.getCounters();
+            responder.respond(new MailboxStatusResponse(
+                statusDataItems.isMessages() ? counters.getCount() : null,
+                null, null, null, null,
+                statusDataItems.isUnseen() ? counters.getUnseen() : null,
+                mailboxName));
+        } else {
+            MessageManager mailbox = getMailboxManager().getMailbox(listResult.getId(), mailboxSession);
+            MessageManager.MailboxMetaData metaData = mailbox.getMetaData(false, mailboxSession, StatusProcessor.computeFetchGroup(statusDataItems));
+            responder.respond(StatusProcessor.computeStatusResponse(mailboxName, statusDataItems, metaData));
+        }
     }
 
     private MailboxPath computeBasePath(ImapSession session, String finalReferencename, boolean isRelative) {
@@ -186,12 +243,18 @@ public class ListProcessor extends AbstractMailboxProcessor<ListRequest> {
         return ListRequest.class.equals(message.getClass());
     }
 
+    @Override
+    public List<Capability> getImplementedCapabilities(ImapSession session) {
+        return CAPS;
+    }
+
     @Override
     protected Closeable addContextToMDC(ListRequest request) {
         return MDCBuilder.create()
             .addToContext(MDCBuilder.ACTION, "LIST")
             .addToContext("base", request.getBaseReferenceName())
             .addToContext("pattern", request.getMailboxPattern())
+            .addToContext("returnStatus", request.getStatusDataItems().map(StatusDataItems::toString).orElse(""))
             .build();
     }
 }
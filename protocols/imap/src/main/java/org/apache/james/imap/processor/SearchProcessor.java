@@ -207,7 +207,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
         }
     }
 
-    private Collection<Long> asResults(ImapSession session, boolean useUids, Collection<MessageUid> uids) {
+    static Collection<Long> asResults(ImapSession session, boolean useUids, Collection<MessageUid> uids) {
         if (useUids) {
             return uids.stream()
                 .map(MessageUid::asLong)
@@ -223,7 +223,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
         }
     }
 
-    private Collection<MessageUid> performUidSearch(MessageManager mailbox, SearchQuery query, MailboxSession msession) throws MailboxException {
+    static Collection<MessageUid> performUidSearch(MessageManager mailbox, SearchQuery query, MailboxSession msession) throws MailboxException {
         return Flux.from(mailbox.search(query, msession))
             .collect(ImmutableList.toImmutableList())
             .block();
@@ -243,7 +243,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
      * @return highestModSeq
      * @throws MailboxException
      */
-    private ModSeq findHighestModSeq(MailboxSession session, MessageManager mailbox, List<MessageRange> ranges, ModSeq currentHighest) throws MailboxException {
+    static ModSeq findHighestModSeq(MailboxSession session, MessageManager mailbox, List<MessageRange> ranges, ModSeq currentHighest) throws MailboxException {
         ModSeq highestModSeq = null;
         
         // Reverse loop over the ranges as its more likely that we find a match at the end
@@ -268,17 +268,21 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
     }
 
     private SearchQuery toQuery(SearchKey key, ImapSession session) throws MessageRangeException {
+        return toQueryBuilder(key, session)
+            .build();
+    }
+
+    static SearchQuery.Builder toQueryBuilder(SearchKey key, ImapSession session) throws MessageRangeException {
         SearchQuery.Criterion criterion = toCriterion(key, session);
         SearchQuery.Builder builder = SearchQuery.builder();
         SelectedMailbox selected = session.getSelected();
         if (selected != null) {
             builder.addRecentMessageUids(selected.getRecent());
         }
-        return builder.andCriteria(criterion)
-            .build();
+        return builder.andCriteria(criterion);
     }
 
-    private SearchQuery.Criterion toCriterion(SearchKey key, ImapSession session) throws MessageRangeException {
+    private static SearchQuery.Criterion toCriterion(SearchKey key, ImapSession session) throws MessageRangeException {
         final SearchKey.Type type = key.getType();
         final DayMonthYear date = key.getDate();
         switch (type) {
@@ -382,7 +386,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
         }
     }
     
-    private Date createWithinDate(SearchKey key) {
+    private static Date createWithinDate(SearchKey key) {
         long seconds = key.getSeconds();
         long res = System.currentTimeMillis() - seconds * 1000;
         return new Date(res);
@@ -393,7 +397,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
      * This include special handling which is needed for SEARCH to not return a BAD response on a invalid message-set. 
      * See IMAP-292 for more details.
      */
-    private Criterion sequence(IdRange[] sequenceNumbers, ImapSession session) throws MessageRangeException {
+    private static Criterion sequence(IdRange[] sequenceNumbers, ImapSession session) throws MessageRangeException {
         
         final SelectedMailbox selected = session.getSelected();
 
@@ -450,7 +454,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
      * This include special handling which is needed for SEARCH to not return a BAD response on a invalid message-set. 
      * See IMAP-292 for more details.
      */
-    private Criterion uids(UidRange[] uids, ImapSession session) throws MessageRangeException {
+    private static Criterion uids(UidRange[] uids, ImapSession session) throws MessageRangeException {
         
         final SelectedMailbox selected = session.getSelected();
 
@@ -481,7 +485,7 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
         return SearchQuery.uid(ranges.toArray(SearchQuery.UidRange[]::new));
     }
 
-    private Criterion or(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
+    private static Criterion or(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
         final SearchKey keyOne = keys.get(0);
         final SearchKey keyTwo = keys.get(1);
         final Criterion criterionOne = toCriterion(keyOne, session);
@@ -489,13 +493,13 @@ public class SearchProcessor extends AbstractMailboxProcessor<SearchRequest> imp
         return SearchQuery.or(criterionOne, criterionTwo);
     }
 
-    private Criterion not(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
+    private static Criterion not(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
         final SearchKey key = keys.get(0);
         final Criterion criterion = toCriterion(key, session);
         return SearchQuery.not(criterion);
     }
 
-    private Criterion and(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
+    private static Criterion and(List<SearchKey> keys, ImapSession session) throws MessageRangeException {
         final int size = keys.size();
         final List<Criterion> criteria = new ArrayList<>(size);
         for (SearchKey key : keys) {
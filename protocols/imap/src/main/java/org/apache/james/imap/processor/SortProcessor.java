@@ -0,0 +1,234 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.Capability;
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.UidRange;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.imap.api.message.request.SearchResultOption;
+import org.apache.james.imap.api.message.response.ImapResponseMessage;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.api.process.ImapProcessor;
+import org.apache.james.imap.api.process.ImapSession;
+import org.apache.james.imap.api.process.SearchResUtil;
+import org.apache.james.imap.message.request.SortRequest;
+import org.apache.james.imap.message.response.ESearchResponse;
+import org.apache.james.imap.message.response.SortResponse;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageManager.MailboxMetaData;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.exception.MessageRangeException;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.util.MDCBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Processes <code>SORT</code> and <code>UID SORT</code> commands, see RFC5256.
+ *
+ * Sorting is pushed down to the mailbox search index through the {@link SearchQuery.Sort} of the query, so that
+ * clients no longer need to fetch envelopes to sort client side.
+ * Results can be returned as <code>ESEARCH</code> responses, including the <code>PARTIAL</code> window, see RFC5267.
+ */
+public class SortProcessor extends AbstractMailboxProcessor<SortRequest> implements CapabilityImplementingProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SortProcessor.class);
+
+    private static final List<Capability> CAPS = ImmutableList.of(Capability.of("SORT"), Capability.of("ESORT"));
+
+    public SortProcessor(ImapProcessor next, MailboxManager mailboxManager, StatusResponseFactory factory,
+            MetricFactory metricFactory) {
+        super(SortRequest.class, next, mailboxManager, factory, metricFactory);
+    }
+
+    @Override
+    protected void processRequest(SortRequest request, ImapSession session, Responder responder) {
+        final SearchOperation operation = request.getSearchOperation();
+        final boolean useUids = request.isUseUids();
+        final List<SearchResultOption> resultOptions = operation.getResultOptions();
+
+        try {
+            MessageManager mailbox = getSelectedMailbox(session)
+                .orElseThrow(() -> new MailboxException("Session not in SELECTED state"));
+
+            final SearchQuery query = SearchProcessor.toQueryBuilder(operation.getSearchKey(), session)
+                .sorts(request.getSorts())
+                .build();
+            MailboxSession msession = session.getMailboxSession();
+
+            final Collection<MessageUid> uids = SearchProcessor.performUidSearch(mailbox, query, msession);
+            final long[] ids = SearchProcessor.asResults(session, useUids, uids)
+                .stream()
+                .mapToLong(x -> x)
+                .toArray();
+
+            // See RFC4551: 3.4. MODSEQ Search Criterion in SEARCH
+            final ModSeq highestModSeq;
+            if (session.getAttribute(SearchProcessor.SEARCH_MODSEQ) != null) {
+                MailboxMetaData metaData = mailbox.getMetaData(false, msession, MailboxMetaData.FetchGroup.NO_COUNT);
+                highestModSeq = SearchProcessor.findHighestModSeq(msession, mailbox, MessageRange.toRanges(uids), metaData.getHighestModSeq());
+
+                // Enable CONDSTORE as this is a CONDSTORE enabling command
+                condstoreEnablingCommand(session, responder, metaData, true);
+            } else {
+                highestModSeq = null;
+            }
+
+            responder.respond(response(request, session, ids, highestModSeq));
+
+            boolean omitExpunged = (!useUids);
+            unsolicitedResponses(session, responder, omitExpunged, useUids);
+            okComplete(request, responder);
+        } catch (MessageRangeException e) {
+            LOGGER.debug("Sort failed in mailbox {} because of an invalid sequence-set ", session.getSelected().getMailboxId(), e);
+            taggedBad(request, responder, HumanReadableText.INVALID_MESSAGESET);
+        } catch (MailboxException e) {
+            LOGGER.error("Sort failed in mailbox {}", session.getSelected().getMailboxId(), e);
+            no(request, responder, HumanReadableText.SEARCH_FAILED);
+
+            if (resultOptions.contains(SearchResultOption.SAVE)) {
+                // See RFC5182 2.1.Normative Description of the SEARCHRES Extension
+                SearchResUtil.resetSavedSequenceSet(session);
+            }
+        } finally {
+            session.setAttribute(SearchProcessor.SEARCH_MODSEQ, null);
+        }
+    }
+
+    private ImapResponseMessage response(SortRequest request, ImapSession session, long[] ids, ModSeq highestModSeq) {
+        List<SearchResultOption> resultOptions = request.getSearchOperation().getResultOptions();
+        boolean esort = resultOptions.stream()
+            .anyMatch(option -> option != SearchResultOption.SAVE);
+
+        if (!esort) {
+            if (resultOptions.contains(SearchResultOption.SAVE)) {
+                SearchResUtil.saveSequenceSet(session, toSequenceSet(ids));
+            }
+            return new SortResponse(ids, highestModSeq);
+        }
+
+        // RFC5267 3.2: MIN and MAX refer to the first and last messages in the requested sort order
+        long min = -1;
+        long max = -1;
+        if (ids.length > 0) {
+            min = ids[0];
+            max = ids[ids.length - 1];
+        }
+        IdRange partialRange = request.getPartialRange().orElse(null);
+        long[] partialIds = partialIds(ids, partialRange);
+
+        if (resultOptions.contains(SearchResultOption.SAVE)) {
+            if (resultOptions.contains(SearchResultOption.ALL) || resultOptions.contains(SearchResultOption.COUNT)) {
+                SearchResUtil.saveSequenceSet(session, toSequenceSet(ids));
+            } else if (resultOptions.contains(SearchResultOption.PARTIAL)) {
+                SearchResUtil.saveSequenceSet(session, toSequenceSet(partialIds));
+            } else {
+                List<IdRange> savedRanges = new ArrayList<>();
+                if (resultOptions.contains(SearchResultOption.MIN)) {
+                    savedRanges.add(new IdRange(min));
+                }
+                if (resultOptions.contains(SearchResultOption.MAX)) {
+                    savedRanges.add(new IdRange(max));
+                }
+                SearchResUtil.saveSequenceSet(session, savedRanges.toArray(IdRange[]::new));
+            }
+        }
+
+        return new ESearchResponse(min, max, ids.length, toOrderedIdRanges(ids), toOrderedUidRanges(ids), highestModSeq,
+            request.getTag(), request.isUseUids(), resultOptions, partialRange, toOrderedIdRanges(partialIds));
+    }
+
+    /**
+     * Return the ids at the 1-based positions of the given range in the sorted result.
+     */
+    private long[] partialIds(long[] ids, IdRange partialRange) {
+        if (partialRange == null || partialRange.getLowVal() > ids.length) {
+            return new long[0];
+        }
+        int from = (int) partialRange.getLowVal() - 1;
+        int to = (int) Math.min(partialRange.getHighVal(), ids.length);
+        return Arrays.copyOfRange(ids, from, to);
+    }
+
+    private IdRange[] toSequenceSet(long[] ids) {
+        List<IdRange> ranges = Arrays.stream(ids)
+            .mapToObj(IdRange::new)
+            .collect(Collectors.toList());
+        return IdRange.mergeRanges(ranges).toArray(IdRange[]::new);
+    }
+
+    /**
+     * Group the ids into ranges while preserving the sort order: only consecutive ascending ids are merged.
+     */
+    private IdRange[] toOrderedIdRanges(long[] ids) {
+        List<IdRange> ranges = new ArrayList<>();
+        int i = 0;
+        while (i < ids.length) {
+            long low = ids[i];
+            long high = low;
+            while (i + 1 < ids.length && ids[i + 1] == high + 1) {
+                i++;
+                high = ids[i];
+            }
+            ranges.add(new IdRange(low, high));
+            i++;
+        }
+        return ranges.toArray(IdRange[]::new);
+    }
+
+    private UidRange[] toOrderedUidRanges(long[] ids) {
+        return Arrays.stream(toOrderedIdRanges(ids))
+            .map(range -> new UidRange(MessageUid.of(range.getLowVal()), MessageUid.of(range.getHighVal())))
+            .toArray(UidRange[]::new);
+    }
+
+    @Override
+    public List<Capability> getImplementedCapabilities(ImapSession session) {
+        return CAPS;
+    }
+
+    @Override
+    protected Closeable addContextToMDC(SortRequest request) {
+        return MDCBuilder.create()
+            .addToContext(MDCBuilder.ACTION, "SORT")
+            .addToContext("useUid", Boolean.toString(request.isUseUids()))
+            .addToContext("searchOperation", request.getSearchOperation().toString())
+            .addToContext("sorts", request.getSorts().stream()
+                .map(sort -> (sort.isReverse() ? "REVERSE " : "") + sort.getSortClause())
+                .collect(Collectors.joining(" ")))
+            .build();
+    }
+}
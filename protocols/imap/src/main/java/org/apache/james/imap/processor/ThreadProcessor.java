@@ -0,0 +1,245 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.Capability;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.imap.api.message.request.ThreadAlgorithm;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.api.process.ImapProcessor;
+import org.apache.james.imap.api.process.ImapSession;
+import org.apache.james.imap.message.request.ThreadRequest;
+import org.apache.james.imap.message.response.ThreadResponse;
+import org.apache.james.imap.message.response.ThreadResponse.Node;
+import org.apache.james.imap.processor.thread.MessageThreader;
+import org.apache.james.imap.processor.thread.ThreadMessage;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.exception.MessageRangeException;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.FetchGroup;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mailbox.model.MessageResultIterator;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.SearchQuery.Sort;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.util.MDCBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Processes <code>THREAD</code> and <code>UID THREAD</code> commands, see RFC5256.
+ *
+ * Matching messages are retrieved from the search index ordered by sent date, so that only headers need to be read.
+ * For <code>REFERENCES</code>, the thread ids already computed by the mailbox upon delivery are reused: headers are only
+ * fetched for the messages belonging to a thread with several matching messages, and the RFC5256 algorithm is run
+ * within each of these threads. Should the mailbox not group messages into threads, the whole algorithm is run in memory.
+ */
+public class ThreadProcessor extends AbstractMailboxProcessor<ThreadRequest> implements CapabilityImplementingProcessor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadProcessor.class);
+
+    private static final List<Capability> CAPS = ImmutableList.of(
+        Capability.of(ThreadAlgorithm.ORDEREDSUBJECT.asCapability()),
+        Capability.of(ThreadAlgorithm.REFERENCES.asCapability()));
+
+    public ThreadProcessor(ImapProcessor next, MailboxManager mailboxManager, StatusResponseFactory factory,
+            MetricFactory metricFactory) {
+        super(ThreadRequest.class, next, mailboxManager, factory, metricFactory);
+    }
+
+    @Override
+    protected void processRequest(ThreadRequest request, ImapSession session, Responder responder) {
+        final SearchOperation operation = request.getSearchOperation();
+        final boolean useUids = request.isUseUids();
+
+        try {
+            MessageManager mailbox = getSelectedMailbox(session)
+                .orElseThrow(() -> new MailboxException("Session not in SELECTED state"));
+            MailboxSession msession = session.getMailboxSession();
+
+            final SearchQuery query = SearchProcessor.toQueryBuilder(operation.getSearchKey(), session)
+                .sorts(new Sort(SortClause.SentDate), new Sort(SortClause.Uid))
+                .build();
+            final Map<MessageUid, Long> ids = ids(session, useUids, SearchProcessor.performUidSearch(mailbox, query, msession));
+
+            final List<Node> threads;
+            if (request.getAlgorithm() == ThreadAlgorithm.ORDEREDSUBJECT) {
+                threads = MessageThreader.orderedSubject(ImmutableList.copyOf(threadMessages(mailbox, msession, ids, ids.keySet()).values()));
+            } else {
+                threads = references(mailbox, msession, ids);
+            }
+            responder.respond(new ThreadResponse(threads));
+
+            boolean omitExpunged = (!useUids);
+            unsolicitedResponses(session, responder, omitExpunged, useUids);
+            okComplete(request, responder);
+        } catch (MessageRangeException e) {
+            LOGGER.debug("Thread failed in mailbox {} because of an invalid sequence-set ", session.getSelected().getMailboxId(), e);
+            taggedBad(request, responder, HumanReadableText.INVALID_MESSAGESET);
+        } catch (MailboxException e) {
+            LOGGER.error("Thread failed in mailbox {}", session.getSelected().getMailboxId(), e);
+            no(request, responder, HumanReadableText.SEARCH_FAILED);
+        } finally {
+            session.setAttribute(SearchProcessor.SEARCH_MODSEQ, null);
+        }
+    }
+
+    /**
+     * Associate matching uids, in sent date order, with the id returned to the client.
+     */
+    private Map<MessageUid, Long> ids(ImapSession session, boolean useUids, Collection<MessageUid> uids) {
+        Map<MessageUid, Long> ids = new LinkedHashMap<>();
+        for (MessageUid uid : uids) {
+            if (useUids) {
+                ids.put(uid, uid.asLong());
+            } else {
+                session.getSelected().msn(uid)
+                    .asInt()
+                    .ifPresent(msn -> ids.put(uid, msn.longValue()));
+            }
+        }
+        return ids;
+    }
+
+    private List<Node> references(MessageManager mailbox, MailboxSession msession, Map<MessageUid, Long> ids) throws MailboxException {
+        Map<ThreadId, List<MessageUid>> storedThreads = storedThreads(mailbox, msession, ids);
+        boolean grouped = storedThreads.values().stream().anyMatch(uids -> uids.size() > 1);
+        if (!grouped) {
+            return MessageThreader.references(ImmutableList.copyOf(threadMessages(mailbox, msession, ids, ids.keySet()).values()));
+        }
+
+        List<MessageUid> toFetch = storedThreads.values().stream()
+            .filter(uids -> uids.size() > 1)
+            .flatMap(Collection::stream)
+            .collect(ImmutableList.toImmutableList());
+        Map<MessageUid, ThreadMessage> messages = threadMessages(mailbox, msession, ids, toFetch);
+
+        ImmutableList.Builder<Node> threads = ImmutableList.builder();
+        for (List<MessageUid> uids : storedThreads.values()) {
+            if (uids.size() == 1) {
+                threads.add(Node.message(ids.get(uids.get(0))));
+                continue;
+            }
+            List<ThreadMessage> threadMessages = uids.stream()
+                .map(messages::get)
+                .filter(message -> message != null)
+                .collect(ImmutableList.toImmutableList());
+            List<Node> roots = MessageThreader.references(threadMessages);
+            if (roots.size() == 1) {
+                threads.add(roots.get(0));
+            } else if (!roots.isEmpty()) {
+                threads.add(Node.dummy(roots));
+            }
+        }
+        return threads.build();
+    }
+
+    /**
+     * Group matching uids by their stored thread id, threads being ordered by their first sent message.
+     */
+    private Map<ThreadId, List<MessageUid>> storedThreads(MessageManager mailbox, MailboxSession msession, Map<MessageUid, Long> ids) {
+        Map<MessageUid, ThreadId> threadIds = new HashMap<>();
+        for (MessageRange range : MessageRange.toRanges(ids.keySet())) {
+            Flux.from(mailbox.listMessagesMetadata(range, msession))
+                .filter(metaData -> ids.containsKey(metaData.getComposedMessageId().getUid()))
+                .toIterable()
+                .forEach(metaData -> threadIds.put(metaData.getComposedMessageId().getUid(), threadId(metaData)));
+        }
+
+        Map<ThreadId, List<MessageUid>> threads = new LinkedHashMap<>();
+        ids.keySet().stream()
+            .filter(threadIds::containsKey)
+            .forEach(uid -> threads.computeIfAbsent(threadIds.get(uid), any -> new ArrayList<>()).add(uid));
+        return threads;
+    }
+
+    private ThreadId threadId(ComposedMessageIdWithMetaData metaData) {
+        return Optional.ofNullable(metaData.getThreadId())
+            .orElseGet(() -> ThreadId.fromBaseMessageId(metaData.getComposedMessageId().getMessageId()));
+    }
+
+    /**
+     * Read the threading related headers of the given messages, returned in sent date order.
+     */
+    private Map<MessageUid, ThreadMessage> threadMessages(MessageManager mailbox, MailboxSession msession, Map<MessageUid, Long> ids,
+                                               Collection<MessageUid> uids) throws MailboxException {
+        Map<MessageUid, Integer> sentOrders = new HashMap<>();
+        int position = 0;
+        for (MessageUid uid : ids.keySet()) {
+            sentOrders.put(uid, position++);
+        }
+
+        Map<MessageUid, ThreadMessage> messages = new HashMap<>();
+        for (MessageRange range : MessageRange.toRanges(uids)) {
+            MessageResultIterator results = mailbox.getMessages(range, FetchGroup.HEADERS, msession);
+            while (results.hasNext()) {
+                MessageResult result = results.next();
+                MessageUid uid = result.getUid();
+                if (sentOrders.containsKey(uid)) {
+                    messages.put(uid, ThreadMessage.from(ids.get(uid), sentOrders.get(uid), result.getHeaders().headers()));
+                }
+            }
+            if (results.getException() != null) {
+                throw results.getException();
+            }
+        }
+
+        Map<MessageUid, ThreadMessage> inSentOrder = new LinkedHashMap<>();
+        ids.keySet().stream()
+            .filter(messages::containsKey)
+            .forEach(uid -> inSentOrder.put(uid, messages.get(uid)));
+        return inSentOrder;
+    }
+
+    @Override
+    public List<Capability> getImplementedCapabilities(ImapSession session) {
+        return CAPS;
+    }
+
+    @Override
+    protected Closeable addContextToMDC(ThreadRequest request) {
+        return MDCBuilder.create()
+            .addToContext(MDCBuilder.ACTION, "THREAD")
+            .addToContext("useUid", Boolean.toString(request.isUseUids()))
+            .addToContext("algorithm", request.getAlgorithm().name())
+            .addToContext("searchOperation", request.getSearchOperation().toString())
+            .build();
+    }
+}
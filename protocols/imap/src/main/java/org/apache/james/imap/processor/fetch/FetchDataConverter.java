@@ -48,6 +48,10 @@ class FetchDataConverter {
                 final boolean isBase = (path == null || path.length == 0);
                 switch (sectionType) {
                     case CONTENT:
+                        if (isPartialFullContent(element)) {
+                            // Read by range when building the response
+                            break;
+                        }
                         if (isBase) {
                             result = addContent(result, path, isBase, FetchGroup.Profile.FULL_CONTENT);
                         } else {
@@ -74,6 +78,15 @@ class FetchDataConverter {
         return result;
     }
 
+    /**
+     * Partial fetches of the full content only need the requested octets, which can be read without retrieving the
+     * full content of the message
+     */
+    static boolean isPartialFullContent(BodyFetchElement element) {
+        boolean isBase = (element.getPath() == null || element.getPath().length == 0);
+        return element.getSectionType() == SectionType.CONTENT && isBase && element.getFirstOctet() != null;
+    }
+
     private static FetchGroup addContent(FetchGroup result, int[] path, boolean isBase, FetchGroup.Profile profile) {
         if (isBase) {
             return result.with(profile);
@@ -53,6 +53,8 @@ import org.apache.james.mailbox.model.MessageRange;
 import org.apache.james.mailbox.model.MessageResult;
 import org.apache.james.mailbox.model.MimePath;
 
+import reactor.core.publisher.Mono;
+
 public final class FetchResponseBuilder {
     private final EnvelopeBuilder envelopeBuilder;
 
@@ -134,7 +136,7 @@ public final class FetchResponseBuilder {
             Collection<BodyFetchElement> elements = fetch.getBodyElements();
             this.elements = new ArrayList<>();
             for (BodyFetchElement fetchElement : elements) {
-                final FetchResponse.BodyElement element = bodyFetch(result, fetchElement);
+                final FetchResponse.BodyElement element = bodyFetch(result, fetchElement, mailbox, mailboxSession);
                 if (element != null) {
                     this.elements.add(element);
                 }
@@ -239,10 +241,13 @@ public final class FetchResponseBuilder {
         this.internalDate = internalDate;
     }
 
-    private FetchResponse.BodyElement bodyFetch(MessageResult messageResult, BodyFetchElement fetchElement) throws MailboxException {
+    private FetchResponse.BodyElement bodyFetch(MessageResult messageResult, BodyFetchElement fetchElement, MessageManager mailbox, MailboxSession mailboxSession) throws MailboxException {
         final Long firstOctet = fetchElement.getFirstOctet();
         final Long numberOfOctets = fetchElement.getNumberOfOctets();
         final String name = fetchElement.getResponseName();
+        if (FetchDataConverter.isPartialFullContent(fetchElement)) {
+            return partialFullContent(messageResult, name, firstOctet, Objects.requireNonNullElse(numberOfOctets, Long.MAX_VALUE), mailbox, mailboxSession);
+        }
         final SectionType specifier = fetchElement.getSectionType();
         final Optional<MimePath> path = Optional.ofNullable(fetchElement.getPath())
                 .filter(paths -> paths.length > 0)
@@ -280,6 +285,14 @@ public final class FetchResponseBuilder {
         return new PartialFetchBodyElement(fullResult, firstOctetAsLong, numberOfOctetsAsLong);
     }
 
+    private FetchResponse.BodyElement partialFullContent(MessageResult messageResult, String name, long firstOctet, long numberOfOctets, MessageManager mailbox, MailboxSession mailboxSession) throws MailboxException {
+        final MessageUid uid = messageResult.getUid();
+        Content content = Mono.from(mailbox.getFullContent(uid, firstOctet, numberOfOctets, mailboxSession))
+            .blockOptional()
+            .orElseThrow(() -> new MessageRangeException("No such message found with uid " + uid));
+        return new ContentBodyElement(name + "<" + firstOctet + ">", content);
+    }
+
     private FetchResponse.BodyElement text(MessageResult messageResult, String name, Optional<MimePath> path) throws MailboxException {
         Content body = Optional.ofNullable(getTextContent(messageResult, path))
             .orElseGet(EmptyContent::new);
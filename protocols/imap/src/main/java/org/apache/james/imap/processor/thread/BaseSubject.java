@@ -0,0 +1,100 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.thread;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.james.mime4j.codec.DecodeMonitor;
+import org.apache.james.mime4j.codec.DecoderUtil;
+
+/**
+ * Extracts the base subject of a message as defined in RFC5256 2.1.
+ */
+public class BaseSubject {
+    private static final Pattern WHITE_SPACES = Pattern.compile("\\s+");
+    private static final Pattern SUBJ_TRAILER = Pattern.compile("(?i)\\s*\\(fwd\\)\\s*$");
+    private static final Pattern SUBJ_LEADER = Pattern.compile("(?i)^\\s*(\\[[^\\[\\]]*\\]\\s*)*(re|fwd?)\\s*(\\[[^\\[\\]]*\\])?\\s*:\\s*");
+    private static final Pattern SUBJ_BLOB = Pattern.compile("^\\s*\\[[^\\[\\]]*\\]\\s*");
+    private static final Pattern SUBJ_FWD = Pattern.compile("(?i)^\\[fwd:(.*)\\]$");
+
+    public static BaseSubject extract(String subject) {
+        String value = WHITE_SPACES.matcher(DecoderUtil.decodeEncodedWords(subject, DecodeMonitor.SILENT))
+            .replaceAll(" ")
+            .trim();
+        boolean reply = false;
+        while (true) {
+            // (2) remove trailing (fwd)
+            Matcher trailer = SUBJ_TRAILER.matcher(value);
+            while (trailer.find()) {
+                reply = true;
+                value = value.substring(0, trailer.start());
+                trailer = SUBJ_TRAILER.matcher(value);
+            }
+            // (3) and (4) remove leading re:, fw:, fwd: and [blob]
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                Matcher leader = SUBJ_LEADER.matcher(value);
+                if (leader.find()) {
+                    reply = true;
+                    value = value.substring(leader.end());
+                    changed = true;
+                }
+                Matcher blob = SUBJ_BLOB.matcher(value);
+                if (blob.find() && blob.end() < value.length()) {
+                    value = value.substring(blob.end());
+                    changed = true;
+                }
+            }
+            // (5) unwrap [fwd: ...]
+            Matcher fwd = SUBJ_FWD.matcher(value);
+            if (!fwd.matches()) {
+                break;
+            }
+            reply = true;
+            value = fwd.group(1).trim();
+        }
+        return new BaseSubject(value.toUpperCase(Locale.US), reply);
+    }
+
+    private final String value;
+    private final boolean reply;
+
+    private BaseSubject(String value, boolean reply) {
+        this.value = value;
+        this.reply = reply;
+    }
+
+    /**
+     * The base subject, upper cased so that it can be compared as is.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Whether reply or forward indicators were removed from the subject.
+     */
+    public boolean isReply() {
+        return reply;
+    }
+}
@@ -0,0 +1,268 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.thread;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.apache.james.imap.message.response.ThreadResponse.Node;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * In-memory implementations of the RFC5256 threading algorithms.
+ */
+public class MessageThreader {
+
+    private static class Container {
+        private ThreadMessage message;
+        private Container parent;
+        private final List<Container> children = new ArrayList<>();
+
+        boolean isDummy() {
+            return message == null;
+        }
+
+        boolean isAncestorOf(Container container) {
+            for (Container current = container; current != null; current = current.parent) {
+                if (current == this) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void addChild(Container child) {
+            if (child.parent != null) {
+                child.parent.children.remove(child);
+            }
+            child.parent = this;
+            children.add(child);
+        }
+
+        void unlink() {
+            if (parent != null) {
+                parent.children.remove(this);
+                parent = null;
+            }
+        }
+
+        int sentOrder() {
+            if (message != null) {
+                return message.getSentOrder();
+            }
+            return children.stream()
+                .mapToInt(Container::sentOrder)
+                .min()
+                .orElse(Integer.MAX_VALUE);
+        }
+
+        Optional<BaseSubject> subject() {
+            if (message != null) {
+                return Optional.of(message.getBaseSubject());
+            }
+            return children.stream()
+                .min(Comparator.comparingInt(Container::sentOrder))
+                .flatMap(Container::subject);
+        }
+
+        Node toNode() {
+            List<Node> childNodes = children.stream()
+                .map(Container::toNode)
+                .collect(ImmutableList.toImmutableList());
+            if (message == null) {
+                return Node.dummy(childNodes);
+            }
+            return Node.message(message.getId(), childNodes);
+        }
+    }
+
+    /**
+     * Threads messages by base subject: in each thread, the first sent message is the parent of the others.
+     */
+    public static List<Node> orderedSubject(List<ThreadMessage> messages) {
+        Map<String, List<ThreadMessage>> bySubject = messages.stream()
+            .sorted(Comparator.comparingInt(ThreadMessage::getSentOrder))
+            .collect(Collectors.groupingBy(message -> message.getBaseSubject().getValue(), LinkedHashMap::new, Collectors.toList()));
+
+        return bySubject.values().stream()
+            .map(thread -> Node.message(thread.get(0).getId(), thread.subList(1, thread.size())
+                .stream()
+                .map(message -> Node.message(message.getId()))
+                .collect(ImmutableList.toImmutableList())))
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Threads messages according to the REFERENCES algorithm, a variant of the algorithm described by Jamie Zawinski.
+     */
+    public static List<Node> references(List<ThreadMessage> messages) {
+        List<Container> roots = groupBySubject(prune(linkReferences(messages), true));
+        sort(roots);
+        return roots.stream()
+            .map(Container::toNode)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * Steps (1) to (3): link messages to their parents according to the references, and return the root set.
+     */
+    private static List<Container> linkReferences(List<ThreadMessage> messages) {
+        Map<String, Container> idTable = new HashMap<>();
+        List<Container> containers = new ArrayList<>();
+
+        for (ThreadMessage message : messages) {
+            Container container = message.getMessageId()
+                .map(id -> idTable.get(id))
+                .filter(Container::isDummy)
+                .orElseGet(() -> {
+                    Container created = new Container();
+                    containers.add(created);
+                    // Duplicated Message-IDs are treated as if they had none
+                    message.getMessageId().ifPresent(id -> idTable.putIfAbsent(id, created));
+                    return created;
+                });
+            container.message = message;
+
+            Container previous = null;
+            for (String reference : message.getReferences()) {
+                Container referenced = idTable.computeIfAbsent(reference, id -> {
+                    Container created = new Container();
+                    containers.add(created);
+                    return created;
+                });
+                if (previous != null && referenced.parent == null && !referenced.isAncestorOf(previous)) {
+                    previous.addChild(referenced);
+                }
+                previous = referenced;
+            }
+
+            container.unlink();
+            if (previous != null && !container.isAncestorOf(previous)) {
+                previous.addChild(container);
+            }
+        }
+
+        return containers.stream()
+            .filter(container -> container.parent == null)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Step (4): remove dummies without children and promote the children of the other dummies,
+     * unless they are several children of a root dummy.
+     */
+    private static List<Container> prune(List<Container> siblings, boolean root) {
+        List<Container> result = new ArrayList<>();
+        for (Container container : siblings) {
+            List<Container> children = prune(new ArrayList<>(container.children), false);
+            container.children.clear();
+            children.forEach(container::addChild);
+
+            if (container.isDummy()) {
+                if (container.children.isEmpty()) {
+                    container.unlink();
+                    continue;
+                }
+                if (!root || container.children.size() == 1) {
+                    for (Container child : new ArrayList<>(container.children)) {
+                        child.unlink();
+                        child.parent = null;
+                        result.add(child);
+                    }
+                    continue;
+                }
+            }
+            result.add(container);
+        }
+        return result;
+    }
+
+    /**
+     * Step (5): gather root messages sharing the same base subject.
+     */
+    private static List<Container> groupBySubject(List<Container> roots) {
+        Map<String, Container> subjectTable = new HashMap<>();
+        for (Container root : roots) {
+            root.subject()
+                .filter(subject -> !subject.getValue().isEmpty())
+                .ifPresent(subject -> subjectTable.merge(subject.getValue(), root, MessageThreader::preferred));
+        }
+
+        List<Container> result = new ArrayList<>(roots);
+        for (Container root : roots) {
+            if (root.parent != null) {
+                // Already merged into another thread
+                continue;
+            }
+            Optional<String> subject = root.subject()
+                .map(BaseSubject::getValue)
+                .filter(value -> !value.isEmpty());
+            if (!subject.isPresent()) {
+                continue;
+            }
+            Container entry = subjectTable.get(subject.get());
+            if (entry == root) {
+                continue;
+            }
+            result.remove(root);
+            if (entry.isDummy() && root.isDummy()) {
+                new ArrayList<>(root.children).forEach(entry::addChild);
+            } else if (entry.isDummy() || (!isReply(entry) && isReply(root))) {
+                entry.addChild(root);
+            } else {
+                Container dummy = new Container();
+                result.set(result.indexOf(entry), dummy);
+                dummy.addChild(entry);
+                dummy.addChild(root);
+                subjectTable.put(subject.get(), dummy);
+            }
+        }
+        return result;
+    }
+
+    private static Container preferred(Container current, Container candidate) {
+        if (!current.isDummy() && candidate.isDummy()) {
+            return candidate;
+        }
+        if (!current.isDummy() && isReply(current) && !isReply(candidate)) {
+            return candidate;
+        }
+        return current;
+    }
+
+    private static boolean isReply(Container container) {
+        return container.message != null && container.message.getBaseSubject().isReply();
+    }
+
+    /**
+     * Step (6): sort siblings by sent date, dummies being sorted according to their first child.
+     */
+    private static void sort(List<Container> siblings) {
+        siblings.forEach(container -> sort(container.children));
+        siblings.sort(Comparator.comparingInt(Container::sentOrder));
+    }
+}
@@ -0,0 +1,121 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.thread;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.james.mailbox.model.Header;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Projection of the headers of a message needed for threading it.
+ */
+public class ThreadMessage {
+    private static final Pattern MSG_ID = Pattern.compile("<[^<>\\s]+>");
+
+    /**
+     * @param id the id to return to the client, either a UID or a message sequence number
+     * @param sentOrder the position of the message when sorted by sent date
+     */
+    public static ThreadMessage from(long id, int sentOrder, Iterator<Header> headers) {
+        Optional<String> messageId = Optional.empty();
+        List<String> references = ImmutableList.of();
+        List<String> inReplyTo = ImmutableList.of();
+        String subject = "";
+        while (headers.hasNext()) {
+            Header header = headers.next();
+            String name = header.getName();
+            if (name.equalsIgnoreCase("Message-ID")) {
+                messageId = msgIds(header.getValue()).stream().findFirst();
+            } else if (name.equalsIgnoreCase("References")) {
+                references = msgIds(header.getValue());
+            } else if (name.equalsIgnoreCase("In-Reply-To")) {
+                inReplyTo = msgIds(header.getValue());
+            } else if (name.equalsIgnoreCase("Subject")) {
+                subject = header.getValue();
+            }
+        }
+        // RFC5256 REFERENCES (1): fall back on the first msg-id of In-Reply-To when there is no References
+        if (references.isEmpty() && !inReplyTo.isEmpty()) {
+            references = inReplyTo.subList(0, 1);
+        }
+        return new ThreadMessage(id, sentOrder, messageId, references, BaseSubject.extract(subject));
+    }
+
+    private static List<String> msgIds(String value) {
+        ImmutableList.Builder<String> result = ImmutableList.builder();
+        Matcher matcher = MSG_ID.matcher(value);
+        while (matcher.find()) {
+            result.add(matcher.group());
+        }
+        return result.build();
+    }
+
+    private final long id;
+    private final int sentOrder;
+    private final Optional<String> messageId;
+    private final List<String> references;
+    private final BaseSubject baseSubject;
+
+    public ThreadMessage(long id, int sentOrder, Optional<String> messageId, List<String> references, BaseSubject baseSubject) {
+        this.id = id;
+        this.sentOrder = sentOrder;
+        this.messageId = messageId;
+        this.references = references;
+        this.baseSubject = baseSubject;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getSentOrder() {
+        return sentOrder;
+    }
+
+    public Optional<String> getMessageId() {
+        return messageId;
+    }
+
+    public List<String> getReferences() {
+        return references;
+    }
+
+    public BaseSubject getBaseSubject() {
+        return baseSubject;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("id", id)
+            .add("sentOrder", sentOrder)
+            .add("messageId", messageId)
+            .add("references", references)
+            .add("baseSubject", baseSubject.getValue())
+            .toString();
+    }
+}
@@ -0,0 +1,104 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.decode.parser;
+
+import static org.apache.james.imap.ImapFixture.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+
+import org.apache.james.imap.api.message.StatusDataItems;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.decode.DecodingException;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.apache.james.imap.message.request.ListRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ListCommandParserTest {
+    private ListCommandParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new ListCommandParser(mock(StatusResponseFactory.class));
+    }
+
+    private ListRequest decode(String command) throws DecodingException {
+        ImapRequestStreamLineReader reader = new ImapRequestStreamLineReader(
+            new ByteArrayInputStream(command.getBytes(StandardCharsets.US_ASCII)), null);
+        return (ListRequest) parser.decode(reader, TAG, false, null);
+    }
+
+    @Test
+    void decodeShouldNotRequireReturnOptions() throws Exception {
+        ListRequest request = decode("\"\" \"*\"\r\n");
+
+        assertThat(request.getBaseReferenceName()).isEmpty();
+        assertThat(request.getMailboxPattern()).isEqualTo("*");
+        assertThat(request.getStatusDataItems()).isEmpty();
+    }
+
+    @Test
+    void decodeShouldParseStatusReturnOption() throws Exception {
+        ListRequest request = decode("\"\" % RETURN (STATUS (MESSAGES UNSEEN))\r\n");
+
+        assertThat(request.getMailboxPattern()).isEqualTo("%");
+        assertThat(request.getStatusDataItems())
+            .hasValueSatisfying(items -> assertThat(items.toString())
+                .isEqualTo(new StatusDataItems(EnumSet.of(StatusDataItems.StatusItem.MESSAGES, StatusDataItems.StatusItem.UNSEEN)).toString()));
+    }
+
+    @Test
+    void decodeShouldAcceptChildrenReturnOption() throws Exception {
+        ListRequest request = decode("\"\" \"*\" return (children status (uidnext))\r\n");
+
+        assertThat(request.getStatusDataItems())
+            .hasValueSatisfying(items -> assertThat(items.isUidNext()).isTrue());
+    }
+
+    @Test
+    void decodeShouldAcceptEmptyReturnOptions() throws Exception {
+        ListRequest request = decode("\"\" \"*\" RETURN ()\r\n");
+
+        assertThat(request.getStatusDataItems()).isEmpty();
+    }
+
+    @Test
+    void decodeShouldRejectUnsupportedReturnOptions() {
+        assertThatThrownBy(() -> decode("\"\" \"*\" RETURN (SUBSCRIBED)\r\n"))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectUnknownStatusItems() {
+        assertThatThrownBy(() -> decode("\"\" \"*\" RETURN (STATUS (SIZE))\r\n"))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectTrailingArguments() {
+        assertThatThrownBy(() -> decode("\"\" \"*\" FOO\r\n"))
+            .isInstanceOf(DecodingException.class);
+    }
+}
@@ -0,0 +1,135 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.decode.parser;
+
+import static org.apache.james.imap.ImapFixture.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.request.SearchKey;
+import org.apache.james.imap.api.message.request.SearchResultOption;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.decode.DecodingException;
+import org.apache.james.imap.decode.ImapRequestStreamLineReader;
+import org.apache.james.imap.message.request.SortRequest;
+import org.apache.james.mailbox.model.SearchQuery.Sort;
+import org.apache.james.mailbox.model.SearchQuery.Sort.Order;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class SortCommandParserTest {
+    private SortCommandParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new SortCommandParser(mock(StatusResponseFactory.class));
+    }
+
+    private SortRequest decode(String command, boolean useUids) throws DecodingException {
+        ImapRequestStreamLineReader reader = new ImapRequestStreamLineReader(
+            new ByteArrayInputStream(command.getBytes(StandardCharsets.US_ASCII)), null);
+        return (SortRequest) parser.decode(reader, TAG, useUids, null);
+    }
+
+    @Test
+    void decodeShouldParseSortCriteriaAndAppendUidTieBreaker() throws Exception {
+        SortRequest request = decode("(REVERSE ARRIVAL subject) UTF-8 ALL\r\n", false);
+
+        assertThat(request.getSorts()).containsExactly(
+            new Sort(SortClause.Arrival, Order.REVERSE),
+            new Sort(SortClause.BaseSubject, Order.NATURAL),
+            new Sort(SortClause.Uid, Order.NATURAL));
+        assertThat(request.getSearchOperation().getSearchKey()).isEqualTo(SearchKey.buildAll());
+        assertThat(request.getSearchOperation().getResultOptions()).isEmpty();
+        assertThat(request.getPartialRange()).isEmpty();
+        assertThat(request.isUseUids()).isFalse();
+    }
+
+    @Test
+    void decodeShouldMapAllSortKeys() throws Exception {
+        SortRequest request = decode("(CC DATE FROM SIZE TO) US-ASCII ALL\r\n", true);
+
+        assertThat(request.getSorts()).extracting(Sort::getSortClause).containsExactly(
+            SortClause.MailboxCc, SortClause.SentDate, SortClause.MailboxFrom, SortClause.Size, SortClause.MailboxTo, SortClause.Uid);
+        assertThat(request.isUseUids()).isTrue();
+    }
+
+    @Test
+    void decodeShouldCombineSearchKeys() throws Exception {
+        SortRequest request = decode("(DATE) UTF-8 UNSEEN FROM \"bob\"\r\n", false);
+
+        assertThat(request.getSearchOperation().getSearchKey())
+            .isEqualTo(SearchKey.buildAnd(ImmutableList.of(SearchKey.buildUnseen(), SearchKey.buildFrom("bob"))));
+    }
+
+    @Test
+    void decodeShouldParseReturnOptions() throws Exception {
+        SortRequest request = decode("RETURN (MIN COUNT PARTIAL 1:500) (DATE) UTF-8 ALL\r\n", false);
+
+        assertThat(request.getSearchOperation().getResultOptions())
+            .containsExactly(SearchResultOption.MIN, SearchResultOption.COUNT, SearchResultOption.PARTIAL);
+        assertThat(request.getPartialRange()).contains(new IdRange(1, 500));
+    }
+
+    @Test
+    void decodeShouldTreatEmptyReturnAsAll() throws Exception {
+        SortRequest request = decode("RETURN () (DATE) UTF-8 ALL\r\n", false);
+
+        assertThat(request.getSearchOperation().getResultOptions()).containsExactly(SearchResultOption.ALL);
+    }
+
+    @Test
+    void decodeShouldRejectUnknownSortKey() {
+        assertThatThrownBy(() -> decode("(COLOR) UTF-8 ALL\r\n", false))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectEmptySortCriteria() {
+        assertThatThrownBy(() -> decode("() UTF-8 ALL\r\n", false))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectDanglingReverse() {
+        assertThatThrownBy(() -> decode("(DATE REVERSE) UTF-8 ALL\r\n", false))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectMissingCharset() {
+        assertThatThrownBy(() -> decode("(DATE)\r\n", false))
+            .isInstanceOf(DecodingException.class);
+    }
+
+    @Test
+    void decodeShouldRejectUnboundedPartialRange() {
+        assertThatThrownBy(() -> decode("RETURN (PARTIAL 1:*) (DATE) UTF-8 ALL\r\n", false))
+            .isInstanceOf(DecodingException.class);
+    }
+}
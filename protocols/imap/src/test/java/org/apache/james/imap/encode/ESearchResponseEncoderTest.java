@@ -0,0 +1,67 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.encode;
+
+import static org.apache.james.imap.ImapFixture.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.UidRange;
+import org.apache.james.imap.api.message.request.SearchResultOption;
+import org.apache.james.imap.encode.base.ByteImapResponseWriter;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.message.response.ESearchResponse;
+import org.apache.james.mailbox.MessageUid;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class ESearchResponseEncoderTest {
+    private static final IdRange[] ALL = { new IdRange(7), new IdRange(2, 4) };
+    private static final UidRange[] ALL_UIDS = { new UidRange(MessageUid.of(7)), new UidRange(MessageUid.of(2), MessageUid.of(4)) };
+
+    private ESearchResponseEncoder encoder = new ESearchResponseEncoder();
+    private ByteImapResponseWriter writer = new ByteImapResponseWriter();
+    private ImapResponseComposer composer = new ImapResponseComposerImpl(writer);
+
+    @Test
+    void encodeShouldWriteRequestedOptions() throws Exception {
+        encoder.encode(new ESearchResponse(7, 4, 4, ALL, ALL_UIDS, null, TAG, false,
+            ImmutableList.of(SearchResultOption.MIN, SearchResultOption.MAX, SearchResultOption.COUNT, SearchResultOption.ALL)), composer);
+
+        assertThat(writer.getString()).isEqualTo("* ESEARCH (TAG \"" + TAG.asString() + "\") MIN 7 MAX 4 COUNT 4 ALL 7,2:4\r\n");
+    }
+
+    @Test
+    void encodeShouldWritePartialResults() throws Exception {
+        encoder.encode(new ESearchResponse(7, 4, 4, ALL, ALL_UIDS, null, TAG, true,
+            ImmutableList.of(SearchResultOption.PARTIAL), new IdRange(1, 2), new IdRange[] { new IdRange(7), new IdRange(2) }), composer);
+
+        assertThat(writer.getString()).isEqualTo("* ESEARCH (TAG \"" + TAG.asString() + "\") UID PARTIAL (1:2 7,2)\r\n");
+    }
+
+    @Test
+    void encodeShouldWriteNilWhenPartialWindowIsEmpty() throws Exception {
+        encoder.encode(new ESearchResponse(7, 4, 4, ALL, ALL_UIDS, null, TAG, false,
+            ImmutableList.of(SearchResultOption.PARTIAL), new IdRange(10, 20), new IdRange[0]), composer);
+
+        assertThat(writer.getString()).isEqualTo("* ESEARCH (TAG \"" + TAG.asString() + "\") PARTIAL (10:20 NIL)\r\n");
+    }
+}
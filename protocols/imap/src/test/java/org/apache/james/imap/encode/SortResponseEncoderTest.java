@@ -0,0 +1,68 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.encode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.james.imap.encode.base.ByteImapResponseWriter;
+import org.apache.james.imap.encode.base.ImapResponseComposerImpl;
+import org.apache.james.imap.message.response.SortResponse;
+import org.apache.james.mailbox.ModSeq;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SortResponseEncoderTest {
+    private static final long[] IDS = { 16, 1, 9, 4 };
+
+    private SortResponseEncoder encoder;
+    private ByteImapResponseWriter writer = new ByteImapResponseWriter();
+    private ImapResponseComposer composer = new ImapResponseComposerImpl(writer);
+
+    @BeforeEach
+    void setUp() {
+        encoder = new SortResponseEncoder();
+    }
+
+    @Test
+    void acceptableMessagesShouldReturnSortResponseClass() {
+        assertThat(encoder.acceptableMessages()).isEqualTo(SortResponse.class);
+    }
+
+    @Test
+    void encodeShouldPreserveSortOrder() throws Exception {
+        encoder.encode(new SortResponse(IDS, null), composer);
+
+        assertThat(writer.getString()).isEqualTo("* SORT 16 1 9 4\r\n");
+    }
+
+    @Test
+    void encodeShouldIncludeHighestModSeqWhenPresent() throws Exception {
+        encoder.encode(new SortResponse(IDS, ModSeq.of(42)), composer);
+
+        assertThat(writer.getString()).isEqualTo("* SORT 16 1 9 4 (MODSEQ 42)\r\n");
+    }
+
+    @Test
+    void encodeShouldHandleEmptyResults() throws Exception {
+        encoder.encode(new SortResponse(new long[0], null), composer);
+
+        assertThat(writer.getString()).isEqualTo("* SORT\r\n");
+    }
+}
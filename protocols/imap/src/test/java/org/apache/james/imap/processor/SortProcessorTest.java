@@ -0,0 +1,188 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor;
+
+import static org.apache.james.imap.ImapFixture.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.IdRange;
+import org.apache.james.imap.api.message.UidRange;
+import org.apache.james.imap.api.message.request.SearchKey;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.imap.api.message.request.SearchResultOption;
+import org.apache.james.imap.api.message.response.ImapResponseMessage;
+import org.apache.james.imap.api.message.response.StatusResponse;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.api.process.ImapProcessor;
+import org.apache.james.imap.api.process.SelectedMailbox;
+import org.apache.james.imap.encode.FakeImapSession;
+import org.apache.james.imap.message.request.SortRequest;
+import org.apache.james.imap.message.response.ESearchResponse;
+import org.apache.james.imap.message.response.SortResponse;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.SearchQuery.Sort;
+import org.apache.james.mailbox.model.SearchQuery.Sort.Order;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+class SortProcessorTest {
+    private static final Username USER = Username.of("user");
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath("namespace", USER, "name");
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final List<Sort> SORTS = ImmutableList.of(new Sort(SortClause.Arrival, Order.REVERSE), new Sort(SortClause.Uid));
+
+    SortProcessor processor;
+    ImapProcessor.Responder responder;
+    FakeImapSession session;
+    StatusResponse statusResponse;
+    MessageManager mailbox;
+    MailboxSession mailboxSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StatusResponseFactory serverResponseFactory = mock(StatusResponseFactory.class);
+        MailboxManager mailboxManager = mock(MailboxManager.class);
+        SelectedMailbox selectedMailbox = mock(SelectedMailbox.class);
+        responder = mock(ImapProcessor.Responder.class);
+        statusResponse = mock(StatusResponse.class);
+        mailbox = mock(MessageManager.class);
+        mailboxSession = MailboxSessionUtil.create(USER);
+        session = new FakeImapSession();
+        session.setMailboxSession(mailboxSession);
+        session.selected(selectedMailbox);
+
+        when(selectedMailbox.getMailboxId()).thenReturn(MAILBOX_ID);
+        when(selectedMailbox.getPath()).thenReturn(MAILBOX_PATH);
+        when(selectedMailbox.flagUpdateUids()).thenReturn(Collections.emptyList());
+        when(selectedMailbox.getRecent()).thenReturn(new ArrayList<>());
+        when(selectedMailbox.getApplicableFlags()).thenReturn(new Flags());
+        when(mailboxManager.getMailbox(MAILBOX_ID, mailboxSession)).thenReturn(mailbox);
+        when(serverResponseFactory.taggedOk(eq(TAG), same(ImapConstants.SORT_COMMAND), eq(HumanReadableText.COMPLETED)))
+            .thenReturn(statusResponse);
+
+        SearchQuery query = SearchQuery.builder()
+            .andCriteria(SearchQuery.all())
+            .sorts(SORTS)
+            .build();
+        when(mailbox.search(query, mailboxSession))
+            .thenReturn(Flux.just(MessageUid.of(7), MessageUid.of(2), MessageUid.of(3), MessageUid.of(4)));
+
+        processor = new SortProcessor(mock(ImapProcessor.class), mailboxManager, serverResponseFactory, new RecordingMetricFactory());
+    }
+
+    private SortRequest request(List<SearchResultOption> options, Optional<IdRange> partialRange) {
+        return new SortRequest(new SearchOperation(SearchKey.buildAll(), options), SORTS, partialRange, true, TAG);
+    }
+
+    private ESearchResponse esearchResponse() {
+        ArgumentCaptor<ImapResponseMessage> captor = ArgumentCaptor.forClass(ImapResponseMessage.class);
+        verify(responder, atLeastOnce()).respond(captor.capture());
+        return captor.getAllValues().stream()
+            .filter(ESearchResponse.class::isInstance)
+            .map(ESearchResponse.class::cast)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    void sortShouldRespondIdsInSortOrder() {
+        processor.processRequest(request(ImmutableList.of(), Optional.empty()), session, responder);
+
+        verify(responder).respond(new SortResponse(new long[] {7, 2, 3, 4}, null));
+        verify(responder).respond(same(statusResponse));
+    }
+
+    @Test
+    void esortShouldReturnMinAndMaxInSortOrder() {
+        processor.processRequest(request(ImmutableList.of(SearchResultOption.MIN, SearchResultOption.MAX, SearchResultOption.COUNT), Optional.empty()),
+            session, responder);
+
+        ESearchResponse response = esearchResponse();
+        assertThat(response.getMinUid()).isEqualTo(7);
+        assertThat(response.getMaxUid()).isEqualTo(4);
+        assertThat(response.getCount()).isEqualTo(4);
+    }
+
+    @Test
+    void esortShouldOnlyMergeAscendingRunsWhenReturningAll() {
+        processor.processRequest(request(ImmutableList.of(SearchResultOption.ALL), Optional.empty()), session, responder);
+
+        assertThat(esearchResponse().getAllUids())
+            .extracting(UidRange::getFormattedString)
+            .containsExactly("7", "2:4");
+    }
+
+    @Test
+    void esortShouldReturnRequestedPartialWindow() {
+        processor.processRequest(request(ImmutableList.of(SearchResultOption.PARTIAL), Optional.of(new IdRange(2, 10))), session, responder);
+
+        ESearchResponse response = esearchResponse();
+        assertThat(response.getPartialRange().getFormattedString()).isEqualTo("2:10");
+        assertThat(response.getPartial()).containsExactly(new IdRange(2, 4));
+    }
+
+    @Test
+    void esortShouldReturnEmptyPartialWhenWindowIsOutOfResults() {
+        processor.processRequest(request(ImmutableList.of(SearchResultOption.PARTIAL), Optional.of(new IdRange(5, 10))), session, responder);
+
+        assertThat(esearchResponse().getPartial()).isEmpty();
+    }
+
+    @Test
+    void sortShouldPushSortsDownToTheSearch() throws Exception {
+        processor.processRequest(request(ImmutableList.of(), Optional.empty()), session, responder);
+
+        ArgumentCaptor<SearchQuery> captor = ArgumentCaptor.forClass(SearchQuery.class);
+        verify(mailbox).search(captor.capture(), any());
+        assertThat(captor.getValue().getSorts()).isEqualTo(SORTS);
+    }
+}
@@ -0,0 +1,231 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor;
+
+import static org.apache.james.imap.ImapFixture.TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.mail.Flags;
+
+import org.apache.james.core.Username;
+import org.apache.james.imap.api.ImapConstants;
+import org.apache.james.imap.api.display.HumanReadableText;
+import org.apache.james.imap.api.message.request.SearchKey;
+import org.apache.james.imap.api.message.request.SearchOperation;
+import org.apache.james.imap.api.message.request.ThreadAlgorithm;
+import org.apache.james.imap.api.message.response.StatusResponse;
+import org.apache.james.imap.api.message.response.StatusResponseFactory;
+import org.apache.james.imap.api.process.ImapProcessor;
+import org.apache.james.imap.api.process.SelectedMailbox;
+import org.apache.james.imap.encode.FakeImapSession;
+import org.apache.james.imap.message.request.ThreadRequest;
+import org.apache.james.imap.message.response.ThreadResponse;
+import org.apache.james.imap.message.response.ThreadResponse.Node;
+import org.apache.james.mailbox.MailboxManager;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MailboxSessionUtil;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.ModSeq;
+import org.apache.james.mailbox.exception.MailboxException;
+import org.apache.james.mailbox.model.ComposedMessageId;
+import org.apache.james.mailbox.model.ComposedMessageIdWithMetaData;
+import org.apache.james.mailbox.model.FetchGroup;
+import org.apache.james.mailbox.model.Header;
+import org.apache.james.mailbox.model.Headers;
+import org.apache.james.mailbox.model.MailboxId;
+import org.apache.james.mailbox.model.MailboxPath;
+import org.apache.james.mailbox.model.MessageRange;
+import org.apache.james.mailbox.model.MessageResult;
+import org.apache.james.mailbox.model.MessageResultIterator;
+import org.apache.james.mailbox.model.SearchQuery;
+import org.apache.james.mailbox.model.SearchQuery.Sort;
+import org.apache.james.mailbox.model.SearchQuery.Sort.SortClause;
+import org.apache.james.mailbox.model.TestId;
+import org.apache.james.mailbox.model.TestMessageId;
+import org.apache.james.mailbox.model.ThreadId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import reactor.core.publisher.Flux;
+
+class ThreadProcessorTest {
+    private static final Username USER = Username.of("user");
+    private static final MailboxPath MAILBOX_PATH = new MailboxPath("namespace", USER, "name");
+    private static final MailboxId MAILBOX_ID = TestId.of(18);
+    private static final ThreadId THREAD_A = ThreadId.fromBaseMessageId(TestMessageId.of(1));
+    private static final ThreadId THREAD_B = ThreadId.fromBaseMessageId(TestMessageId.of(3));
+
+    private static final Map<Long, List<Header>> HEADERS = ImmutableMap.of(
+        1L, ImmutableList.of(new Header("Message-ID", "<a@x>"), new Header("Subject", "Hello")),
+        2L, ImmutableList.of(new Header("Message-ID", "<b@x>"), new Header("Subject", "Re: Hello"), new Header("References", "<a@x>")),
+        3L, ImmutableList.of(new Header("Message-ID", "<c@x>"), new Header("Subject", "Other")),
+        4L, ImmutableList.of(new Header("Message-ID", "<d@x>"), new Header("Subject", "Re: Hello"), new Header("In-Reply-To", "<b@x>")));
+
+    private static class ListMessageResultIterator implements MessageResultIterator {
+        private final Iterator<MessageResult> results;
+
+        ListMessageResultIterator(List<MessageResult> results) {
+            this.results = results.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return results.hasNext();
+        }
+
+        @Override
+        public MessageResult next() {
+            return results.next();
+        }
+
+        @Override
+        public MailboxException getException() {
+            return null;
+        }
+    }
+
+    ThreadProcessor processor;
+    ImapProcessor.Responder responder;
+    FakeImapSession session;
+    StatusResponse statusResponse;
+    MessageManager mailbox;
+    MailboxSession mailboxSession;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StatusResponseFactory serverResponseFactory = mock(StatusResponseFactory.class);
+        MailboxManager mailboxManager = mock(MailboxManager.class);
+        SelectedMailbox selectedMailbox = mock(SelectedMailbox.class);
+        responder = mock(ImapProcessor.Responder.class);
+        statusResponse = mock(StatusResponse.class);
+        mailbox = mock(MessageManager.class);
+        mailboxSession = MailboxSessionUtil.create(USER);
+        session = new FakeImapSession();
+        session.setMailboxSession(mailboxSession);
+        session.selected(selectedMailbox);
+
+        when(selectedMailbox.getMailboxId()).thenReturn(MAILBOX_ID);
+        when(selectedMailbox.getPath()).thenReturn(MAILBOX_PATH);
+        when(selectedMailbox.flagUpdateUids()).thenReturn(Collections.emptyList());
+        when(selectedMailbox.getRecent()).thenReturn(new ArrayList<>());
+        when(selectedMailbox.getApplicableFlags()).thenReturn(new Flags());
+        when(mailboxManager.getMailbox(MAILBOX_ID, mailboxSession)).thenReturn(mailbox);
+        when(serverResponseFactory.taggedOk(eq(TAG), same(ImapConstants.THREAD_COMMAND), eq(HumanReadableText.COMPLETED)))
+            .thenReturn(statusResponse);
+
+        SearchQuery query = SearchQuery.builder()
+            .andCriteria(SearchQuery.all())
+            .sorts(new Sort(SortClause.SentDate), new Sort(SortClause.Uid))
+            .build();
+        when(mailbox.search(query, mailboxSession))
+            .thenReturn(Flux.just(MessageUid.of(1), MessageUid.of(2), MessageUid.of(3), MessageUid.of(4)));
+        when(mailbox.getMessages(any(), eq(FetchGroup.HEADERS), eq(mailboxSession)))
+            .thenAnswer(invocation -> headers(invocation.getArgument(0)));
+
+        processor = new ThreadProcessor(mock(ImapProcessor.class), mailboxManager, serverResponseFactory, new RecordingMetricFactory());
+    }
+
+    private MessageResultIterator headers(MessageRange range) throws MailboxException {
+        List<MessageResult> results = new ArrayList<>();
+        for (MessageUid uid : range) {
+            MessageResult result = mock(MessageResult.class);
+            Headers headers = mock(Headers.class);
+            when(result.getUid()).thenReturn(uid);
+            when(result.getHeaders()).thenReturn(headers);
+            when(headers.headers()).thenReturn(HEADERS.get(uid.asLong()).iterator());
+            results.add(result);
+        }
+        return new ListMessageResultIterator(results);
+    }
+
+    private void storedThreads(ThreadId... threadIds) {
+        List<ComposedMessageIdWithMetaData> metaData = new ArrayList<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            metaData.add(ComposedMessageIdWithMetaData.builder()
+                .composedMessageId(new ComposedMessageId(MAILBOX_ID, TestMessageId.of(i + 1), MessageUid.of(i + 1)))
+                .flags(new Flags())
+                .modSeq(ModSeq.first())
+                .threadId(threadIds[i])
+                .build());
+        }
+        when(mailbox.listMessagesMetadata(any(), eq(mailboxSession)))
+            .thenAnswer(invocation -> {
+                MessageRange range = invocation.getArgument(0);
+                return Flux.fromIterable(metaData)
+                    .filter(message -> range.includes(message.getComposedMessageId().getUid()));
+            });
+    }
+
+    private ThreadRequest request(ThreadAlgorithm algorithm) {
+        return new ThreadRequest(algorithm, new SearchOperation(SearchKey.buildAll(), ImmutableList.of()), true, TAG);
+    }
+
+    @Test
+    void orderedSubjectShouldGroupMessagesByBaseSubject() {
+        processor.processRequest(request(ThreadAlgorithm.ORDEREDSUBJECT), session, responder);
+
+        verify(responder).respond(new ThreadResponse(ImmutableList.of(
+            Node.message(1, ImmutableList.of(Node.message(2), Node.message(4))),
+            Node.message(3))));
+        verify(responder).respond(same(statusResponse));
+    }
+
+    @Test
+    void referencesShouldOnlyReadHeadersOfStoredThreadsWithSeveralMessages() throws Exception {
+        storedThreads(THREAD_A, THREAD_A, THREAD_B, THREAD_A);
+
+        processor.processRequest(request(ThreadAlgorithm.REFERENCES), session, responder);
+
+        verify(responder).respond(new ThreadResponse(ImmutableList.of(
+            Node.message(1, ImmutableList.of(Node.message(2, ImmutableList.of(Node.message(4))))),
+            Node.message(3))));
+        verify(mailbox, never()).getMessages(eq(MessageRange.one(MessageUid.of(3))), any(), any());
+    }
+
+    @Test
+    void referencesShouldThreadInMemoryWhenStoredThreadsAreNotGrouped() {
+        storedThreads(ThreadId.fromBaseMessageId(TestMessageId.of(1)), ThreadId.fromBaseMessageId(TestMessageId.of(2)),
+            ThreadId.fromBaseMessageId(TestMessageId.of(3)), ThreadId.fromBaseMessageId(TestMessageId.of(4)));
+
+        processor.processRequest(request(ThreadAlgorithm.REFERENCES), session, responder);
+
+        verify(responder).respond(new ThreadResponse(ImmutableList.of(
+            Node.message(1, ImmutableList.of(Node.message(2, ImmutableList.of(Node.message(4))))),
+            Node.message(3))));
+    }
+}
@@ -55,6 +55,7 @@ class FetchDataConverterTest {
             Arguments.arguments(FetchData.builder().fetch(Item.UID), FetchGroup.MINIMAL),
             Arguments.arguments(FetchData.builder().vanished(true), FetchGroup.MINIMAL),
             Arguments.arguments(FetchData.builder().add(BodyFetchElement.createRFC822(), PEEK), FetchGroup.FULL_CONTENT),
+            Arguments.arguments(FetchData.builder().add(new BodyFetchElement(ImapConstants.FETCH_RFC822, CONTENT, null, null, 2L, 5L), PEEK), FetchGroup.MINIMAL),
             Arguments.arguments(FetchData.builder().add(BodyFetchElement.createRFC822Header(), PEEK), FetchGroup.HEADERS),
             Arguments.arguments(FetchData.builder().add(BodyFetchElement.createRFC822Text(), PEEK), FetchGroup.BODY_CONTENT),
             Arguments.arguments(FetchData.builder().add(new BodyFetchElement(ImapConstants.FETCH_RFC822_HEADER, HEADER, PATH, null, null, null), PEEK),
@@ -0,0 +1,101 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+
+package org.apache.james.imap.processor.fetch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.mail.Flags;
+
+import org.apache.james.imap.api.message.BodyFetchElement;
+import org.apache.james.imap.api.message.FetchData;
+import org.apache.james.imap.api.message.SectionType;
+import org.apache.james.imap.api.process.SelectedMailbox;
+import org.apache.james.imap.message.response.FetchResponse;
+import org.apache.james.imap.message.response.FetchResponse.BodyElement;
+import org.apache.james.mailbox.MailboxSession;
+import org.apache.james.mailbox.MessageManager;
+import org.apache.james.mailbox.MessageUid;
+import org.apache.james.mailbox.NullableMessageSequenceNumber;
+import org.apache.james.mailbox.exception.MessageRangeException;
+import org.apache.james.mailbox.model.ByteContent;
+import org.apache.james.mailbox.model.MessageResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class FetchResponseBuilderTest {
+    private static final boolean PEEK = true;
+    private static final MessageUid UID = MessageUid.of(1);
+    private static final FetchData PARTIAL_FULL_CONTENT = FetchData.builder()
+        .add(new BodyFetchElement("BODY[]", SectionType.CONTENT, null, null, 2L, 5L), PEEK)
+        .build();
+
+    FetchResponseBuilder testee;
+    MessageResult messageResult;
+    MessageManager mailbox;
+    SelectedMailbox selectedMailbox;
+    MailboxSession mailboxSession;
+
+    @BeforeEach
+    void setUp() {
+        testee = new FetchResponseBuilder(new EnvelopeBuilder());
+        messageResult = mock(MessageResult.class);
+        when(messageResult.getUid()).thenReturn(UID);
+        when(messageResult.getFlags()).thenReturn(new Flags());
+        mailbox = mock(MessageManager.class);
+        selectedMailbox = mock(SelectedMailbox.class);
+        when(selectedMailbox.msn(UID)).thenReturn(NullableMessageSequenceNumber.of(1));
+        mailboxSession = mock(MailboxSession.class);
+    }
+
+    @Test
+    void partialFetchOfTheFullContentShouldOnlyReadTheRequestedRange() throws Exception {
+        when(mailbox.getFullContent(UID, 2, 5, mailboxSession))
+            .thenReturn(Mono.just(new ByteContent("23456".getBytes(StandardCharsets.US_ASCII))));
+
+        FetchResponse response = testee.build(PARTIAL_FULL_CONTENT, messageResult, mailbox, selectedMailbox, mailboxSession);
+
+        BodyElement element = response.getElements().get(0);
+        assertThat(element.getName()).isEqualTo("BODY[]<2>");
+        assertThat(element.size()).isEqualTo(5);
+        assertThat(element.getInputStream()).hasContent("23456");
+        verify(messageResult, never()).getFullContent();
+    }
+
+    @Test
+    void partialFetchOfTheFullContentShouldThrowWhenTheMessageIsNotFound() {
+        when(mailbox.getFullContent(eq(UID), anyLong(), anyLong(), eq(mailboxSession)))
+            .thenReturn(Mono.empty());
+
+        assertThatThrownBy(() -> testee.build(PARTIAL_FULL_CONTENT, messageResult, mailbox, selectedMailbox, mailboxSession))
+            .isInstanceOf(MessageRangeException.class);
+    }
+}
@@ -0,0 +1,75 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BaseSubjectTest {
+    @Test
+    void extractShouldUpperCaseAndCollapseWhitespaces() {
+        assertThat(BaseSubject.extract("  Hello \t  World ").getValue()).isEqualTo("HELLO WORLD");
+    }
+
+    @Test
+    void extractShouldRemoveReplyAndForwardLeaders() {
+        BaseSubject subject = BaseSubject.extract("Re: FWD: re[2]: Hello");
+
+        assertThat(subject.getValue()).isEqualTo("HELLO");
+        assertThat(subject.isReply()).isTrue();
+    }
+
+    @Test
+    void extractShouldRemoveFwdTrailer() {
+        BaseSubject subject = BaseSubject.extract("Hello (fwd)");
+
+        assertThat(subject.getValue()).isEqualTo("HELLO");
+        assertThat(subject.isReply()).isTrue();
+    }
+
+    @Test
+    void extractShouldRemoveLeadingBlobs() {
+        assertThat(BaseSubject.extract("[james-dev] Re: Hello").getValue()).isEqualTo("HELLO");
+    }
+
+    @Test
+    void extractShouldKeepBlobWhenItIsTheWholeSubject() {
+        assertThat(BaseSubject.extract("[james-dev]").getValue()).isEqualTo("[JAMES-DEV]");
+    }
+
+    @Test
+    void extractShouldUnwrapForwardedSubjects() {
+        BaseSubject subject = BaseSubject.extract("[Fwd: Re: Hello]");
+
+        assertThat(subject.getValue()).isEqualTo("HELLO");
+        assertThat(subject.isReply()).isTrue();
+    }
+
+    @Test
+    void extractShouldDecodeEncodedWords() {
+        assertThat(BaseSubject.extract("Re: =?UTF-8?Q?caf=C3=A9?=").getValue()).isEqualTo("CAFÉ");
+    }
+
+    @Test
+    void extractShouldNotFlagOriginalMessagesAsReplies() {
+        assertThat(BaseSubject.extract("Hello").isReply()).isFalse();
+    }
+}
@@ -0,0 +1,142 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.imap.processor.thread;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.james.imap.message.response.ThreadResponse.Node;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+class MessageThreaderTest {
+    private static ThreadMessage message(long id, String messageId, String subject, String... references) {
+        return new ThreadMessage(id, (int) id, Optional.ofNullable(messageId), Arrays.asList(references), BaseSubject.extract(subject));
+    }
+
+    @Test
+    void orderedSubjectShouldGroupBySubjectUnderTheFirstSentMessage() {
+        List<Node> threads = MessageThreader.orderedSubject(ImmutableList.of(
+            message(3, null, "Re: Hello"),
+            message(1, null, "Hello"),
+            message(2, null, "Other"),
+            message(4, null, "hello")));
+
+        assertThat(threads).containsExactly(
+            Node.message(1, ImmutableList.of(Node.message(3), Node.message(4))),
+            Node.message(2));
+    }
+
+    @Test
+    void referencesShouldBuildTreesFromReferences() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", "Hello"),
+            message(2, "<b@x>", "Re: Hello", "<a@x>"),
+            message(3, "<c@x>", "Re: Hello", "<a@x>"),
+            message(4, "<d@x>", "Re: Hello", "<a@x>", "<b@x>"),
+            message(5, "<e@x>", "Other")));
+
+        assertThat(threads).containsExactly(
+            Node.message(1, ImmutableList.of(
+                Node.message(2, ImmutableList.of(Node.message(4))),
+                Node.message(3))),
+            Node.message(5));
+    }
+
+    @Test
+    void referencesShouldPromoteChildrenOfMissingMessages() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<b@x>", "Re: Hello", "<a@x>")));
+
+        assertThat(threads).containsExactly(Node.message(1));
+    }
+
+    @Test
+    void referencesShouldKeepDummyRootsHavingSeveralChildren() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<b@x>", "Re: Hello", "<a@x>"),
+            message(2, "<c@x>", "Re: Hello", "<a@x>")));
+
+        assertThat(threads).containsExactly(
+            Node.dummy(ImmutableList.of(Node.message(1), Node.message(2))));
+    }
+
+    @Test
+    void referencesShouldGatherRepliesWithoutReferencesBySubject() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", "Hello"),
+            message(2, "<b@x>", "Re: Hello")));
+
+        assertThat(threads).containsExactly(
+            Node.message(1, ImmutableList.of(Node.message(2))));
+    }
+
+    @Test
+    void referencesShouldCreateDummiesForOriginalMessagesSharingASubject() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", "Hello"),
+            message(2, "<b@x>", "Hello")));
+
+        assertThat(threads).containsExactly(
+            Node.dummy(ImmutableList.of(Node.message(1), Node.message(2))));
+    }
+
+    @Test
+    void referencesShouldNotGroupEmptySubjects() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", ""),
+            message(2, "<b@x>", "")));
+
+        assertThat(threads).containsExactly(Node.message(1), Node.message(2));
+    }
+
+    @Test
+    void referencesShouldTreatDuplicatedMessageIdsAsDistinctMessages() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", "One"),
+            message(2, "<a@x>", "Two")));
+
+        assertThat(threads).containsExactly(Node.message(1), Node.message(2));
+    }
+
+    @Test
+    void referencesShouldNotLoopOnCircularReferences() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(1, "<a@x>", "One", "<b@x>"),
+            message(2, "<b@x>", "Two", "<a@x>")));
+
+        assertThat(threads).containsExactly(Node.message(2, ImmutableList.of(Node.message(1))));
+    }
+
+    @Test
+    void referencesShouldSortSiblingsBySentOrder() {
+        List<Node> threads = MessageThreader.references(ImmutableList.of(
+            message(3, "<c@x>", "Re: Hello", "<a@x>"),
+            message(1, "<a@x>", "Hello"),
+            message(2, "<b@x>", "Re: Hello", "<a@x>")));
+
+        assertThat(threads).containsExactly(
+            Node.message(1, ImmutableList.of(Node.message(2), Node.message(3))));
+    }
+}
@@ -60,7 +60,7 @@ public class AllButStartTlsLineBasedChannelHandler extends LineBasedFrameDecoder
         return (CommandDetectionSession) pipeline.getContext(HandlerConstants.CORE_HANDLER).getAttachment();
     }
 
-    private String readAll(ChannelBuffer buffer) {
+    protected String readAll(ChannelBuffer buffer) {
         return buffer.toString(StandardCharsets.US_ASCII);
     }
 
@@ -0,0 +1,402 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.protocols.smtp.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import javax.inject.Inject;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.core.MaybeSender;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.metrics.api.TimeMetric;
+import org.apache.james.protocols.api.ProtocolSession;
+import org.apache.james.protocols.api.ProtocolSession.State;
+import org.apache.james.protocols.api.Request;
+import org.apache.james.protocols.api.Response;
+import org.apache.james.protocols.api.handler.CommandHandler;
+import org.apache.james.protocols.api.handler.ExtensibleHandler;
+import org.apache.james.protocols.api.handler.LineHandler;
+import org.apache.james.protocols.api.handler.WiringException;
+import org.apache.james.protocols.smtp.MailEnvelope;
+import org.apache.james.protocols.smtp.MailEnvelopeImpl;
+import org.apache.james.protocols.smtp.SMTPResponse;
+import org.apache.james.protocols.smtp.SMTPRetCode;
+import org.apache.james.protocols.smtp.SMTPSession;
+import org.apache.james.protocols.smtp.core.esmtp.EhloExtension;
+import org.apache.james.protocols.smtp.dsn.DSNStatus;
+import org.apache.james.protocols.smtp.hook.HookResult;
+import org.apache.james.util.MDCBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Handles the BDAT command of the CHUNKING extension (RFC 3030).
+ *
+ * Chunk octets are expected to be handed over as raw frames, as done by
+ * {@link org.apache.james.protocols.smtp.netty.ChunkingLineBasedChannelHandler}, and are written as-is to the
+ * message: unlike DATA there is no per-line {@link DataLineFilter} dispatch nor dot-unstuffing. The Received
+ * headers of the wired {@link ReceivedDataLineFilter} are written before the first chunk, and the wired
+ * {@link DataLineMessageHookHandler} is called once the LAST chunk is received.
+ */
+public class BdatCmdHandler implements CommandHandler<SMTPSession>, ExtensibleHandler, EhloExtension {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BdatCmdHandler.class);
+
+    private static final String COMMAND_NAME = "BDAT";
+    private static final String LAST = "LAST";
+    private static final Collection<String> COMMANDS = ImmutableSet.of(COMMAND_NAME);
+    private static final List<String> ESMTP_FEATURES = ImmutableList.of("CHUNKING");
+    private static final Splitter ARGUMENT_SPLITTER = Splitter.on(CharMatcher.whitespace()).omitEmptyStrings();
+
+    private static final Response INVALID_ARGUMENTS = new SMTPResponse(SMTPRetCode.SYNTAX_ERROR_ARGUMENTS, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_INVALID_ARG) + " Usage: BDAT <chunk-size> [LAST]").immutable();
+    private static final Response NO_RECIPIENT = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " No recipients specified").immutable();
+    private static final Response NO_SENDER = new SMTPResponse(SMTPRetCode.BAD_SEQUENCE, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.DELIVERY_OTHER) + " No sender specified").immutable();
+    private static final Response SIZE_EXCEEDED = new SMTPResponse(SMTPRetCode.QUOTA_EXCEEDED, DSNStatus.getStatus(DSNStatus.PERMANENT, DSNStatus.SYSTEM_MSG_TOO_BIG) + " Message size exceeds fixed maximum message size").immutable();
+    private static final Response ERROR_PROCESSING_MESSAGE = new SMTPResponse(SMTPRetCode.LOCAL_ERROR, DSNStatus.getStatus(DSNStatus.TRANSIENT, DSNStatus.UNDEFINED_STATUS) + " Error processing message").immutable();
+
+    /**
+     * Count of octets received so far for the current transaction. Its presence denotes a started BDAT transaction.
+     */
+    public static final ProtocolSession.AttachmentKey<Long> RECEIVED_OCTETS = ProtocolSession.AttachmentKey.of("BDAT_RECEIVED_OCTETS", Long.class);
+
+    /**
+     * Count of raw octets following the BDAT command this handler just accepted. Framers wait for the command to be
+     * processed and read it to know whether the following octets are a chunk.
+     */
+    public static final ProtocolSession.AttachmentKey<Long> ANNOUNCED_CHUNK_OCTETS = ProtocolSession.AttachmentKey.of("BDAT_ANNOUNCED_CHUNK_OCTETS", Long.class);
+
+    /**
+     * Return the chunk size announced by the given command line, if it is a BDAT command. Framers rely on it to spot
+     * the lines whose processing they need to wait for.
+     */
+    public static Optional<Long> chunkSize(String commandLine) {
+        List<String> parts = ARGUMENT_SPLITTER.limit(3).splitToList(commandLine);
+        if (parts.size() < 2 || !parts.get(0).equalsIgnoreCase(COMMAND_NAME)) {
+            return Optional.empty();
+        }
+        return parseSize(parts.get(1));
+    }
+
+    private static Optional<Long> parseSize(String size) {
+        if (size.isEmpty() || size.length() > 18 || !CharMatcher.inRange('0', '9').matchesAllOf(size)) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.parseLong(size));
+    }
+
+    private final MetricFactory metricFactory;
+    private List<DataLineMessageHookHandler> messageHookHandlers = ImmutableList.of();
+    private List<ReceivedDataLineFilter> receivedHeaderFilters = ImmutableList.of();
+
+    @Inject
+    public BdatCmdHandler(MetricFactory metricFactory) {
+        this.metricFactory = metricFactory;
+    }
+
+    @Override
+    public Response onCommand(SMTPSession session, Request request) {
+        TimeMetric timeMetric = metricFactory.timer("SMTP-" + request.getCommand());
+        try (Closeable closeable =
+                 MDCBuilder.create()
+                     .addToContext(MDCBuilder.ACTION, request.getCommand())
+                     .build()) {
+            List<String> arguments = Optional.ofNullable(request.getArgument())
+                .map(ARGUMENT_SPLITTER::splitToList)
+                .orElse(ImmutableList.of());
+            Optional<Long> size = arguments.stream().findFirst().flatMap(BdatCmdHandler::parseSize);
+            if (!size.isPresent()) {
+                // The chunk size is unknown: the octets following this command can not be told apart from commands
+                return INVALID_ARGUMENTS;
+            }
+            boolean last = arguments.size() == 2 && arguments.get(1).toUpperCase(Locale.US).equals(LAST);
+            if (arguments.size() > 2 || (arguments.size() == 2 && !last)) {
+                return expectChunk(session, new DiscardingChunkHandler(size.get(), INVALID_ARGUMENTS));
+            }
+
+            Response rejection = doBDATFilter(session, size.get());
+            if (rejection != null) {
+                abort(session);
+                return expectChunk(session, new DiscardingChunkHandler(size.get(), rejection));
+            }
+            return expectChunk(session, new ChunkHandler(size.get(), last));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            timeMetric.stopAndPublish();
+        }
+    }
+
+    private Response expectChunk(SMTPSession session, AbstractChunkHandler chunkHandler) {
+        if (chunkHandler.remaining == 0) {
+            return chunkHandler.onChunkReceived(session);
+        }
+        session.pushLineHandler(chunkHandler);
+        session.setAttachment(ANNOUNCED_CHUNK_OCTETS, chunkHandler.remaining, State.Connection);
+        return null;
+    }
+
+    protected Response doBDATFilter(SMTPSession session, long chunkSize) {
+        if (!session.getAttachment(SMTPSession.SENDER, State.Transaction).isPresent()) {
+            return NO_SENDER;
+        }
+        if (!session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).isPresent()) {
+            return NO_RECIPIENT;
+        }
+        long maxMessageSize = session.getConfiguration().getMaxMessageSize();
+        long receivedOctets = session.getAttachment(RECEIVED_OCTETS, State.Transaction).orElse(0L);
+        if (maxMessageSize > 0 && receivedOctets + chunkSize > maxMessageSize) {
+            return SIZE_EXCEEDED;
+        }
+        if (!session.getAttachment(RECEIVED_OCTETS, State.Transaction).isPresent()) {
+            Response failure = beginMessage(session);
+            if (failure != null) {
+                return failure;
+            }
+            session.setAttachment(RECEIVED_OCTETS, 0L, State.Transaction);
+            return writeReceivedHeaders(session);
+        }
+        return null;
+    }
+
+    /**
+     * Prepare the storage of the message upon receipt of the first chunk of a transaction.
+     *
+     * @return a response to reject the transaction, <code>null</code> otherwise
+     */
+    protected Response beginMessage(SMTPSession session) {
+        MaybeSender sender = session.getAttachment(SMTPSession.SENDER, State.Transaction).orElse(MaybeSender.nullSender());
+        List<MailAddress> recipients = session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).orElse(ImmutableList.of());
+        MailEnvelopeImpl env = new MailEnvelopeImpl();
+        env.setRecipients(recipients);
+        env.setSender(sender);
+        session.setAttachment(DataCmdHandler.MAILENV, env, State.Transaction);
+        return null;
+    }
+
+    /**
+     * Release the storage of the current transaction when it is aborted. Does nothing by default.
+     */
+    protected void abortMessage(SMTPSession session) {
+
+    }
+
+    private void abort(SMTPSession session) {
+        if (session.getAttachment(RECEIVED_OCTETS, State.Transaction).isPresent()) {
+            abortMessage(session);
+        }
+        session.resetState();
+    }
+
+    /**
+     * Return the {@link OutputStream} chunks of the current transaction are written to.
+     */
+    protected OutputStream getMessageOutputStream(SMTPSession session) throws IOException {
+        return retrieveEnvelope(session).getMessageOutputStream();
+    }
+
+    /**
+     * Called once the LAST chunk was written and the message {@link OutputStream} closed. The session state is reset
+     * afterwards.
+     */
+    protected Response onMessageReceived(SMTPSession session) {
+        MailEnvelope env = retrieveEnvelope(session);
+        return messageHookHandlers.stream()
+            .map(handler -> handler.processExtensions(session, env))
+            .filter(response -> response != null)
+            .findFirst()
+            .orElseGet(() -> AbstractHookableCmdHandler.calcDefaultSMTPResponse(HookResult.DECLINED));
+    }
+
+    private MailEnvelope retrieveEnvelope(SMTPSession session) {
+        return session.getAttachment(DataCmdHandler.MAILENV, State.Transaction)
+            .orElseThrow(() -> new RuntimeException("'" + DataCmdHandler.MAILENV.asString() + "' has not been filled."));
+    }
+
+    private Response writeReceivedHeaders(SMTPSession session) {
+        try {
+            OutputStream out = getMessageOutputStream(session);
+            LineHandler<SMTPSession> writer = (s, line) -> {
+                write(out, line);
+                return null;
+            };
+            receivedHeaderFilters.stream()
+                .filter(filter -> filter.getLocation() == ReceivedDataLineFilter.Location.Prefix)
+                .flatMap(filter -> filter.headers(session).stream())
+                .forEach(header -> header.transferTo(session, writer));
+            return null;
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.error("Unknown error occurred while processing BDAT.", e);
+            return ERROR_PROCESSING_MESSAGE;
+        }
+    }
+
+    private static void write(OutputStream out, ByteBuffer buffer) {
+        try {
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Collection<String> getImplCommands() {
+        return COMMANDS;
+    }
+
+    @Override
+    public List<String> getImplementedEsmtpFeatures(SMTPSession session) {
+        return ESMTP_FEATURES;
+    }
+
+    @Override
+    public List<Class<?>> getMarkerInterfaces() {
+        List<Class<?>> classes = new LinkedList<>();
+        classes.add(DataLineMessageHookHandler.class);
+        classes.add(ReceivedDataLineFilter.class);
+        return classes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void wireExtensions(Class<?> interfaceName, List<?> extension) throws WiringException {
+        if (DataLineMessageHookHandler.class.equals(interfaceName)) {
+            this.messageHookHandlers = (List<DataLineMessageHookHandler>) extension;
+        } else if (ReceivedDataLineFilter.class.equals(interfaceName)) {
+            this.receivedHeaderFilters = (List<ReceivedDataLineFilter>) extension;
+        }
+    }
+
+    /**
+     * Consumes the raw frames of a chunk and replies once all its octets were received.
+     */
+    private abstract static class AbstractChunkHandler implements LineHandler<SMTPSession> {
+        private long remaining;
+
+        AbstractChunkHandler(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public Response onLine(SMTPSession session, ByteBuffer buffer) {
+            remaining -= buffer.remaining();
+            onOctets(session, buffer);
+            if (remaining <= 0) {
+                session.popLineHandler();
+                return onChunkReceived(session);
+            }
+            return null;
+        }
+
+        abstract void onOctets(SMTPSession session, ByteBuffer buffer);
+
+        abstract Response onChunkReceived(SMTPSession session);
+    }
+
+    private static class DiscardingChunkHandler extends AbstractChunkHandler {
+        private final Response response;
+
+        DiscardingChunkHandler(long size, Response response) {
+            super(size);
+            this.response = response;
+        }
+
+        @Override
+        void onOctets(SMTPSession session, ByteBuffer buffer) {
+
+        }
+
+        @Override
+        Response onChunkReceived(SMTPSession session) {
+            return response;
+        }
+    }
+
+    private class ChunkHandler extends AbstractChunkHandler {
+        private final long size;
+        private final boolean last;
+        private Optional<Response> failure = Optional.empty();
+
+        ChunkHandler(long size, boolean last) {
+            super(size);
+            this.size = size;
+            this.last = last;
+        }
+
+        @Override
+        void onOctets(SMTPSession session, ByteBuffer buffer) {
+            if (failure.isPresent()) {
+                return;
+            }
+            try {
+                write(getMessageOutputStream(session), buffer);
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.error("Unknown error occurred while processing BDAT.", e);
+                failure = Optional.of(ERROR_PROCESSING_MESSAGE);
+            }
+        }
+
+        @Override
+        Response onChunkReceived(SMTPSession session) {
+            if (failure.isPresent()) {
+                abort(session);
+                return failure.get();
+            }
+            long receivedOctets = session.getAttachment(RECEIVED_OCTETS, State.Transaction).orElse(0L) + size;
+            session.setAttachment(RECEIVED_OCTETS, receivedOctets, State.Transaction);
+            if (!last) {
+                return new SMTPResponse(SMTPRetCode.MAIL_OK, DSNStatus.getStatus(DSNStatus.SUCCESS, DSNStatus.UNDEFINED_STATUS) + " " + size + " octets received");
+            }
+            try {
+                OutputStream out = getMessageOutputStream(session);
+                out.flush();
+                out.close();
+            } catch (IOException e) {
+                LOGGER.error("Unknown error occurred while processing BDAT.", e);
+                abort(session);
+                return ERROR_PROCESSING_MESSAGE;
+            }
+            try {
+                return onMessageReceived(session);
+            } finally {
+                session.resetState();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.protocols.smtp.netty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.apache.james.protocols.api.ProtocolSession;
+import org.apache.james.protocols.api.ProtocolSession.State;
+import org.apache.james.protocols.netty.AllButStartTlsLineBasedChannelHandler;
+import org.apache.james.protocols.netty.HandlerConstants;
+import org.apache.james.protocols.smtp.core.BdatCmdHandler;
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.ChannelPipeline;
+import org.jboss.netty.channel.ChannelStateEvent;
+import org.jboss.netty.channel.Channels;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+
+/**
+ * Line based framer which hands the octets announced by a BDAT command (RFC 3030) over as raw frames.
+ *
+ * Chunks are emitted as soon as octets are received, and thus not limited by the max line length nor buffered.
+ *
+ * Whether the octets following a line looking like a BDAT command are a chunk depends on the session state: the line
+ * might be part of a DATA body, or BDAT might not be supported. Decoding is thus suspended after such a line until it
+ * was processed, and switches to raw frames only if {@link BdatCmdHandler} accepted it, as told by
+ * {@link BdatCmdHandler#ANNOUNCED_CHUNK_OCTETS}. This holds when commands are processed by an
+ * {@link org.jboss.netty.handler.execution.ExecutionHandler}, as decoding resumes in the I/O thread once the command
+ * was processed.
+ */
+public class ChunkingLineBasedChannelHandler extends AllButStartTlsLineBasedChannelHandler {
+    private static final String BDAT_PREFIX = "bdat ";
+    private static final String BDAT_DECISION_HANDLER = "bdatDecisionHandler";
+
+    private final ChannelPipeline pipeline;
+    private ChannelHandlerContext context;
+    private volatile ChannelBuffer pendingBdatCommand;
+    private long remainingChunkOctets = 0;
+    private boolean decoding = false;
+
+    public ChunkingLineBasedChannelHandler(ChannelPipeline pipeline, int maxFrameLength, boolean stripDelimiter, String pattern) {
+        super(pipeline, maxFrameLength, stripDelimiter, pattern);
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void channelOpen(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
+        this.context = ctx;
+        // Runs after the execution handler, if any, but before the line handlers pushed by the session
+        pipeline.addBefore(HandlerConstants.CORE_HANDLER, BDAT_DECISION_HANDLER, new BdatDecisionHandler());
+        super.channelOpen(ctx, e);
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+        decoding = true;
+        try {
+            super.messageReceived(ctx, e);
+        } finally {
+            decoding = false;
+        }
+    }
+
+    @Override
+    protected Object decode(ChannelHandlerContext ctx, Channel channel, ChannelBuffer buffer) throws Exception {
+        if (remainingChunkOctets > 0) {
+            return readChunk(buffer);
+        }
+        if (pendingBdatCommand != null) {
+            return null;
+        }
+        Object frame = super.decode(ctx, channel, buffer);
+        if (frame instanceof ChannelBuffer && announcesChunk((ChannelBuffer) frame)) {
+            pendingBdatCommand = (ChannelBuffer) frame;
+        }
+        return frame;
+    }
+
+    private boolean announcesChunk(ChannelBuffer line) {
+        return BdatCmdHandler.chunkSize(line.toString(StandardCharsets.US_ASCII))
+            .filter(size -> size > 0)
+            .isPresent();
+    }
+
+    private ChannelBuffer readChunk(ChannelBuffer buffer) {
+        int length = (int) Math.min(remainingChunkOctets, buffer.readableBytes());
+        if (length == 0) {
+            return null;
+        }
+        remainingChunkOctets -= length;
+        return buffer.readBytes(length);
+    }
+
+    /**
+     * Called in the I/O thread once the pending BDAT command was processed.
+     */
+    private void resumeDecoding(long chunkOctets) {
+        pendingBdatCommand = null;
+        remainingChunkOctets = chunkOctets;
+        if (decoding) {
+            // The decoding loop in progress goes on with the remaining octets
+            return;
+        }
+        decoding = true;
+        try {
+            decodeCumulation();
+        } catch (Exception e) {
+            Channels.fireExceptionCaught(context, e);
+        } finally {
+            decoding = false;
+        }
+    }
+
+    private void decodeCumulation() throws Exception {
+        Channel channel = context.getChannel();
+        while (cumulation != null && cumulation.readable()) {
+            int readerIndex = cumulation.readerIndex();
+            Object frame = decode(context, channel, cumulation);
+            if (frame != null) {
+                Channels.fireMessageReceived(context, frame, channel.getRemoteAddress());
+            } else if (readerIndex == cumulation.readerIndex()) {
+                return;
+            }
+        }
+        // Following octets are decoded without cumulation, as expected by FrameDecoder
+        cumulation = null;
+    }
+
+    @Override
+    protected String readAll(ChannelBuffer buffer) {
+        String input = super.readAll(buffer);
+        // Octets following a BDAT command are message content, not pipelined commands
+        int endOfLine = input.indexOf('\n');
+        if (endOfLine > 0 && input.toLowerCase(Locale.US).startsWith(BDAT_PREFIX)) {
+            return input.substring(0, endOfLine);
+        }
+        return input;
+    }
+
+    /**
+     * Tells the framer, once the pending BDAT command was processed, how many raw octets follow it.
+     */
+    private class BdatDecisionHandler extends SimpleChannelUpstreamHandler {
+        @Override
+        public void messageReceived(ChannelHandlerContext ctx, MessageEvent e) throws Exception {
+            if (e.getMessage() != pendingBdatCommand) {
+                super.messageReceived(ctx, e);
+                return;
+            }
+            try {
+                super.messageReceived(ctx, e);
+            } finally {
+                long chunkOctets = announcedChunkOctets();
+                pipeline.execute(() -> resumeDecoding(chunkOctets));
+            }
+        }
+
+        private long announcedChunkOctets() {
+            ProtocolSession session = (ProtocolSession) pipeline.getContext(HandlerConstants.CORE_HANDLER).getAttachment();
+            return session.removeAttachment(BdatCmdHandler.ANNOUNCED_CHUNK_OCTETS, State.Connection)
+                .orElse(0L);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.protocols.smtp.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.apache.james.protocols.api.ProtocolServer;
+import org.apache.james.protocols.api.utils.ProtocolServerUtils;
+import org.apache.james.protocols.netty.AbstractChannelPipelineFactory;
+import org.apache.james.protocols.netty.NettyServer;
+import org.apache.james.protocols.smtp.MailEnvelope;
+import org.apache.james.protocols.smtp.SMTPConfigurationImpl;
+import org.apache.james.protocols.smtp.SMTPProtocol;
+import org.apache.james.protocols.smtp.SMTPProtocolHandlerChain;
+import org.apache.james.protocols.smtp.core.BdatCmdHandler;
+import org.apache.james.protocols.smtp.utils.TestMessageHook;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
+
+class NettyChunkingSMTPServerTest {
+    private static final String LOCALHOST_IP = "127.0.0.1";
+    private static final int RANDOM_PORT = 0;
+
+    private HashedWheelTimer hashedWheelTimer;
+    private TestMessageHook hook;
+    private ProtocolServer server;
+    private Socket socket;
+    private BufferedReader reader;
+    private OutputStream writer;
+
+    @BeforeEach
+    void setup() throws Exception {
+        hashedWheelTimer = new HashedWheelTimer();
+        hook = new TestMessageHook();
+
+        SMTPProtocolHandlerChain chain = new SMTPProtocolHandlerChain(new RecordingMetricFactory());
+        chain.add(new BdatCmdHandler(new RecordingMetricFactory()));
+        chain.add(hook);
+        chain.wireExtensibleHandlers();
+
+        NettyServer nettyServer = new NettyServer.Factory(hashedWheelTimer)
+            .protocol(new SMTPProtocol(chain, new SMTPConfigurationImpl()))
+            .frameHandlerFactory(new ChunkingLineBasedChannelHandlerFactory("starttls", AbstractChannelPipelineFactory.MAX_LINE_LENGTH))
+            .build();
+        nettyServer.setListenAddresses(new InetSocketAddress(LOCALHOST_IP, RANDOM_PORT));
+        server = nettyServer;
+        server.bind();
+
+        InetSocketAddress bindedAddress = new ProtocolServerUtils(server).retrieveBindedAddress();
+        socket = new Socket(bindedAddress.getAddress(), bindedAddress.getPort());
+        reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        writer = socket.getOutputStream();
+        readReply();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        socket.close();
+        server.unbind();
+        hashedWheelTimer.stop();
+    }
+
+    private void send(String data) throws IOException {
+        writer.write(data.getBytes(StandardCharsets.US_ASCII));
+        writer.flush();
+    }
+
+    private List<String> readReply() throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        do {
+            line = reader.readLine();
+            lines.add(line);
+        } while (line != null && line.length() > 3 && line.charAt(3) == '-');
+        return lines;
+    }
+
+    private String readReplyCode() throws IOException {
+        List<String> reply = readReply();
+        return reply.get(reply.size() - 1).substring(0, 3);
+    }
+
+    private void startTransaction() throws IOException {
+        send("EHLO localhost\r\nMAIL FROM:<me@sender>\r\nRCPT TO:<rcpt@domain>\r\n");
+        readReply();
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(readReplyCode()).isEqualTo("250");
+    }
+
+    private String queuedContent(MailEnvelope envelope) throws IOException {
+        return new String(ByteStreams.toByteArray(envelope.getMessageInputStream()), StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void ehloShouldAdvertiseChunking() throws Exception {
+        send("EHLO localhost\r\n");
+
+        assertThat(readReply())
+            .extracting(line -> line.substring(4))
+            .contains("CHUNKING");
+    }
+
+    @Test
+    void bdatShouldDeliverMessageSentInSeveralChunks() throws Exception {
+        startTransaction();
+        String chunk1 = "Subject: Test\r\n\r\n.line starting with a dot\nbare line feed\r\n";
+        String chunk2 = Strings.repeat("a", AbstractChannelPipelineFactory.MAX_LINE_LENGTH * 2) + "\r\n.\r\n";
+
+        send("BDAT " + chunk1.length() + "\r\n" + chunk1 + "BDAT " + chunk2.length() + " LAST\r\n" + chunk2);
+
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(hook.getQueued()).hasSize(1);
+        String content = queuedContent(hook.getQueued().get(0));
+        assertThat(content).startsWith("Received: ");
+        assertThat(content).endsWith(chunk1 + chunk2);
+    }
+
+    @Test
+    void bdatShouldAcceptEmptyLastChunk() throws Exception {
+        startTransaction();
+        String chunk = "Subject: Test\r\n\r\nBody\r\n";
+
+        send("BDAT " + chunk.length() + "\r\n" + chunk + "BDAT 0 LAST\r\n");
+
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(queuedContent(hook.getQueued().get(0))).endsWith(chunk);
+    }
+
+    @Test
+    void bdatShouldResetTheTransactionOnceTheMessageIsReceived() throws Exception {
+        startTransaction();
+        send("BDAT 4 LAST\r\nBody");
+        readReply();
+
+        send("BDAT 4 LAST\r\nBody");
+
+        assertThat(readReplyCode()).isEqualTo("503");
+    }
+
+    @Test
+    void dataBodyLinesLookingLikeBdatShouldNotBeTreatedAsChunks() throws Exception {
+        startTransaction();
+        send("DATA\r\n");
+        assertThat(readReplyCode()).isEqualTo("354");
+        String body = "Subject: Test\r\n\r\nBDAT 10\r\nshort\r\n";
+
+        send(body + ".\r\nNOOP\r\n");
+
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(hook.getQueued()).hasSize(1);
+        assertThat(queuedContent(hook.getQueued().get(0))).endsWith(body);
+    }
+
+    @Test
+    void bdatShouldConsumeChunkWhenRejected() throws Exception {
+        send("EHLO localhost\r\n");
+        readReply();
+
+        send("BDAT 6 LAST\r\nNOOP\r\nNOOP\r\n");
+
+        assertThat(readReplyCode()).isEqualTo("503");
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(hook.getQueued()).isEmpty();
+    }
+
+    @Test
+    void bdatShouldRejectInvalidChunkSize() throws Exception {
+        startTransaction();
+
+        send("BDAT abc LAST\r\nNOOP\r\n");
+
+        assertThat(readReplyCode()).isEqualTo("501");
+        assertThat(readReplyCode()).isEqualTo("250");
+    }
+
+    @Test
+    void bdatShouldRejectUnknownArgumentsAfterConsumingChunk() throws Exception {
+        startTransaction();
+
+        send("BDAT 6 FIRST\r\nNOOP\r\nNOOP\r\n");
+
+        assertThat(readReplyCode()).isEqualTo("501");
+        assertThat(readReplyCode()).isEqualTo("250");
+        assertThat(hook.getQueued()).isEmpty();
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.reactivestreams.Publisher;
@@ -40,6 +41,7 @@ import com.google.common.io.FileBackedOutputStream;
 import com.google.crypto.tink.subtle.AesGcmHkdfStreaming;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class AESBlobStoreDAO implements BlobStoreDAO {
     // For now, aligned with with MimeMessageInputStreamSource file threshold, detailed benchmarking might be conducted to challenge this choice
@@ -89,6 +91,16 @@ public class AESBlobStoreDAO implements BlobStoreDAO {
             .map(Throwing.function(IOUtils::toByteArray));
     }
 
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        // Decryption is sequential: the ciphertext is streamed and decrypted up to the end of the range
+        return Mono.using(() -> read(bucketName, blobId),
+                inputStream -> Mono.fromCallable(() -> range.read(inputStream)),
+                Throwing.consumer(InputStream::close))
+            .onErrorMap(IOException.class, e -> new ObjectStoreIOException("Error reading blob " + blobId.asString(), e))
+            .subscribeOn(Schedulers.elastic());
+    }
+
     @Override
     public Publisher<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(bucketName);
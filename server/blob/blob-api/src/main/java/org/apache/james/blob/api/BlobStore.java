@@ -25,6 +25,8 @@ import org.reactivestreams.Publisher;
 
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
+
 public interface BlobStore {
     String DEFAULT_BUCKET_NAME_QUALIFIER = "defaultBucket";
 
@@ -46,6 +48,18 @@ public interface BlobStore {
 
     Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads the bytes of a blob within the given range, truncated to the end of the blob.
+     *
+     * The default implementation reads the whole blob then slices it.
+     *
+     * @see BlobStoreDAO#readBytes(BucketName, BlobId, ByteRange)
+     */
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(range::slice);
+    }
+
     InputStream read(BucketName bucketName, BlobId blobId);
 
     default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
@@ -26,6 +26,8 @@ import org.reactivestreams.Publisher;
 
 import com.google.common.io.ByteSource;
 
+import reactor.core.publisher.Mono;
+
 public interface BlobStoreDAO {
 
     /**
@@ -46,6 +48,22 @@ public interface BlobStoreDAO {
      */
     Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId);
 
+    /**
+     * Reads a range of a Blob based on its BucketName and its BlobId
+     *
+     * The default implementation reads the whole blob then slices it: implementations able to only transfer the
+     * requested bytes from the underlying storage should override it.
+     *
+     * @return a Mono containing the bytes of the blob within the range, truncated to the end of the blob (empty if the
+     *  range starts after the end of the blob), or
+     *  an ObjectNotFoundException in its error channel when the blobId or the bucket is not found
+     *  or an IOObjectStoreException when an unexpected IO error occurs
+     */
+    default Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return Mono.from(readBytes(bucketName, blobId))
+            .map(range::slice);
+    }
+
 
     /**
      * Save the blob with the provided blob id, and overwrite the previous blob with the same id if it already exists
@@ -0,0 +1,115 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
+
+/**
+ * A contiguous range of bytes within a blob: at most {@code length} bytes starting at {@code offset}.
+ *
+ * The range may extend past the end of the blob, in which case only the available bytes are read.
+ */
+public final class ByteRange {
+    public static ByteRange of(long offset, long length) {
+        return new ByteRange(offset, length);
+    }
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final long offset;
+    private final long length;
+
+    private ByteRange(long offset, long length) {
+        Preconditions.checkArgument(offset >= 0, "`offset` needs to be positive");
+        Preconditions.checkArgument(length > 0, "`length` needs to be strictly positive");
+
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return the position following the last byte of this range, saturating at {@link Long#MAX_VALUE}
+     */
+    public long getEndExclusive() {
+        long end = offset + length;
+        if (end < 0) {
+            return Long.MAX_VALUE;
+        }
+        return end;
+    }
+
+    public byte[] slice(byte[] bytes) {
+        if (offset >= bytes.length) {
+            return EMPTY;
+        }
+        return Arrays.copyOfRange(bytes, (int) offset, (int) Math.min(bytes.length, getEndExclusive()));
+    }
+
+    /**
+     * Reads this range from a stream positioned at the beginning of the blob. The stream is not closed.
+     */
+    public byte[] read(InputStream inputStream) throws IOException {
+        try {
+            ByteStreams.skipFully(inputStream, offset);
+        } catch (EOFException e) {
+            return EMPTY;
+        }
+        return ByteStreams.toByteArray(ByteStreams.limit(inputStream, length));
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof ByteRange) {
+            ByteRange that = (ByteRange) o;
+            return Objects.equals(this.offset, that.offset)
+                && Objects.equals(this.length, that.length);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(offset, length);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("offset", offset)
+            .add("length", length)
+            .toString();
+    }
+}
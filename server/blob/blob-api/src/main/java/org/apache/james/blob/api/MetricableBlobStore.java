@@ -36,6 +36,7 @@ public class MetricableBlobStore implements BlobStore {
     static final String SAVE_BYTES_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "saveBytes";
     static final String SAVE_INPUT_STREAM_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "saveInputStream";
     static final String READ_BYTES_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readBytes";
+    static final String READ_BYTES_RANGE_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "readBytesRange";
     static final String READ_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "read";
     static final String DELETE_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "delete";
     static final String DELETE_BUCKET_TIMER_NAME = BLOB_STORE_METRIC_PREFIX + "deleteBucket";
@@ -81,6 +82,11 @@ public class MetricableBlobStore implements BlobStore {
         return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, storagePolicy));
     }
 
+    @Override
+    public Publisher<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return metricFactory.decoratePublisherWithTimerMetric(READ_BYTES_RANGE_TIMER_NAME, blobStoreImpl.readBytes(bucketName, blobId, range));
+    }
+
     @Override
     public InputStream read(BucketName bucketName, BlobId blobId, StoragePolicy storagePolicy) {
         return metricFactory
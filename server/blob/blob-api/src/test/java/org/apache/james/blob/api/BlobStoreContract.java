@@ -28,6 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -238,6 +239,54 @@ public interface BlobStoreContract extends BucketBlobStoreContract {
         assertThat(bytes).isEqualTo(TWELVE_MEGABYTES);
     }
 
+    @Test
+    default void readBytesRangeShouldThrowWhenNoExisting() {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        assertThatThrownBy(() -> Mono.from(store.readBytes(defaultBucketName, blobIdFactory().from("unknown"), ByteRange.of(0, 10))).block())
+            .isExactlyInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("storagePolicies")
+    default void readBytesRangeShouldReturnTheRequestedBytes(BlobStore.StoragePolicy storagePolicy) {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = Mono.from(store.save(defaultBucketName, ELEVEN_KILOBYTES, storagePolicy)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(defaultBucketName, blobId, ByteRange.of(10, 1000))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 10, 1010));
+    }
+
+    @ParameterizedTest
+    @MethodSource("storagePolicies")
+    default void readBytesRangeShouldTruncateRangesExceedingTheBlob(BlobStore.StoragePolicy storagePolicy) {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = Mono.from(store.save(defaultBucketName, SHORT_BYTEARRAY, storagePolicy)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(defaultBucketName, blobId, ByteRange.of(2, 100))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(SHORT_BYTEARRAY, 2, SHORT_BYTEARRAY.length));
+    }
+
+    @ParameterizedTest
+    @MethodSource("storagePolicies")
+    default void readBytesRangeShouldReturnTheRequestedBytesOfBigBlobs(BlobStore.StoragePolicy storagePolicy) {
+        BlobStore store = testee();
+        BucketName defaultBucketName = store.getDefaultBucketName();
+
+        BlobId blobId = Mono.from(store.save(defaultBucketName, TWELVE_MEGABYTES, storagePolicy)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(defaultBucketName, blobId, ByteRange.of(1_000_003, 1024))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(TWELVE_MEGABYTES, 1_000_003, 1_001_027));
+    }
+
     @Test
     default void readShouldThrowWhenNoExistingStream() {
         BlobStore store = testee();
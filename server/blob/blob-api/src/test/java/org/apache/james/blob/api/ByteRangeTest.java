@@ -0,0 +1,100 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class ByteRangeTest {
+    private static final byte[] BYTES = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(ByteRange.class)
+            .verify();
+    }
+
+    @Test
+    void ofShouldThrowWhenNegativeOffset() {
+        assertThatThrownBy(() -> ByteRange.of(-1, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofShouldThrowWhenZeroLength() {
+        assertThatThrownBy(() -> ByteRange.of(0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ofShouldThrowWhenNegativeLength() {
+        assertThatThrownBy(() -> ByteRange.of(0, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getEndExclusiveShouldSaturateOnOverflow() {
+        assertThat(ByteRange.of(10, Long.MAX_VALUE).getEndExclusive())
+            .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void sliceShouldReturnTheRequestedBytes() {
+        assertThat(new String(ByteRange.of(2, 3).slice(BYTES), StandardCharsets.UTF_8))
+            .isEqualTo("234");
+    }
+
+    @Test
+    void sliceShouldTruncateRangesExceedingTheContent() {
+        assertThat(new String(ByteRange.of(7, 100).slice(BYTES), StandardCharsets.UTF_8))
+            .isEqualTo("789");
+    }
+
+    @Test
+    void sliceShouldReturnEmptyWhenOffsetExceedsTheContent() {
+        assertThat(ByteRange.of(10, 1).slice(BYTES))
+            .isEmpty();
+    }
+
+    @Test
+    void readShouldReturnTheRequestedBytes() throws Exception {
+        assertThat(new String(ByteRange.of(2, 3).read(new ByteArrayInputStream(BYTES)), StandardCharsets.UTF_8))
+            .isEqualTo("234");
+    }
+
+    @Test
+    void readShouldTruncateRangesExceedingTheContent() throws Exception {
+        assertThat(new String(ByteRange.of(7, Long.MAX_VALUE).read(new ByteArrayInputStream(BYTES)), StandardCharsets.UTF_8))
+            .isEqualTo("789");
+    }
+
+    @Test
+    void readShouldReturnEmptyWhenOffsetExceedsTheContent() throws Exception {
+        assertThat(ByteRange.of(11, 1).read(new ByteArrayInputStream(BYTES)))
+            .isEmpty();
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.james.blob.api;
 import static org.apache.james.blob.api.BlobStore.StoragePolicy.LOW_COST;
 import static org.apache.james.blob.api.MetricableBlobStore.DELETE_BUCKET_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.DELETE_TIMER_NAME;
+import static org.apache.james.blob.api.MetricableBlobStore.READ_BYTES_RANGE_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.READ_BYTES_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.READ_TIMER_NAME;
 import static org.apache.james.blob.api.MetricableBlobStore.SAVE_BYTES_TIMER_NAME;
@@ -111,6 +112,19 @@ public interface MetricableBlobStoreContract extends BlobStoreContract {
                 .hasSize(2));
     }
 
+    @Test
+    default void readBytesRangeShouldPublishReadBytesRangeTimerMetrics() {
+        BlobStore store = testee();
+
+        BlobId blobId = Mono.from(store.save(store.getDefaultBucketName(), BYTES_CONTENT, LOW_COST)).block();
+        Mono.from(store.readBytes(store.getDefaultBucketName(), blobId, ByteRange.of(0, 1))).block();
+        Mono.from(store.readBytes(store.getDefaultBucketName(), blobId, ByteRange.of(1, 1))).block();
+
+        await().atMost(FIVE_SECONDS)
+            .untilAsserted(() ->  assertThat(metricsTestExtension.getMetricFactory().executionTimesFor(READ_BYTES_RANGE_TIMER_NAME))
+                .hasSize(2));
+    }
+
     @Test
     default void readShouldPublishReadTimerMetrics() {
         BlobStore store = testee();
@@ -171,6 +171,80 @@ public interface ReadSaveBlobStoreDAOContract {
         assertThat(bytes).isEqualTo(TWELVE_MEGABYTES);
     }
 
+    @Test
+    default void readBytesRangeShouldThrowWhenNotExisting() {
+        BlobStoreDAO store = testee();
+
+        assertThatThrownBy(() -> Mono.from(store.readBytes(TEST_BUCKET_NAME, new TestBlobId("unknown"), ByteRange.of(0, 10))).block())
+            .isExactlyInstanceOf(ObjectNotFoundException.class);
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnTheRequestedBytes() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, ELEVEN_KILOBYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(1000, 2000))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(ELEVEN_KILOBYTES, 1000, 3000));
+    }
+
+    @Test
+    default void readBytesRangeShouldTruncateRangesExceedingTheBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(1, Long.MAX_VALUE))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(SHORT_BYTEARRAY, 1, SHORT_BYTEARRAY.length));
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnEmptyWhenStartingAfterTheBlob() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, SHORT_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(SHORT_BYTEARRAY.length, 10))).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnEmptyForEmptyBlobs() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, EMPTY_BYTEARRAY)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(0, 10))).block();
+
+        assertThat(bytes).isEmpty();
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnTheRequestedBytesOfBigBlobs() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, TWELVE_MEGABYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(5_000_017, 3_000_000))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(TWELVE_MEGABYTES, 5_000_017, 8_000_017));
+    }
+
+    @Test
+    default void readBytesRangeShouldReturnTheEndOfBigBlobs() {
+        BlobStoreDAO store = testee();
+
+        Mono.from(store.save(TEST_BUCKET_NAME, TEST_BLOB_ID, TWELVE_MEGABYTES)).block();
+
+        byte[] bytes = Mono.from(store.readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID, ByteRange.of(TWELVE_MEGABYTES.length - 10, 100))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(TWELVE_MEGABYTES, TWELVE_MEGABYTES.length - 10, TWELVE_MEGABYTES.length));
+    }
+
     @Test
     default void readStreamShouldThrowWhenNotExisting() {
         BlobStoreDAO store = testee();
@@ -26,6 +26,7 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -36,6 +37,7 @@ import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.metrics.api.Metric;
@@ -106,6 +108,13 @@ public class CassandraBlobStoreDAO implements BlobStoreDAO {
             .map(this::byteBuffersToBytesArray);
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return readBlobParts(bucketName, blobId, range)
+            .collectList()
+            .map(this::byteBuffersToBytesArray);
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         Preconditions.checkNotNull(data);
@@ -251,10 +260,99 @@ public class CassandraBlobStoreDAO implements BlobStoreDAO {
             .onErrorMap(NoSuchElementException.class, e ->
                 new ObjectNotFoundException(String.format("Could not retrieve blob metadata for %s", blobId)))
             .flatMapMany(rowCount -> Flux.range(0, rowCount)
-                .concatMap(partIndex -> readPart(bucketName, blobId, partIndex)
-                    .single()
-                    .onErrorMap(NoSuchElementException.class, e ->
-                        new ObjectNotFoundException(String.format("Missing blob part for blobId %s and position %d", blobId.asString(), partIndex)))));
+                .concatMap(partIndex -> readExistingPart(bucketName, blobId, partIndex)));
+    }
+
+    /**
+     * Blobs are chunked in parts of the configured size, except the last one: only the parts overlapping the range,
+     * located from the part count and the part size, are read.
+     *
+     * Blobs chunked differently, for instance before a change of the part size, are detected by the size of the parts
+     * being read, and then read sequentially. As the last part alone cannot tell, the part before it is also read
+     * when the range only overlaps the last part.
+     */
+    private Flux<ByteBuffer> readBlobParts(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return selectRowCount(bucketName, blobId)
+            .single()
+            .onErrorMap(NoSuchElementException.class, e ->
+                new ObjectNotFoundException(String.format("Could not retrieve blob metadata for %s", blobId)))
+            .flatMapMany(rowCount -> {
+                int partSize = configuration.getBlobPartSize();
+                if (range.getOffset() / partSize >= rowCount) {
+                    // Past the end of the blob, unless its parts are bigger than the configured size
+                    return readBlobPartsSequentially(bucketName, blobId, range);
+                }
+                return readOverlappingParts(bucketName, blobId, range, rowCount, partSize)
+                    .collectList()
+                    .flatMapMany(parts -> {
+                        if (parts.stream().allMatch(PartInRange::hasExpectedSize)) {
+                            return Flux.fromIterable(parts)
+                                .map(PartInRange::slice);
+                        }
+                        return readBlobPartsSequentially(bucketName, blobId, range);
+                    });
+            });
+    }
+
+    private Flux<PartInRange> readOverlappingParts(BucketName bucketName, BlobId blobId, ByteRange range, int rowCount, int partSize) {
+        long firstPartIndex = Math.min(range.getOffset() / partSize, Math.max(0, rowCount - 2));
+        long lastPartIndex = Math.min(rowCount - 1, (range.getEndExclusive() - 1) / partSize);
+        if (firstPartIndex > lastPartIndex) {
+            return Flux.empty();
+        }
+        return Flux.range((int) firstPartIndex, (int) (lastPartIndex - firstPartIndex + 1))
+            .concatMap(partIndex -> readExistingPart(bucketName, blobId, partIndex)
+                .map(part -> new PartInRange(part, partIndex, rowCount, partSize, range)));
+    }
+
+    private Flux<ByteBuffer> readBlobPartsSequentially(BucketName bucketName, BlobId blobId, ByteRange range) {
+        AtomicLong partOffset = new AtomicLong();
+        return readBlobParts(bucketName, blobId)
+            .map(part -> slice(part, partOffset.getAndAdd(part.remaining()), range))
+            .takeUntil(any -> partOffset.get() >= range.getEndExclusive());
+    }
+
+    private static class PartInRange {
+        private final ByteBuffer part;
+        private final int partIndex;
+        private final int rowCount;
+        private final int partSize;
+        private final ByteRange range;
+
+        private PartInRange(ByteBuffer part, int partIndex, int rowCount, int partSize, ByteRange range) {
+            this.part = part;
+            this.partIndex = partIndex;
+            this.rowCount = rowCount;
+            this.partSize = partSize;
+            this.range = range;
+        }
+
+        boolean hasExpectedSize() {
+            if (partIndex == rowCount - 1) {
+                return part.remaining() <= partSize;
+            }
+            return part.remaining() == partSize;
+        }
+
+        ByteBuffer slice() {
+            return CassandraBlobStoreDAO.slice(part, (long) partIndex * partSize, range);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer part, long partOffset, ByteRange range) {
+        int end = (int) Math.max(0, Math.min(part.remaining(), range.getEndExclusive() - partOffset));
+        int start = (int) Math.min(end, Math.max(0, range.getOffset() - partOffset));
+        ByteBuffer slice = part.duplicate();
+        slice.limit(part.position() + end);
+        slice.position(part.position() + start);
+        return slice;
+    }
+
+    private Mono<ByteBuffer> readExistingPart(BucketName bucketName, BlobId blobId, int partIndex) {
+        return readPart(bucketName, blobId, partIndex)
+            .single()
+            .onErrorMap(NoSuchElementException.class, e ->
+                new ObjectNotFoundException(String.format("Missing blob part for blobId %s and position %d", blobId.asString(), partIndex)));
     }
 
     private byte[] byteBuffersToBytesArray(List<ByteBuffer> byteBuffers) {
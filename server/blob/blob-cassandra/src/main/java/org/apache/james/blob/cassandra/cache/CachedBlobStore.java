@@ -34,6 +34,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStore;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.metrics.api.Metric;
@@ -181,6 +182,13 @@ public class CachedBlobStore implements BlobStore {
         return read(bucketName, blobId, LOW_COST);
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        // Like other reads without storage policy, ranged reads are LOW_COST and hence bypass the cache
+        return Mono.from(metricFactory.decoratePublisherWithTimerMetric(BLOBSTORE_BACKEND_LATENCY_METRIC_NAME,
+            backend.readBytes(bucketName, blobId, range)));
+    }
+
     private Mono<byte[]> readBytesInDefaultBucket(BucketName bucketName, BlobId blobId) {
         return readFromCache(blobId).switchIfEmpty(
             readBytesFromBackend(bucketName, blobId)
@@ -36,11 +36,14 @@ public class CassandraCacheConfiguration {
         private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMillis(100);
         private static final Duration MAX_READ_TIMEOUT = Duration.ofHours(1);
         private static final Duration DEFAULT_TTL = Duration.ofDays(7);
+        private static final Duration DEFAULT_LOCAL_CACHE_TTL = Duration.ofMinutes(5);
         private static final int DEFAULT_BYTE_THRESHOLD_SIZE = 8 * 1024;
 
         private Optional<Duration> readTimeout = Optional.empty();
         private Optional<Integer> sizeThresholdInBytes = Optional.empty();
         private Optional<Duration> ttl = Optional.empty();
+        private Optional<Long> localCacheMaxSizeInBytes = Optional.empty();
+        private Optional<Duration> localCacheTtl = Optional.empty();
 
         public Builder timeOut(Duration timeout) {
             Preconditions.checkNotNull(timeout, "'Read timeout' must not to be null");
@@ -69,6 +72,31 @@ public class CassandraCacheConfiguration {
             return this;
         }
 
+        public Builder localCacheMaxSizeInBytes(long localCacheMaxSizeInBytes) {
+            Preconditions.checkArgument(localCacheMaxSizeInBytes > 0, "'Local cache max size' needs to be strictly positive");
+
+            this.localCacheMaxSizeInBytes = Optional.of(localCacheMaxSizeInBytes);
+            return this;
+        }
+
+        public Builder localCacheMaxSizeInBytes(Optional<Long> localCacheMaxSizeInBytes) {
+            localCacheMaxSizeInBytes.ifPresent(this::localCacheMaxSizeInBytes);
+            return this;
+        }
+
+        public Builder localCacheTtl(Duration localCacheTtl) {
+            Preconditions.checkNotNull(localCacheTtl, "'Local cache TTL' must not to be null");
+            Preconditions.checkArgument(localCacheTtl.toMillis() > 0, "'Local cache TTL' needs to be positive");
+
+            this.localCacheTtl = Optional.of(localCacheTtl);
+            return this;
+        }
+
+        public Builder localCacheTtl(Optional<Duration> localCacheTtl) {
+            localCacheTtl.ifPresent(this::localCacheTtl);
+            return this;
+        }
+
         public Builder ttl(Optional<Duration> ttl) {
             ttl.ifPresent(this::ttl);
             return this;
@@ -88,7 +116,9 @@ public class CassandraCacheConfiguration {
             return new CassandraCacheConfiguration(
                 readTimeout.orElse(DEFAULT_READ_TIMEOUT),
                 sizeThresholdInBytes.orElse(DEFAULT_BYTE_THRESHOLD_SIZE),
-                ttl.orElse(DEFAULT_TTL));
+                ttl.orElse(DEFAULT_TTL),
+                localCacheMaxSizeInBytes,
+                localCacheTtl.orElse(DEFAULT_LOCAL_CACHE_TTL));
         }
     }
 
@@ -106,22 +136,33 @@ public class CassandraCacheConfiguration {
         Optional<Integer> sizeThreshold = Optional.ofNullable(configuration.getString("cache.sizeThresholdInBytes", null))
             .map(SizeFormat::parseAsByteCount)
             .map(Math::toIntExact);
+        Optional<Long> localCacheMaxSize = Optional.ofNullable(configuration.getString("cache.local.maxSize", null))
+            .map(SizeFormat::parseAsByteCount);
+        Optional<Duration> localCacheTtl = Optional.ofNullable(configuration.getString("cache.local.ttl", null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS));
 
         return builder()
             .ttl(ttl)
             .timeOut(timeOut)
             .sizeThresholdInBytes(sizeThreshold)
+            .localCacheMaxSizeInBytes(localCacheMaxSize)
+            .localCacheTtl(localCacheTtl)
             .build();
     }
 
     private final Duration readTimeOut;
     private final int sizeThresholdInBytes;
     private final Duration ttl;
+    private final Optional<Long> localCacheMaxSizeInBytes;
+    private final Duration localCacheTtl;
 
-    private CassandraCacheConfiguration(Duration timeout, int sizeThresholdInBytes, Duration ttl) {
+    private CassandraCacheConfiguration(Duration timeout, int sizeThresholdInBytes, Duration ttl,
+                                        Optional<Long> localCacheMaxSizeInBytes, Duration localCacheTtl) {
         this.readTimeOut = timeout;
         this.sizeThresholdInBytes = sizeThresholdInBytes;
         this.ttl = ttl;
+        this.localCacheMaxSizeInBytes = localCacheMaxSizeInBytes;
+        this.localCacheTtl = localCacheTtl;
     }
 
     public Duration getReadTimeOut() {
@@ -136,6 +177,21 @@ public class CassandraCacheConfiguration {
         return sizeThresholdInBytes;
     }
 
+    /**
+     * When present, an in-process cache bounded to this size is queried before the Cassandra cache.
+     */
+    public Optional<Long> getLocalCacheMaxSizeInBytes() {
+        return localCacheMaxSizeInBytes;
+    }
+
+    /**
+     * Expiry of the in-process cache entries. Kept short, as it bounds how long a node can serve a blob
+     * removed by another node.
+     */
+    public Duration getLocalCacheTtl() {
+        return localCacheTtl;
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o instanceof CassandraCacheConfiguration) {
@@ -143,13 +199,15 @@ public class CassandraCacheConfiguration {
 
             return Objects.equals(this.sizeThresholdInBytes, that.sizeThresholdInBytes)
                 && Objects.equals(this.readTimeOut, that.readTimeOut)
-                && Objects.equals(this.ttl, that.ttl);
+                && Objects.equals(this.ttl, that.ttl)
+                && Objects.equals(this.localCacheMaxSizeInBytes, that.localCacheMaxSizeInBytes)
+                && Objects.equals(this.localCacheTtl, that.localCacheTtl);
         }
         return false;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(readTimeOut, sizeThresholdInBytes, ttl);
+        return Objects.hash(readTimeOut, sizeThresholdInBytes, ttl, localCacheMaxSizeInBytes, localCacheTtl);
     }
 }
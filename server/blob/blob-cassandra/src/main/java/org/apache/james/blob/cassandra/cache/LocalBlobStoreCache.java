@@ -0,0 +1,95 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import java.time.Duration;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.metrics.api.Metric;
+import org.apache.james.metrics.api.MetricFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-process {@link BlobStoreCache} tier, bounded by the total size of the cached blobs, sitting in front of a
+ * distant one.
+ *
+ * Reads are served locally when possible, and populate the local tier upon distant hits. Writes and removals are
+ * applied to both tiers. Local entries expire after the configured TTL, which bounds staleness across nodes.
+ */
+public class LocalBlobStoreCache implements BlobStoreCache {
+    public static final String LOCAL_CACHE_HIT_COUNT_METRIC_NAME = "blobStoreLocalCacheHits";
+    public static final String LOCAL_CACHE_MISS_COUNT_METRIC_NAME = "blobStoreLocalCacheMisses";
+    public static final String LOCAL_CACHE_EVICTION_COUNT_METRIC_NAME = "blobStoreLocalCacheEvictions";
+
+    private final BlobStoreCache distant;
+    private final Cache<BlobId, byte[]> cache;
+    private final Metric hitCount;
+    private final Metric missCount;
+    private final Metric evictionCount;
+
+    public LocalBlobStoreCache(BlobStoreCache distant, long maxSizeInBytes, Duration ttl, MetricFactory metricFactory) {
+        this.distant = distant;
+        this.hitCount = metricFactory.generate(LOCAL_CACHE_HIT_COUNT_METRIC_NAME);
+        this.missCount = metricFactory.generate(LOCAL_CACHE_MISS_COUNT_METRIC_NAME);
+        this.evictionCount = metricFactory.generate(LOCAL_CACHE_EVICTION_COUNT_METRIC_NAME);
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .<BlobId, byte[]>weigher((blobId, bytes) -> bytes.length)
+            .expireAfterWrite(ttl)
+            .removalListener(this::recordEviction)
+            .build();
+    }
+
+    private void recordEviction(RemovalNotification<BlobId, byte[]> notification) {
+        if (notification.wasEvicted()) {
+            evictionCount.increment();
+        }
+    }
+
+    @Override
+    public Mono<Void> cache(BlobId blobId, byte[] data) {
+        return Mono.fromRunnable(() -> cache.put(blobId, data))
+            .then(Mono.from(distant.cache(blobId, data)));
+    }
+
+    @Override
+    public Mono<byte[]> read(BlobId blobId) {
+        return Mono.fromCallable(() -> cache.getIfPresent(blobId))
+            .doOnNext(any -> hitCount.increment())
+            .switchIfEmpty(Mono.defer(() -> readFromDistant(blobId)));
+    }
+
+    private Mono<byte[]> readFromDistant(BlobId blobId) {
+        missCount.increment();
+        return Mono.from(distant.read(blobId))
+            .doOnNext(bytes -> cache.put(blobId, bytes));
+    }
+
+    @Override
+    public Mono<Void> remove(BlobId blobId) {
+        return Mono.fromRunnable(() -> cache.invalidate(blobId))
+            .then(Mono.from(distant.remove(blobId)));
+    }
+}
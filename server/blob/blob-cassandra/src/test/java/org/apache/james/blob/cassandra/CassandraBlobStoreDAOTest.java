@@ -19,37 +19,57 @@
 
 package org.apache.james.blob.cassandra;
 
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BLOB_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.CassandraClusterExtension;
+import org.apache.james.backends.cassandra.StatementRecorder;
+import org.apache.james.backends.cassandra.StatementRecorder.Selector;
 import org.apache.james.backends.cassandra.init.configuration.CassandraConfiguration;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BlobStoreDAOContract;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.TestBlobId;
 import org.apache.james.metrics.tests.RecordingMetricFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
+import com.google.common.base.Strings;
+
+import reactor.core.publisher.Mono;
+
 public class CassandraBlobStoreDAOTest implements BlobStoreDAOContract {
     private static final int CHUNK_SIZE = 10240;
+    private static final byte[] FIVE_CHUNKS = Strings.repeat("0123456789", CHUNK_SIZE / 2).getBytes(StandardCharsets.UTF_8);
 
     @RegisterExtension
     static CassandraClusterExtension cassandraCluster = new CassandraClusterExtension(CassandraBlobModule.MODULE);
 
     private BlobStoreDAO testee;
     private CassandraDefaultBucketDAO defaultBucketDAO;
+    private CassandraBucketDAO bucketDAO;
 
     @BeforeEach
     void setUp(CassandraCluster cassandra) {
         TestBlobId.Factory blobIdFactory = new TestBlobId.Factory();
-        CassandraBucketDAO bucketDAO = new CassandraBucketDAO(blobIdFactory, cassandra.getConf());
+        bucketDAO = new CassandraBucketDAO(blobIdFactory, cassandra.getConf());
         defaultBucketDAO = new CassandraDefaultBucketDAO(cassandra.getConf(), blobIdFactory);
-        testee = new CassandraBlobStoreDAO(
+        testee = blobStoreDAO(CHUNK_SIZE);
+    }
+
+    private CassandraBlobStoreDAO blobStoreDAO(int blobPartSize) {
+        return new CassandraBlobStoreDAO(
             defaultBucketDAO,
             bucketDAO,
             CassandraConfiguration.builder()
-                .blobPartSize(CHUNK_SIZE)
+                .blobPartSize(blobPartSize)
                 .build(),
             BucketName.DEFAULT,
             new RecordingMetricFactory());
@@ -65,4 +85,27 @@ public class CassandraBlobStoreDAOTest implements BlobStoreDAOContract {
     public void listBucketsShouldReturnBucketsWithNoBlob() {
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void readBytesWithRangeShouldOnlyReadThePartsOverlappingTheRange(CassandraCluster cassandra) {
+        Mono.from(testee.save(BucketName.DEFAULT, TEST_BLOB_ID, FIVE_CHUNKS)).block();
+
+        StatementRecorder statementRecorder = new StatementRecorder();
+        cassandra.getConf().recordStatements(statementRecorder);
+
+        byte[] bytes = Mono.from(testee.readBytes(BucketName.DEFAULT, TEST_BLOB_ID, ByteRange.of(3L * CHUNK_SIZE + 10, 100))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(FIVE_CHUNKS, 3 * CHUNK_SIZE + 10, 3 * CHUNK_SIZE + 110));
+        assertThat(statementRecorder.listExecutedStatements(Selector.preparedStatementStartingWith("SELECT * FROM blobParts")))
+            .hasSize(1);
+    }
+
+    @Test
+    void readBytesWithRangeShouldSupportBlobsChunkedWithAnotherPartSize() {
+        Mono.from(blobStoreDAO(CHUNK_SIZE / 4).save(BucketName.DEFAULT, TEST_BLOB_ID, FIVE_CHUNKS)).block();
+
+        byte[] bytes = Mono.from(testee.readBytes(BucketName.DEFAULT, TEST_BLOB_ID, ByteRange.of(CHUNK_SIZE + 10, 2L * CHUNK_SIZE))).block();
+
+        assertThat(bytes).isEqualTo(Arrays.copyOfRange(FIVE_CHUNKS, CHUNK_SIZE + 10, 3 * CHUNK_SIZE + 10));
+    }
+}
@@ -158,4 +158,62 @@ public class CassandraCacheConfigurationTest {
                 .build());
     }
 
+    @Test
+    void localCacheShouldBeDisabledByDefault() {
+        assertThat(CassandraCacheConfiguration.DEFAULT.getLocalCacheMaxSizeInBytes()).isEmpty();
+    }
+
+    @Test
+    void fromShouldReturnSuppliedLocalCacheMaxSize() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.local.maxSize", "50 MiB");
+
+        assertThat(CassandraCacheConfiguration.from(configuration).getLocalCacheMaxSizeInBytes())
+            .contains(50L * 1024 * 1024);
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredZeroLocalCacheMaxSize() {
+        assertThatThrownBy(() -> CassandraCacheConfiguration.builder()
+            .localCacheMaxSizeInBytes(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void localCacheTtlShouldDefaultToFiveMinutes() {
+        assertThat(CassandraCacheConfiguration.DEFAULT.getLocalCacheTtl()).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void fromShouldReturnSuppliedLocalCacheTtl() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.local.ttl", "2 minutes");
+
+        assertThat(CassandraCacheConfiguration.from(configuration).getLocalCacheTtl())
+            .isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void localCacheTtlShouldNotFollowTheCassandraTtl() {
+        PropertiesConfiguration configuration = new PropertiesConfiguration();
+        configuration.addProperty("cache.cassandra.ttl", "3 days");
+
+        assertThat(CassandraCacheConfiguration.from(configuration).getLocalCacheTtl())
+            .isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredZeroLocalCacheTtl() {
+        assertThatThrownBy(() -> CassandraCacheConfiguration.builder()
+            .localCacheTtl(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldThrowWhenConfiguredNegativeLocalCacheTtl() {
+        assertThatThrownBy(() -> CassandraCacheConfiguration.builder()
+            .localCacheTtl(NEGATIVE_TTL))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
 }
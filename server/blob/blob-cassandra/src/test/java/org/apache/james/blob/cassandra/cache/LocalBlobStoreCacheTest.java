@@ -0,0 +1,125 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.blob.cassandra.cache;
+
+import static org.apache.james.blob.cassandra.cache.LocalBlobStoreCache.LOCAL_CACHE_EVICTION_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cassandra.cache.LocalBlobStoreCache.LOCAL_CACHE_HIT_COUNT_METRIC_NAME;
+import static org.apache.james.blob.cassandra.cache.LocalBlobStoreCache.LOCAL_CACHE_MISS_COUNT_METRIC_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.apache.james.blob.api.BlobId;
+import org.apache.james.blob.api.HashBlobId;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+class LocalBlobStoreCacheTest implements BlobStoreCacheContract {
+    private static final Duration _2_SEC_TTL = Duration.ofSeconds(2);
+    private static final long MAX_SIZE_IN_BYTES = 100L * EIGHT_KILOBYTES.length;
+
+    private BlobStoreCache distant;
+    private RecordingMetricFactory metricFactory;
+    private HashBlobId.Factory blobIdFactory;
+    private LocalBlobStoreCache testee;
+
+    @BeforeEach
+    void setUp() {
+        distant = mock(BlobStoreCache.class);
+        when(distant.cache(any(), any())).thenReturn(Mono.empty());
+        when(distant.read(any())).thenReturn(Mono.empty());
+        when(distant.remove(any())).thenReturn(Mono.empty());
+        metricFactory = new RecordingMetricFactory();
+        blobIdFactory = new HashBlobId.Factory();
+        testee = new LocalBlobStoreCache(distant, MAX_SIZE_IN_BYTES, _2_SEC_TTL, metricFactory);
+    }
+
+    @Override
+    public BlobStoreCache testee() {
+        return testee;
+    }
+
+    @Override
+    public BlobId.Factory blobIdFactory() {
+        return blobIdFactory;
+    }
+
+    @Test
+    void cacheShouldAlsoCacheInDistantTier() {
+        BlobId blobId = blobIdFactory.randomId();
+
+        Mono.from(testee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+        verify(distant).cache(blobId, EIGHT_KILOBYTES);
+    }
+
+    @Test
+    void removeShouldAlsoRemoveFromDistantTier() {
+        BlobId blobId = blobIdFactory.randomId();
+
+        Mono.from(testee.remove(blobId)).block();
+
+        verify(distant).remove(blobId);
+    }
+
+    @Test
+    void readShouldNotQueryDistantTierWhenCachedLocally() {
+        BlobId blobId = blobIdFactory.randomId();
+        Mono.from(testee.cache(blobId, EIGHT_KILOBYTES)).block();
+
+        Mono.from(testee.read(blobId)).block();
+
+        verify(distant, times(0)).read(any());
+        assertThat(metricFactory.countFor(LOCAL_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void readShouldFallBackToDistantTierAndPopulateLocalTier() {
+        BlobId blobId = blobIdFactory.randomId();
+        when(distant.read(blobId)).thenReturn(Mono.just(EIGHT_KILOBYTES));
+
+        Mono.from(testee.read(blobId)).block();
+        byte[] actual = Mono.from(testee.read(blobId)).block();
+
+        assertThat(actual).containsExactly(EIGHT_KILOBYTES);
+        verify(distant, times(1)).read(blobId);
+        assertThat(metricFactory.countFor(LOCAL_CACHE_MISS_COUNT_METRIC_NAME)).isEqualTo(1);
+        assertThat(metricFactory.countFor(LOCAL_CACHE_HIT_COUNT_METRIC_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void cacheShouldEvictEntriesWhenExceedingMaxSize() {
+        LocalBlobStoreCache smallCache = new LocalBlobStoreCache(distant, 4L * EIGHT_KILOBYTES.length, _2_SEC_TTL, metricFactory);
+
+        for (int i = 0; i < 100; i++) {
+            Mono.from(smallCache.cache(blobIdFactory.randomId(), EIGHT_KILOBYTES)).block();
+        }
+
+        assertThat(metricFactory.countFor(LOCAL_CACHE_EVICTION_COUNT_METRIC_NAME)).isGreaterThanOrEqualTo(96);
+    }
+}
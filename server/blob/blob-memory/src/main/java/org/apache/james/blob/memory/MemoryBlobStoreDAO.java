@@ -27,6 +27,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.reactivestreams.Publisher;
@@ -61,6 +62,12 @@ public class MemoryBlobStoreDAO implements BlobStoreDAO {
             .switchIfEmpty(Mono.error(() -> new ObjectNotFoundException(String.format("blob '%s' not found in bucket '%s'", blobId.asString(), bucketName.asString()))));
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        return readBytes(bucketName, blobId)
+            .map(range::slice);
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         return Mono.fromRunnable(() -> {
@@ -26,6 +26,7 @@ import org.apache.james.blob.api.BucketName;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
 
 public class S3BlobStoreConfiguration {
 
@@ -52,6 +53,8 @@ public class S3BlobStoreConfiguration {
             private Optional<BucketName> defaultBucketName;
             private Optional<String> bucketPrefix;
             private Optional<Integer> httpConcurrency;
+            private Optional<Integer> multipartPartSize;
+            private Optional<Integer> multipartConcurrency;
             private Region region;
 
             public ReadyToBuild(AwsS3AuthConfiguration specificAuthConfiguration, Region region) {
@@ -60,6 +63,8 @@ public class S3BlobStoreConfiguration {
                 this.defaultBucketName = Optional.empty();
                 this.bucketPrefix = Optional.empty();
                 this.httpConcurrency = Optional.empty();
+                this.multipartPartSize = Optional.empty();
+                this.multipartConcurrency = Optional.empty();
             }
 
             public ReadyToBuild defaultBucketName(Optional<BucketName> defaultBucketName) {
@@ -87,32 +92,70 @@ public class S3BlobStoreConfiguration {
                 return this;
             }
 
+            public ReadyToBuild multipartPartSize(Optional<Integer> multipartPartSize) {
+                this.multipartPartSize = multipartPartSize;
+                return this;
+            }
+
+            public ReadyToBuild multipartPartSize(int multipartPartSize) {
+                this.multipartPartSize = Optional.of(multipartPartSize);
+                return this;
+            }
+
+            public ReadyToBuild multipartConcurrency(Optional<Integer> multipartConcurrency) {
+                this.multipartConcurrency = multipartConcurrency;
+                return this;
+            }
+
+            public ReadyToBuild multipartConcurrency(int multipartConcurrency) {
+                this.multipartConcurrency = Optional.of(multipartConcurrency);
+                return this;
+            }
+
             public S3BlobStoreConfiguration build() {
-                return new S3BlobStoreConfiguration(bucketPrefix, defaultBucketName, region, specificAuthConfiguration, httpConcurrency.orElse(DEFAULT_HTTP_CONCURRENCY));
+                multipartPartSize.ifPresent(partSize -> Preconditions.checkArgument(partSize >= MINIMUM_MULTIPART_PART_SIZE,
+                    "'multipartPartSize' needs to be at least %s bytes", MINIMUM_MULTIPART_PART_SIZE));
+                multipartConcurrency.ifPresent(concurrency -> Preconditions.checkArgument(concurrency > 0,
+                    "'multipartConcurrency' needs to be strictly positive"));
+
+                return new S3BlobStoreConfiguration(bucketPrefix, defaultBucketName, region, specificAuthConfiguration,
+                    httpConcurrency.orElse(DEFAULT_HTTP_CONCURRENCY),
+                    multipartPartSize.orElse(DEFAULT_MULTIPART_PART_SIZE),
+                    multipartConcurrency.orElse(DEFAULT_MULTIPART_CONCURRENCY));
             }
         }
 
     }
 
     public static int DEFAULT_HTTP_CONCURRENCY = 100;
+    // S3 rejects multipart uploads having parts smaller than 5 MiB, the last one excepted
+    public static final int MINIMUM_MULTIPART_PART_SIZE = 5 * 1024 * 1024;
+    public static final int DEFAULT_MULTIPART_PART_SIZE = MINIMUM_MULTIPART_PART_SIZE;
+    public static final int DEFAULT_MULTIPART_CONCURRENCY = 4;
 
     private final Region region;
     private final AwsS3AuthConfiguration specificAuthConfiguration;
     private final Optional<BucketName> namespace;
     private final Optional<String> bucketPrefix;
     private final int httpConcurrency;
+    private final int multipartPartSize;
+    private final int multipartConcurrency;
 
     @VisibleForTesting
     S3BlobStoreConfiguration(Optional<String> bucketPrefix,
                              Optional<BucketName> namespace,
                              Region region,
                              AwsS3AuthConfiguration specificAuthConfiguration,
-                             int httpConcurrency) {
+                             int httpConcurrency,
+                             int multipartPartSize,
+                             int multipartConcurrency) {
         this.bucketPrefix = bucketPrefix;
         this.namespace = namespace;
         this.region = region;
         this.specificAuthConfiguration = specificAuthConfiguration;
         this.httpConcurrency = httpConcurrency;
+        this.multipartPartSize = multipartPartSize;
+        this.multipartConcurrency = multipartConcurrency;
     }
 
     public Optional<BucketName> getNamespace() {
@@ -131,6 +174,14 @@ public class S3BlobStoreConfiguration {
         return httpConcurrency;
     }
 
+    public int getMultipartPartSize() {
+        return multipartPartSize;
+    }
+
+    public int getMultipartConcurrency() {
+        return multipartConcurrency;
+    }
+
     public Region getRegion() {
         return region;
     }
@@ -144,6 +195,8 @@ public class S3BlobStoreConfiguration {
                 && Objects.equals(this.bucketPrefix, that.bucketPrefix)
                 && Objects.equals(this.region, that.region)
                 && Objects.equals(this.httpConcurrency, that.httpConcurrency)
+                && Objects.equals(this.multipartPartSize, that.multipartPartSize)
+                && Objects.equals(this.multipartConcurrency, that.multipartConcurrency)
                 && Objects.equals(this.specificAuthConfiguration, that.specificAuthConfiguration);
         }
         return false;
@@ -151,7 +204,7 @@ public class S3BlobStoreConfiguration {
 
     @Override
     public final int hashCode() {
-        return Objects.hash(namespace, bucketPrefix, httpConcurrency, specificAuthConfiguration);
+        return Objects.hash(namespace, bucketPrefix, httpConcurrency, multipartPartSize, multipartConcurrency, specificAuthConfiguration);
     }
 
     @Override
@@ -159,6 +212,8 @@ public class S3BlobStoreConfiguration {
         return MoreObjects.toStringHelper(this)
             .add("namespace", namespace)
             .add("httpConcurrency", httpConcurrency)
+            .add("multipartPartSize", multipartPartSize)
+            .add("multipartConcurrency", multipartConcurrency)
             .add("bucketPrefix", bucketPrefix)
             .add("region", region)
             .add("specificAuthConfiguration", specificAuthConfiguration)
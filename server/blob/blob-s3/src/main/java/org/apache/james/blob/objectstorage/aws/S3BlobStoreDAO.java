@@ -32,10 +32,10 @@ import java.util.concurrent.CompletableFuture;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.james.blob.api.BlobId;
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BucketName;
+import org.apache.james.blob.api.ByteRange;
 import org.apache.james.blob.api.ObjectNotFoundException;
 import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.lifecycle.api.Startable;
@@ -48,11 +48,13 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.ByteSource;
-import com.google.common.io.FileBackedOutputStream;
+import com.google.common.io.ByteStreams;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
 import reactor.util.retry.RetryBackoffSpec;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
@@ -66,6 +68,8 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.ListBucketsResponse;
@@ -74,24 +78,30 @@ import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 import software.amazon.awssdk.services.s3.model.S3Object;
 
 public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
 
     private static final int CHUNK_SIZE = 1024 * 1024;
     private static final int EMPTY_BUCKET_BATCH_SIZE = 1000;
-    private static final int FILE_THRESHOLD = 1024 * 100;
     private static final Duration FIRST_BACK_OFF = Duration.ofMillis(100);
     private static final boolean LAZY = false;
     private static final int MAX_RETRIES = 5;
+    private static final int REQUESTED_RANGE_NOT_SATISFIABLE = 416;
+    private static final byte[] EMPTY_BYTEARRAY = {};
 
     private final BucketNameResolver bucketNameResolver;
     private final S3AsyncClient client;
     private final BlobId.Factory blobIdFactory;
+    private final int multipartPartSize;
+    private final int multipartConcurrency;
 
     @Inject
     S3BlobStoreDAO(S3BlobStoreConfiguration configuration, BlobId.Factory blobIdFactory) {
         this.blobIdFactory = blobIdFactory;
+        this.multipartPartSize = configuration.getMultipartPartSize();
+        this.multipartConcurrency = configuration.getMultipartConcurrency();
         AwsS3AuthConfiguration authConfiguration = configuration.getSpecificAuthConfiguration();
 
         S3Configuration pathStyleAccess = S3Configuration.builder()
@@ -186,6 +196,30 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
             .map(BytesWrapper::asByteArray);
     }
 
+    @Override
+    public Mono<byte[]> readBytes(BucketName bucketName, BlobId blobId, ByteRange range) {
+        BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
+
+        return Mono.fromFuture(() ->
+                client.getObject(
+                    builder -> builder.bucket(resolvedBucketName.asString()).key(blobId.asString()).range(asHttpRange(range)),
+                    AsyncResponseTransformer.toBytes()))
+            .map(BytesWrapper::asByteArray)
+            .onErrorResume(this::isRangeNotSatisfiable, e -> Mono.just(EMPTY_BYTEARRAY))
+            .onErrorMap(NoSuchBucketException.class, e -> new ObjectNotFoundException("Bucket not found " + resolvedBucketName.asString(), e))
+            .onErrorMap(NoSuchKeyException.class, e -> new ObjectNotFoundException("Blob not found " + resolvedBucketName.asString(), e))
+            .publishOn(Schedulers.parallel());
+    }
+
+    private String asHttpRange(ByteRange range) {
+        return "bytes=" + range.getOffset() + "-" + (range.getEndExclusive() - 1);
+    }
+
+    private boolean isRangeNotSatisfiable(Throwable e) {
+        // Returned for ranges starting after the end of the blob, including empty blobs
+        return e instanceof S3Exception && ((S3Exception) e).statusCode() == REQUESTED_RANGE_NOT_SATISFIABLE;
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, byte[] data) {
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
@@ -203,21 +237,103 @@ public class S3BlobStoreDAO implements BlobStoreDAO, Startable, Closeable {
     public Mono<Void> save(BucketName bucketName, BlobId blobId, InputStream inputStream) {
         Preconditions.checkNotNull(inputStream);
 
-        return uploadUsingFile(bucketName, blobId, inputStream);
+        return uploadUsingMultipart(bucketName, blobId, inputStream);
     }
 
-    private Mono<Void> uploadUsingFile(BucketName bucketName, BlobId blobId, InputStream inputStream) {
-        return Mono.using(
-            () -> new FileBackedOutputStream(FILE_THRESHOLD),
-            fileBackedOutputStream ->
-                Mono.fromCallable(() -> IOUtils.copy(inputStream, fileBackedOutputStream))
-                    .flatMap(ignore -> save(bucketName, blobId, fileBackedOutputStream.asByteSource())),
-            Throwing.consumer(FileBackedOutputStream::reset),
-            LAZY)
+    /**
+     * Streams the content to S3 without buffering it on disk: blobs fitting in a single part are sent with one PUT,
+     * bigger ones are uploaded as parts as soon as they are read, with at most multipartConcurrency parts in flight.
+     */
+    private Mono<Void> uploadUsingMultipart(BucketName bucketName, BlobId blobId, InputStream inputStream) {
+        return Mono.fromCallable(() -> readPart(inputStream))
+            .subscribeOn(Schedulers.elastic())
+            .flatMap(firstPart -> {
+                if (firstPart.length < multipartPartSize) {
+                    return save(bucketName, blobId, firstPart);
+                }
+                return multipartUpload(bucketNameResolver.resolve(bucketName), blobId, firstPart, inputStream);
+            })
             .onErrorMap(IOException.class, e -> new ObjectStoreIOException("Error saving blob", e))
+            .onErrorMap(SdkClientException.class, e -> new ObjectStoreIOException("Error saving blob", e))
             .publishOn(Schedulers.parallel());
     }
 
+    private Mono<Void> multipartUpload(BucketName resolvedBucketName, BlobId blobId, byte[] firstPart, InputStream inputStream) {
+        return Mono.fromFuture(() ->
+                client.createMultipartUpload(builder -> builder.bucket(resolvedBucketName.asString()).key(blobId.asString())))
+            .retryWhen(createBucketOnRetry(resolvedBucketName))
+            .map(CreateMultipartUploadResponse::uploadId)
+            .flatMap(uploadId -> uploadParts(resolvedBucketName, blobId, uploadId, firstPart, inputStream)
+                .flatMap(parts -> Mono.fromFuture(() ->
+                    client.completeMultipartUpload(builder -> builder.bucket(resolvedBucketName.asString())
+                        .key(blobId.asString())
+                        .uploadId(uploadId)
+                        .multipartUpload(upload -> upload.parts(parts)))))
+                .onErrorResume(e -> abortMultipartUpload(resolvedBucketName, blobId, uploadId)
+                    .then(Mono.error(e))))
+            .then();
+    }
+
+    /**
+     * Failures are delayed until in flight parts settle: a part completing after the upload was aborted would
+     * otherwise be kept, and billed, by S3. Reading stops as soon as a part fails.
+     */
+    private Mono<List<CompletedPart>> uploadParts(BucketName resolvedBucketName, BlobId blobId, String uploadId, byte[] firstPart, InputStream inputStream) {
+        Sinks.Empty<Void> partFailure = Sinks.empty();
+
+        return Flux.concat(Mono.just(firstPart), readRemainingParts(inputStream))
+            .takeUntilOther(partFailure.asMono())
+            .index()
+            .flatMapSequentialDelayError(part -> uploadPart(resolvedBucketName, blobId, uploadId, Math.toIntExact(part.getT1() + 1), part.getT2())
+                    .doOnError(e -> partFailure.tryEmitEmpty()),
+                multipartConcurrency, Queues.XS_BUFFER_SIZE)
+            .collect(ImmutableList.toImmutableList());
+    }
+
+    private Flux<byte[]> readRemainingParts(InputStream inputStream) {
+        return Flux.<byte[]>generate(sink -> {
+                try {
+                    byte[] part = readPart(inputStream);
+                    if (part.length > 0) {
+                        sink.next(part);
+                    }
+                    if (part.length < multipartPartSize) {
+                        sink.complete();
+                    }
+                } catch (IOException e) {
+                    sink.error(e);
+                }
+            })
+            .subscribeOn(Schedulers.elastic());
+    }
+
+    private byte[] readPart(InputStream inputStream) throws IOException {
+        return ByteStreams.toByteArray(ByteStreams.limit(inputStream, multipartPartSize));
+    }
+
+    private Mono<CompletedPart> uploadPart(BucketName resolvedBucketName, BlobId blobId, String uploadId, int partNumber, byte[] data) {
+        return Mono.fromFuture(() ->
+                client.uploadPart(builder -> builder.bucket(resolvedBucketName.asString())
+                        .key(blobId.asString())
+                        .uploadId(uploadId)
+                        .partNumber(partNumber)
+                        .contentLength((long) data.length),
+                    AsyncRequestBody.fromBytes(data)))
+            .map(response -> CompletedPart.builder()
+                .partNumber(partNumber)
+                .eTag(response.eTag())
+                .build());
+    }
+
+    private Mono<Void> abortMultipartUpload(BucketName resolvedBucketName, BlobId blobId, String uploadId) {
+        return Mono.fromFuture(() ->
+                client.abortMultipartUpload(builder -> builder.bucket(resolvedBucketName.asString())
+                    .key(blobId.asString())
+                    .uploadId(uploadId)))
+            .then()
+            .onErrorResume(e -> Mono.empty());
+    }
+
     @Override
     public Mono<Void> save(BucketName bucketName, BlobId blobId, ByteSource content) {
         BucketName resolvedBucketName = bucketNameResolver.resolve(bucketName);
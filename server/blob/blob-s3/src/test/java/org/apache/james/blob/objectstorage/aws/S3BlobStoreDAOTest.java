@@ -19,11 +19,21 @@
 package org.apache.james.blob.objectstorage.aws;
 
 import static org.apache.james.blob.api.BlobStoreDAOFixture.ELEVEN_KILOBYTES;
+import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BLOB_ID;
 import static org.apache.james.blob.api.BlobStoreDAOFixture.TEST_BUCKET_NAME;
+import static org.apache.james.blob.objectstorage.aws.S3BlobStoreConfiguration.DEFAULT_MULTIPART_PART_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 
 import org.apache.james.blob.api.BlobStoreDAO;
 import org.apache.james.blob.api.BlobStoreDAOContract;
+import org.apache.james.blob.api.ObjectNotFoundException;
+import org.apache.james.blob.api.ObjectStoreIOException;
 import org.apache.james.blob.api.TestBlobId;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -34,10 +44,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import com.google.common.io.ByteSource;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
 
 @ExtendWith(DockerAwsS3Extension.class)
 public class S3BlobStoreDAOTest implements BlobStoreDAOContract {
     private static S3BlobStoreDAO testee;
+    private static S3AsyncClient s3Client;
 
     @BeforeAll
     static void setUp(DockerAwsS3Container dockerAwsS3) {
@@ -53,6 +69,13 @@ public class S3BlobStoreDAOTest implements BlobStoreDAOContract {
             .build();
 
         testee = new S3BlobStoreDAO(s3Configuration, new TestBlobId.Factory());
+        s3Client = S3AsyncClient.builder()
+            .credentialsProvider(StaticCredentialsProvider.create(
+                AwsBasicCredentials.create(DockerAwsS3Container.ACCESS_KEY_ID, DockerAwsS3Container.SECRET_ACCESS_KEY)))
+            .endpointOverride(dockerAwsS3.getEndpoint())
+            .region(dockerAwsS3.dockerAwsS3().region().asAws())
+            .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+            .build();
     }
 
     @AfterEach
@@ -63,6 +86,7 @@ public class S3BlobStoreDAOTest implements BlobStoreDAOContract {
     @AfterAll
     static void tearDownClass() {
         testee.close();
+        s3Client.close();
     }
 
     @Override
@@ -82,4 +106,52 @@ public class S3BlobStoreDAOTest implements BlobStoreDAOContract {
         assertThat(Flux.from(testee().listBlobs(TEST_BUCKET_NAME)).count().block())
             .isEqualTo(count);
     }
+
+    @Test
+    void saveInputStreamShouldUploadContentSpanningSeveralParts() {
+        byte[] data = dataOfLength(2 * DEFAULT_MULTIPART_PART_SIZE + 17);
+
+        Mono.from(testee().save(TEST_BUCKET_NAME, TEST_BLOB_ID, new ByteArrayInputStream(data))).block();
+
+        assertThat(Mono.from(testee().readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(data);
+    }
+
+    @Test
+    void saveInputStreamShouldUploadContentBeingAnExactMultipleOfThePartSize() {
+        byte[] data = dataOfLength(2 * DEFAULT_MULTIPART_PART_SIZE);
+
+        Mono.from(testee().save(TEST_BUCKET_NAME, TEST_BLOB_ID, new ByteArrayInputStream(data))).block();
+
+        assertThat(Mono.from(testee().readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isEqualTo(data);
+    }
+
+    @Test
+    void saveInputStreamShouldAbortTheMultipartUploadWhenAPartFails() {
+        InputStream failingAfterFirstPart = new SequenceInputStream(
+            new ByteArrayInputStream(dataOfLength(DEFAULT_MULTIPART_PART_SIZE)),
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Failing on purpose");
+                }
+            });
+
+        assertThatThrownBy(() -> Mono.from(testee().save(TEST_BUCKET_NAME, TEST_BLOB_ID, failingAfterFirstPart)).block())
+            .isInstanceOf(ObjectStoreIOException.class);
+
+        assertThatThrownBy(() -> Mono.from(testee().readBytes(TEST_BUCKET_NAME, TEST_BLOB_ID)).block())
+            .isInstanceOf(ObjectNotFoundException.class);
+        assertThat(s3Client.listMultipartUploads(builder -> builder.bucket(TEST_BUCKET_NAME.asString())).join().uploads())
+            .isEmpty();
+    }
+
+    private byte[] dataOfLength(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        return data;
+    }
 }
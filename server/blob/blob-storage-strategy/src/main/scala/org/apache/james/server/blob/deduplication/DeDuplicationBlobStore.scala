@@ -27,7 +27,7 @@ import com.google.common.hash.{Hashing, HashingInputStream}
 import com.google.common.io.{ByteSource, FileBackedOutputStream}
 import javax.inject.{Inject, Named}
 import org.apache.commons.io.IOUtils
-import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName}
+import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName, ByteRange}
 import org.reactivestreams.Publisher
 import reactor.core.publisher.{Flux, Mono}
 import reactor.core.scala.publisher.SMono
@@ -94,6 +94,12 @@ class DeDuplicationBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readBytes(bucketName, blobId)
   }
 
+  override def readBytes(bucketName: BucketName, blobId: BlobId, range: ByteRange): Publisher[Array[Byte]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readBytes(bucketName, blobId, range)
+  }
+
   override def read(bucketName: BucketName, blobId: BlobId): InputStream = {
     Preconditions.checkNotNull(bucketName)
 
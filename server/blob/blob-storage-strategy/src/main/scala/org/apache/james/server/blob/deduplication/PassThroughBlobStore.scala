@@ -24,7 +24,7 @@ import java.io.InputStream
 import com.google.common.base.Preconditions
 import com.google.common.io.ByteSource
 import javax.inject.{Inject, Named}
-import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName}
+import org.apache.james.blob.api.{BlobId, BlobStore, BlobStoreDAO, BucketName, ByteRange}
 import org.reactivestreams.Publisher
 import reactor.core.publisher.Flux
 import reactor.core.scala.publisher.SMono
@@ -68,6 +68,12 @@ class PassThroughBlobStore @Inject()(blobStoreDAO: BlobStoreDAO,
     blobStoreDAO.readBytes(bucketName, blobId)
   }
 
+  override def readBytes(bucketName: BucketName, blobId: BlobId, range: ByteRange): Publisher[Array[Byte]] = {
+    Preconditions.checkNotNull(bucketName)
+
+    blobStoreDAO.readBytes(bucketName, blobId, range)
+  }
+
   override def read(bucketName: BucketName, blobId: BlobId): InputStream = {
     Preconditions.checkNotNull(bucketName)
 
@@ -53,6 +53,7 @@ import org.apache.mailet.Attribute;
 import org.apache.mailet.AttributeName;
 import org.apache.mailet.AttributeValue;
 import org.apache.mailet.Mail;
+import org.apache.mailet.MimeStructure;
 import org.apache.mailet.PerRecipientHeaders;
 import org.apache.mailet.PerRecipientHeaders.Header;
 import org.slf4j.Logger;
@@ -397,6 +398,11 @@ public class MailImpl implements Disposable, Mail {
      * These headers will be added at delivery time
      */
     private PerRecipientHeaders perRecipientSpecificHeaders;
+    /**
+     * MIME structure of the message, parsed lazily and valid as long as the message is not modified
+     */
+    private MimeStructure cachedMimeStructure;
+    private long cachedMimeStructureModificationCount;
 
     private MailImpl(String name,
                      String state,
@@ -420,6 +426,16 @@ public class MailImpl implements Disposable, Mail {
         return message;
     }
 
+    @Override
+    public MimeStructure getMimeStructure() throws MessagingException {
+        if (cachedMimeStructure == null || cachedMimeStructureModificationCount != message.getModificationCount()) {
+            MimeStructure parsedStructure = MimeStructure.of(message);
+            cachedMimeStructureModificationCount = message.getModificationCount();
+            cachedMimeStructure = parsedStructure;
+        }
+        return cachedMimeStructure;
+    }
+
     @Override
     public void setName(String name) {
         Preconditions.checkNotNull(name);
@@ -505,6 +521,7 @@ public class MailImpl implements Disposable, Mail {
                 LifecycleUtil.dispose(this.message);
             }
             this.message = message;
+            this.cachedMimeStructure = null;
         }
     }
 
@@ -645,6 +662,7 @@ public class MailImpl implements Disposable, Mail {
     public void dispose() {
         LifecycleUtil.dispose(message);
         message = null;
+        cachedMimeStructure = null;
     }
 
     /**
@@ -90,6 +90,11 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
 
     private long initialHeaderSize;
 
+    /**
+     * Incremented upon each modification, allowing to invalidate data derived from this message
+     */
+    private long modificationCount = 0;
+
     private MimeMessageWrapper(Session session) {
         super(session);
         this.headers = null;
@@ -179,6 +184,23 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         }
     }
 
+    /**
+     * Saving changes is required for modifications of nested parts to be taken into account, hence we
+     * consider it as a modification.
+     */
+    @Override
+    protected void updateHeaders() throws MessagingException {
+        modificationCount++;
+        super.updateHeaders();
+    }
+
+    /**
+     * Returns a counter incremented upon each modification of this message, including saved changes.
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
     /**
      * Returns the source ID of the MimeMessageSource that is supplying this
      * with data.
@@ -514,6 +536,7 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         modified = true;
         saved = false;
         headersModified = true;
+        modificationCount++;
     }
 
     @Override
@@ -549,6 +572,7 @@ public class MimeMessageWrapper extends MimeMessage implements Disposable {
         modified = true;
         saved = false;
         bodyModified = true;
+        modificationCount++;
         super.setDataHandler(arg0);
     }
 
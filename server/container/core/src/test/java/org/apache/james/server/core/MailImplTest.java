@@ -42,6 +42,7 @@ import org.apache.mailet.AttributeValue;
 import org.apache.mailet.ContractMailTest;
 import org.apache.mailet.DsnParameters;
 import org.apache.mailet.Mail;
+import org.apache.mailet.MimeStructure;
 import org.apache.mailet.PerRecipientHeaders;
 import org.apache.mailet.base.MailAddressFixture;
 import org.apache.mailet.base.test.MailUtil;
@@ -413,4 +414,70 @@ public class MailImplTest extends ContractMailTest {
         assertThat(mail.dsnParameters())
             .isEmpty();
     }
+
+    @Test
+    void getMimeStructureShouldReturnTheStructureOfTheMessage() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name("mail-id")
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setMultipartWithBodyParts(
+                    MimeMessageBuilder.bodyPartBuilder().data("text"),
+                    MimeMessageBuilder.bodyPartBuilder().type("application/pdf").disposition("attachment").filename("report.pdf").data("pdf")))
+            .build();
+
+        assertThat(mail.getMimeStructure().parts().map(MimeStructure::getMimeType))
+            .containsExactly("multipart/mixed", "text/plain", "application/pdf");
+    }
+
+    @Test
+    void getMimeStructureShouldBeCachedWhenMessageIsNotModified() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name("mail-id")
+            .mimeMessage(emptyMessage)
+            .build();
+
+        assertThat(mail.getMimeStructure()).isSameAs(mail.getMimeStructure());
+    }
+
+    @Test
+    void getMimeStructureShouldBeRecomputedWhenHeadersAreModified() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name("mail-id")
+            .mimeMessage(emptyMessage)
+            .build();
+        mail.getMimeStructure();
+
+        mail.getMessage().addHeader("X-Custom", "value");
+
+        assertThat(mail.getMimeStructure().getHeader("X-Custom")).containsExactly("value");
+    }
+
+    @Test
+    void getMimeStructureShouldBeRecomputedWhenContentIsModified() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name("mail-id")
+            .mimeMessage(emptyMessage)
+            .build();
+        mail.getMimeStructure();
+
+        mail.getMessage().setContent("<p>html</p>", "text/html");
+        mail.getMessage().saveChanges();
+
+        assertThat(mail.getMimeStructure().getMimeType()).isEqualTo("text/html");
+    }
+
+    @Test
+    void getMimeStructureShouldBeRecomputedWhenMessageIsReplaced() throws Exception {
+        MailImpl mail = MailImpl.builder()
+            .name("mail-id")
+            .mimeMessage(emptyMessage)
+            .build();
+        mail.getMimeStructure();
+
+        mail.setMessage(MimeMessageBuilder.mimeMessageBuilder()
+            .setText("<p>html</p>", "text/html")
+            .build());
+
+        assertThat(mail.getMimeStructure().getMimeType()).isEqualTo("text/html");
+    }
 }
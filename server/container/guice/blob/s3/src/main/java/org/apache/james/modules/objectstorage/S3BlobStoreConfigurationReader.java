@@ -27,6 +27,7 @@ import org.apache.james.blob.api.BucketName;
 import org.apache.james.blob.objectstorage.aws.Region;
 import org.apache.james.blob.objectstorage.aws.S3BlobStoreConfiguration;
 import org.apache.james.modules.objectstorage.aws.s3.AwsS3ConfigurationReader;
+import org.apache.james.util.Size;
 
 public class S3BlobStoreConfigurationReader {
 
@@ -34,9 +35,15 @@ public class S3BlobStoreConfigurationReader {
     private static final String OBJECTSTORAGE_BUCKET_PREFIX = "objectstorage.bucketPrefix";
     private static final String OBJECTSTORAGE_S3_REGION = "objectstorage.s3.region";
     private static final String OBJECTSTORAGE_S3_HTTP_CONCURRENCY = "objectstorage.s3.http.concurrency";
+    private static final String OBJECTSTORAGE_S3_MULTIPART_PART_SIZE = "objectstorage.s3.multipart.part.size";
+    private static final String OBJECTSTORAGE_S3_MULTIPART_CONCURRENCY = "objectstorage.s3.multipart.concurrency";
 
     public static S3BlobStoreConfiguration from(Configuration configuration) throws ConfigurationException {
         Optional<Integer> httpConcurrency = Optional.ofNullable(configuration.getInteger(OBJECTSTORAGE_S3_HTTP_CONCURRENCY, null));
+        Optional<Integer> multipartPartSize = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_S3_MULTIPART_PART_SIZE, null))
+            .map(Size::parse)
+            .map(size -> Math.toIntExact(size.asBytes()));
+        Optional<Integer> multipartConcurrency = Optional.ofNullable(configuration.getInteger(OBJECTSTORAGE_S3_MULTIPART_CONCURRENCY, null));
         Optional<String> namespace = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_NAMESPACE, null));
         Optional<String> bucketPrefix = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_BUCKET_PREFIX, null));
         Region region = Optional.ofNullable(configuration.getString(OBJECTSTORAGE_S3_REGION, null))
@@ -49,6 +56,8 @@ public class S3BlobStoreConfigurationReader {
             .defaultBucketName(namespace.map(BucketName::of))
             .bucketPrefix(bucketPrefix)
             .httpConcurrency(httpConcurrency)
+            .multipartPartSize(multipartPartSize)
+            .multipartConcurrency(multipartConcurrency)
             .build();
     }
 
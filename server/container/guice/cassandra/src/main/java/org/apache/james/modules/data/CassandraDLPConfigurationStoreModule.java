@@ -23,8 +23,11 @@ import org.apache.james.dlp.api.DLPConfigurationStore;
 import org.apache.james.dlp.eventsourcing.EventSourcingDLPConfigurationStore;
 import org.apache.james.dlp.eventsourcing.cassandra.DLPConfigurationModules;
 import org.apache.james.eventsourcing.Event;
+import org.apache.james.eventsourcing.Snapshot;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTO;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTOModule;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTO;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTOModule;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
@@ -42,5 +45,9 @@ public class CassandraDLPConfigurationStoreModule extends AbstractModule {
 
         eventDTOModuleBinder.addBinding().toInstance(DLPConfigurationModules.DLP_CONFIGURATION_STORE);
         eventDTOModuleBinder.addBinding().toInstance(DLPConfigurationModules.DLP_CONFIGURATION_CLEAR);
+
+        Multibinder.newSetBinder(binder(), new TypeLiteral<SnapshotDTOModule<? extends Snapshot, ? extends SnapshotDTO>>() {})
+            .addBinding()
+            .toInstance(DLPConfigurationModules.DLP_CONFIGURATION_SNAPSHOT);
     }
 }
@@ -21,10 +21,13 @@ package org.apache.james.modules.eventstore;
 
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.eventsourcing.Event;
+import org.apache.james.eventsourcing.Snapshot;
 import org.apache.james.eventsourcing.eventstore.EventStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTO;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTOModule;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTO;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTOModule;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Scopes;
@@ -43,5 +46,6 @@ public class CassandraEventStoreModule extends AbstractModule {
             .toInstance(org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreModule.MODULE());
 
         Multibinder.newSetBinder(binder(), new TypeLiteral<EventDTOModule<? extends Event, ? extends EventDTO>>() {});
+        Multibinder.newSetBinder(binder(), new TypeLiteral<SnapshotDTOModule<? extends Snapshot, ? extends SnapshotDTO>>() {});
     }
 }
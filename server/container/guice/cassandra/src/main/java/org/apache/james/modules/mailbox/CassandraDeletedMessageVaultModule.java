@@ -29,6 +29,7 @@ import org.apache.james.vault.metadata.CassandraDeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.DeletedMessageMetadataModule;
 import org.apache.james.vault.metadata.DeletedMessageMetadataVault;
 import org.apache.james.vault.metadata.MetadataDAO;
+import org.apache.james.vault.metadata.SearchIndexDAO;
 import org.apache.james.vault.metadata.StorageInformationDAO;
 import org.apache.james.vault.metadata.UserPerBucketDAO;
 
@@ -50,6 +51,7 @@ public class CassandraDeletedMessageVaultModule extends AbstractModule {
         bind(MetadataDAO.class).in(Scopes.SINGLETON);
         bind(StorageInformationDAO.class).in(Scopes.SINGLETON);
         bind(UserPerBucketDAO.class).in(Scopes.SINGLETON);
+        bind(SearchIndexDAO.class).in(Scopes.SINGLETON);
         bind(DeletedMessageWithStorageInformationConverter.class).in(Scopes.SINGLETON);
 
         bind(CassandraDeletedMessageMetadataVault.class).in(Scopes.SINGLETON);
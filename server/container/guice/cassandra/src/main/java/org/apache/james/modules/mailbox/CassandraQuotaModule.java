@@ -19,6 +19,13 @@
 
 package org.apache.james.modules.mailbox;
 
+import java.io.FileNotFoundException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.backends.cassandra.components.CassandraModule;
 import org.apache.james.events.EventListener;
 import org.apache.james.mailbox.cassandra.quota.CassandraCurrentQuotaManager;
@@ -32,16 +39,23 @@ import org.apache.james.mailbox.quota.QuotaManager;
 import org.apache.james.mailbox.quota.QuotaRootDeserializer;
 import org.apache.james.mailbox.quota.QuotaRootResolver;
 import org.apache.james.mailbox.quota.UserQuotaRootResolver;
+import org.apache.james.mailbox.store.quota.CachingCurrentQuotaManager;
 import org.apache.james.mailbox.store.quota.DefaultUserQuotaRootResolver;
 import org.apache.james.mailbox.store.quota.ListeningCurrentQuotaUpdater;
 import org.apache.james.mailbox.store.quota.QuotaUpdater;
 import org.apache.james.mailbox.store.quota.StoreQuotaManager;
+import org.apache.james.util.DurationParser;
+import org.apache.james.utils.PropertiesProvider;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
 public class CassandraQuotaModule extends AbstractModule {
+    private static final String CASSANDRA_FILE_NAME = "cassandra";
+    private static final String CURRENT_QUOTA_CACHE_TTL = "quota.current.cache.ttl";
 
     @Override
     protected void configure() {
@@ -53,7 +67,6 @@ public class CassandraQuotaModule extends AbstractModule {
         bind(DefaultUserQuotaRootResolver.class).in(Scopes.SINGLETON);
         bind(StoreQuotaManager.class).in(Scopes.SINGLETON);
 
-        bind(CurrentQuotaManager.class).to(CassandraCurrentQuotaManager.class);
         bind(MaxQuotaManager.class).to(CassandraPerUserMaxQuotaManager.class);
         bind(QuotaManager.class).to(StoreQuotaManager.class);
         bind(QuotaRootResolver.class).to(DefaultUserQuotaRootResolver.class);
@@ -69,4 +82,23 @@ public class CassandraQuotaModule extends AbstractModule {
             .addBinding()
             .to(ListeningCurrentQuotaUpdater.class);
     }
+
+    @Provides
+    @Singleton
+    CurrentQuotaManager provideCurrentQuotaManager(CassandraCurrentQuotaManager cassandraCurrentQuotaManager,
+                                                   PropertiesProvider propertiesProvider) throws ConfigurationException {
+        return currentQuotaCacheTimeToLive(propertiesProvider)
+            .<CurrentQuotaManager>map(timeToLive -> new CachingCurrentQuotaManager(cassandraCurrentQuotaManager, timeToLive))
+            .orElse(cassandraCurrentQuotaManager);
+    }
+
+    private Optional<Duration> currentQuotaCacheTimeToLive(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            Configuration configuration = propertiesProvider.getConfiguration(CASSANDRA_FILE_NAME);
+            return Optional.ofNullable(configuration.getString(CURRENT_QUOTA_CACHE_TTL, null))
+                .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS));
+        } catch (FileNotFoundException e) {
+            return Optional.empty();
+        }
+    }
 }
@@ -19,20 +19,36 @@
 
 package org.apache.james.modules.server;
 
+import java.io.FileNotFoundException;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.james.metrics.api.GaugeRegistry;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.metrics.dropwizard.DropWizardGaugeRegistry;
 import org.apache.james.metrics.dropwizard.DropWizardJVMMetrics;
 import org.apache.james.metrics.dropwizard.DropWizardMetricFactory;
+import org.apache.james.metrics.dropwizard.TimerReservoirFactory;
+import org.apache.james.util.DurationParser;
 import org.apache.james.utils.InitializationOperation;
 import org.apache.james.utils.InitilizationOperationBuilder;
+import org.apache.james.utils.PropertiesProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.MetricRegistry;
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
 import com.google.inject.multibindings.ProvidesIntoSet;
 
 public class DropWizardMetricsModule extends AbstractModule {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DropWizardMetricsModule.class);
+    private static final String FILENAME = "metrics";
+    private static final String TIMER_INTERVAL = "metrics.timer.interval";
 
     @Override
     protected void configure() {
@@ -46,6 +62,21 @@ public class DropWizardMetricsModule extends AbstractModule {
         bind(GaugeRegistry.class).to(DropWizardGaugeRegistry.class);
     }
 
+    @Singleton
+    @Provides
+    TimerReservoirFactory timerReservoirFactory(PropertiesProvider propertiesProvider) throws ConfigurationException {
+        try {
+            Configuration configuration = propertiesProvider.getConfiguration(FILENAME);
+            return Optional.ofNullable(configuration.getString(TIMER_INTERVAL, null))
+                .map(interval -> DurationParser.parse(interval, ChronoUnit.SECONDS))
+                .map(TimerReservoirFactory::interval)
+                .orElse(TimerReservoirFactory.CUMULATIVE);
+        } catch (FileNotFoundException e) {
+            LOGGER.info("Could not find {} configuration file, timer percentiles are computed since startup", FILENAME);
+            return TimerReservoirFactory.CUMULATIVE;
+        }
+    }
+
     @ProvidesIntoSet
     InitializationOperation startMetricFactory(DropWizardMetricFactory instance) {
         return InitilizationOperationBuilder
@@ -35,6 +35,8 @@ import org.apache.james.blob.cassandra.cache.CachedBlobStore;
 import org.apache.james.blob.cassandra.cache.CassandraBlobCacheModule;
 import org.apache.james.blob.cassandra.cache.CassandraBlobStoreCache;
 import org.apache.james.blob.cassandra.cache.CassandraCacheConfiguration;
+import org.apache.james.blob.cassandra.cache.LocalBlobStoreCache;
+import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.modules.mailbox.CassandraCacheSessionModule;
 import org.apache.james.modules.mailbox.ConfigurationComponent;
 import org.apache.james.utils.PropertiesProvider;
@@ -66,13 +68,22 @@ public class BlobStoreCacheModulesChooser {
         @Override
         protected void configure() {
             bind(CassandraBlobStoreCache.class).in(Scopes.SINGLETON);
-            bind(BlobStoreCache.class).to(CassandraBlobStoreCache.class);
 
             Multibinder.newSetBinder(binder(), CassandraModule.class, Names.named(InjectionNames.CACHE))
                 .addBinding()
                 .toInstance(CassandraBlobCacheModule.MODULE);
         }
 
+        @Provides
+        @Singleton
+        BlobStoreCache provideBlobStoreCache(CassandraBlobStoreCache cassandraBlobStoreCache,
+                                             CassandraCacheConfiguration cacheConfiguration,
+                                             MetricFactory metricFactory) {
+            return cacheConfiguration.getLocalCacheMaxSizeInBytes()
+                .<BlobStoreCache>map(maxSize -> new LocalBlobStoreCache(cassandraBlobStoreCache, maxSize, cacheConfiguration.getLocalCacheTtl(), metricFactory))
+                .orElse(cassandraBlobStoreCache);
+        }
+
         @Provides
         @Named(MetricableBlobStore.BLOB_STORE_IMPLEMENTATION)
         @Singleton
@@ -118,7 +118,8 @@ public class ElasticSearchMailboxModule extends AbstractModule {
                                                                    ElasticSearchMailboxConfiguration configuration) {
         return new ElasticSearchIndexer(
             client,
-            configuration.getWriteAliasMailboxName());
+            configuration.getWriteAliasMailboxName(),
+            configuration.getBulkProcessorConfiguration());
     }
 
     @Provides
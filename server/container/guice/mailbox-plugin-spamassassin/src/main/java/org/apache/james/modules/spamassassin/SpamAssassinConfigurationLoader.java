@@ -19,16 +19,22 @@
 
 package org.apache.james.modules.spamassassin;
 
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 import org.apache.commons.configuration2.Configuration;
 import org.apache.james.mailbox.spamassassin.SpamAssassinConfiguration;
+import org.apache.james.spamassassin.SpamdClientConfiguration;
+import org.apache.james.util.DurationParser;
 import org.apache.james.util.Host;
 
 public class SpamAssassinConfigurationLoader {
 
     private static final String SPAMASSASSIN_HOST = "spamassassin.host";
     private static final String SPAMASSASSIN_PORT = "spamassassin.port";
+    private static final String SPAMASSASSIN_MAX_CONCURRENT_REQUESTS = "spamassassin.maxConcurrentRequests";
+    private static final String SPAMASSASSIN_CONNECT_TIMEOUT = "spamassassin.connectTimeout";
+    private static final String SPAMASSASSIN_READ_TIMEOUT = "spamassassin.readTimeout";
     public static final String DEFAULT_HOST = "127.0.0.1";
     public static final int DEFAULT_PORT = 783;
 
@@ -38,11 +44,24 @@ public class SpamAssassinConfigurationLoader {
 
     public static SpamAssassinConfiguration fromProperties(Configuration configuration) {
         Host host = getHost(configuration);
-        return new SpamAssassinConfiguration(Optional.of(host));
+        return new SpamAssassinConfiguration(Optional.of(host), getClientConfiguration(configuration));
     }
 
     private static Host getHost(Configuration propertiesReader) {
         return Host.from(propertiesReader.getString(SPAMASSASSIN_HOST, DEFAULT_HOST), 
                 propertiesReader.getInteger(SPAMASSASSIN_PORT, DEFAULT_PORT));
     }
+
+    private static SpamdClientConfiguration getClientConfiguration(Configuration propertiesReader) {
+        SpamdClientConfiguration.Builder builder = SpamdClientConfiguration.builder();
+        Optional.ofNullable(propertiesReader.getInteger(SPAMASSASSIN_MAX_CONCURRENT_REQUESTS, null))
+            .ifPresent(builder::maxConcurrentRequests);
+        Optional.ofNullable(propertiesReader.getString(SPAMASSASSIN_CONNECT_TIMEOUT, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::connectTimeout);
+        Optional.ofNullable(propertiesReader.getString(SPAMASSASSIN_READ_TIMEOUT, null))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::readTimeout);
+        return builder.build();
+    }
 }
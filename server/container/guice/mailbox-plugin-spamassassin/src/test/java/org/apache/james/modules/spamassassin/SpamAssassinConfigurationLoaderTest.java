@@ -20,8 +20,11 @@ package org.apache.james.modules.spamassassin;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.apache.commons.configuration2.PropertiesConfiguration;
 import org.apache.james.mailbox.spamassassin.SpamAssassinConfiguration;
+import org.apache.james.spamassassin.SpamdClientConfiguration;
 import org.apache.james.util.Host;
 import org.junit.jupiter.api.Test;
 
@@ -55,4 +58,25 @@ public class SpamAssassinConfigurationLoaderTest {
         SpamAssassinConfiguration configuration = SpamAssassinConfigurationLoader.fromProperties(propertiesConfiguration);
         assertThat(configuration.getHost().get()).isEqualTo(Host.from(host, port));
     }
+
+    @Test
+    void clientConfigurationShouldReturnDefaultWhenConfigurationIsEmpty() {
+        SpamAssassinConfiguration configuration = SpamAssassinConfigurationLoader.fromProperties(new PropertiesConfiguration());
+        assertThat(configuration.getClientConfiguration()).isEqualTo(SpamdClientConfiguration.DEFAULT);
+    }
+
+    @Test
+    void clientConfigurationShouldReturnCustomWhenConfigurationIsProvided() {
+        PropertiesConfiguration propertiesConfiguration = new PropertiesConfiguration();
+        propertiesConfiguration.addProperty("spamassassin.maxConcurrentRequests", 4);
+        propertiesConfiguration.addProperty("spamassassin.connectTimeout", "500ms");
+        propertiesConfiguration.addProperty("spamassassin.readTimeout", "30");
+
+        SpamAssassinConfiguration configuration = SpamAssassinConfigurationLoader.fromProperties(propertiesConfiguration);
+        assertThat(configuration.getClientConfiguration()).isEqualTo(SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(4)
+            .connectTimeout(Duration.ofMillis(500))
+            .readTimeout(Duration.ofSeconds(30))
+            .build());
+    }
 }
@@ -25,6 +25,7 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 
 import com.google.common.base.Preconditions;
+import com.google.common.io.ByteStreams;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -53,6 +54,10 @@ public class DataChunker {
         return Mono.just(ByteBuffer.wrap(data, offset, data.length - offset));
     }
 
+    /**
+     * Every chunk but the last one is full, even when the stream returns fewer bytes than requested, so that the
+     * position of a byte can be computed from the chunk size.
+     */
     public static Flux<ByteBuffer> chunkStream(InputStream data, int chunkSize) {
         Preconditions.checkNotNull(data);
         Preconditions.checkArgument(chunkSize > 0, CHUNK_SIZE_MUST_BE_STRICTLY_POSITIVE);
@@ -62,7 +67,7 @@ public class DataChunker {
                 try {
                     byte[] buffer = new byte[chunkSize];
 
-                    int size = bufferedInputStream.read(buffer);
+                    int size = ByteStreams.read(bufferedInputStream, buffer, 0, chunkSize);
                     if (size <= 0) {
                         sink.complete();
                     } else {
@@ -0,0 +1,49 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.util.concurrent;
+
+import java.util.Arrays;
+
+/**
+ * Kind of threads blocking work is executed on.
+ *
+ * {@link #VIRTUAL} requires a runtime supporting virtual threads, see {@link VirtualThreads}.
+ */
+public enum ExecutionMode {
+    PLATFORM("platform"),
+    VIRTUAL("virtual");
+
+    public static ExecutionMode parse(String value) {
+        return Arrays.stream(values())
+            .filter(mode -> mode.value.equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown execution mode '" + value + "'. Supported values are 'platform' and 'virtual'"));
+    }
+
+    private final String value;
+
+    ExecutionMode(String value) {
+        this.value = value;
+    }
+
+    public String asString() {
+        return value;
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.james.util.concurrent;
 
 import java.util.concurrent.ThreadFactory;
 
+import org.apache.commons.lang3.NotImplementedException;
+
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class NamedThreadFactory implements ThreadFactory {
@@ -35,9 +37,24 @@ public class NamedThreadFactory implements ThreadFactory {
         return new NamedThreadFactory(name);
     }
 
+    public static NamedThreadFactory withName(String name, ExecutionMode executionMode) {
+        switch (executionMode) {
+            case VIRTUAL:
+                return new NamedThreadFactory(name, VirtualThreads.threadFactory(name));
+            case PLATFORM:
+                return new NamedThreadFactory(name);
+            default:
+                throw new NotImplementedException(executionMode + " is not supported");
+        }
+    }
+
     private NamedThreadFactory(String name) {
+        this(name, new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
+    }
+
+    private NamedThreadFactory(String name, ThreadFactory threadFactory) {
         this.name = name;
-        this.threadFactory = new ThreadFactoryBuilder().setNameFormat(name + "-%d").build();
+        this.threadFactory = threadFactory;
     }
 
     @Override
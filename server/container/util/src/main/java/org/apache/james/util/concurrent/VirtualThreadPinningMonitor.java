@@ -0,0 +1,108 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.util.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jdk.jfr.consumer.RecordedEvent;
+
+/**
+ * Records virtual threads blocking while pinned to their carrier thread, for instance within a
+ * <code>synchronized</code> block. Pinned virtual threads hold their carrier thread, which limits the
+ * concurrency virtual threads can achieve.
+ *
+ * Pinning is reported by the JDK as <code>jdk.VirtualThreadPinned</code> Flight Recorder events, which are
+ * streamed once for the whole JVM, whatever the pinning duration. The statistics are exposed via JMX.
+ */
+public class VirtualThreadPinningMonitor implements VirtualThreadPinningMonitorMBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String MBEAN_NAME = "org.apache.james:type=component,name=virtualThreadPinning";
+
+    private static VirtualThreadPinningMonitor instance;
+
+    /**
+     * Starts monitoring virtual thread pinning, if not already started.
+     */
+    public static synchronized VirtualThreadPinningMonitor start() {
+        VirtualThreads.checkSupported();
+        if (instance == null) {
+            VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor();
+            monitor.streamPinnedEvents();
+            monitor.registerMBean();
+            instance = monitor;
+        }
+        return instance;
+    }
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong totalPinnedTimeInMs = new AtomicLong();
+
+    private VirtualThreadPinningMonitor() {
+    }
+
+    private void streamPinnedEvents() {
+        try {
+            Class<?> recordingStreamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            Object recordingStream = recordingStreamClass.getConstructor().newInstance();
+            Object eventSettings = recordingStreamClass.getMethod("enable", String.class).invoke(recordingStream, PINNED_EVENT);
+            // Pinned events are only recorded above 20ms by default, which would hide shorter pins
+            Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", Duration.class).invoke(eventSettings, Duration.ZERO);
+            Consumer<RecordedEvent> onPinned = event -> record(event.getDuration());
+            recordingStreamClass.getMethod("onEvent", String.class, Consumer.class).invoke(recordingStream, PINNED_EVENT, onPinned);
+            recordingStreamClass.getMethod("startAsync").invoke(recordingStream);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Could not monitor virtual thread pinning", e);
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+            mbeanServer.registerMBean(this, new ObjectName(MBEAN_NAME));
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to register mbean", e);
+        }
+    }
+
+    void record(Duration pinnedDuration) {
+        pinnedCount.incrementAndGet();
+        totalPinnedTimeInMs.addAndGet(pinnedDuration.toMillis());
+    }
+
+    @Override
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    @Override
+    public long getTotalPinnedTime() {
+        return totalPinnedTimeInMs.get();
+    }
+}
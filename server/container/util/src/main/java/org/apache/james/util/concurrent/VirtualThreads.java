@@ -0,0 +1,97 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.util.concurrent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK virtual threads.
+ *
+ * James targets Java 11 while virtual threads are only available starting from Java 21: they are looked up
+ * reflectively, and {@link #isSupported()} tells whether the current runtime provides them.
+ */
+public class VirtualThreads {
+    private static final int MINIMUM_JAVA_VERSION = 21;
+    private static final Optional<Method> OF_VIRTUAL = lookup(Thread.class, "ofVirtual")
+        .filter(any -> Runtime.version().feature() >= MINIMUM_JAVA_VERSION);
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL.isPresent();
+    }
+
+    public static void checkSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by the current Java runtime (" + Runtime.version() + "). Java " + MINIMUM_JAVA_VERSION + " or later is required.");
+        }
+    }
+
+    /**
+     * @return a {@link ThreadFactory} creating virtual threads named after the given prefix
+     */
+    public static ThreadFactory threadFactory(String name) {
+        checkSupported();
+        try {
+            Object builder = OF_VIRTUAL.get().invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object namedBuilder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+
+    /**
+     * @return an unbounded {@link ExecutorService} starting a new virtual thread for each task
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String name) {
+        ThreadFactory threadFactory = threadFactory(name);
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, threadFactory);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread per task executor", e);
+        }
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        return lookup(Thread.class, "isVirtual")
+            .map(method -> {
+                try {
+                    return (Boolean) method.invoke(thread);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    return false;
+                }
+            })
+            .orElse(false);
+    }
+
+    private static Optional<Method> lookup(Class<?> clazz, String methodName) {
+        try {
+            return Optional.of(clazz.getMethod(methodName));
+        } catch (NoSuchMethodException e) {
+            return Optional.empty();
+        }
+    }
+}
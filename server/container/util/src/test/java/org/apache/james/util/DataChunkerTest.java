@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
@@ -166,6 +168,37 @@ public class DataChunkerTest {
 
             assertThat(chunks.map(DataChunkerTest::read).toStream()).containsExactly(part1, part2);
         }
+
+        @Test
+        public void chunkStreamShouldReturnFullChunksWhenTheStreamReturnsFewerBytesThanRequested() {
+            byte[] part1 = "1234567890".getBytes(StandardCharsets.UTF_8);
+            byte[] part2 = "12345".getBytes(StandardCharsets.UTF_8);
+            Assumptions.assumeThat(part1.length).isEqualTo(CHUNK_SIZE);
+            byte[] data = Bytes.concat(part1, part2);
+
+            Flux<ByteBuffer> chunks = testee.chunkStream(new OneByteAtATimeInputStream(data), CHUNK_SIZE);
+
+            assertThat(chunks.map(DataChunkerTest::read).toStream()).containsExactly(part1, part2);
+        }
+    }
+
+    /**
+     * Returns one byte per read, and never reports available bytes
+     */
+    static class OneByteAtATimeInputStream extends FilterInputStream {
+        OneByteAtATimeInputStream(byte[] data) {
+            super(new ByteArrayInputStream(data));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1));
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
     }
 
     static byte[] read(ByteBuffer buffer) {
@@ -0,0 +1,59 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutionModeTest {
+    @Test
+    void parseShouldReturnPlatform() {
+        assertThat(ExecutionMode.parse("platform")).isEqualTo(ExecutionMode.PLATFORM);
+    }
+
+    @Test
+    void parseShouldReturnVirtual() {
+        assertThat(ExecutionMode.parse("virtual")).isEqualTo(ExecutionMode.VIRTUAL);
+    }
+
+    @Test
+    void parseShouldBeCaseInsensitive() {
+        assertThat(ExecutionMode.parse("VirTual")).isEqualTo(ExecutionMode.VIRTUAL);
+    }
+
+    @Test
+    void parseShouldIgnoreSurroundingSpaces() {
+        assertThat(ExecutionMode.parse(" virtual ")).isEqualTo(ExecutionMode.VIRTUAL);
+    }
+
+    @Test
+    void parseShouldThrowOnUnknownValue() {
+        assertThatThrownBy(() -> ExecutionMode.parse("green"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parseShouldThrowOnEmptyValue() {
+        assertThatThrownBy(() -> ExecutionMode.parse(""))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.util.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+    @Test
+    void isSupportedShouldDependOnTheJavaRuntime() {
+        assertThat(VirtualThreads.isSupported()).isEqualTo(Runtime.version().feature() >= 21);
+    }
+
+    @Test
+    void threadFactoryShouldThrowWhenUnsupported() {
+        assumeThat(VirtualThreads.isSupported()).isFalse();
+
+        assertThatThrownBy(() -> VirtualThreads.threadFactory("test"))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void namedThreadFactoryShouldThrowInVirtualModeWhenUnsupported() {
+        assumeThat(VirtualThreads.isSupported()).isFalse();
+
+        assertThatThrownBy(() -> NamedThreadFactory.withName("test", ExecutionMode.VIRTUAL))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void isVirtualShouldBeFalseForPlatformThreads() {
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    void namedThreadFactoryShouldCreatePlatformThreadsInPlatformMode() {
+        Thread thread = NamedThreadFactory.withName("test", ExecutionMode.PLATFORM).newThread(() -> { });
+
+        assertThat(VirtualThreads.isVirtual(thread)).isFalse();
+        assertThat(thread.getName()).startsWith("test-");
+    }
+
+    @Test
+    void threadFactoryShouldCreateNamedVirtualThreads() {
+        assumeThat(VirtualThreads.isSupported()).isTrue();
+
+        Thread thread = VirtualThreads.threadFactory("test").newThread(() -> { });
+
+        assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+        assertThat(thread.getName()).isEqualTo("test-0");
+    }
+
+    @Test
+    void newThreadPerTaskExecutorShouldRunTasksOnVirtualThreads() throws Exception {
+        assumeThat(VirtualThreads.isSupported()).isTrue();
+
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test");
+        try {
+            assertThat(executor.submit(() -> VirtualThreads.isVirtual(Thread.currentThread())).get(10, TimeUnit.SECONDS))
+                .isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -19,9 +19,11 @@
 
 package org.apache.james.dlp.eventsourcing.cassandra;
 
+import org.apache.james.dlp.eventsourcing.aggregates.DLPConfigurationSnapshot;
 import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsAdded;
 import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsRemoved;
 import org.apache.james.eventsourcing.eventstore.cassandra.dto.EventDTOModule;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTOModule;
 
 public interface DLPConfigurationModules {
 
@@ -43,5 +45,14 @@ public interface DLPConfigurationModules {
             .typeName("dlp-configuration-clear")
             .withFactory(EventDTOModule::new);
 
+    SnapshotDTOModule<DLPConfigurationSnapshot, DLPConfigurationSnapshotDTO> DLP_CONFIGURATION_SNAPSHOT =
+        SnapshotDTOModule
+            .forSnapshot(DLPConfigurationSnapshot.class)
+            .convertToDTO(DLPConfigurationSnapshotDTO.class)
+            .toDomainObjectConverter(DLPConfigurationSnapshotDTO::toSnapshot)
+            .toDTOConverter(DLPConfigurationSnapshotDTO::from)
+            .typeName("dlp-configuration-snapshot")
+            .withFactory(SnapshotDTOModule::new);
+
 
 }
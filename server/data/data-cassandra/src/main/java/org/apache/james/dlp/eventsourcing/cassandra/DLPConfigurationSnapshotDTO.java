@@ -0,0 +1,109 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dlp.eventsourcing.cassandra;
+
+import static org.apache.james.dlp.eventsourcing.cassandra.DLPConfigurationItemDTO.fromDTOs;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.james.dlp.eventsourcing.aggregates.DLPAggregateId;
+import org.apache.james.dlp.eventsourcing.aggregates.DLPConfigurationSnapshot;
+import org.apache.james.eventsourcing.EventId;
+import org.apache.james.eventsourcing.eventstore.cassandra.dto.SnapshotDTO;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Preconditions;
+
+class DLPConfigurationSnapshotDTO implements SnapshotDTO {
+
+    public static DLPConfigurationSnapshotDTO from(DLPConfigurationSnapshot snapshot, String type) {
+        return new DLPConfigurationSnapshotDTO(
+            type,
+            snapshot.version().serialize(),
+            snapshot.getAggregateId().asAggregateKey(),
+            DLPConfigurationItemDTO.from(snapshot.getRules()));
+    }
+
+    private final String type;
+    private final int version;
+    private final String aggregateId;
+    private final List<DLPConfigurationItemDTO> configurationItems;
+
+    @JsonCreator
+    private DLPConfigurationSnapshotDTO(
+            @JsonProperty("type") String type,
+            @JsonProperty("version") int version,
+            @JsonProperty("aggregateId") String aggregateId,
+            @JsonProperty("configurationItems") List<DLPConfigurationItemDTO> configurationItems) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(aggregateId);
+        Preconditions.checkNotNull(configurationItems);
+
+        this.type = type;
+        this.version = version;
+        this.aggregateId = aggregateId;
+        this.configurationItems = configurationItems;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    public List<DLPConfigurationItemDTO> getConfigurationItems() {
+        return configurationItems;
+    }
+
+    @JsonIgnore
+    public DLPConfigurationSnapshot toSnapshot() {
+        return new DLPConfigurationSnapshot(
+            DLPAggregateId.parse(aggregateId),
+            EventId.fromSerialized(version),
+            fromDTOs(configurationItems));
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof DLPConfigurationSnapshotDTO) {
+            DLPConfigurationSnapshotDTO that = (DLPConfigurationSnapshotDTO) o;
+
+            return Objects.equals(this.version, that.version)
+                && Objects.equals(this.type, that.type)
+                && Objects.equals(this.aggregateId, that.aggregateId)
+                && Objects.equals(this.configurationItems, that.configurationItems);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(type, version, aggregateId, configurationItems);
+    }
+}
@@ -111,17 +111,22 @@ public class CassandraSieveRepository implements SieveRepository {
             .switchIfEmpty(globalQuota);
     }
 
+    /**
+     * Replacing the active script refreshes its activation date: as it is shared by all James servers, it allows
+     * them to detect that the compiled version of the script they might hold is outdated.
+     */
     @Override
     public void putScript(Username username, ScriptName name, ScriptContent content) throws QuotaExceededException {
-        Function<Long, Mono<Void>> updateAndInsert = spaceUsed -> Flux.merge(
-                updateSpaceUsed(username, spaceUsed),
-                cassandraSieveDAO.insertScript(username,
-                        Script.builder()
-                                .name(name)
-                                .content(content)
-                                .isActive(false)
-                                .build()))
-                .then();
+        Function<Long, Mono<Void>> updateAndInsert = spaceUsed -> isActive(username, name)
+            .flatMap(isActive -> Flux.merge(
+                    updateSpaceUsed(username, spaceUsed),
+                    cassandraSieveDAO.insertScript(username,
+                            Script.builder()
+                                    .name(name)
+                                    .content(content)
+                                    .isActive(isActive)
+                                    .build()))
+                .then(refreshActivation(username, name, isActive)));
 
         reThrowQuotaExceededException(() ->
             spaceThatWillBeUsedByNewScript(username, name, content.length())
@@ -130,6 +135,19 @@ public class CassandraSieveRepository implements SieveRepository {
                 .block());
     }
 
+    private Mono<Boolean> isActive(Username username, ScriptName name) {
+        return cassandraActiveScriptDAO.getActiveSctiptInfo(username)
+            .map(activeScriptInfo -> activeScriptInfo.getName().equals(name))
+            .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> refreshActivation(Username username, ScriptName name, boolean isActive) {
+        if (isActive) {
+            return cassandraActiveScriptDAO.activate(username, name);
+        }
+        return Mono.empty();
+    }
+
     private void reThrowQuotaExceededException(Runnable runnable) throws QuotaExceededException {
        try {
            runnable.run();
@@ -26,6 +26,8 @@ import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStore;
 import org.apache.james.eventsourcing.eventstore.cassandra.CassandraEventStoreModule;
 import org.apache.james.eventsourcing.eventstore.cassandra.EventStoreDao;
 import org.apache.james.eventsourcing.eventstore.cassandra.JsonEventSerializer;
+import org.apache.james.eventsourcing.eventstore.cassandra.JsonSnapshotSerializer;
+import org.apache.james.eventsourcing.eventstore.cassandra.SnapshotDao;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -73,6 +75,10 @@ public class CassandraEventSourcingDLPConfigurationStoreExtension implements Bef
             jsonEventSerializer,
             cassandraExtension.getCassandraConsistenciesConfiguration());
 
-        return new EventSourcingDLPConfigurationStore(new CassandraEventStore(eventStoreDao));
+        SnapshotDao snapshotDao = new SnapshotDao(
+            cassandraExtension.getCassandraCluster().getConf(),
+            JsonSnapshotSerializer.forModules(DLPConfigurationModules.DLP_CONFIGURATION_SNAPSHOT));
+
+        return new EventSourcingDLPConfigurationStore(new CassandraEventStore(eventStoreDao, snapshotDao));
     }
 }
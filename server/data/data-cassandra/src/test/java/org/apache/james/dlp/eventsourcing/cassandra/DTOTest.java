@@ -21,6 +21,7 @@ package org.apache.james.dlp.eventsourcing.cassandra;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.apache.james.dlp.eventsourcing.cassandra.DLPConfigurationModules.DLP_CONFIGURATION_CLEAR;
+import static org.apache.james.dlp.eventsourcing.cassandra.DLPConfigurationModules.DLP_CONFIGURATION_SNAPSHOT;
 import static org.apache.james.dlp.eventsourcing.cassandra.DLPConfigurationModules.DLP_CONFIGURATION_STORE;
 import static org.apache.james.util.ClassLoaderUtils.getSystemResourceAsString;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +33,7 @@ import org.apache.james.JsonSerializationVerifier;
 import org.apache.james.core.Domain;
 import org.apache.james.dlp.api.DLPConfigurationItem;
 import org.apache.james.dlp.eventsourcing.aggregates.DLPAggregateId;
+import org.apache.james.dlp.eventsourcing.aggregates.DLPConfigurationSnapshot;
 import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsAdded;
 import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsRemoved;
 import org.apache.james.eventsourcing.EventId;
@@ -79,6 +81,7 @@ class DTOTest {
     private static final String CONFIGURATION_ITEMS_JSON_1 = getSystemResourceAsString("json/dlp/eventsourcing/configuration_item_1.json");
     private static final String ITEMS_ADDED_EVENT_JSON_1 = getSystemResourceAsString("json/dlp/eventsourcing/items_added_event_1.json");
     private static final String ITEMS_ADDED_EVENT_JSON_2 = getSystemResourceAsString("json/dlp/eventsourcing/items_added_event_2.json");
+    private static final String SNAPSHOT_JSON = getSystemResourceAsString("json/dlp/eventsourcing/snapshot.json");
 
     private ObjectMapper objectMapper;
 
@@ -126,6 +129,17 @@ class DTOTest {
             .verify();
     }
 
+    @Test
+    void shouldSerializeDLPConfigurationSnapshot() throws Exception {
+        JsonSerializationVerifier.dtoModule(DLP_CONFIGURATION_SNAPSHOT)
+            .bean(new DLPConfigurationSnapshot(
+                DLP_AGGREGATE_ID,
+                EventId.fromSerialized(41),
+                DLP_CONFIGURATION_ITEMS))
+            .json(SNAPSHOT_JSON)
+            .verify();
+    }
+
     @Test
     void shouldSerializeDLPConfigurationItemDTO() throws Exception {
         assertThatJson(
@@ -19,11 +19,19 @@
 
 package org.apache.james.sieve.cassandra;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+
+import org.apache.commons.io.IOUtils;
 import org.apache.james.backends.cassandra.CassandraCluster;
 import org.apache.james.backends.cassandra.CassandraClusterExtension;
+import org.apache.james.sieverepository.api.ScriptSummary;
 import org.apache.james.sieverepository.api.SieveRepository;
 import org.apache.james.sieverepository.lib.SieveRepositoryContract;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
 
 class CassandraSieveRepositoryTest implements SieveRepositoryContract {
@@ -44,4 +52,39 @@ class CassandraSieveRepositoryTest implements SieveRepositoryContract {
     public SieveRepository sieveRepository() {
         return sieveRepository;
     }
+
+    @Test
+    void putScriptShouldKeepReplacedActiveScriptActive() throws Exception {
+        sieveRepository.putScript(USERNAME, SCRIPT_NAME, SCRIPT_CONTENT);
+        sieveRepository.setActive(USERNAME, SCRIPT_NAME);
+
+        sieveRepository.putScript(USERNAME, SCRIPT_NAME, OTHER_SCRIPT_CONTENT);
+
+        assertThat(sieveRepository.listScripts(USERNAME)).containsOnly(new ScriptSummary(SCRIPT_NAME, true));
+        assertThat(IOUtils.toString(sieveRepository.getActive(USERNAME), StandardCharsets.UTF_8)).isEqualTo(OTHER_SCRIPT_CONTENT.getValue());
+    }
+
+    @Test
+    void putScriptShouldRefreshActivationDateWhenReplacingActiveScript() throws Exception {
+        sieveRepository.putScript(USERNAME, SCRIPT_NAME, SCRIPT_CONTENT);
+        sieveRepository.setActive(USERNAME, SCRIPT_NAME);
+        ZonedDateTime activationDate = sieveRepository.getActivationDateForActiveScript(USERNAME);
+
+        Thread.sleep(10);
+        sieveRepository.putScript(USERNAME, SCRIPT_NAME, OTHER_SCRIPT_CONTENT);
+
+        assertThat(sieveRepository.getActivationDateForActiveScript(USERNAME)).isAfter(activationDate);
+    }
+
+    @Test
+    void putScriptShouldNotRefreshActivationDateWhenReplacingAnotherScript() throws Exception {
+        sieveRepository.putScript(USERNAME, SCRIPT_NAME, SCRIPT_CONTENT);
+        sieveRepository.setActive(USERNAME, SCRIPT_NAME);
+        ZonedDateTime activationDate = sieveRepository.getActivationDateForActiveScript(USERNAME);
+
+        Thread.sleep(10);
+        sieveRepository.putScript(USERNAME, OTHER_SCRIPT_NAME, OTHER_SCRIPT_CONTENT);
+
+        assertThat(sieveRepository.getActivationDateForActiveScript(USERNAME)).isEqualTo(activationDate);
+    }
 }
\ No newline at end of file
@@ -35,7 +35,7 @@ import org.apache.james.dlp.eventsourcing.commands.ClearCommandHandler;
 import org.apache.james.dlp.eventsourcing.commands.StoreCommand;
 import org.apache.james.dlp.eventsourcing.commands.StoreCommandHandler;
 import org.apache.james.eventsourcing.EventSourcingSystem;
-import org.apache.james.eventsourcing.Subscriber;
+import org.apache.james.eventsourcing.SnapshotSubscriber;
 import org.apache.james.eventsourcing.eventstore.EventStore;
 import org.reactivestreams.Publisher;
 
@@ -45,18 +45,22 @@ import reactor.core.publisher.Mono;
 
 public class EventSourcingDLPConfigurationStore implements DLPConfigurationStore {
 
-    private static final ImmutableSet<Subscriber> NO_SUBSCRIBER = ImmutableSet.of();
-
     private final EventSourcingSystem eventSourcingSystem;
     private final EventStore eventStore;
 
     @Inject
     public EventSourcingDLPConfigurationStore(EventStore eventStore) {
+        this(eventStore, SnapshotSubscriber.DEFAULT_INTERVAL());
+    }
+
+    public EventSourcingDLPConfigurationStore(EventStore eventStore, int snapshotInterval) {
         this.eventSourcingSystem = EventSourcingSystem.fromJava(
             ImmutableSet.of(
                 new ClearCommandHandler(eventStore),
                 new StoreCommandHandler(eventStore)),
-            NO_SUBSCRIBER,
+            ImmutableSet.of(new SnapshotSubscriber(eventStore,
+                (aggregateId, history) -> DLPDomainConfiguration.snapshot((DLPAggregateId) aggregateId, history),
+                snapshotInterval)),
             eventStore);
         this.eventStore = eventStore;
     }
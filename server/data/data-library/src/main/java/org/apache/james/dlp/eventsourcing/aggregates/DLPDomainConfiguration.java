@@ -30,6 +30,7 @@ import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsAdded;
 import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsRemoved;
 import org.apache.james.eventsourcing.Event;
 import org.apache.james.eventsourcing.EventId;
+import org.apache.james.eventsourcing.Snapshot;
 import org.apache.james.eventsourcing.eventstore.History;
 
 import com.google.common.collect.ImmutableList;
@@ -42,12 +43,25 @@ public class DLPDomainConfiguration {
         return new DLPDomainConfiguration(aggregateId, history);
     }
 
+    public static DLPConfigurationSnapshot snapshot(DLPAggregateId aggregateId, History history) {
+        EventId version = history.getVersionAsJava()
+            .orElseThrow(() -> new IllegalArgumentException("Can not snapshot an empty history"));
+        return new DLPConfigurationSnapshot(aggregateId, version, load(aggregateId, history).retrieveRules().getItems());
+    }
+
     private static class State {
 
         static State initial() {
             return new State(ImmutableSet.of());
         }
 
+        static State from(Optional<Snapshot> snapshot) {
+            return snapshot
+                .map(DLPConfigurationSnapshot.class::cast)
+                .map(dlpSnapshot -> new State(ImmutableSet.copyOf(dlpSnapshot.getRules())))
+                .orElseGet(State::initial);
+        }
+
         final ImmutableSet<DLPConfigurationItem> rules;
 
         private State(ImmutableSet<DLPConfigurationItem> rules) {
@@ -71,7 +85,7 @@ public class DLPDomainConfiguration {
 
     private DLPDomainConfiguration(DLPAggregateId aggregateId, History history) {
         this.aggregateId = aggregateId;
-        this.state = State.initial();
+        this.state = State.from(history.getSnapshotAsJava());
         history.getEventsJava().forEach(this::apply);
         this.history = history;
     }
@@ -0,0 +1,99 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dlp.eventsourcing.aggregates;
+
+import static org.apache.james.dlp.api.DLPFixture.RULE;
+import static org.apache.james.dlp.api.DLPFixture.RULE_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.james.core.Domain;
+import org.apache.james.dlp.api.DLPRules;
+import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsAdded;
+import org.apache.james.dlp.eventsourcing.events.ConfigurationItemsRemoved;
+import org.apache.james.eventsourcing.EventId;
+import org.apache.james.eventsourcing.eventstore.History;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class DLPConfigurationSnapshotTest {
+    private static final DLPAggregateId AGGREGATE_ID = new DLPAggregateId(Domain.LOCALHOST);
+
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(DLPConfigurationSnapshot.class)
+            .verify();
+    }
+
+    @Test
+    void constructorShouldThrowWhenNullAggregateId() {
+        assertThatThrownBy(() -> new DLPConfigurationSnapshot(null, EventId.first(), ImmutableList.of(RULE)))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenNullVersion() {
+        assertThatThrownBy(() -> new DLPConfigurationSnapshot(AGGREGATE_ID, null, ImmutableList.of(RULE)))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void constructorShouldThrowWhenNullRules() {
+        assertThatThrownBy(() -> new DLPConfigurationSnapshot(AGGREGATE_ID, EventId.first(), null))
+            .isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    void snapshotShouldCaptureTheRulesAtTheVersionOfTheHistory() {
+        History history = History.of(
+            new ConfigurationItemsAdded(AGGREGATE_ID, EventId.first(), ImmutableList.of(RULE, RULE_2)),
+            new ConfigurationItemsRemoved(AGGREGATE_ID, EventId.first().next(), ImmutableList.of(RULE)));
+
+        assertThat(DLPDomainConfiguration.snapshot(AGGREGATE_ID, history))
+            .isEqualTo(new DLPConfigurationSnapshot(AGGREGATE_ID, EventId.first().next(), ImmutableList.of(RULE_2)));
+    }
+
+    @Test
+    void snapshotShouldThrowWhenEmptyHistory() {
+        assertThatThrownBy(() -> DLPDomainConfiguration.snapshot(AGGREGATE_ID, History.empty()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void loadShouldApplyTheEventsFollowingTheSnapshot() {
+        History history = History.fromSnapshot(
+            new DLPConfigurationSnapshot(AGGREGATE_ID, EventId.first(), ImmutableList.of(RULE)),
+            new ConfigurationItemsAdded(AGGREGATE_ID, EventId.first().next(), ImmutableList.of(RULE_2)));
+
+        assertThat(DLPDomainConfiguration.load(AGGREGATE_ID, history).retrieveRules().getItems())
+            .containsOnly(RULE, RULE_2);
+    }
+
+    @Test
+    void storeShouldGenerateEventsFollowingTheSnapshot() {
+        History history = History.fromSnapshot(new DLPConfigurationSnapshot(AGGREGATE_ID, EventId.first(), ImmutableList.of(RULE)));
+
+        assertThat(DLPDomainConfiguration.load(AGGREGATE_ID, history).store(new DLPRules(ImmutableList.of(RULE, RULE_2))))
+            .containsOnly(new ConfigurationItemsAdded(AGGREGATE_ID, EventId.first().next(), ImmutableList.of(RULE_2)));
+    }
+}
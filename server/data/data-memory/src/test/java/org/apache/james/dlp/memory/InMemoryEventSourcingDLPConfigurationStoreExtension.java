@@ -21,6 +21,7 @@ package org.apache.james.dlp.memory;
 
 import org.apache.james.dlp.api.DLPConfigurationStore;
 import org.apache.james.dlp.eventsourcing.EventSourcingDLPConfigurationStore;
+import org.apache.james.eventsourcing.SnapshotSubscriber;
 import org.apache.james.eventsourcing.eventstore.memory.InMemoryEventStore;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
@@ -28,6 +29,16 @@ import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
 
 public class InMemoryEventSourcingDLPConfigurationStoreExtension implements ParameterResolver {
+    private final int snapshotInterval;
+
+    public InMemoryEventSourcingDLPConfigurationStoreExtension() {
+        this(SnapshotSubscriber.DEFAULT_INTERVAL());
+    }
+
+    public InMemoryEventSourcingDLPConfigurationStoreExtension(int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
     @Override
     public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
         return (parameterContext.getParameter().getType() == DLPConfigurationStore.class);
@@ -35,6 +46,6 @@ public class InMemoryEventSourcingDLPConfigurationStoreExtension implements Para
 
     @Override
     public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
-        return new EventSourcingDLPConfigurationStore(new InMemoryEventStore());
+        return new EventSourcingDLPConfigurationStore(new InMemoryEventStore(), snapshotInterval);
     }
 }
@@ -21,6 +21,7 @@ package org.apache.james.dnsservice.library.inetnetwork.model;
 import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Optional;
 
 import org.apache.james.dnsservice.library.inetnetwork.InetNetworkBuilder;
 
@@ -63,6 +64,23 @@ public class Inet4Network implements InetNetwork {
         }
     }
 
+    @Override
+    public byte[] getNetworkAddress() {
+        return network.getAddress();
+    }
+
+    @Override
+    public Optional<Integer> getPrefixLength() {
+        byte[] mask = netmask.getAddress();
+        int bits = ((mask[0] & 0xFF) << 24) | ((mask[1] & 0xFF) << 16) | ((mask[2] & 0xFF) << 8) | (mask[3] & 0xFF);
+        int prefixLength = Integer.bitCount(bits);
+        int contiguousBits = prefixLength == 0 ? 0 : -1 << (Integer.SIZE - prefixLength);
+        if (bits != contiguousBits) {
+            return Optional.empty();
+        }
+        return Optional.of(prefixLength);
+    }
+
     @Override
     public String toString() {
         return network.getHostAddress() + "/" + netmask.getHostAddress();
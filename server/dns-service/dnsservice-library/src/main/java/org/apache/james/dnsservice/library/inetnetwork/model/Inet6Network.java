@@ -21,6 +21,7 @@ package org.apache.james.dnsservice.library.inetnetwork.model;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Optional;
 
 import org.apache.james.dnsservice.library.inetnetwork.InetNetworkBuilder;
 
@@ -61,6 +62,22 @@ public class Inet6Network implements InetNetwork {
         }
     }
 
+    @Override
+    public byte[] getNetworkAddress() {
+        return network.getAddress();
+    }
+
+    @Override
+    public Optional<Integer> getPrefixLength() {
+        if (network.getAddress().length != 16) {
+            // IPv4 mapped addresses are resolved as IPv4 ones
+            return Optional.empty();
+        }
+        // Mirrors maskIP: each bit of the netmask value masks a whole byte
+        int maskedBytes = netmask > 0 ? Integer.SIZE - Integer.numberOfLeadingZeros(netmask) : 0;
+        return Optional.of(maskedBytes * Byte.SIZE);
+    }
+
     @Override
     public String toString() {
         return network.getHostAddress() + "/" + netmask;
@@ -19,6 +19,7 @@
 package org.apache.james.dnsservice.library.inetnetwork.model;
 
 import java.net.InetAddress;
+import java.util.Optional;
 
 /**
  * An InetNetwork represents a IPv4 or IPv6 address with a subnet mask.<br>
@@ -39,4 +40,15 @@ public interface InetNetwork {
      */
     boolean contains(InetAddress ip);
 
+    /**
+     * Return the raw IP address of the network, the subnet mask being applied
+     */
+    byte[] getNetworkAddress();
+
+    /**
+     * Return the count of leading bits set in the subnet mask, if the network
+     * can be described by its address and such a prefix length
+     */
+    Optional<Integer> getPrefixLength();
+
 }
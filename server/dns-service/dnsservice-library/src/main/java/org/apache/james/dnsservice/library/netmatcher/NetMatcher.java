@@ -20,10 +20,11 @@ package org.apache.james.dnsservice.library.netmatcher;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -56,6 +57,22 @@ public class NetMatcher {
      */
     private SortedSet<InetNetwork> networks;
 
+    /**
+     * The IPv4 networks described by a prefix, indexed for lookups.
+     */
+    private NetworkTrie inet4Networks;
+
+    /**
+     * The IPv6 networks described by a prefix, indexed for lookups.
+     */
+    private NetworkTrie inet6Networks;
+
+    /**
+     * The networks that can not be described by a prefix (eg. non contiguous
+     * IPv4 netmask), checked one by one.
+     */
+    private List<InetNetwork> unindexedNetworks;
+
     /**
      * Create a new instance of Netmatcher.
      * 
@@ -119,16 +136,12 @@ public class NetMatcher {
      * @return true if match the network
      */
     public boolean matchInetNetwork(InetAddress ip) {
-
-        boolean sameNet = false;
-
-        for (Iterator<InetNetwork> iter = networks.iterator(); (!sameNet) && iter.hasNext();) {
-            InetNetwork network = iter.next();
-            sameNet = network.contains(ip);
+        byte[] address = ip.getAddress();
+        if (inet4Networks.contains(address) || inet6Networks.contains(address)) {
+            return true;
         }
-
-        return sameNet;
-
+        return unindexedNetworks.stream()
+            .anyMatch(network -> network.contains(ip));
     }
 
     @Override
@@ -167,6 +180,22 @@ public class NetMatcher {
             }
         }
 
+        inet4Networks = new NetworkTrie(4);
+        inet6Networks = new NetworkTrie(16);
+        unindexedNetworks = new ArrayList<>();
+        networks.forEach(this::indexInetNetwork);
+    }
+
+    private void indexInetNetwork(InetNetwork network) {
+        byte[] address = network.getNetworkAddress();
+        Optional<Integer> prefixLength = network.getPrefixLength();
+        if (prefixLength.isEmpty()) {
+            unindexedNetworks.add(network);
+        } else if (address.length == 4) {
+            inet4Networks.add(address, prefixLength.get());
+        } else {
+            inet6Networks.add(address, prefixLength.get());
+        }
     }
 
 }
@@ -0,0 +1,142 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dnsservice.library.netmatcher;
+
+/**
+ * Path compressed binary trie of network prefixes sharing the same address length.
+ *
+ * Lookups walk at most one node per distinct branching bit, which makes their cost
+ * proportional to the address length rather than to the count of networks.
+ *
+ * As only the presence of a matching prefix matters, a prefix covering another one
+ * replaces it.
+ */
+class NetworkTrie {
+
+    private static class Node {
+        private final byte[] prefix;
+        private final int length;
+        private boolean terminal;
+        private Node zero;
+        private Node one;
+
+        Node(byte[] prefix, int length, boolean terminal) {
+            this.prefix = prefix;
+            this.length = length;
+            this.terminal = terminal;
+        }
+
+        Node child(byte[] address) {
+            if (bit(address, length) == 0) {
+                return zero;
+            }
+            return one;
+        }
+
+        void setChild(Node child) {
+            if (bit(child.prefix, length) == 0) {
+                zero = child;
+            } else {
+                one = child;
+            }
+        }
+    }
+
+    private final int addressLength;
+    private Node root;
+
+    NetworkTrie(int addressLength) {
+        this.addressLength = addressLength;
+    }
+
+    /**
+     * Add the network made of the first prefixLength bits of the given address.
+     */
+    void add(byte[] address, int prefixLength) {
+        if (address.length != addressLength) {
+            throw new IllegalArgumentException("Address length must be equal to " + addressLength + ".");
+        }
+        if (prefixLength < 0 || prefixLength > addressLength * Byte.SIZE) {
+            throw new IllegalArgumentException("Invalid prefix length " + prefixLength + ".");
+        }
+        root = add(root, address.clone(), prefixLength);
+    }
+
+    private Node add(Node node, byte[] address, int prefixLength) {
+        if (node == null) {
+            return new Node(address, prefixLength, true);
+        }
+        int common = commonPrefixLength(node.prefix, address, Math.min(node.length, prefixLength));
+        if (common < node.length) {
+            Node split = new Node(address, common, common == prefixLength);
+            if (!split.terminal) {
+                split.setChild(node);
+                split.setChild(new Node(address, prefixLength, true));
+            }
+            return split;
+        }
+        if (node.terminal) {
+            return node;
+        }
+        if (prefixLength == node.length) {
+            node.terminal = true;
+            node.zero = null;
+            node.one = null;
+            return node;
+        }
+        node.setChild(add(node.child(address), address, prefixLength));
+        return node;
+    }
+
+    /**
+     * Return true if one of the added networks contains the given address.
+     */
+    boolean contains(byte[] address) {
+        if (address.length != addressLength) {
+            return false;
+        }
+        Node node = root;
+        while (node != null) {
+            if (commonPrefixLength(node.prefix, address, node.length) < node.length) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+            node = node.child(address);
+        }
+        return false;
+    }
+
+    private static int bit(byte[] address, int index) {
+        return (address[index / Byte.SIZE] >> (Byte.SIZE - 1 - index % Byte.SIZE)) & 1;
+    }
+
+    private static int commonPrefixLength(byte[] left, byte[] right, int limit) {
+        for (int i = 0; i * Byte.SIZE < limit; i++) {
+            int difference = (left[i] ^ right[i]) & 0xFF;
+            if (difference != 0) {
+                int common = i * Byte.SIZE + Integer.numberOfLeadingZeros(difference) - (Integer.SIZE - Byte.SIZE);
+                return Math.min(common, limit);
+            }
+        }
+        return limit;
+    }
+}
@@ -24,6 +24,7 @@ import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Optional;
 import java.util.StringTokenizer;
 
 import org.junit.jupiter.api.Test;
@@ -143,6 +144,41 @@ class InetNetworkTest {
         assertThat(network4.toString()).isEqualTo("127.0.0.0/255.255.255.0");
     }
 
+    @Test
+    void inet4NetworkShouldExposeItsPrefix() throws UnknownHostException {
+        address = InetAddress.getByAddress(getBytesFromAddress("172.17.1.1"));
+        Inet4Network network4 = new Inet4Network(address, InetAddress.getByAddress(getBytesFromAddress("255.240.0.0")));
+
+        assertThat(network4.getNetworkAddress()).isEqualTo(getBytesFromAddress("172.16.0.0"));
+        assertThat(network4.getPrefixLength()).contains(12);
+    }
+
+    @Test
+    void inet4NetworkPrefixShouldBeEmptyWhenNonContiguousNetmask() throws UnknownHostException {
+        address = InetAddress.getByAddress(getBytesFromAddress("10.0.0.0"));
+        Inet4Network network4 = new Inet4Network(address, InetAddress.getByAddress(getBytesFromAddress("255.0.255.0")));
+
+        assertThat(network4.getPrefixLength()).isEmpty();
+    }
+
+    @Test
+    void inet4NetworkPrefixShouldBeZeroWhenEmptyNetmask() throws UnknownHostException {
+        address = InetAddress.getByAddress(getBytesFromAddress("10.0.0.0"));
+        Inet4Network network4 = new Inet4Network(address, InetAddress.getByAddress(getBytesFromAddress("0.0.0.0")));
+
+        assertThat(network4.getPrefixLength()).isEqualTo(Optional.of(0));
+    }
+
+    @Test
+    void inet6NetworkShouldExposeItsPrefix() throws UnknownHostException {
+        address = InetAddress.getByAddress(getBytesFromAddress("2781:0db8:1234:8612:45ee:0000:f05e:0001"));
+        Inet6Network network6 = new Inet6Network(address, 48);
+
+        assertThat(network6.getNetworkAddress()).isEqualTo(getBytesFromAddress("2781:0db8:1234:0000:0000:0000:0000:0000"));
+        assertThat(network6.getPrefixLength()).contains(48);
+        assertThat(new Inet6Network(address, 32768).getPrefixLength()).contains(128);
+    }
+
     /**
      * Test the Inet6Network.
      */
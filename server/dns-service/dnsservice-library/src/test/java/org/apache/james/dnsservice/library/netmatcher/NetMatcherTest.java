@@ -20,6 +20,15 @@ package org.apache.james.dnsservice.library.netmatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.james.dnsservice.library.inetnetwork.InetNetworkBuilder;
+import org.apache.james.dnsservice.library.inetnetwork.model.InetNetwork;
 import org.apache.james.dnsservice.api.mock.DNSFixture;
 import org.junit.jupiter.api.Test;
 
@@ -107,4 +116,54 @@ class NetMatcherTest {
         assertThat(netMatcher.matchInetNetwork("192.168.1.254")).isFalse();
         assertThat(netMatcher.matchInetNetwork("192.169.1.254")).isFalse();
     }
+
+    @Test
+    void matcherShouldHandleNestedNetworks() {
+        netMatcher = new NetMatcher("192.168.1.0/24, 192.168.0.0/16, 192.168.1.12", DNSFixture.DNS_SERVER_IPV4_MOCK);
+
+        assertThat(netMatcher.matchInetNetwork("192.168.1.12")).isTrue();
+        assertThat(netMatcher.matchInetNetwork("192.168.200.1")).isTrue();
+        assertThat(netMatcher.matchInetNetwork("192.169.1.12")).isFalse();
+    }
+
+    @Test
+    void matcherShouldHandleNonContiguousNetmasks() {
+        netMatcher = new NetMatcher("10.0.0.0/255.0.255.0, 172.16.0.0/12", DNSFixture.DNS_SERVER_IPV4_MOCK);
+
+        assertThat(netMatcher.matchInetNetwork("10.12.0.1")).isTrue();
+        assertThat(netMatcher.matchInetNetwork("10.12.1.1")).isFalse();
+        assertThat(netMatcher.matchInetNetwork("172.20.0.1")).isTrue();
+    }
+
+    @Test
+    void matcherShouldAgreeWithMatchingEachNetwork() throws UnknownHostException {
+        Random random = new Random(42);
+        List<String> nets = IntStream.range(0, 500)
+            .mapToObj(i -> randomIpV4(random) + "/" + (8 + random.nextInt(25)))
+            .collect(Collectors.toList());
+        InetNetworkBuilder builder = new InetNetworkBuilder(DNSFixture.DNS_SERVER_IPV4_MOCK);
+        List<InetNetwork> networks = nets.stream()
+            .map(net -> {
+                try {
+                    return builder.getFromString(net);
+                } catch (UnknownHostException e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .collect(Collectors.toList());
+        netMatcher = new NetMatcher(nets, DNSFixture.DNS_SERVER_IPV4_MOCK);
+
+        for (int i = 0; i < 10000; i++) {
+            InetAddress address = InetAddress.getByName(randomIpV4(random));
+            boolean expected = networks.stream().anyMatch(network -> network.contains(address));
+
+            assertThat(netMatcher.matchInetNetwork(address)).isEqualTo(expected);
+        }
+    }
+
+    private static String randomIpV4(Random random) {
+        return IntStream.range(0, 4)
+            .mapToObj(i -> String.valueOf(random.nextInt(256)))
+            .collect(Collectors.joining("."));
+    }
 }
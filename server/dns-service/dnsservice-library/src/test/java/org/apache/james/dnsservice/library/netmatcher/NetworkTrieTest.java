@@ -0,0 +1,148 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.dnsservice.library.netmatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class NetworkTrieTest {
+
+    private static byte[] address(int... bytes) {
+        byte[] result = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            result[i] = (byte) bytes[i];
+        }
+        return result;
+    }
+
+    @Test
+    void emptyTrieShouldNotContainAnything() {
+        NetworkTrie trie = new NetworkTrie(4);
+
+        assertThat(trie.contains(address(127, 0, 0, 1))).isFalse();
+    }
+
+    @Test
+    void containsShouldMatchAddressesOfTheNetwork() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(192, 168, 1, 0), 24);
+
+        assertThat(trie.contains(address(192, 168, 1, 0))).isTrue();
+        assertThat(trie.contains(address(192, 168, 1, 254))).isTrue();
+        assertThat(trie.contains(address(192, 168, 2, 1))).isFalse();
+    }
+
+    @Test
+    void containsShouldHonorPrefixesNotAlignedOnBytes() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(172, 16, 0, 0), 12);
+
+        assertThat(trie.contains(address(172, 31, 255, 255))).isTrue();
+        assertThat(trie.contains(address(172, 32, 0, 0))).isFalse();
+        assertThat(trie.contains(address(172, 15, 255, 255))).isFalse();
+    }
+
+    @Test
+    void containsShouldMatchSingleAddresses() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(127, 0, 0, 1), 32);
+
+        assertThat(trie.contains(address(127, 0, 0, 1))).isTrue();
+        assertThat(trie.contains(address(127, 0, 0, 2))).isFalse();
+    }
+
+    @Test
+    void emptyPrefixShouldMatchEveryAddress() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(10, 0, 0, 0), 8);
+        trie.add(address(0, 0, 0, 0), 0);
+
+        assertThat(trie.contains(address(255, 255, 255, 255))).isTrue();
+    }
+
+    @Test
+    void containsShouldMatchEachOfSeveralNetworks() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(10, 0, 0, 0), 8);
+        trie.add(address(192, 168, 1, 0), 24);
+        trie.add(address(192, 168, 3, 0), 24);
+
+        assertThat(trie.contains(address(10, 1, 2, 3))).isTrue();
+        assertThat(trie.contains(address(192, 168, 1, 3))).isTrue();
+        assertThat(trie.contains(address(192, 168, 3, 3))).isTrue();
+        assertThat(trie.contains(address(192, 168, 2, 3))).isFalse();
+        assertThat(trie.contains(address(11, 0, 0, 1))).isFalse();
+    }
+
+    @Test
+    void broaderNetworkShouldCoverNarrowerOnesAddedBefore() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(192, 168, 1, 0), 24);
+        trie.add(address(192, 168, 3, 0), 24);
+        trie.add(address(192, 168, 0, 0), 16);
+
+        assertThat(trie.contains(address(192, 168, 2, 1))).isTrue();
+        assertThat(trie.contains(address(192, 169, 0, 1))).isFalse();
+    }
+
+    @Test
+    void narrowerNetworkShouldNotRestrictBroaderOnesAddedBefore() {
+        NetworkTrie trie = new NetworkTrie(4);
+        trie.add(address(192, 168, 0, 0), 16);
+        trie.add(address(192, 168, 1, 0), 24);
+
+        assertThat(trie.contains(address(192, 168, 2, 1))).isTrue();
+    }
+
+    @Test
+    void containsShouldRejectAddressesOfAnotherLength() {
+        NetworkTrie trie = new NetworkTrie(16);
+        trie.add(new byte[16], 0);
+
+        assertThat(trie.contains(address(127, 0, 0, 1))).isFalse();
+    }
+
+    @Test
+    void containsShouldSupportIpV6Addresses() {
+        NetworkTrie trie = new NetworkTrie(16);
+        trie.add(address(0x27, 0x81, 0x0d, 0xb8, 0x12, 0x34, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0), 48);
+
+        assertThat(trie.contains(address(0x27, 0x81, 0x0d, 0xb8, 0x12, 0x34, 0x86, 0x12, 0x45, 0xee, 0, 0, 0xf0, 0x5e, 0, 1))).isTrue();
+        assertThat(trie.contains(address(0x27, 0x81, 0x0d, 0xb8, 0x12, 0x35, 0x86, 0x12, 0x45, 0xee, 0, 0, 0xf0, 0x5e, 0, 1))).isFalse();
+    }
+
+    @Test
+    void addShouldRejectInvalidPrefixLength() {
+        NetworkTrie trie = new NetworkTrie(4);
+
+        assertThatThrownBy(() -> trie.add(address(127, 0, 0, 1), 33))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addShouldRejectAddressesOfAnotherLength() {
+        NetworkTrie trie = new NetworkTrie(4);
+
+        assertThatThrownBy(() -> trie.add(new byte[16], 8))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -30,6 +30,7 @@ import javax.mail.MessagingException;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.tree.ImmutableNode;
+import org.apache.commons.lang3.NotImplementedException;
 import org.apache.james.core.MailAddress;
 import org.apache.james.lifecycle.api.Configurable;
 import org.apache.james.lifecycle.api.Disposable;
@@ -46,6 +47,9 @@ import org.apache.james.metrics.api.TimeMetric;
 import org.apache.james.queue.api.MailQueue;
 import org.apache.james.queue.api.MailQueue.MailQueueItem;
 import org.apache.james.queue.api.MailQueueFactory;
+import org.apache.james.util.concurrent.ExecutionMode;
+import org.apache.james.util.concurrent.VirtualThreadPinningMonitor;
+import org.apache.james.util.concurrent.VirtualThreads;
 import org.apache.mailet.Attribute;
 import org.apache.mailet.AttributeName;
 import org.apache.mailet.AttributeValue;
@@ -59,6 +63,7 @@ import com.google.common.collect.ImmutableList;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -75,6 +80,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         private final reactor.core.Disposable disposable;
         private final MailQueue queue;
         private final Configuration configuration;
+        private final Scheduler processingScheduler;
 
         private Runner(MetricFactory metricFactory, GaugeRegistry gaugeRegistry, MailProcessor mailProcessor,
                        MailRepository errorRepository, MailQueue queue, Configuration configuration) {
@@ -83,6 +89,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
             this.errorRepository = errorRepository;
             this.queue = queue;
             this.configuration = configuration;
+            this.processingScheduler = processingScheduler(gaugeRegistry, configuration.getExecutionMode());
 
             this.disposable = run(queue);
 
@@ -90,9 +97,23 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
                 processingActive::get);
         }
 
+        private static Scheduler processingScheduler(GaugeRegistry gaugeRegistry, ExecutionMode executionMode) {
+            switch (executionMode) {
+                case VIRTUAL:
+                    VirtualThreadPinningMonitor pinningMonitor = VirtualThreadPinningMonitor.start();
+                    gaugeRegistry.register(VIRTUAL_THREADS_PINNED, pinningMonitor::getPinnedCount);
+                    gaugeRegistry.register(VIRTUAL_THREADS_PINNED_TIME, pinningMonitor::getTotalPinnedTime);
+                    return Schedulers.fromExecutorService(VirtualThreads.newThreadPerTaskExecutor(SPOOL_PROCESSING));
+                case PLATFORM:
+                    return Schedulers.elastic();
+                default:
+                    throw new NotImplementedException(executionMode + " is not supported");
+            }
+        }
+
         private reactor.core.Disposable run(MailQueue queue) {
             return Flux.from(queue.deQueue())
-                .flatMap(item -> handleOnQueueItem(item).subscribeOn(Schedulers.elastic()), configuration.getConcurrencyLevel())
+                .flatMap(item -> handleOnQueueItem(item).subscribeOn(processingScheduler), configuration.getConcurrencyLevel())
                 .onErrorContinue((throwable, item) -> LOGGER.error("Exception processing mail while spooling {}", item, throwable))
                 .subscribeOn(Schedulers.elastic())
                 .subscribe();
@@ -181,6 +202,9 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         public void dispose() {
             LOGGER.info("start dispose() ...");
             disposable.dispose();
+            if (configuration.getExecutionMode() == ExecutionMode.VIRTUAL) {
+                processingScheduler.dispose();
+            }
             try {
                 queue.close();
             } catch (IOException e) {
@@ -197,6 +221,9 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     public static class Configuration {
         public static Configuration from(MailRepositoryStore mailRepositoryStore, HierarchicalConfiguration<ImmutableNode> config) {
             int concurrencyLevel = config.getInt("threads", 100);
+            ExecutionMode executionMode = Optional.ofNullable(config.getString("executionMode", null))
+                .map(ExecutionMode::parse)
+                .orElse(ExecutionMode.PLATFORM);
             MailRepositoryUrl errorRepositoryURL = Optional.ofNullable(config.getString("errorRepository", null))
                 .map(MailRepositoryUrl::from)
                 .orElseGet(() -> MailRepositoryUrl.fromPathAndProtocol(
@@ -204,17 +231,26 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
                         .orElseThrow(() -> new IllegalStateException("Cannot retrieve mailRepository URL, you need to configure an `errorRepository` property for the spooler.0")),
                     ERROR_REPOSITORY_PATH));
 
-            return new Configuration(concurrencyLevel, errorRepositoryURL);
+            return new Configuration(concurrencyLevel, errorRepositoryURL, executionMode);
         }
 
         private final int concurrencyLevel;
         private final MailRepositoryUrl errorRepositoryURL;
+        private final ExecutionMode executionMode;
 
         public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL) {
+            this(concurrencyLevel, errorRepositoryURL, ExecutionMode.PLATFORM);
+        }
+
+        public Configuration(int concurrencyLevel, MailRepositoryUrl errorRepositoryURL, ExecutionMode executionMode) {
             Preconditions.checkArgument(concurrencyLevel >= 0, "'threads' needs to be greater than or equal to zero");
+            if (executionMode == ExecutionMode.VIRTUAL) {
+                VirtualThreads.checkSupported();
+            }
             
             this.concurrencyLevel = concurrencyLevel;
             this.errorRepositoryURL = errorRepositoryURL;
+            this.executionMode = executionMode;
         }
 
         public int getConcurrencyLevel() {
@@ -229,11 +265,16 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
             return errorRepositoryURL;
         }
 
+        public ExecutionMode getExecutionMode() {
+            return executionMode;
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this)
                 .add("concurrencyLevel", concurrencyLevel)
                 .add("errorRepositoryURL", errorRepositoryURL)
+                .add("executionMode", executionMode)
                 .toString();
         }
     }
@@ -241,6 +282,8 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
     private static final Logger LOGGER = LoggerFactory.getLogger(JamesMailSpooler.class);
 
     public static final String SPOOL_PROCESSING = "spoolProcessing";
+    public static final String VIRTUAL_THREADS_PINNED = "virtualThreads.pinned";
+    public static final String VIRTUAL_THREADS_PINNED_TIME = "virtualThreads.pinnedTimeInMs";
     public static final AttributeName MAIL_PROCESSING_ERROR_COUNT = AttributeName.of("mail-processing-error-count");
     public static final MailRepositoryPath ERROR_REPOSITORY_PATH = MailRepositoryPath.from("var/mail/error");
     public static final int MAXIMUM_FAILURE_COUNT = 5;
@@ -291,6 +334,7 @@ public class JamesMailSpooler implements Disposable, Configurable, MailSpoolerMB
         if (configuration.isEnabled()) {
             LOGGER.info("init...");
             LOGGER.info("Concurrency level is {}", configuration.getConcurrencyLevel());
+            LOGGER.info("Execution mode is {}", configuration.getExecutionMode().asString());
             queue = queueFactory.createQueue(MailQueueFactory.SPOOL, MailQueueFactory.prefetchCount(configuration.getConcurrencyLevel()));
             runner = Optional.of(new Runner(metricFactory, gaugeRegistry,
                 mailProcessor, errorRepository(), queue, configuration));
@@ -0,0 +1,86 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.mailetcontainer.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.Mockito.mock;
+
+import org.apache.commons.configuration2.BaseHierarchicalConfiguration;
+import org.apache.james.mailrepository.api.MailRepositoryStore;
+import org.apache.james.mailrepository.api.MailRepositoryUrl;
+import org.apache.james.util.concurrent.ExecutionMode;
+import org.apache.james.util.concurrent.VirtualThreads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JamesMailSpoolerConfigurationTest {
+    private static final MailRepositoryUrl ERROR_REPOSITORY = MailRepositoryUrl.from("memory://var/mail/error/");
+
+    MailRepositoryStore mailRepositoryStore;
+    BaseHierarchicalConfiguration configuration;
+
+    @BeforeEach
+    void setUp() {
+        mailRepositoryStore = mock(MailRepositoryStore.class);
+        configuration = new BaseHierarchicalConfiguration();
+        configuration.addProperty("errorRepository", ERROR_REPOSITORY.asString());
+    }
+
+    @Test
+    void executionModeShouldDefaultToPlatform() {
+        assertThat(JamesMailSpooler.Configuration.from(mailRepositoryStore, configuration).getExecutionMode())
+            .isEqualTo(ExecutionMode.PLATFORM);
+    }
+
+    @Test
+    void executionModeShouldBeParsed() {
+        configuration.addProperty("executionMode", "platform");
+
+        assertThat(JamesMailSpooler.Configuration.from(mailRepositoryStore, configuration).getExecutionMode())
+            .isEqualTo(ExecutionMode.PLATFORM);
+    }
+
+    @Test
+    void fromShouldThrowOnInvalidExecutionMode() {
+        configuration.addProperty("executionMode", "invalid");
+
+        assertThatThrownBy(() -> JamesMailSpooler.Configuration.from(mailRepositoryStore, configuration))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void virtualExecutionModeShouldBeAcceptedWhenSupported() {
+        assumeThat(VirtualThreads.isSupported()).isTrue();
+        configuration.addProperty("executionMode", "virtual");
+
+        assertThat(JamesMailSpooler.Configuration.from(mailRepositoryStore, configuration).getExecutionMode())
+            .isEqualTo(ExecutionMode.VIRTUAL);
+    }
+
+    @Test
+    void virtualExecutionModeShouldBeRejectedWhenUnsupported() {
+        assumeThat(VirtualThreads.isSupported()).isFalse();
+
+        assertThatThrownBy(() -> new JamesMailSpooler.Configuration(100, ERROR_REPOSITORY, ExecutionMode.VIRTUAL))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
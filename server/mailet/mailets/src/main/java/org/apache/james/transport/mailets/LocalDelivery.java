@@ -40,6 +40,15 @@ import org.apache.mailet.base.GenericMailet;
  * This mailet is a composition of RecipientRewriteTable, SieveMailet 
  * and MailboxManager configured to mimic the old "LocalDelivery"
  * James 2.3 behavior.
+ *
+ * The optional <code>concurrency</code> init parameter (defaults to 1) sets how many recipients a multi-recipient mail
+ * is stored for at once:
+ *
+ * <pre><code>
+ * &lt;mailet match="RecipientIsLocal" class="LocalDelivery"&gt;
+ *     &lt;concurrency&gt;8&lt;/concurrency&gt;
+ * &lt;/mailet&gt;
+ * </code></pre>
  */
 public class LocalDelivery extends GenericMailet {
 
@@ -77,6 +86,7 @@ public class LocalDelivery extends GenericMailet {
                 .metric(metricFactory.generate(LOCAL_DELIVERED_MAILS_METRIC_NAME))
                 .build())
             .consume(getInitParameter("consume", true))
+            .concurrency(getInitParameterAsOptional("concurrency").map(Integer::parseInt).orElse(1))
             .mailetContext(getMailetContext())
             .build();
     }
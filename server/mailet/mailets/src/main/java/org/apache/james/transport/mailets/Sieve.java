@@ -36,8 +36,12 @@ import org.apache.mailet.base.GenericMailet;
 
 /**
  * Execute Sieve scripts for incoming emails, and set the result of the execution as attributes of the mail
+ *
+ * Parsed scripts are cached until the active script of the user changes. The optional <b>compiledScriptCacheSize</b>
+ * parameter bounds the number of users whose script is kept parsed, and defaults to 10000.
  */
 public class Sieve extends GenericMailet {
+    private static final String COMPILED_SCRIPT_CACHE_SIZE = "compiledScriptCacheSize";
 
     private final UsersRepository usersRepository;
     private final ResourceLocator resourceLocator;
@@ -61,12 +65,15 @@ public class Sieve extends GenericMailet {
     @Override
     public void init() throws MessagingException {
         Log log = LogFactory.getLog(Sieve.class);
-        sieveExecutor = SieveExecutor.builder()
+        SieveExecutor.Builder builder = SieveExecutor.builder()
             .resourceLocator(resourceLocator)
             .mailetContext(getMailetContext())
             .log(log)
-            .sievePoster(new SievePoster(usersRepository, MailboxConstants.INBOX))
-            .build();
+            .sievePoster(new SievePoster(usersRepository, MailboxConstants.INBOX));
+        getInitParameterAsOptional(COMPILED_SCRIPT_CACHE_SIZE)
+            .map(Long::parseLong)
+            .ifPresent(builder::compiledScriptCacheSize);
+        sieveExecutor = builder.build();
     }
 
     @Override
@@ -19,6 +19,7 @@
 
 package org.apache.james.transport.mailets;
 
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -30,8 +31,10 @@ import org.apache.james.core.MailAddress;
 import org.apache.james.metrics.api.MetricFactory;
 import org.apache.james.spamassassin.SpamAssassinInvoker;
 import org.apache.james.spamassassin.SpamAssassinResult;
+import org.apache.james.spamassassin.SpamdClientConfiguration;
 import org.apache.james.user.api.UsersRepository;
 import org.apache.james.user.api.UsersRepositoryException;
+import org.apache.james.util.DurationParser;
 import org.apache.james.util.Port;
 import org.apache.mailet.Attribute;
 import org.apache.mailet.Mail;
@@ -51,6 +54,10 @@ import com.google.common.base.Strings;
  * message exceeds the threshold, the header X-Spam-Flag will be added with the
  * value of YES. The default host for spamd is localhost and the default port is
  * 783.
+ *
+ * At most <code>spamdMaxConcurrentRequests</code> (default 16) connections to spamd are opened at once,
+ * other mails wait up to <code>spamdConnectTimeout</code> (default 10 seconds) for one of them to complete.
+ * spamd answers are awaited for up to <code>spamdReadTimeout</code> (default 1 minute).
  * 
  * <pre>
  * <code>
@@ -65,11 +72,17 @@ import com.google.common.base.Strings;
  * &lt;mailet notmatch="SenderHostIsLocal" class="SpamAssassin"&gt;
  * &lt;spamdHost&gt;localhost&lt;/spamdHost&gt;
  * &lt;spamdPort&gt;783&lt;/spamdPort&gt;
+ * &lt;spamdMaxConcurrentRequests&gt;16&lt;/spamdMaxConcurrentRequests&gt;
+ * &lt;spamdConnectTimeout&gt;10s&lt;/spamdConnectTimeout&gt;
+ * &lt;spamdReadTimeout&gt;1m&lt;/spamdReadTimeout&gt;
  * </pre>
  */
 public class SpamAssassin extends GenericMailet {
     public static final String SPAMD_HOST = "spamdHost";
     public static final String SPAMD_PORT = "spamdPort";
+    public static final String SPAMD_MAX_CONCURRENT_REQUESTS = "spamdMaxConcurrentRequests";
+    public static final String SPAMD_CONNECT_TIMEOUT = "spamdConnectTimeout";
+    public static final String SPAMD_READ_TIMEOUT = "spamdReadTimeout";
     public static final String DEFAULT_HOST = "127.0.0.1";
     public static final int DEFAULT_PORT = 783;
 
@@ -78,6 +91,7 @@ public class SpamAssassin extends GenericMailet {
 
     private String spamdHost;
     private int spamdPort;
+    private SpamAssassinInvoker spamAssassinInvoker;
 
     @Inject
     public SpamAssassin(MetricFactory metricFactory, UsersRepository usersRepository) {
@@ -93,6 +107,21 @@ public class SpamAssassin extends GenericMailet {
 
         spamdPort = MailetUtil.getInitParameterAsStrictlyPositiveInteger(getInitParameter(SPAMD_PORT), DEFAULT_PORT);
         Port.assertValid(spamdPort);
+
+        spamAssassinInvoker = new SpamAssassinInvoker(metricFactory, spamdHost, spamdPort, clientConfiguration());
+    }
+
+    private SpamdClientConfiguration clientConfiguration() throws MessagingException {
+        SpamdClientConfiguration.Builder builder = SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(MailetUtil.getInitParameterAsStrictlyPositiveInteger(getInitParameter(SPAMD_MAX_CONCURRENT_REQUESTS),
+                SpamdClientConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS));
+        Optional.ofNullable(getInitParameter(SPAMD_CONNECT_TIMEOUT))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::connectTimeout);
+        Optional.ofNullable(getInitParameter(SPAMD_READ_TIMEOUT))
+            .map(value -> DurationParser.parse(value, ChronoUnit.SECONDS))
+            .ifPresent(builder::readTimeout);
+        return builder.build();
     }
 
     @Override
@@ -100,10 +129,9 @@ public class SpamAssassin extends GenericMailet {
         MimeMessage message = mail.getMessage();
 
         // Invoke SpamAssassin connection and scan the message
-        SpamAssassinInvoker sa = new SpamAssassinInvoker(metricFactory, spamdHost, spamdPort);
         mail.getRecipients()
             .forEach(
-                Throwing.consumer((MailAddress recipient) -> querySpamAssassin(mail, message, sa, recipient))
+                Throwing.consumer((MailAddress recipient) -> querySpamAssassin(mail, message, spamAssassinInvoker, recipient))
                     .sneakyThrow());
     }
 
@@ -24,12 +24,16 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
 import org.apache.james.core.MailAddress;
 import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageInputStream;
+import org.apache.james.server.core.MimeMessageInputStreamSource;
+import org.apache.james.server.core.MimeMessageWrapper;
 import org.apache.mailet.Mail;
 import org.apache.mailet.MailetContext;
 import org.apache.mailet.PerRecipientHeaders.Header;
@@ -42,6 +46,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
@@ -59,8 +64,10 @@ public class MailDispatcher {
 
     public static class Builder {
         static final boolean CONSUME = true;
+        static final int SEQUENTIAL = 1;
         private MailStore mailStore;
         private Optional<Boolean> consume = Optional.empty();
+        private Optional<Integer> concurrency = Optional.empty();
         private MailetContext mailetContext;
 
         public Builder consume(boolean consume) {
@@ -68,6 +75,15 @@ public class MailDispatcher {
             return this;
         }
 
+        /**
+         * Count of recipients the mail is stored for at once. Defaults to one recipient at a time.
+         */
+        public Builder concurrency(int concurrency) {
+            Preconditions.checkArgument(concurrency > 0, "'concurrency' should be strictly positive");
+            this.concurrency = Optional.of(concurrency);
+            return this;
+        }
+
         public Builder mailStore(MailStore mailStore) {
             this.mailStore = mailStore;
             return this;
@@ -81,18 +97,20 @@ public class MailDispatcher {
         public MailDispatcher build() {
             Preconditions.checkNotNull(mailStore);
             Preconditions.checkNotNull(mailetContext);
-            return new MailDispatcher(mailStore, consume.orElse(CONSUME), mailetContext);
+            return new MailDispatcher(mailStore, consume.orElse(CONSUME), concurrency.orElse(SEQUENTIAL), mailetContext);
         }
 
     }
 
     private final MailStore mailStore;
     private final boolean consume;
+    private final int concurrency;
     private final MailetContext mailetContext;
 
-    private MailDispatcher(MailStore mailStore, boolean consume, MailetContext mailetContext) {
+    private MailDispatcher(MailStore mailStore, boolean consume, int concurrency, MailetContext mailetContext) {
         this.mailStore = mailStore;
         this.consume = consume;
+        this.concurrency = concurrency;
         this.mailetContext = mailetContext;
     }
 
@@ -132,9 +150,67 @@ public class MailDispatcher {
         return errors;
     }
 
-    private List<MailAddress> deliver(Mail mail, MimeMessage message) {
+    private List<MailAddress> deliver(Mail mail, MimeMessage message) throws MessagingException {
+        if (concurrency == Builder.SEQUENTIAL) {
+            return deliverSequentially(mail, message, mail.getRecipients());
+        }
+        Map<Boolean, List<MailAddress>> recipientsBySpecificHeaders = mail.getRecipients()
+            .stream()
+            .collect(Collectors.partitioningBy(recipient -> hasSpecificHeaders(mail, recipient)));
+
+        return ImmutableList.<MailAddress>builder()
+            .addAll(deliverSequentially(mail, message, recipientsBySpecificHeaders.get(true)))
+            .addAll(deliverConcurrently(mail, message, recipientsBySpecificHeaders.get(false)))
+            .build();
+    }
+
+    private boolean hasSpecificHeaders(Mail mail, MailAddress recipient) {
+        return !mail.getPerRecipientSpecificHeaders().getHeadersForRecipient(recipient).isEmpty();
+    }
+
+    /**
+     * Recipients without specific headers share the same content: it is serialized once, then each recipient reads it
+     * through its own unmodified message. Storing such identical content lets deduplicating blob stores keep a single
+     * copy of it.
+     */
+    private List<MailAddress> deliverConcurrently(Mail mail, MimeMessage message, List<MailAddress> recipients) throws MessagingException {
+        if (recipients.isEmpty()) {
+            return ImmutableList.of();
+        }
+        MimeMessageInputStreamSource content = new MimeMessageInputStreamSource(MailImpl.getId(), new MimeMessageInputStream(message));
+        try {
+            return Flux.fromIterable(recipients)
+                .flatMap(recipient -> Mono.fromCallable(() -> mailForRecipient(mail, recipient, content))
+                    .flatMap(recipientMail -> storeMailWithRetry(recipientMail, recipient))
+                    .subscribeOn(Schedulers.elastic())
+                    .then(Mono.<MailAddress>empty())
+                    .onErrorResume(e -> {
+                        LOGGER.error("Error while storing mail. This is a final exception.", e);
+                        return Mono.just(recipient);
+                    }), concurrency)
+                .collect(ImmutableList.toImmutableList())
+                .block();
+        } finally {
+            content.dispose();
+        }
+    }
+
+    private Mail mailForRecipient(Mail mail, MailAddress recipient, MimeMessageInputStreamSource content) {
+        return MailImpl.builder()
+            .name(mail.getName())
+            .sender(mail.getMaybeSender())
+            .addRecipient(recipient)
+            .mimeMessage(new MimeMessageWrapper(content))
+            .state(mail.getState())
+            .remoteHost(mail.getRemoteHost())
+            .remoteAddr(mail.getRemoteAddr())
+            .addAttributes(mail.attributes().collect(ImmutableList.toImmutableList()))
+            .build();
+    }
+
+    private List<MailAddress> deliverSequentially(Mail mail, MimeMessage message, Collection<MailAddress> recipients) {
         List<MailAddress> errors = new ArrayList<>();
-        for (MailAddress recipient : mail.getRecipients()) {
+        for (MailAddress recipient : recipients) {
             try {
                 Map<String, List<String>> savedHeaders = saveHeaders(mail, recipient);
 
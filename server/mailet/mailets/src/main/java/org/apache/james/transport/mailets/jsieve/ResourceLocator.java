@@ -24,20 +24,35 @@ import java.time.ZonedDateTime;
 import org.apache.james.core.MailAddress;
 import org.apache.james.core.Username;
 import org.apache.james.sieverepository.api.SieveRepository;
+import org.apache.james.sieverepository.api.exception.ScriptNotFoundException;
+import org.apache.james.sieverepository.api.exception.StorageException;
 import org.apache.james.user.api.UsersRepository;
 import org.apache.james.user.api.UsersRepositoryException;
 
 public class ResourceLocator {
 
     public static class UserSieveInformation {
-        private ZonedDateTime scriptActivationDate;
-        private ZonedDateTime scriptInterpretationDate;
-        private InputStream scriptContent;
+        @FunctionalInterface
+        public interface ScriptContentLoader {
+            InputStream load() throws ScriptNotFoundException, StorageException;
+        }
+
+        private final ZonedDateTime scriptActivationDate;
+        private final ZonedDateTime scriptInterpretationDate;
+        private final ScriptContentLoader scriptContentLoader;
 
         public UserSieveInformation(ZonedDateTime scriptActivationDate, ZonedDateTime scriptInterpretationDate, InputStream scriptContent) {
+            this(scriptActivationDate, scriptInterpretationDate, () -> scriptContent);
+        }
+
+        /**
+         * The script content is only loaded when requested, allowing callers holding a compiled version of the
+         * script activated at {@link #getScriptActivationDate()} to skip its retrieval.
+         */
+        public UserSieveInformation(ZonedDateTime scriptActivationDate, ZonedDateTime scriptInterpretationDate, ScriptContentLoader scriptContentLoader) {
             this.scriptActivationDate = scriptActivationDate;
             this.scriptInterpretationDate = scriptInterpretationDate;
-            this.scriptContent = scriptContent;
+            this.scriptContentLoader = scriptContentLoader;
         }
 
         public ZonedDateTime getScriptActivationDate() {
@@ -48,8 +63,8 @@ public class ResourceLocator {
             return scriptInterpretationDate;
         }
 
-        public InputStream getScriptContent() {
-            return scriptContent;
+        public InputStream getScriptContent() throws ScriptNotFoundException, StorageException {
+            return scriptContentLoader.load();
         }
     }
 
@@ -63,7 +78,7 @@ public class ResourceLocator {
 
     public UserSieveInformation get(MailAddress mailAddress) throws Exception {
         Username username = retrieveUsername(mailAddress);
-        return new UserSieveInformation(sieveRepository.getActivationDateForActiveScript(username), ZonedDateTime.now(), sieveRepository.getActive(username));
+        return new UserSieveInformation(sieveRepository.getActivationDateForActiveScript(username), ZonedDateTime.now(), () -> sieveRepository.getActive(username));
     }
 
     private Username retrieveUsername(MailAddress mailAddress) {
@@ -0,0 +1,92 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.jsieve.delivery;
+
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+
+import org.apache.james.core.MailAddress;
+import org.apache.james.sieverepository.api.exception.ScriptNotFoundException;
+import org.apache.james.sieverepository.api.exception.StorageException;
+import org.apache.james.transport.mailets.jsieve.ResourceLocator;
+import org.apache.jsieve.parser.generated.Node;
+import org.apache.jsieve.parser.generated.ParseException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the parsed Sieve script of each recipient, so that evaluating a mail against an unchanged script is a
+ * tree walk only: the script is neither read from the repository nor parsed again.
+ *
+ * A compiled script is valid as long as the activation date of the active script is unchanged. That date is
+ * read from the shared repository on every evaluation, and is updated whenever the active script is replaced,
+ * hence a script changed through another James server is picked up on its next evaluation.
+ */
+class CompiledScriptCache {
+    static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    @FunctionalInterface
+    interface Compiler {
+        Node compile(InputStream scriptContent) throws ParseException;
+    }
+
+    private static class CompiledScript {
+        private final ZonedDateTime activationDate;
+        private final Node node;
+
+        private CompiledScript(ZonedDateTime activationDate, Node node) {
+            this.activationDate = activationDate;
+            this.node = node;
+        }
+
+        private boolean isActivatedAt(ZonedDateTime date) {
+            return activationDate.isEqual(date);
+        }
+    }
+
+    private final Cache<MailAddress, CompiledScript> compiledScripts;
+
+    CompiledScriptCache(long maximumSize) {
+        Preconditions.checkArgument(maximumSize >= 0, "maximumSize should be positive");
+        this.compiledScripts = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .build();
+    }
+
+    Node get(MailAddress recipient, ResourceLocator.UserSieveInformation userSieveInformation, Compiler compiler) throws ParseException, ScriptNotFoundException, StorageException {
+        ZonedDateTime activationDate = userSieveInformation.getScriptActivationDate();
+        CompiledScript compiledScript = compiledScripts.getIfPresent(recipient);
+        if (compiledScript != null && activationDate != null && compiledScript.isActivatedAt(activationDate)) {
+            return compiledScript.node;
+        }
+
+        Node node = compiler.compile(userSieveInformation.getScriptContent());
+        if (activationDate != null) {
+            compiledScripts.put(recipient, new CompiledScript(activationDate, node));
+        }
+        return node;
+    }
+
+    void invalidate(MailAddress recipient) {
+        compiledScripts.invalidate(recipient);
+    }
+}
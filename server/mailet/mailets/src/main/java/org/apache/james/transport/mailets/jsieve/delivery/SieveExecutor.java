@@ -20,12 +20,15 @@
 
 package org.apache.james.transport.mailets.jsieve.delivery;
 
+import java.util.Optional;
+
 import javax.mail.MessagingException;
 
 import org.apache.commons.logging.Log;
 import org.apache.james.core.MailAddress;
 import org.apache.james.server.core.MailImpl;
 import org.apache.james.sieverepository.api.exception.ScriptNotFoundException;
+import org.apache.james.sieverepository.api.exception.StorageException;
 import org.apache.james.transport.mailets.jsieve.ActionDispatcher;
 import org.apache.james.transport.mailets.jsieve.ResourceLocator;
 import org.apache.james.transport.mailets.jsieve.SieveMailAdapter;
@@ -60,6 +63,7 @@ public class SieveExecutor {
         private SievePoster sievePoster;
         private ResourceLocator resourceLocator;
         private Log log;
+        private Optional<Long> compiledScriptCacheSize = Optional.empty();
 
         public Builder sievePoster(SievePoster sievePoster) {
             this.sievePoster = sievePoster;
@@ -81,12 +85,18 @@ public class SieveExecutor {
             return this;
         }
 
+        public Builder compiledScriptCacheSize(long compiledScriptCacheSize) {
+            this.compiledScriptCacheSize = Optional.of(compiledScriptCacheSize);
+            return this;
+        }
+
         public SieveExecutor build() throws MessagingException {
             Preconditions.checkNotNull(mailetContext);
             Preconditions.checkNotNull(resourceLocator);
             Preconditions.checkNotNull(log);
             Preconditions.checkNotNull(sievePoster);
-            return new SieveExecutor(mailetContext, sievePoster, resourceLocator, log);
+            return new SieveExecutor(mailetContext, sievePoster, resourceLocator, log,
+                new CompiledScriptCache(compiledScriptCacheSize.orElse(CompiledScriptCache.DEFAULT_MAXIMUM_SIZE)));
         }
     }
 
@@ -95,14 +105,21 @@ public class SieveExecutor {
     private final ResourceLocator resourceLocator;
     private final SieveFactory factory;
     private final ActionDispatcher actionDispatcher;
+    private final CompiledScriptCache compiledScriptCache;
 
     public SieveExecutor(MailetContext mailetContext, SievePoster sievePoster,
                          ResourceLocator resourceLocator, Log log) throws MessagingException {
+        this(mailetContext, sievePoster, resourceLocator, log, new CompiledScriptCache(CompiledScriptCache.DEFAULT_MAXIMUM_SIZE));
+    }
+
+    private SieveExecutor(MailetContext mailetContext, SievePoster sievePoster,
+                          ResourceLocator resourceLocator, Log log, CompiledScriptCache compiledScriptCache) throws MessagingException {
         this.mailetContext = mailetContext;
         this.sievePoster = sievePoster;
         this.resourceLocator = resourceLocator;
         factory = createFactory(log);
         this.actionDispatcher = new ActionDispatcher();
+        this.compiledScriptCache = compiledScriptCache;
     }
 
     private SieveFactory createFactory(Log log) throws MessagingException {
@@ -129,6 +146,7 @@ public class SieveExecutor {
             return true;
         } catch (ScriptNotFoundException e) {
             LOGGER.info("Can not locate SIEVE script for user {}", recipient.asPrettyString());
+            compiledScriptCache.invalidate(recipient);
             return false;
         } catch (Exception ex) {
             LOGGER.error("Cannot evaluate Sieve script for user {}", recipient.asPrettyString(), ex);
@@ -136,7 +154,7 @@ public class SieveExecutor {
         }
     }
 
-    private void sieveMessageEvaluate(MailAddress recipient, Mail aMail, ResourceLocator.UserSieveInformation userSieveInformation) throws MessagingException {
+    private void sieveMessageEvaluate(MailAddress recipient, Mail aMail, ResourceLocator.UserSieveInformation userSieveInformation) throws MessagingException, ScriptNotFoundException, StorageException {
         try {
             SieveMailAdapter aMailAdapter = new SieveMailAdapter(aMail,
                 mailetContext, actionDispatcher, sievePoster, userSieveInformation.getScriptActivationDate(),
@@ -145,7 +163,7 @@ public class SieveExecutor {
                 // This logging operation is potentially costly
                 LOGGER.debug("Evaluating " + aMailAdapter.toString() + " against \"" + recipient.asPrettyString() + "\"");
             }
-            factory.evaluate(aMailAdapter, factory.parse(userSieveInformation.getScriptContent()));
+            factory.evaluate(aMailAdapter, compiledScriptCache.get(recipient, userSieveInformation, factory::parse));
         } catch (SieveException | ParseException ex) {
             handleFailure(recipient, aMail, ex);
         } catch (TokenMgrError ex) {
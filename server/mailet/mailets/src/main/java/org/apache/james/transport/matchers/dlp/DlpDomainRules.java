@@ -47,28 +47,103 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
 
 public class DlpDomainRules {
 
     @VisibleForTesting static DlpDomainRules matchNothing() {
-        return DlpDomainRules.of(new Rule(DLPConfigurationItem.Id.of("always false"), (mail) -> false));
+        return DlpDomainRules.of(new Rule(DLPConfigurationItem.Id.of("always false"), (context) -> false));
     }
 
     @VisibleForTesting static DlpDomainRules matchAll() {
-        return DlpDomainRules.of(new Rule(DLPConfigurationItem.Id.of("always true"), (mail) -> true));
+        return DlpDomainRules.of(new Rule(DLPConfigurationItem.Id.of("always true"), (context) -> true));
     }
 
     private static DlpDomainRules of(Rule rule) {
-        return new DlpDomainRules(ImmutableList.of(rule));
+        return new DlpDomainRules(ImmutableList.of(rule), MultiPatternMatcher.<DLPConfigurationItem.Id>builder().build());
     }
 
     public static DlpDomainRulesBuilder builder() {
         return new DlpDomainRulesBuilder();
     }
 
+    static class MailContext {
+
+        private final Mail mail;
+        private final MultiPatternMatcher<DLPConfigurationItem.Id> contentMatcher;
+        private ImmutableList<String> contents;
+        private ImmutableSet<DLPConfigurationItem.Id> contentMatches;
+
+        MailContext(Mail mail, MultiPatternMatcher<DLPConfigurationItem.Id> contentMatcher) {
+            this.mail = mail;
+            this.contentMatcher = contentMatcher;
+        }
+
+        Mail getMail() {
+            return mail;
+        }
+
+        ImmutableList<String> getContents() throws MessagingException, IOException {
+            if (contents == null) {
+                contents = Stream
+                    .concat(getMessageSubjects(mail), getMessageBodies(mail.getMessage()))
+                    .collect(ImmutableList.toImmutableList());
+            }
+            return contents;
+        }
+
+        ImmutableSet<DLPConfigurationItem.Id> getContentMatches() throws MessagingException, IOException {
+            if (contentMatches == null) {
+                contentMatches = contentMatcher.matches(getContents());
+            }
+            return contentMatches;
+        }
+
+        private Stream<String> getMessageSubjects(Mail mail) throws MessagingException {
+            MimeMessage message = mail.getMessage();
+            if (message != null) {
+                String subject = message.getSubject();
+                if (subject != null) {
+                    return Stream.of(subject);
+                }
+            }
+            return Stream.of();
+        }
+
+        private Stream<String> getMessageBodies(Message message) throws MessagingException, IOException {
+            if (message != null) {
+                return getMessageBodiesFromContent(message.getContent());
+            }
+            return Stream.of();
+        }
+
+        private Stream<String> getMessageBodiesFromContent(Object content) throws IOException, MessagingException {
+            if (content instanceof String) {
+                return Stream.of((String) content);
+            }
+
+            return extractContentsComplexType(content)
+                .flatMap(Throwing.function(this::getMessageBodiesFromContent).sneakyThrow());
+        }
+
+        private Stream<Object> extractContentsComplexType(Object content) throws IOException, MessagingException {
+            if (content instanceof Message) {
+                Message message = (Message) content;
+                return Stream.of(message.getContent());
+            }
+            if (content instanceof Multipart) {
+                return MultipartUtil.retrieveBodyParts((Multipart) content)
+                    .stream()
+                    .map(Throwing.function(BodyPart::getContent).sneakyThrow());
+            }
+
+            return Stream.of();
+        }
+    }
+
     static class Rule {
 
-        interface MatcherFunction extends ThrowingPredicate<Mail> { }
+        interface MatcherFunction extends ThrowingPredicate<MailContext> { }
 
         private static class ContentMatcher implements Rule.MatcherFunction {
 
@@ -79,51 +154,24 @@ public class DlpDomainRules {
             }
 
             @Override
-            public boolean doTest(Mail mail) throws MessagingException, IOException {
-                return Stream
-                    .concat(getMessageSubjects(mail), getMessageBodies(mail.getMessage()))
+            public boolean doTest(MailContext context) throws MessagingException, IOException {
+                return context.getContents()
+                    .stream()
                     .anyMatch(pattern.asPredicate());
             }
+        }
 
-            private Stream<String> getMessageSubjects(Mail mail) throws MessagingException {
-                MimeMessage message = mail.getMessage();
-                if (message != null) {
-                    String subject = message.getSubject();
-                    if (subject != null) {
-                        return Stream.of(subject);
-                    }
-                }
-                return Stream.of();
-            }
+        private static class LiteralContentMatcher implements Rule.MatcherFunction {
 
-            private Stream<String> getMessageBodies(Message message) throws MessagingException, IOException {
-                if (message != null) {
-                    return getMessageBodiesFromContent(message.getContent());
-                }
-                return Stream.of();
-            }
+            private final DLPConfigurationItem.Id id;
 
-            private Stream<String> getMessageBodiesFromContent(Object content) throws IOException, MessagingException {
-                if (content instanceof String) {
-                    return Stream.of((String) content);
-                }
-
-                return extractContentsComplexType(content)
-                    .flatMap(Throwing.function(this::getMessageBodiesFromContent).sneakyThrow());
+            private LiteralContentMatcher(DLPConfigurationItem.Id id) {
+                this.id = id;
             }
 
-            private Stream<Object> extractContentsComplexType(Object content) throws IOException, MessagingException {
-                if (content instanceof Message) {
-                    Message message = (Message) content;
-                    return Stream.of(message.getContent());
-                }
-                if (content instanceof Multipart) {
-                    return MultipartUtil.retrieveBodyParts((Multipart) content)
-                        .stream()
-                        .map(Throwing.function(BodyPart::getContent).sneakyThrow());
-                }
-
-                return Stream.of();
+            @Override
+            public boolean doTest(MailContext context) throws MessagingException, IOException {
+                return context.getContentMatches().contains(id);
             }
         }
 
@@ -136,8 +184,8 @@ public class DlpDomainRules {
             }
 
             @Override
-            public boolean doTest(Mail mail) throws MessagingException, IOException {
-                return listRecipientsAsString(mail).anyMatch(pattern.asPredicate());
+            public boolean doTest(MailContext context) throws MessagingException, IOException {
+                return listRecipientsAsString(context.getMail()).anyMatch(pattern.asPredicate());
             }
 
             private Stream<String> listRecipientsAsString(Mail mail) throws MessagingException {
@@ -166,8 +214,8 @@ public class DlpDomainRules {
             }
 
             @Override
-            public boolean doTest(Mail mail) throws MessagingException {
-                return listSenders(mail).anyMatch(pattern.asPredicate());
+            public boolean doTest(MailContext context) throws MessagingException {
+                return listSenders(context.getMail()).anyMatch(pattern.asPredicate());
             }
 
             private Stream<String> listSenders(Mail mail) throws MessagingException {
@@ -201,8 +249,8 @@ public class DlpDomainRules {
             return id;
         }
 
-        public boolean match(Mail mail) {
-            return matcher.test(mail);
+        public boolean match(MailContext context) {
+            return matcher.test(context);
         }
 
         @Override
@@ -225,9 +273,11 @@ public class DlpDomainRules {
     public static class DlpDomainRulesBuilder {
 
         private final ImmutableMultimap.Builder<Targets.Type, Rule> rules;
+        private final MultiPatternMatcher.Builder<DLPConfigurationItem.Id> contentMatcher;
 
         private DlpDomainRulesBuilder() {
             rules = ImmutableMultimap.builder();
+            contentMatcher = MultiPatternMatcher.builder();
         }
 
         public DlpDomainRulesBuilder recipientRule(DLPConfigurationItem.Id id, Pattern pattern) {
@@ -252,7 +302,7 @@ public class DlpDomainRules {
                 case Sender:
                     return new Rule(id, new Rule.SenderMatcher(pattern));
                 case Content:
-                    return new Rule(id, new Rule.ContentMatcher(pattern));
+                    return toContentRule(id, pattern);
                 case Recipient:
                     return new Rule(id, new Rule.RecipientsMatcher(pattern));
                 default:
@@ -260,10 +310,19 @@ public class DlpDomainRules {
             }
         }
 
+        private Rule toContentRule(DLPConfigurationItem.Id id, Pattern pattern) {
+            return MultiPatternMatcher.literals(pattern)
+                .map(literals -> {
+                    contentMatcher.add(literals, id);
+                    return new Rule(id, new Rule.LiteralContentMatcher(id));
+                })
+                .orElseGet(() -> new Rule(id, new Rule.ContentMatcher(pattern)));
+        }
+
         public DlpDomainRules build() {
             ImmutableMultimap<Targets.Type, Rule> rules = this.rules.build();
             Preconditions.checkState(!containsDuplicateIds(rules), "Rules should not contain duplicated `id`");
-            return new DlpDomainRules(rules.values());
+            return new DlpDomainRules(rules.values(), contentMatcher.build());
         }
 
         private boolean containsDuplicateIds(ImmutableMultimap<Targets.Type, Rule> rules) {
@@ -284,14 +343,17 @@ public class DlpDomainRules {
     }
 
     private final ImmutableCollection<Rule> rules;
+    private final MultiPatternMatcher<DLPConfigurationItem.Id> contentMatcher;
 
-    private DlpDomainRules(ImmutableCollection<Rule> rules) {
+    private DlpDomainRules(ImmutableCollection<Rule> rules, MultiPatternMatcher<DLPConfigurationItem.Id> contentMatcher) {
         this.rules = rules;
+        this.contentMatcher = contentMatcher;
     }
 
     public Optional<DLPConfigurationItem.Id> match(Mail mail) {
+        MailContext context = new MailContext(mail, contentMatcher);
         return rules.stream()
-            .filter(rule -> rule.match(mail))
+            .filter(rule -> rule.match(context))
             .map(Rule::id)
             .findFirst();
     }
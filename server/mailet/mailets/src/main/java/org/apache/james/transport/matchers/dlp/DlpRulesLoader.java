@@ -19,6 +19,8 @@
 
 package org.apache.james.transport.matchers.dlp;
 
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.inject.Inject;
 
 import org.apache.james.core.Domain;
@@ -33,16 +35,38 @@ public interface DlpRulesLoader {
 
     class Impl implements DlpRulesLoader {
 
+        private static class CompiledRules {
+            private final DLPRules source;
+            private final DlpDomainRules rules;
+
+            private CompiledRules(DLPRules source, DlpDomainRules rules) {
+                this.source = source;
+                this.rules = rules;
+            }
+        }
+
         private final DLPConfigurationStore configurationStore;
+        private final ConcurrentHashMap<Domain, CompiledRules> compiledRules;
 
         @Inject
         public Impl(DLPConfigurationStore configurationStore) {
             this.configurationStore = configurationStore;
+            this.compiledRules = new ConcurrentHashMap<>();
         }
 
+        /**
+         * Rules are compiled once per version of the domain rule set: as long as the stored
+         * {@link DLPRules} are equal to the previously compiled ones, the compiled rules are reused.
+         */
         @Override
         public DlpDomainRules load(Domain domain) {
-          return toRules(Mono.from(configurationStore.list(domain)).block());
+            DLPRules items = Mono.from(configurationStore.list(domain)).block();
+            return compiledRules.compute(domain, (key, compiled) -> {
+                if (compiled != null && compiled.source.equals(items)) {
+                    return compiled;
+                }
+                return new CompiledRules(items, toRules(items));
+            }).rules;
         }
 
         private DlpDomainRules toRules(DLPRules items) {
@@ -0,0 +1,248 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.matchers.dlp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Matches a set of literal {@link Pattern}s against texts in a single pass per text, using an
+ * Aho-Corasick automaton.
+ *
+ * Only the literal subset of regular expressions is supported: plain characters, escaped
+ * non-alphanumeric characters, top level alternations and a leading <code>(?i)</code> flag.
+ * Callers should fall back to {@link Pattern} when {@link #literals(Pattern)} is empty.
+ */
+class MultiPatternMatcher<T> {
+
+    static class Literals {
+        private final ImmutableList<String> alternatives;
+        private final boolean caseInsensitive;
+
+        Literals(ImmutableList<String> alternatives, boolean caseInsensitive) {
+            this.alternatives = alternatives;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        ImmutableList<String> getAlternatives() {
+            return alternatives;
+        }
+
+        boolean isCaseInsensitive() {
+            return caseInsensitive;
+        }
+    }
+
+    static class Builder<T> {
+        private final Automaton.Builder<T> caseSensitive;
+        private final Automaton.Builder<T> caseInsensitive;
+
+        private Builder() {
+            this.caseSensitive = new Automaton.Builder<>(false);
+            this.caseInsensitive = new Automaton.Builder<>(true);
+        }
+
+        Builder<T> add(Literals literals, T value) {
+            Automaton.Builder<T> automaton = literals.isCaseInsensitive() ? caseInsensitive : caseSensitive;
+            literals.getAlternatives().forEach(literal -> automaton.add(literal, value));
+            return this;
+        }
+
+        MultiPatternMatcher<T> build() {
+            return new MultiPatternMatcher<>(caseSensitive.build(), caseInsensitive.build());
+        }
+    }
+
+    private static final String CASE_INSENSITIVE_FLAG = "(?i)";
+    private static final String META_CHARACTERS = "^$.?*+()[]{}";
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    static Optional<Literals> literals(Pattern pattern) {
+        if ((pattern.flags() & ~Pattern.CASE_INSENSITIVE) != 0) {
+            return Optional.empty();
+        }
+        boolean inlineCaseInsensitive = pattern.pattern().startsWith(CASE_INSENSITIVE_FLAG);
+        boolean caseInsensitive = inlineCaseInsensitive || (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0;
+        String regex = inlineCaseInsensitive ? pattern.pattern().substring(CASE_INSENSITIVE_FLAG.length()) : pattern.pattern();
+        return alternatives(regex)
+            .map(alternatives -> new Literals(alternatives, caseInsensitive));
+    }
+
+    private static Optional<ImmutableList<String>> alternatives(String regex) {
+        ImmutableList.Builder<String> alternatives = ImmutableList.builder();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+                if (i == regex.length() || Character.isLetterOrDigit(regex.charAt(i))) {
+                    return Optional.empty();
+                }
+                current.append(regex.charAt(i));
+            } else if (c == '|') {
+                if (current.length() == 0) {
+                    return Optional.empty();
+                }
+                alternatives.add(current.toString());
+                current.setLength(0);
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                return Optional.empty();
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(alternatives.add(current.toString()).build());
+    }
+
+    private final Automaton<T> caseSensitive;
+    private final Automaton<T> caseInsensitive;
+
+    private MultiPatternMatcher(Automaton<T> caseSensitive, Automaton<T> caseInsensitive) {
+        this.caseSensitive = caseSensitive;
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    ImmutableSet<T> matches(Collection<String> texts) {
+        Set<T> matches = new HashSet<>();
+        texts.forEach(text -> {
+            caseSensitive.scan(text, matches);
+            caseInsensitive.scan(text, matches);
+        });
+        return ImmutableSet.copyOf(matches);
+    }
+
+    @VisibleForTesting
+    boolean isEmpty() {
+        return caseSensitive.isEmpty() && caseInsensitive.isEmpty();
+    }
+
+    private static class Automaton<T> {
+
+        private static class Builder<T> {
+            private final boolean caseInsensitive;
+            private final List<Map<Character, Integer>> transitions;
+            private final List<Set<T>> outputs;
+
+            private Builder(boolean caseInsensitive) {
+                this.caseInsensitive = caseInsensitive;
+                this.transitions = new ArrayList<>();
+                this.outputs = new ArrayList<>();
+                newState();
+            }
+
+            private int newState() {
+                transitions.add(new HashMap<>());
+                outputs.add(new HashSet<>());
+                return transitions.size() - 1;
+            }
+
+            private void add(String literal, T value) {
+                int state = 0;
+                for (int i = 0; i < literal.length(); i++) {
+                    char c = fold(literal.charAt(i), caseInsensitive);
+                    Integer next = transitions.get(state).get(c);
+                    if (next == null) {
+                        next = newState();
+                        transitions.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                outputs.get(state).add(value);
+            }
+
+            private Automaton<T> build() {
+                int[] failures = new int[transitions.size()];
+                Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+                while (!queue.isEmpty()) {
+                    int state = queue.remove();
+                    transitions.get(state).forEach((c, next) -> {
+                        int failure = failures[state];
+                        while (failure != 0 && !transitions.get(failure).containsKey(c)) {
+                            failure = failures[failure];
+                        }
+                        failures[next] = transitions.get(failure).getOrDefault(c, 0);
+                        outputs.get(next).addAll(outputs.get(failures[next]));
+                        queue.add(next);
+                    });
+                }
+                return new Automaton<>(caseInsensitive, transitions, failures, outputs);
+            }
+        }
+
+        private static char fold(char c, boolean caseInsensitive) {
+            if (caseInsensitive && c >= 'A' && c <= 'Z') {
+                return (char) (c + ('a' - 'A'));
+            }
+            return c;
+        }
+
+        private final boolean caseInsensitive;
+        private final List<Map<Character, Integer>> transitions;
+        private final int[] failures;
+        private final List<Set<T>> outputs;
+
+        private Automaton(boolean caseInsensitive, List<Map<Character, Integer>> transitions, int[] failures, List<Set<T>> outputs) {
+            this.caseInsensitive = caseInsensitive;
+            this.transitions = transitions;
+            this.failures = failures;
+            this.outputs = outputs;
+        }
+
+        private boolean isEmpty() {
+            return transitions.size() == 1;
+        }
+
+        private void scan(String text, Set<T> matches) {
+            if (isEmpty()) {
+                return;
+            }
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = fold(text.charAt(i), caseInsensitive);
+                Integer next = transitions.get(state).get(c);
+                while (next == null && state != 0) {
+                    state = failures[state];
+                    next = transitions.get(state).get(c);
+                }
+                state = next == null ? 0 : next;
+                matches.addAll(outputs.get(state));
+            }
+        }
+    }
+}
@@ -22,6 +22,8 @@ package org.apache.james.transport.mailets;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -54,13 +56,33 @@ class ResourceLocatorTest {
 
     @Test
     public void resourceLocatorImplShouldPropagateScriptNotFound() throws Exception {
-        when(sieveRepository.getActive(USERNAME)).thenThrow(new ScriptNotFoundException());
+        when(sieveRepository.getActivationDateForActiveScript(USERNAME)).thenThrow(new ScriptNotFoundException());
         when(usersRepository.getUsername(mailAddress)).thenReturn(Username.of(RECEIVER_LOCALHOST));
 
         assertThatThrownBy(() -> resourceLocator.get(mailAddress))
             .isInstanceOf(ScriptNotFoundException.class);
     }
 
+    @Test
+    public void getScriptContentShouldPropagateScriptNotFound() throws Exception {
+        when(sieveRepository.getActive(USERNAME)).thenThrow(new ScriptNotFoundException());
+        when(usersRepository.getUsername(mailAddress)).thenReturn(Username.of(RECEIVER_LOCALHOST));
+
+        ResourceLocator.UserSieveInformation userSieveInformation = resourceLocator.get(mailAddress);
+
+        assertThatThrownBy(userSieveInformation::getScriptContent)
+            .isInstanceOf(ScriptNotFoundException.class);
+    }
+
+    @Test
+    public void resourceLocatorImplShouldNotReadTheScriptContentUntilRequested() throws Exception {
+        when(usersRepository.getUsername(mailAddress)).thenReturn(Username.of(RECEIVER_LOCALHOST));
+
+        resourceLocator.get(mailAddress);
+
+        verify(sieveRepository, never()).getActive(USERNAME);
+    }
+
     @Test
     public void resourceLocatorImplShouldWork() throws Exception {
         InputStream inputStream = new ByteArrayInputStream(new byte[0]);
@@ -123,6 +123,22 @@ class SpamAssassinTest {
             .build())).isInstanceOf(MessagingException.class);
     }
 
+    @Test
+    void initShouldThrowWhenSpamdMaxConcurrentRequestsIsZero() {
+        assertThatThrownBy(() -> mailet.init(FakeMailetConfig.builder()
+            .mailetName("SpamAssassin")
+            .setProperty(SpamAssassin.SPAMD_MAX_CONCURRENT_REQUESTS, "0")
+            .build())).isInstanceOf(MessagingException.class);
+    }
+
+    @Test
+    void initShouldThrowWhenSpamdReadTimeoutIsZero() {
+        assertThatThrownBy(() -> mailet.init(FakeMailetConfig.builder()
+            .mailetName("SpamAssassin")
+            .setProperty(SpamAssassin.SPAMD_READ_TIMEOUT, "0")
+            .build())).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void initShouldThrowWhenSpamdPortTooBig() {
         assertThatThrownBy(() -> mailet.init(FakeMailetConfig.builder()
@@ -20,6 +20,7 @@
 package org.apache.james.transport.mailets.delivery;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -29,6 +30,8 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.mail.MessagingException;
 
@@ -330,6 +333,121 @@ class MailDispatcherTest {
         assertThat(mail.getMessage().getHeader(TEST_HEADER_NAME)).containsOnly(headerValue);
     }
 
+    @Test
+    void concurrencyShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> MailDispatcher.builder().concurrency(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentDispatchShouldStoreSameContentForEachRecipient() throws Exception {
+        ContentAccumulatorMailStore contentAccumulatorMailStore = new ContentAccumulatorMailStore();
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(contentAccumulatorMailStore)
+            .consume(true)
+            .concurrency(4)
+            .build();
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2, MailAddressFixture.OTHER_AT_JAMES2)
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setSubject("subject")
+                .setText("body"))
+            .state("state")
+            .build();
+        testee.dispatch(mail);
+
+        assertThat(contentAccumulatorMailStore.getContents().keySet())
+            .containsOnly(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2, MailAddressFixture.OTHER_AT_JAMES2);
+        assertThat(contentAccumulatorMailStore.getContents().values())
+            .allSatisfy(content -> assertThat(content)
+                .contains("Return-Path: <" + MailAddressFixture.OTHER_AT_JAMES + ">")
+                .contains("subject")
+                .contains("body"))
+            .containsOnly(contentAccumulatorMailStore.getContents().get(MailAddressFixture.ANY_AT_JAMES));
+        assertThat(mail.getState()).isEqualTo(Mail.GHOST);
+    }
+
+    @Test
+    void concurrentDispatchShouldHandleErrors() throws Exception {
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(mailStore)
+            .consume(true)
+            .concurrency(4)
+            .build();
+        doThrow(new MessagingException())
+            .when(mailStore)
+            .storeMail(any(MailAddress.class), any(Mail.class));
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setText("toto"))
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2)
+            .state("state")
+            .build();
+        testee.dispatch(mail);
+
+        List<FakeMailContext.SentMail> actual = fakeMailContext.getSentMails();
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getRecipients())
+            .containsOnly(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2);
+        assertThat(actual.get(0).getState()).isEqualTo(Mail.ERROR);
+    }
+
+    @Test
+    void concurrentDispatchShouldAddSpecificHeaderOnlyToMatchingRecipients() throws Exception {
+        AccumulatorHeaderMailStore accumulatorTestHeaderMailStore = new AccumulatorHeaderMailStore(TEST_HEADER_NAME);
+        MailDispatcher testee = MailDispatcher.builder()
+            .mailetContext(fakeMailContext)
+            .mailStore(accumulatorTestHeaderMailStore)
+            .consume(false)
+            .concurrency(4)
+            .build();
+
+        FakeMail mail = FakeMail.builder()
+            .name("name")
+            .sender(MailAddressFixture.OTHER_AT_JAMES)
+            .recipients(MailAddressFixture.ANY_AT_JAMES, MailAddressFixture.ANY_AT_JAMES2, MailAddressFixture.OTHER_AT_JAMES2)
+            .mimeMessage(MimeMessageBuilder.mimeMessageBuilder()
+                .setText("body"))
+            .state("state")
+            .build();
+        mail.addSpecificHeaderForRecipient(TEST_HEADER_USER1, MailAddressFixture.ANY_AT_JAMES);
+        mail.addSpecificHeaderForRecipient(TEST_HEADER_USER2, MailAddressFixture.ANY_AT_JAMES2);
+        testee.dispatch(mail);
+
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.ANY_AT_JAMES))
+            .containsOnly(new String[]{VALUE_FOR_USER_1});
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.ANY_AT_JAMES2))
+            .containsOnly(new String[]{VALUE_FOR_USER_2});
+        assertThat(accumulatorTestHeaderMailStore.getHeaderValues(MailAddressFixture.OTHER_AT_JAMES2))
+            .isEmpty();
+        assertThat(mail.getMessage().getHeader(TEST_HEADER_NAME)).isNull();
+    }
+
+    public static class ContentAccumulatorMailStore implements MailStore {
+        private final Map<MailAddress, String> contents = new ConcurrentHashMap<>();
+
+        @Override
+        public void storeMail(MailAddress recipient, Mail mail) throws MessagingException {
+            try {
+                contents.put(recipient, MimeMessageUtil.asString(mail.getMessage()));
+            } catch (Exception e) {
+                throw new MessagingException("Could not read stored message", e);
+            }
+        }
+
+        public Map<MailAddress, String> getContents() {
+            return contents;
+        }
+    }
+
     public static class AccumulatorHeaderMailStore implements MailStore {
         private final ArrayListMultimap<MailAddress, String[]> headerValues;
         private final String headerName;
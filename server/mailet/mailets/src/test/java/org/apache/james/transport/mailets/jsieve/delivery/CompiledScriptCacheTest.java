@@ -0,0 +1,155 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.mailets.jsieve.delivery;
+
+import static org.apache.mailet.base.MailAddressFixture.RECIPIENT1;
+import static org.apache.mailet.base.MailAddressFixture.RECIPIENT2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.james.sieverepository.api.exception.ScriptNotFoundException;
+import org.apache.james.transport.mailets.jsieve.ResourceLocator;
+import org.apache.jsieve.parser.generated.Node;
+import org.apache.jsieve.parser.generated.ParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompiledScriptCacheTest {
+    private static final ZonedDateTime ACTIVATION_DATE = ZonedDateTime.parse("2021-09-01T10:15:30+02:00");
+    private static final ZonedDateTime NEXT_ACTIVATION_DATE = ACTIVATION_DATE.plusMinutes(1);
+
+    private CompiledScriptCache testee;
+    private AtomicInteger compilationCount;
+    private CompiledScriptCache.Compiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        testee = new CompiledScriptCache(CompiledScriptCache.DEFAULT_MAXIMUM_SIZE);
+        compilationCount = new AtomicInteger();
+        compiler = scriptContent -> {
+            compilationCount.incrementAndGet();
+            return mock(Node.class);
+        };
+    }
+
+    @Test
+    void getShouldCompileTheScriptUponFirstCall() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getShouldReturnTheCompiledScriptWhileActivationDateIsUnchanged() throws Exception {
+        Node first = testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+        Node second = testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        assertThat(second).isSameAs(first);
+        assertThat(compilationCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getShouldNotLoadTheScriptContentWhenCompiled() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        AtomicInteger loadCount = new AtomicInteger();
+        testee.get(RECIPIENT1, new ResourceLocator.UserSieveInformation(ACTIVATION_DATE, ZonedDateTime.now(), () -> {
+            loadCount.incrementAndGet();
+            return script();
+        }), compiler);
+
+        assertThat(loadCount.get()).isZero();
+    }
+
+    @Test
+    void getShouldConsiderEquivalentActivationDatesInOtherTimeZones() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE.withZoneSameInstant(ZoneOffset.UTC)), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getShouldRecompileWhenActivationDateChanges() throws Exception {
+        Node first = testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+        Node second = testee.get(RECIPIENT1, userSieveInformation(NEXT_ACTIVATION_DATE), compiler);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(compilationCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getShouldCompileScriptsOfEachRecipient() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+        testee.get(RECIPIENT2, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getShouldRecompileAfterInvalidation() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+        testee.invalidate(RECIPIENT1);
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getShouldNotCacheParsingFailures() throws Exception {
+        assertThatThrownBy(() -> testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), scriptContent -> {
+            throw new ParseException("invalid script");
+        })).isInstanceOf(ParseException.class);
+
+        testee.get(RECIPIENT1, userSieveInformation(ACTIVATION_DATE), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getShouldPropagateMissingScripts() {
+        assertThatThrownBy(() -> testee.get(RECIPIENT1, new ResourceLocator.UserSieveInformation(ACTIVATION_DATE, ZonedDateTime.now(), () -> {
+            throw new ScriptNotFoundException();
+        }), compiler)).isInstanceOf(ScriptNotFoundException.class);
+    }
+
+    @Test
+    void getShouldNotCacheScriptsWithoutActivationDate() throws Exception {
+        testee.get(RECIPIENT1, userSieveInformation(null), compiler);
+        testee.get(RECIPIENT1, userSieveInformation(null), compiler);
+
+        assertThat(compilationCount.get()).isEqualTo(2);
+    }
+
+    private ResourceLocator.UserSieveInformation userSieveInformation(ZonedDateTime activationDate) {
+        return new ResourceLocator.UserSieveInformation(activationDate, ZonedDateTime.now(), script());
+    }
+
+    private InputStream script() {
+        return new ByteArrayInputStream("keep;".getBytes());
+    }
+}
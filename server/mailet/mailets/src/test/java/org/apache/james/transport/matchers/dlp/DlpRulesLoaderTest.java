@@ -0,0 +1,91 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.matchers.dlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.james.core.Domain;
+import org.apache.james.dlp.api.DLPConfigurationItem;
+import org.apache.james.dlp.api.DLPConfigurationStore;
+import org.apache.james.dlp.api.DLPRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Mono;
+
+class DlpRulesLoaderTest {
+
+    private static final Domain DOMAIN = Domain.of("james.org");
+    private static final Domain OTHER_DOMAIN = Domain.of("other.org");
+    private static final DLPRules RULES = new DLPRules(ImmutableList.of(
+        DLPConfigurationItem.builder()
+            .id(DLPConfigurationItem.Id.of("1"))
+            .expression("secret")
+            .targetsContent()
+            .build()));
+    private static final DLPRules OTHER_RULES = new DLPRules(ImmutableList.of(
+        DLPConfigurationItem.builder()
+            .id(DLPConfigurationItem.Id.of("1"))
+            .expression("confidential")
+            .targetsContent()
+            .build()));
+
+    private DLPConfigurationStore store;
+    private DlpRulesLoader.Impl testee;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(DLPConfigurationStore.class);
+        testee = new DlpRulesLoader.Impl(store);
+    }
+
+    @Test
+    void loadShouldReuseCompiledRulesWhenRulesAreUnchanged() {
+        when(store.list(DOMAIN)).thenReturn(Mono.just(RULES));
+
+        assertThat(testee.load(DOMAIN)).isSameAs(testee.load(DOMAIN));
+    }
+
+    @Test
+    void loadShouldReuseCompiledRulesWhenRulesAreEqual() {
+        when(store.list(DOMAIN)).thenReturn(Mono.just(RULES), Mono.just(new DLPRules(RULES.getItems())));
+
+        assertThat(testee.load(DOMAIN)).isSameAs(testee.load(DOMAIN));
+    }
+
+    @Test
+    void loadShouldRecompileWhenRulesChange() {
+        when(store.list(DOMAIN)).thenReturn(Mono.just(RULES), Mono.just(OTHER_RULES));
+
+        assertThat(testee.load(DOMAIN)).isNotSameAs(testee.load(DOMAIN));
+    }
+
+    @Test
+    void loadShouldCompileRulesPerDomain() {
+        when(store.list(DOMAIN)).thenReturn(Mono.just(RULES));
+        when(store.list(OTHER_DOMAIN)).thenReturn(Mono.just(RULES));
+
+        assertThat(testee.load(DOMAIN)).isNotSameAs(testee.load(OTHER_DOMAIN));
+    }
+}
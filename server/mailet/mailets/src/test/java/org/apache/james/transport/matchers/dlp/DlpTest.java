@@ -548,4 +548,52 @@ class DlpTest {
         assertThat(mail.getAttribute(name)).contains(new Attribute(name, AttributeValue.of(attributeValue)));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void matchShouldReturnRecipientsWhenCaseInsensitiveContentRuleMatches() throws Exception {
+        Dlp dlp = new Dlp(
+            asRulesLoaderFor(
+                JAMES_APACHE_ORG_DOMAIN,
+                DlpDomainRules.builder().contentRule(Id.of("match content"), Pattern.compile("(?i)HORSE")).build()));
+
+        FakeMail mail = FakeMail
+            .builder()
+            .name("name")
+            .sender(OTHER_AT_JAMES)
+            .recipient(RECIPIENT1)
+            .mimeMessage(MimeMessageBuilder
+                .mimeMessageBuilder()
+                .setText("It's actually a horse, not a pony"))
+            .build();
+
+        assertThat(dlp.match(mail)).contains(RECIPIENT1);
+    }
+
+    @Test
+    void matchShouldAttachFirstMatchingRuleWhenMixingLiteralAndRegexContentRules() throws Exception {
+        Dlp dlp = new Dlp(
+            asRulesLoaderFor(
+                JAMES_APACHE_ORG_DOMAIN,
+                DlpDomainRules.builder()
+                    .contentRule(Id.of("literal not matching"), Pattern.compile("donkey|mule"))
+                    .contentRule(Id.of("regex matching"), Pattern.compile("h.rse"))
+                    .contentRule(Id.of("literal matching"), Pattern.compile("pony"))
+                    .build()));
+
+        FakeMail mail = FakeMail
+            .builder()
+            .name("name")
+            .sender(OTHER_AT_JAMES)
+            .recipient(RECIPIENT1)
+            .mimeMessage(MimeMessageBuilder
+                .mimeMessageBuilder()
+                .setSubject("I just bought a pony")
+                .setText("It's actually a horse"))
+            .build();
+
+        dlp.match(mail);
+
+        AttributeName name = AttributeName.of("DlpMatchedRule");
+        assertThat(mail.getAttribute(name)).contains(new Attribute(name, AttributeValue.of("regex matching")));
+    }
+}
@@ -0,0 +1,157 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.transport.matchers.dlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.google.common.collect.ImmutableList;
+
+class MultiPatternMatcherTest {
+
+    private static MultiPatternMatcher<String> matcherOf(String... regexes) {
+        MultiPatternMatcher.Builder<String> builder = MultiPatternMatcher.builder();
+        for (String regex : regexes) {
+            builder.add(MultiPatternMatcher.literals(Pattern.compile(regex)).get(), regex);
+        }
+        return builder.build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"confidential", "top secret", "a\\.b", "\\(internal\\)", "one|two|three", "(?i)secret", "a-b_c@d,e"})
+    void literalsShouldAcceptLiteralSubset(String regex) {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile(regex))).isPresent();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a.b", "^secret", "secret$", "a*", "a+", "a?", "(a)", "[ab]", "a{2}", "\\d", "\\Qa\\E", "a|", "|a", "a||b", "(?s)a", ""})
+    void literalsShouldRejectOtherExpressions(String regex) {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile(regex))).isEmpty();
+    }
+
+    @Test
+    void literalsShouldRejectUnsupportedFlags() {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("secret", Pattern.UNICODE_CASE))).isEmpty();
+    }
+
+    @Test
+    void literalsShouldSplitAlternatives() {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("one|t\\|o")).get().getAlternatives())
+            .containsExactly("one", "t|o");
+    }
+
+    @Test
+    void literalsShouldUnescapeCharacters() {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("a\\.b\\\\c")).get().getAlternatives())
+            .containsExactly("a.b\\c");
+    }
+
+    @Test
+    void literalsShouldDetectCaseInsensitivity() {
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("(?i)secret")).get().isCaseInsensitive()).isTrue();
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("secret", Pattern.CASE_INSENSITIVE)).get().isCaseInsensitive()).isTrue();
+        assertThat(MultiPatternMatcher.literals(Pattern.compile("secret")).get().isCaseInsensitive()).isFalse();
+    }
+
+    @Test
+    void matchesShouldReturnEmptyWhenNoPattern() {
+        MultiPatternMatcher<String> matcher = MultiPatternMatcher.<String>builder().build();
+
+        assertThat(matcher.isEmpty()).isTrue();
+        assertThat(matcher.matches(ImmutableList.of("any text"))).isEmpty();
+    }
+
+    @Test
+    void matchesShouldReturnAllMatchingPatterns() {
+        MultiPatternMatcher<String> matcher = matcherOf("he", "she", "his", "hers", "xyz");
+
+        assertThat(matcher.matches(ImmutableList.of("ushers")))
+            .containsOnly("he", "she", "hers");
+    }
+
+    @Test
+    void matchesShouldFindOverlappingPatternsThroughFailureLinks() {
+        MultiPatternMatcher<String> matcher = matcherOf("abcd", "bcx", "c");
+
+        assertThat(matcher.matches(ImmutableList.of("abcx")))
+            .containsOnly("bcx", "c");
+    }
+
+    @Test
+    void matchesShouldLookIntoEveryText() {
+        MultiPatternMatcher<String> matcher = matcherOf("subject", "body", "absent");
+
+        assertThat(matcher.matches(ImmutableList.of("the subject", "the body")))
+            .containsOnly("subject", "body");
+    }
+
+    @Test
+    void matchesShouldNotMatchAcrossTexts() {
+        MultiPatternMatcher<String> matcher = matcherOf("ab");
+
+        assertThat(matcher.matches(ImmutableList.of("a", "b"))).isEmpty();
+    }
+
+    @Test
+    void matchesShouldMatchAnyAlternative() {
+        MultiPatternMatcher<String> matcher = matcherOf("one|two");
+
+        assertThat(matcher.matches(ImmutableList.of("number two"))).containsOnly("one|two");
+    }
+
+    @Test
+    void matchesShouldBeCaseSensitiveByDefault() {
+        MultiPatternMatcher<String> matcher = matcherOf("Secret");
+
+        assertThat(matcher.matches(ImmutableList.of("secret"))).isEmpty();
+    }
+
+    @Test
+    void matchesShouldIgnoreAsciiCaseWhenCaseInsensitive() {
+        MultiPatternMatcher<String> matcher = matcherOf("(?i)SeCrEt");
+
+        assertThat(matcher.matches(ImmutableList.of("TOP SECRET"))).containsOnly("(?i)SeCrEt");
+    }
+
+    @Test
+    void matchesShouldMixCaseSensitiveAndInsensitivePatterns() {
+        MultiPatternMatcher<String> matcher = matcherOf("(?i)secret", "Internal", "internal");
+
+        assertThat(matcher.matches(ImmutableList.of("SECRET and internal")))
+            .containsOnly("(?i)secret", "internal");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(?i)été", "(?i)ÉTÉ", "a\\.b", "one|two", "(?i)Secret|Internal", "日本"})
+    void matchesShouldAgreeWithPattern(String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        MultiPatternMatcher<String> matcher = matcherOf(regex);
+
+        ImmutableList.of("été", "ÉTÉ", "a.b", "axb", "two", "SECRET", "internal", "日本語", "none")
+            .forEach(text -> assertThat(!matcher.matches(ImmutableList.of(text)).isEmpty())
+                .describedAs("'%s' on '%s'", regex, text)
+                .isEqualTo(pattern.matcher(text).find()));
+    }
+}
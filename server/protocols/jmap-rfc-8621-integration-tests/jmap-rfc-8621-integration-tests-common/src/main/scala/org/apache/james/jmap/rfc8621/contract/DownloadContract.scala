@@ -25,7 +25,7 @@ import java.nio.charset.StandardCharsets
 import io.netty.handler.codec.http.HttpHeaderNames.ACCEPT
 import io.restassured.RestAssured.{`given`, requestSpecification}
 import org.apache.commons.io.IOUtils
-import org.apache.http.HttpStatus.{SC_FORBIDDEN, SC_NOT_FOUND, SC_OK, SC_UNAUTHORIZED}
+import org.apache.http.HttpStatus.{SC_FORBIDDEN, SC_NOT_FOUND, SC_OK, SC_PARTIAL_CONTENT, SC_REQUESTED_RANGE_NOT_SATISFIABLE, SC_UNAUTHORIZED}
 import org.apache.james.GuiceJamesServer
 import org.apache.james.jmap.http.UserCredential
 import org.apache.james.jmap.rfc8621.contract.DownloadContract.accountId
@@ -268,6 +268,125 @@ trait DownloadContract {
       .hasContent(expectedResponse)
   }
 
+  @Test
+  def downloadMessageShouldAdvertiseRangeSupport(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val messageId: MessageId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessage(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageId
+
+    `given`
+      .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+    .when
+      .get(s"/download/$accountId/${messageId.serialize()}")
+    .`then`
+      .statusCode(SC_OK)
+      .header("Accept-Ranges", "bytes")
+  }
+
+  @Test
+  def downloadMessageShouldHonourRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val messageId: MessageId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessage(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageId
+    val message: Array[Byte] = IOUtils.toByteArray(ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml"))
+
+    val response = `given`
+      .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", "bytes=10-19")
+    .when
+      .get(s"/download/$accountId/${messageId.serialize()}")
+    .`then`
+      .statusCode(SC_PARTIAL_CONTENT)
+      .header("Content-Range", s"bytes 10-19/${message.length}")
+      .header("Content-Length", "10")
+      .extract
+      .body
+      .asByteArray
+
+    assertThat(response).isEqualTo(message.slice(10, 20))
+  }
+
+  @Test
+  def downloadMessageShouldHonourSuffixRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val messageId: MessageId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessage(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageId
+    val message: Array[Byte] = IOUtils.toByteArray(ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml"))
+
+    val response = `given`
+      .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", "bytes=-10")
+    .when
+      .get(s"/download/$accountId/${messageId.serialize()}")
+    .`then`
+      .statusCode(SC_PARTIAL_CONTENT)
+      .header("Content-Range", s"bytes ${message.length - 10}-${message.length - 1}/${message.length}")
+      .extract
+      .body
+      .asByteArray
+
+    assertThat(response).isEqualTo(message.takeRight(10))
+  }
+
+  @Test
+  def downloadPartShouldHonourRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val messageId: MessageId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessage(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageId
+
+    val response = `given`
+      .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", "bytes=5-14")
+    .when
+      .get(s"/download/$accountId/${messageId.serialize()}_3")
+    .`then`
+      .statusCode(SC_PARTIAL_CONTENT)
+      .contentType("text/plain")
+      .header("Content-Range", containsString("bytes 5-14/"))
+      .extract
+      .body
+      .asString
+
+    assertThat(response).isEqualTo("BEGIN RSA ")
+  }
+
+  @Test
+  def downloadMessageShouldRejectUnsatisfiableRange(server: GuiceJamesServer): Unit = {
+    val path = MailboxPath.inbox(BOB)
+    server.getProbe(classOf[MailboxProbeImpl]).createMailbox(path)
+    val messageId: MessageId = server.getProbe(classOf[MailboxProbeImpl])
+      .appendMessage(BOB.asString, path, AppendCommand.from(
+        ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml")))
+      .getMessageId
+    val message: Array[Byte] = IOUtils.toByteArray(ClassLoaderUtils.getSystemResourceAsSharedStream("eml/multipart_simple.eml"))
+
+    `given`
+      .basePath("")
+      .header(ACCEPT.toString, ACCEPT_RFC8621_VERSION_HEADER)
+      .header("Range", s"bytes=${message.length}-")
+    .when
+      .get(s"/download/$accountId/${messageId.serialize()}")
+    .`then`
+      .statusCode(SC_REQUESTED_RANGE_NOT_SATISFIABLE)
+      .header("Content-Range", s"bytes */${message.length}")
+  }
+
   @Test
   def userCanSpecifyContentTypeWhenDownloadingMessage(server: GuiceJamesServer): Unit = {
     val path = MailboxPath.inbox(BOB)
@@ -24,11 +24,12 @@ import java.util.stream
 import java.util.stream.Stream
 
 import com.google.common.base.CharMatcher
+import com.google.common.io.ByteStreams
 import eu.timepit.refined.numeric.NonNegative
 import eu.timepit.refined.refineV
 import io.netty.buffer.Unpooled
-import io.netty.handler.codec.http.HttpHeaderNames.{CONTENT_LENGTH, CONTENT_TYPE}
-import io.netty.handler.codec.http.HttpResponseStatus.{BAD_REQUEST, FORBIDDEN, INTERNAL_SERVER_ERROR, NOT_FOUND, OK, UNAUTHORIZED}
+import io.netty.handler.codec.http.HttpHeaderNames.{ACCEPT_RANGES, CONTENT_LENGTH, CONTENT_RANGE, CONTENT_TYPE, RANGE}
+import io.netty.handler.codec.http.HttpResponseStatus.{BAD_REQUEST, FORBIDDEN, INTERNAL_SERVER_ERROR, NOT_FOUND, OK, PARTIAL_CONTENT, REQUESTED_RANGE_NOT_SATISFIABLE, UNAUTHORIZED}
 import io.netty.handler.codec.http.{HttpMethod, HttpResponseStatus, QueryStringDecoder}
 import javax.inject.{Inject, Named}
 import org.apache.james.jmap.HttpConstants.JSON_CONTENT_TYPE
@@ -48,6 +49,7 @@ import org.apache.james.mailbox.model.{AttachmentId, AttachmentMetadata, Content
 import org.apache.james.mailbox.{AttachmentManager, MailboxSession, MessageIdManager}
 import org.apache.james.mime4j.codec.EncoderUtil
 import org.apache.james.mime4j.codec.EncoderUtil.Usage
+import org.apache.james.mime4j.dom.SingleBody
 import org.apache.james.mime4j.message.DefaultMessageWriter
 import org.apache.james.util.ReactorUtils
 import org.slf4j.{Logger, LoggerFactory}
@@ -90,6 +92,57 @@ trait Blob {
 
 case class BlobNotFoundException(blobId: BlobId) extends RuntimeException
 case class ForbiddenException() extends RuntimeException
+case class RangeNotSatisfiableException(size: Long) extends RuntimeException
+
+/**
+ * Single byte range requested through the RFC 7233 Range header. Requests for several ranges, or with a Range
+ * header we cannot interpret, are served in full as the RFC allows.
+ */
+sealed trait RangeRequest
+case object FullContent extends RangeRequest
+case class PartialContent(start: Long, end: Long, size: Long) extends RangeRequest {
+  def length: Long = end - start + 1
+
+  def contentRange: String = s"bytes $start-$end/$size"
+}
+
+object RangeRequest {
+  private val BYTES_UNIT_PREFIX = "bytes="
+  private val BYTE_RANGE = "(\\d*)-(\\d*)".r
+
+  def parse(rangeHeader: Option[String], size: Long): Try[RangeRequest] =
+    rangeHeader.map(_.trim)
+      .filter(_.regionMatches(true, 0, BYTES_UNIT_PREFIX, 0, BYTES_UNIT_PREFIX.length))
+      .map(_.substring(BYTES_UNIT_PREFIX.length).trim)
+      .map(rangeSpec => Try(parseByteRange(rangeSpec, size)).flatten)
+      .getOrElse(Success(FullContent))
+      .recover {
+        case _: NumberFormatException => FullContent
+      }
+
+  private def parseByteRange(rangeSpec: String, size: Long): Try[RangeRequest] = rangeSpec match {
+    case BYTE_RANGE("", "") => Success(FullContent)
+    case BYTE_RANGE("", suffixLength) => suffix(suffixLength.toLong, size)
+    case BYTE_RANGE(start, end) => range(start.toLong, Option(end).filter(_.nonEmpty).map(_.toLong), size)
+    case _ => Success(FullContent)
+  }
+
+  private def suffix(suffixLength: Long, size: Long): Try[RangeRequest] =
+    if (suffixLength == 0 || size == 0) {
+      Failure(RangeNotSatisfiableException(size))
+    } else {
+      Success(PartialContent(Math.max(0, size - suffixLength), size - 1, size))
+    }
+
+  private def range(start: Long, end: Option[Long], size: Long): Try[RangeRequest] =
+    if (end.exists(_ < start)) {
+      Success(FullContent)
+    } else if (start >= size) {
+      Failure(RangeNotSatisfiableException(size))
+    } else {
+      Success(PartialContent(start, end.map(Math.min(_, size - 1)).getOrElse(size - 1), size))
+    }
+}
 
 case class MessageBlob(blobId: BlobId, message: MessageResult) extends Blob {
   override def contentType: ContentType = new ContentType("message/rfc822")
@@ -125,11 +178,13 @@ case class EmailBodyPartBlob(blobId: BlobId, part: EmailBodyPart) extends Blob {
 
   override def contentType: ContentType = new ContentType(part.`type`.value)
 
-  override def content: InputStream = {
-    val writer = new DefaultMessageWriter
-    val outputStream = new ByteArrayOutputStream()
-    writer.writeBody(part.entity.getBody, outputStream)
-    new ByteArrayInputStream(outputStream.toByteArray)
+  override def content: InputStream = part.entity.getBody match {
+    case singleBody: SingleBody => singleBody.getInputStream
+    case body =>
+      val writer = new DefaultMessageWriter
+      val outputStream = new ByteArrayOutputStream()
+      writer.writeBody(body, outputStream)
+      new ByteArrayInputStream(outputStream.toByteArray)
   }
 }
 
@@ -265,6 +320,10 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
           respondDetails(response,
             ProblemDetails(status = NOT_FOUND, detail = "The resource could not be found"),
             NOT_FOUND)
+        case e: RangeNotSatisfiableException =>
+          respondDetails(response.header(CONTENT_RANGE, s"bytes */${e.size}"),
+            ProblemDetails(status = REQUESTED_RANGE_NOT_SATISFIABLE, detail = "The requested range is not satisfiable"),
+            REQUESTED_RANGE_NOT_SATISFIABLE)
         case e =>
           LOGGER.error("Unexpected error upon downloads", e)
           respondDetails(response,
@@ -281,6 +340,7 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
         blobResolvers.resolve(_, mailboxSession))
       .flatMap(blob => downloadBlob(
         optionalName = queryParam(request, nameParam),
+        rangeHeader = Option(request.requestHeaders.get(RANGE)),
         response = response,
         blobContentType = queryParam(request, contentTypeParam)
           .map(ContentType.of)
@@ -304,16 +364,27 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
     }
 
   private def downloadBlob(optionalName: Option[String],
+                           rangeHeader: Option[String],
+                           response: HttpServerResponse,
+                           blobContentType: ContentType,
+                           blob: Blob): SMono[Unit] =
+    blob.size
+      .map(size => RangeRequest.parse(rangeHeader, size.value))
+      .getOrElse(Success(FullContent))
+      .fold(e => SMono.error(e),
+        rangeRequest => downloadBlob(optionalName, rangeRequest, response, blobContentType, blob))
+
+  private def downloadBlob(optionalName: Option[String],
+                           rangeRequest: RangeRequest,
                            response: HttpServerResponse,
                            blobContentType: ContentType,
                            blob: Blob): SMono[Unit] =
     SMono.fromPublisher(Mono.using(
-      () => blob.content,
+      () => content(blob, rangeRequest),
       (stream: InputStream) => addContentDispositionHeader(optionalName)
-        .compose(addContentLengthHeader(blob.size))
+        .compose(addContentLengthAndRangeHeaders(blob.size, rangeRequest))
         .apply(response)
         .header(CONTENT_TYPE, blobContentType.asString)
-        .status(OK)
         .send(ReactorUtils.toChunks(stream, BUFFER_SIZE)
           .map(Unpooled.wrappedBuffer(_))
           .subscribeOn(Schedulers.elastic))
@@ -321,14 +392,36 @@ class DownloadRoutes @Inject()(@Named(InjectionKeys.RFC_8621) val authenticator:
       asJavaConsumer[InputStream]((stream: InputStream) => stream.close())))
       .`then`
 
+  private def content(blob: Blob, rangeRequest: RangeRequest): InputStream = rangeRequest match {
+    case FullContent => blob.content
+    case range: PartialContent =>
+      val stream = blob.content
+      try {
+        ByteStreams.skipFully(stream, range.start)
+        ByteStreams.limit(stream, range.length)
+      } catch {
+        case e: Exception =>
+          stream.close()
+          throw e
+      }
+  }
+
   private def addContentDispositionHeader(optionalName: Option[String]): HttpServerResponse => HttpServerResponse =
     resp => optionalName.map(addContentDispositionHeaderRegardingEncoding(_, resp))
       .getOrElse(resp)
 
-  private def addContentLengthHeader(sizeTry: Try[Size]): HttpServerResponse => HttpServerResponse =
-    resp => sizeTry
-      .map(size => resp.header("Content-Length", size.value.toString))
-      .getOrElse(resp)
+  private def addContentLengthAndRangeHeaders(sizeTry: Try[Size], rangeRequest: RangeRequest): HttpServerResponse => HttpServerResponse =
+    resp => rangeRequest match {
+      case range: PartialContent => resp.status(PARTIAL_CONTENT)
+        .header(ACCEPT_RANGES, "bytes")
+        .header(CONTENT_RANGE, range.contentRange)
+        .header(CONTENT_LENGTH, range.length.toString)
+      case FullContent => sizeTry
+        .map(size => resp.status(OK)
+          .header(ACCEPT_RANGES, "bytes")
+          .header(CONTENT_LENGTH, size.value.toString))
+        .getOrElse(resp.status(OK))
+    }
 
   private def addContentDispositionHeaderRegardingEncoding(name: String, resp: HttpServerResponse): HttpServerResponse =
     if (CharMatcher.ascii.matchesAllOf(name)) {
@@ -0,0 +1,93 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.jmap.routes
+
+import org.scalatest.matchers.must.Matchers
+import org.scalatest.wordspec.AnyWordSpec
+
+import scala.util.{Failure, Success}
+
+class RangeRequestTest extends AnyWordSpec with Matchers {
+  private val size: Long = 100L
+
+  "RangeRequest.parse" should {
+    "return full content when no Range header" in {
+      RangeRequest.parse(None, size) must be(Success(FullContent))
+    }
+
+    "return the requested range" in {
+      RangeRequest.parse(Some("bytes=0-9"), size) must be(Success(PartialContent(0, 9, size)))
+    }
+
+    "be case insensitive on the range unit" in {
+      RangeRequest.parse(Some("Bytes=0-9"), size) must be(Success(PartialContent(0, 9, size)))
+    }
+
+    "return the remaining content when no last position" in {
+      RangeRequest.parse(Some("bytes=90-"), size) must be(Success(PartialContent(90, 99, size)))
+    }
+
+    "truncate the last position to the content size" in {
+      RangeRequest.parse(Some("bytes=50-500"), size) must be(Success(PartialContent(50, 99, size)))
+    }
+
+    "return the content suffix" in {
+      RangeRequest.parse(Some("bytes=-10"), size) must be(Success(PartialContent(90, 99, size)))
+    }
+
+    "return the whole content when the suffix exceeds the content size" in {
+      RangeRequest.parse(Some("bytes=-200"), size) must be(Success(PartialContent(0, 99, size)))
+    }
+
+    "fail when the first position exceeds the content size" in {
+      RangeRequest.parse(Some("bytes=100-"), size) must be(Failure(RangeNotSatisfiableException(size)))
+    }
+
+    "fail when the suffix is empty" in {
+      RangeRequest.parse(Some("bytes=-0"), size) must be(Failure(RangeNotSatisfiableException(size)))
+    }
+
+    "ignore ranges whose last position is before the first one" in {
+      RangeRequest.parse(Some("bytes=9-1"), size) must be(Success(FullContent))
+    }
+
+    "ignore multiple ranges" in {
+      RangeRequest.parse(Some("bytes=0-1,5-6"), size) must be(Success(FullContent))
+    }
+
+    "ignore unknown range units" in {
+      RangeRequest.parse(Some("items=0-1"), size) must be(Success(FullContent))
+    }
+
+    "ignore positions overflowing" in {
+      RangeRequest.parse(Some("bytes=99999999999999999999-"), size) must be(Success(FullContent))
+    }
+  }
+
+  "PartialContent" should {
+    "compute its length" in {
+      PartialContent(10, 19, size).length must be(10)
+    }
+
+    "compute its Content-Range header" in {
+      PartialContent(10, 19, size).contentRange must be("bytes 10-19/100")
+    }
+  }
+}
@@ -54,11 +54,11 @@ public class LineHandlerStats extends StandardMBean implements HandlerStatsMBean
     }
 
     /**
-     * Increment the stats
+     * Increment the stats. The response is <code>null</code> when none is written back for the line.
      */
     public void increment(Response response) {
         all.incrementAndGet();
-        if (response.isEndSession()) {
+        if (response != null && response.isEndSession()) {
             disconnect.incrementAndGet();
         }
     }
@@ -47,7 +47,11 @@ import org.apache.james.protocols.api.Encryption;
 import org.apache.james.protocols.lib.jmx.ServerMBean;
 import org.apache.james.protocols.netty.AbstractAsyncServer;
 import org.apache.james.protocols.netty.ChannelHandlerFactory;
+import org.apache.james.util.concurrent.ExecutionMode;
 import org.apache.james.util.concurrent.JMXEnabledThreadPoolExecutor;
+import org.apache.james.util.concurrent.NamedThreadFactory;
+import org.apache.james.util.concurrent.VirtualThreadPinningMonitor;
+import org.apache.james.util.concurrent.VirtualThreads;
 import org.jboss.netty.bootstrap.ServerBootstrap;
 import org.jboss.netty.channel.ChannelPipelineFactory;
 import org.jboss.netty.channel.ChannelUpstreamHandler;
@@ -82,6 +86,9 @@ public abstract class AbstractConfigurableAsyncServer extends AbstractAsyncServe
     public static final String HELLO_NAME = "helloName";
 
     public static final int DEFAULT_MAX_EXECUTOR_COUNT = 16;
+
+    /** The default maximum count of executor threads when running on virtual threads. */
+    public static final int DEFAULT_VIRTUAL_MAX_EXECUTOR_COUNT = 10_000;
     
     // By default, use the Sun X509 algorithm that comes with the Sun JCE
     // provider for SSL
@@ -125,6 +132,8 @@ public abstract class AbstractConfigurableAsyncServer extends AbstractAsyncServe
 
     private int maxExecutorThreads;
 
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+
     private MBeanServer mbeanServer;
 
     private int port;
@@ -199,7 +208,18 @@ public abstract class AbstractConfigurableAsyncServer extends AbstractAsyncServe
         int ioWorker = config.getInt("ioWorkerCount", DEFAULT_IO_WORKER_COUNT);
         setIoWorkerCount(ioWorker);
 
-        maxExecutorThreads = config.getInt("maxExecutorCount", DEFAULT_MAX_EXECUTOR_COUNT);
+        executionMode = Optional.ofNullable(config.getString("executionMode", null))
+            .map(ExecutionMode::parse)
+            .orElse(ExecutionMode.PLATFORM);
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            if (!VirtualThreads.isSupported()) {
+                throw new ConfigurationException("'executionMode' virtual requires a Java runtime supporting virtual threads (Java 21 or later)");
+            }
+            VirtualThreadPinningMonitor.start();
+        }
+        LOGGER.info("{} handlers execution mode is: {}", getServiceType(), executionMode.asString());
+
+        maxExecutorThreads = config.getInt("maxExecutorCount", defaultMaxExecutorCount(executionMode));
 
         
         configureHelloName(config);
@@ -557,7 +577,15 @@ public abstract class AbstractConfigurableAsyncServer extends AbstractAsyncServe
      * @return ehandler
      */
     protected ExecutionHandler createExecutionHandler() {
-        return new ExecutionHandler(new JMXEnabledOrderedMemoryAwareThreadPoolExecutor(maxExecutorThreads, 0, 0, getThreadPoolJMXPath(), getDefaultJMXName() + "-executor"));
+        return new ExecutionHandler(new JMXEnabledOrderedMemoryAwareThreadPoolExecutor(maxExecutorThreads, 0, 0, getThreadPoolJMXPath(),
+            NamedThreadFactory.withName(getDefaultJMXName() + "-executor", executionMode)));
+    }
+
+    private static int defaultMaxExecutorCount(ExecutionMode executionMode) {
+        if (executionMode == ExecutionMode.VIRTUAL) {
+            return DEFAULT_VIRTUAL_MAX_EXECUTOR_COUNT;
+        }
+        return DEFAULT_MAX_EXECUTOR_COUNT;
     }
 
     protected abstract ChannelHandlerFactory createFrameHandlerFactory();
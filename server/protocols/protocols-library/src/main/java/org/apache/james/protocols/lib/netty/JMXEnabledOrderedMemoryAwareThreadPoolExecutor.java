@@ -44,7 +44,11 @@ public class JMXEnabledOrderedMemoryAwareThreadPoolExecutor extends OrderedMemor
     private String mbeanName;
     
     public JMXEnabledOrderedMemoryAwareThreadPoolExecutor(int corePoolSize, long maxChannelMemorySize, long maxTotalMemorySize, String jmxPath, String name) {
-        super(corePoolSize, maxChannelMemorySize, maxTotalMemorySize, 30, TimeUnit.SECONDS, NamedThreadFactory.withName(name));
+        this(corePoolSize, maxChannelMemorySize, maxTotalMemorySize, jmxPath, NamedThreadFactory.withName(name));
+    }
+
+    public JMXEnabledOrderedMemoryAwareThreadPoolExecutor(int corePoolSize, long maxChannelMemorySize, long maxTotalMemorySize, String jmxPath, NamedThreadFactory threadFactory) {
+        super(corePoolSize, maxChannelMemorySize, maxTotalMemorySize, 30, TimeUnit.SECONDS, threadFactory);
         this.jmxPath = jmxPath;
         registerMBean();
     }
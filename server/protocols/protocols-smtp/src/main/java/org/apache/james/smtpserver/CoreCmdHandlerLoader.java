@@ -67,6 +67,7 @@ public class CoreCmdHandlerLoader implements HandlersPackage {
             RsetCmdHandler.class,
             VrfyCmdHandler.class,
             MailSizeEsmtpExtension.class,
+            JamesBdatCmdHandler.class,
             UsersRepositoryAuthHook.class,
             AuthRequiredToRelayRcptHook.class,
             SenderAuthIdentifyVerificationRcptHook.class,
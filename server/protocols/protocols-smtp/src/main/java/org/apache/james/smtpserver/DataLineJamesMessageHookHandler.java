@@ -87,22 +87,8 @@ public class DataLineJamesMessageHookHandler implements DataLineFilter, Extensib
                 out.flush();
                 out.close();
 
-                List<MailAddress> recipientCollection = session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).orElse(ImmutableList.of());
-                MaybeSender sender = session.getAttachment(SMTPSession.SENDER, State.Transaction).orElse(MaybeSender.nullSender());
-
-                MailImpl mail = MailImpl.builder()
-                    .name(MailImpl.getId())
-                    .sender(sender)
-                    .addRecipients(recipientCollection)
-                    .build();
-
-                // store mail in the session so we can be sure it get disposed later
-                session.setAttachment(SMTPConstants.MAIL, mail, State.Transaction);
-
                 try {
-                    mail.setMessageContent(mmiss);
-
-                    Response response = processExtensions(session, mail);
+                    Response response = processMessage(session, mmiss);
 
                     session.popLineHandler();
                     return response;
@@ -111,9 +97,6 @@ public class DataLineJamesMessageHookHandler implements DataLineFilter, Extensib
                     // TODO probably return a temporary problem
                     LOGGER.info("Unexpected error handling DATA stream", e);
                     return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error handling DATA stream.");
-                } finally {
-                    LifecycleUtil.dispose(mmiss);
-                    LifecycleUtil.dispose(mail);
                 }
 
                 // DotStuffing.
@@ -135,6 +118,33 @@ public class DataLineJamesMessageHookHandler implements DataLineFilter, Extensib
         return null;
     }
 
+    /**
+     * Build the {@link Mail} out of the fully received message content and call the hooks on it. The content is disposed
+     * afterwards.
+     */
+    Response processMessage(SMTPSession session, MimeMessageInputStreamSource mmiss) throws MessagingException {
+        List<MailAddress> recipientCollection = session.getAttachment(SMTPSession.RCPT_LIST, State.Transaction).orElse(ImmutableList.of());
+        MaybeSender sender = session.getAttachment(SMTPSession.SENDER, State.Transaction).orElse(MaybeSender.nullSender());
+
+        MailImpl mail = MailImpl.builder()
+            .name(MailImpl.getId())
+            .sender(sender)
+            .addRecipients(recipientCollection)
+            .build();
+
+        // store mail in the session so we can be sure it get disposed later
+        session.setAttachment(SMTPConstants.MAIL, mail, State.Transaction);
+
+        try {
+            mail.setMessageContent(mmiss);
+
+            return processExtensions(session, mail);
+        } finally {
+            LifecycleUtil.dispose(mmiss);
+            LifecycleUtil.dispose(mail);
+        }
+    }
+
     protected Response processExtensions(SMTPSession session, Mail mail) {
         if (mail != null && messageHandlers != null) {
             try {
@@ -0,0 +1,117 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.smtpserver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.mail.MessagingException;
+
+import org.apache.james.lifecycle.api.LifecycleUtil;
+import org.apache.james.metrics.api.MetricFactory;
+import org.apache.james.protocols.api.ProtocolSession.State;
+import org.apache.james.protocols.api.Response;
+import org.apache.james.protocols.api.handler.WiringException;
+import org.apache.james.protocols.smtp.SMTPResponse;
+import org.apache.james.protocols.smtp.SMTPRetCode;
+import org.apache.james.protocols.smtp.SMTPSession;
+import org.apache.james.protocols.smtp.core.AbstractHookableCmdHandler;
+import org.apache.james.protocols.smtp.core.BdatCmdHandler;
+import org.apache.james.protocols.smtp.hook.HookResult;
+import org.apache.james.server.core.MailImpl;
+import org.apache.james.server.core.MimeMessageInputStreamSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * handles BDAT command, spooling the chunks into a {@link MimeMessageInputStreamSource}
+ */
+public class JamesBdatCmdHandler extends BdatCmdHandler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JamesBdatCmdHandler.class);
+
+    private List<DataLineJamesMessageHookHandler> messageHookHandlers = ImmutableList.of();
+
+    @Inject
+    public JamesBdatCmdHandler(MetricFactory metricFactory) {
+        super(metricFactory);
+    }
+
+    @Override
+    protected Response beginMessage(SMTPSession session) {
+        try {
+            MimeMessageInputStreamSource mmiss = new MimeMessageInputStreamSource(MailImpl.getId());
+            session.setAttachment(SMTPConstants.DATA_MIMEMESSAGE_STREAMSOURCE, mmiss, State.Transaction);
+            return null;
+        } catch (Exception e) {
+            LOGGER.warn("Error creating mimemessagesource for incoming data", e);
+            return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error preparing to receive BDAT.");
+        }
+    }
+
+    @Override
+    protected OutputStream getMessageOutputStream(SMTPSession session) throws IOException {
+        return retrieveStreamSource(session).getWritableOutputStream();
+    }
+
+    @Override
+    protected void abortMessage(SMTPSession session) {
+        session.getAttachment(SMTPConstants.DATA_MIMEMESSAGE_STREAMSOURCE, State.Transaction).ifPresent(LifecycleUtil::dispose);
+    }
+
+    @Override
+    protected Response onMessageReceived(SMTPSession session) {
+        MimeMessageInputStreamSource mmiss = retrieveStreamSource(session);
+        if (messageHookHandlers.isEmpty()) {
+            LifecycleUtil.dispose(mmiss);
+            return AbstractHookableCmdHandler.calcDefaultSMTPResponse(HookResult.DECLINED);
+        }
+        try {
+            return messageHookHandlers.get(0).processMessage(session, mmiss);
+        } catch (MessagingException e) {
+            LOGGER.info("Unexpected error handling BDAT stream", e);
+            return new SMTPResponse(SMTPRetCode.LOCAL_ERROR, "Unexpected error handling BDAT stream.");
+        }
+    }
+
+    private MimeMessageInputStreamSource retrieveStreamSource(SMTPSession session) {
+        return session.getAttachment(SMTPConstants.DATA_MIMEMESSAGE_STREAMSOURCE, State.Transaction)
+            .orElseThrow(() -> new RuntimeException("'" + SMTPConstants.DATA_MIMEMESSAGE_STREAMSOURCE.asString() + "' has not been filled."));
+    }
+
+    @Override
+    public List<Class<?>> getMarkerInterfaces() {
+        List<Class<?>> classes = super.getMarkerInterfaces();
+        classes.add(DataLineJamesMessageHookHandler.class);
+        return classes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void wireExtensions(Class<?> interfaceName, List<?> extension) throws WiringException {
+        super.wireExtensions(interfaceName, extension);
+        if (DataLineJamesMessageHookHandler.class.equals(interfaceName)) {
+            this.messageHookHandlers = (List<DataLineJamesMessageHookHandler>) extension;
+        }
+    }
+}
@@ -434,7 +434,7 @@ public class SMTPServerTest {
 
         assertThat(capabilitieslist)
             .as("capabilities")
-            .hasSize(3);
+            .hasSize(4);
         assertThat(capabilitieslist.contains("PIPELINING"))
             .as("capabilities present PIPELINING")
             .isTrue();
@@ -444,6 +444,9 @@ public class SMTPServerTest {
         assertThat(capabilitieslist.contains("8BITMIME"))
             .as("capabilities present 8BITMIME")
             .isTrue();
+        assertThat(capabilitieslist.contains("CHUNKING"))
+            .as("capabilities present CHUNKING")
+            .isTrue();
 
         smtpProtocol.setSender("mail@localhost");
         smtpProtocol.addRecipient("mail@localhost");
@@ -546,10 +549,10 @@ public class SMTPServerTest {
 
         assertThat(capabilitieslist)
             .as("capabilities")
-            .hasSize(4);
+            .hasSize(5);
         assertThat(capabilitieslist)
-            .as("capabilities present PIPELINING ENHANCEDSTATUSCODES 8BITMIME STARTTLS")
-            .containsOnly("PIPELINING", "ENHANCEDSTATUSCODES", "8BITMIME", "STARTTLS");
+            .as("capabilities present PIPELINING ENHANCEDSTATUSCODES 8BITMIME CHUNKING STARTTLS")
+            .containsOnly("PIPELINING", "ENHANCEDSTATUSCODES", "8BITMIME", "CHUNKING", "STARTTLS");
 
         smtpProtocol.quit();
         smtpProtocol.disconnect();
@@ -1942,6 +1945,93 @@ public class SMTPServerTest {
         client.close();
     }
 
+    // See https://tools.ietf.org/html/rfc3030 4.2: Examples
+    @Test
+    public void testChunking() throws Exception {
+        init(smtpConfiguration);
+        InetSocketAddress bindedAddress = new ProtocolServerUtils(smtpServer).retrieveBindedAddress();
+        Socket client = new Socket(bindedAddress.getAddress().getHostAddress(), bindedAddress.getPort());
+
+        String chunk1 = "Subject: test\r\n\r\n";
+        String chunk2 = ".content\r\n";
+        String commands = "HELO TEST\r\n"
+            + "MAIL FROM: <test@localhost>\r\n"
+            + "RCPT TO: <test2@localhost>\r\n"
+            + "BDAT " + chunk1.length() + "\r\n" + chunk1
+            + "BDAT " + chunk2.length() + " LAST\r\n" + chunk2
+            + "quit\r\n";
+
+        OutputStream out = client.getOutputStream();
+
+        out.write(commands.getBytes(UTF_8));
+        out.flush();
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream()));
+
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("Connection made")
+            .isEqualTo(220);
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("HELO accepted")
+            .isEqualTo(250);
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("MAIL FROM accepted")
+            .isEqualTo(250);
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("RCPT TO accepted")
+            .isEqualTo(250);
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("First chunk accepted")
+            .isEqualTo(250);
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("Message accepted")
+            .isEqualTo(250);
+        in.close();
+        out.close();
+        client.close();
+
+        MimeMessage message = queue.getLastMail().getMessage();
+        assertThat(message.getHeader("Received"))
+            .as("spooled mail has Received header")
+            .isNotNull();
+        assertThat(message.getSubject()).isEqualTo("test");
+        assertThat(message.getContent()).isEqualTo(".content\r\n");
+    }
+
+    @Test
+    public void dataBodyLinesLookingLikeBdatShouldNotBeTreatedAsChunks() throws Exception {
+        init(smtpConfiguration);
+        InetSocketAddress bindedAddress = new ProtocolServerUtils(smtpServer).retrieveBindedAddress();
+        Socket client = new Socket(bindedAddress.getAddress().getHostAddress(), bindedAddress.getPort());
+
+        OutputStream out = client.getOutputStream();
+        BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream()));
+        out.write(("HELO TEST\r\n"
+            + "MAIL FROM: <test@localhost>\r\n"
+            + "RCPT TO: <test2@localhost>\r\n"
+            + "DATA\r\n").getBytes(UTF_8));
+        out.flush();
+        for (int i = 0; i < 4; i++) {
+            in.readLine();
+        }
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("DATA accepted")
+            .isEqualTo(354);
+
+        out.write(("Subject: test\r\n\r\nBDAT 10\r\nshort\r\n.\r\nquit\r\n").getBytes(UTF_8));
+        out.flush();
+
+        assertThat(Integer.parseInt(in.readLine().split(" ")[0]))
+            .as("Message accepted")
+            .isEqualTo(250);
+        in.close();
+        out.close();
+        client.close();
+
+        MimeMessage message = queue.getLastMail().getMessage();
+        assertThat(message.getContent()).isEqualTo("BDAT 10\r\nshort\r\n");
+    }
+
     // See http://www.ietf.org/rfc/rfc2920.txt 4: Examples
     @Test
     public void testRejectAllRCPTPipelining() throws Exception {
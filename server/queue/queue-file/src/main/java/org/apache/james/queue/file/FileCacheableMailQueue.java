@@ -30,16 +30,14 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -50,6 +48,7 @@ import javax.mail.util.SharedFileInputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.james.lifecycle.api.Disposable;
 import org.apache.james.lifecycle.api.LifecycleUtil;
+import org.apache.james.queue.api.MailPrioritySupport;
 import org.apache.james.queue.api.MailQueueItemDecoratorFactory;
 import org.apache.james.queue.api.MailQueueName;
 import org.apache.james.queue.api.ManageableMailQueue;
@@ -66,6 +65,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.github.fge.lambdas.Throwing;
+import com.google.common.collect.ImmutableSet;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -74,7 +74,11 @@ import reactor.core.publisher.Mono;
  * {@link ManageableMailQueue} implementation which use the fs to store {@link Mail}'s
  * <p/>
  * On create of the {@link FileCacheableMailQueue} the {@link #init()} will get called. This takes care of
- * loading the needed meta-data into memory for fast access.
+ * loading the needed meta-data into memory for fast access. This meta-data is read from a {@link FileMailQueueIndex}
+ * journal: mails missing from it, like those of queue directories written by previous versions, are indexed by
+ * deserializing them.
+ * <p/>
+ * Mails carrying a {@link MailPrioritySupport#MAIL_PRIORITY} attribute are dequeued by decreasing priority.
  *
  * @deprecated FileMailQueue implementation is unmaintained, incomplete and not thread safe
  * We recommend using embedded ActiveMQMailQueue implementation instead
@@ -83,10 +87,14 @@ import reactor.core.publisher.Mono;
 public class FileCacheableMailQueue implements ManageableMailQueue {
     private static final Logger LOGGER = LoggerFactory.getLogger(FileCacheableMailQueue.class);
 
-    private final Map<String, FileItem> keyMappings = Collections.synchronizedMap(new LinkedHashMap<>());
-    private final BlockingQueue<String> inmemoryQueue = new LinkedBlockingQueue<>();
+    private static final Comparator<ReadyMail> DELIVERY_ORDER = Comparator.comparingInt(ReadyMail::getPriority).reversed()
+        .thenComparingLong(ReadyMail::getSequence);
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final PriorityBlockingQueue<ReadyMail> inmemoryQueue = new PriorityBlockingQueue<>(INITIAL_CAPACITY, DELIVERY_ORDER);
     private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(NamedThreadFactory.withClassName(getClass()));
     private static final AtomicLong COUNTER = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
     private final String queueDirName;
     private final File queueDir;
 
@@ -94,10 +102,11 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
     private final boolean sync;
     private static final String MSG_EXTENSION = ".msg";
     private static final String OBJECT_EXTENSION = ".obj";
-    private static final AttributeName NEXT_DELIVERY = AttributeName.of("FileQueueNextDelivery");
+    static final AttributeName NEXT_DELIVERY = AttributeName.of("FileQueueNextDelivery");
     private static final int SPLITCOUNT = 10;
     private static final SecureRandom RANDOM = new SecureRandom();
     private final MailQueueName queueName;
+    private final FileMailQueueIndex index;
     private final Flux<MailQueueItem> flux;
 
     public FileCacheableMailQueue(MailQueueItemDecoratorFactory mailQueueItemDecoratorFactory, File parentDir, MailQueueName queuename, boolean sync) throws IOException {
@@ -106,15 +115,15 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
         this.queueName = queuename;
         this.queueDir = new File(parentDir, queueName.asString());
         this.queueDirName = queueDir.getAbsolutePath();
-        init();
+        this.index = init();
         this.flux = Mono.defer(this::deQueueOneItem)
             .repeat()
             .limitRate(1);
     }
 
     @Override
-    public void close() {
-        //There's no resource to free
+    public void close() throws IOException {
+        index.close();
     }
 
     @Override
@@ -127,86 +136,97 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
         return Mono.fromRunnable(Throwing.runnable(() -> enQueue(mail)).sneakyThrow());
     }
 
-    private void init() throws IOException {
-
+    private FileMailQueueIndex init() throws IOException {
         for (int i = 1; i <= SPLITCOUNT; i++) {
+            FileUtils.forceMkdir(new File(queueDir, Integer.toString(i)));
+        }
 
-            File qDir = new File(queueDir, Integer.toString(i));
-            FileUtils.forceMkdir(qDir);
+        FileMailQueueIndex loadedIndex = FileMailQueueIndex.open(queueDir, sync);
+        try {
+            indexUnindexedItems(loadedIndex);
+        } catch (IOException e) {
+            loadedIndex.close();
+            throw e;
+        }
+        loadedIndex.entries().forEach(this::schedule);
+        return loadedIndex;
+    }
 
+    /**
+     * Indexes the mails stored without being indexed: every mail of a queue directory written by previous versions,
+     * and mails whose enqueue was interrupted before being indexed.
+     */
+    private void indexUnindexedItems(FileMailQueueIndex loadedIndex) throws IOException {
+        int indexedCount = 0;
+        for (int i = 1; i <= SPLITCOUNT; i++) {
+            File qDir = new File(queueDir, Integer.toString(i));
             String[] files = qDir.list((dir, name) -> name.endsWith(OBJECT_EXTENSION));
 
             for (String name : files) {
-
-                ObjectInputStream oin = null;
-
-                try {
-
-                    final String msgFileName = name.substring(0, name.length() - OBJECT_EXTENSION.length()) + MSG_EXTENSION;
-
-                    FileItem item = new FileItem(qDir.getAbsolutePath() + File.separator + name, qDir.getAbsolutePath() + File.separator + msgFileName);
-
-                    oin = new ObjectInputStream(new FileInputStream(item.getObjectFile()));
+                String key = name.substring(0, name.length() - OBJECT_EXTENSION.length());
+                if (loadedIndex.get(key).isPresent()) {
+                    continue;
+                }
+                try (ObjectInputStream oin = new ObjectInputStream(new FileInputStream(new File(qDir, name)))) {
                     Mail mail = (Mail) oin.readObject();
-                    Optional<ZonedDateTime> next = getNextDelivery(mail);
-
-                    final String key = mail.getName();
-                    keyMappings.put(key, item);
-                    if (!next.isPresent() || next.get().isBefore(ZonedDateTime.now())) {
-
-                        try {
-                            inmemoryQueue.put(key);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            throw new RuntimeException("Unable to init", e);
-                        }
-                    } else {
-
-                        // Schedule a task which will put the mail in the queue
-                        // for processing after a given delay
-                        long nextDeliveryDelay = ZonedDateTime.now().until(next.get(), ChronoUnit.MILLIS);
-                        scheduler.schedule(() -> {
-                            try {
-                                inmemoryQueue.put(key);
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                                throw new RuntimeException("Unable to init", e);
-                            }
-                        }, nextDeliveryDelay, TimeUnit.MILLISECONDS);
-                    }
+                    loadedIndex.append(new FileMailQueueIndex.Entry(key, mail.getName(), i, getPriority(mail), getNextDelivery(mail)));
+                    indexedCount++;
                 } catch (ClassNotFoundException | IOException e) {
                     LOGGER.error("Unable to load Mail", e);
-                } finally {
-                    if (oin != null) {
-                        try {
-                            oin.close();
-                        } catch (Exception e) {
-                            // ignore on close
-                        }
-                    }
                 }
-
             }
         }
+        if (indexedCount > 0) {
+            LOGGER.info("Indexed {} mails of queue {}", indexedCount, queueName.asString());
+        }
     }
 
-    private Optional<ZonedDateTime> getNextDelivery(Mail mail) {
-        return AttributeUtils
-            .getValueAndCastFromMail(mail, NEXT_DELIVERY, Long.class)
-            .map(next -> Instant.ofEpochMilli(next).atZone(ZoneId.systemDefault()));
+    private Optional<Long> getNextDelivery(Mail mail) {
+        // Stored as epoch seconds, for compatibility with previous versions
+        return AttributeUtils.getValueAndCastFromMail(mail, NEXT_DELIVERY, Long.class)
+            .map(TimeUnit.SECONDS::toMillis);
+    }
+
+    private int getPriority(Mail mail) {
+        return AttributeUtils.getValueAndCastFromMail(mail, MailPrioritySupport.MAIL_PRIORITY, Integer.class)
+            .orElse(MailPrioritySupport.NORMAL_PRIORITY);
+    }
+
+    private void schedule(FileMailQueueIndex.Entry entry) {
+        ReadyMail readyMail = new ReadyMail(entry, sequence.incrementAndGet());
+        long nextDeliveryDelay = entry.getNextDelivery()
+            .map(next -> next - System.currentTimeMillis())
+            .orElse(0L);
+
+        if (nextDeliveryDelay > 0) {
+            // Schedule a task which will put the mail in the queue
+            // for processing after a given delay
+            scheduler.schedule(() -> inmemoryQueue.put(readyMail), nextDeliveryDelay, TimeUnit.MILLISECONDS);
+        } else {
+            inmemoryQueue.put(readyMail);
+        }
     }
 
     @Override
     public void enQueue(Mail mail, Duration delay) throws MailQueueException {
         final String key = mail.getName() + "-" + COUNTER.incrementAndGet();
         try {
-            int i = RANDOM.nextInt(SPLITCOUNT) + 1;
-
-            String name = queueDirName + "/" + i + "/" + key;
-
-            final FileItem item = new FileItem(name + OBJECT_EXTENSION, name + MSG_EXTENSION);
-            if (!delay.isNegative()) {
-                mail.setAttribute(new Attribute(NEXT_DELIVERY, AttributeValue.of(computeNextDelivery(delay))));
+            int bucket = RANDOM.nextInt(SPLITCOUNT) + 1;
+
+            final FileItem item = fileItem(bucket, key);
+            Optional<Long> nextDelivery = Optional.of(delay)
+                .filter(value -> !value.isNegative())
+                .map(this::computeNextDelivery);
+            nextDelivery.ifPresent(next -> mail.setAttribute(new Attribute(NEXT_DELIVERY,
+                AttributeValue.of(TimeUnit.MILLISECONDS.toSeconds(next)))));
+            // The object file is written last: once it exists, the mail is complete and gets indexed upon restart
+            // if the enqueue is interrupted before indexing it
+            try (FileOutputStream out = new FileOutputStream(item.getMessageFile())) {
+                mail.getMessage().writeTo(out);
+                out.flush();
+                if (sync) {
+                    out.getFD().sync();
+                }
             }
             try (FileOutputStream foout = new FileOutputStream(item.getObjectFile());
                 ObjectOutputStream oout = new ObjectOutputStream(foout)) {
@@ -216,34 +236,19 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
                     foout.getFD().sync();
                 }
             }
-            try (FileOutputStream out = new FileOutputStream(item.getMessageFile())) {
-                mail.getMessage().writeTo(out);
-                out.flush();
-                if (sync) {
-                    out.getFD().sync();
-                }
-            }
 
-            keyMappings.put(key, item);
-
-            if (!delay.isNegative()) {
-                // The message should get delayed so schedule it for later
-                scheduler.schedule(() -> {
-                    try {
-                        inmemoryQueue.put(key);
-
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("Unable to init", e);
-                    }
-                }, delay.getSeconds(), TimeUnit.SECONDS);
-
-            } else {
-                inmemoryQueue.put(key);
+            FileMailQueueIndex.Entry entry = new FileMailQueueIndex.Entry(key, mail.getName(), bucket, getPriority(mail), nextDelivery);
+            try {
+                index.append(entry);
+            } catch (IOException e) {
+                FileUtils.deleteQuietly(new File(item.getObjectFile()));
+                FileUtils.deleteQuietly(new File(item.getMessageFile()));
+                throw e;
             }
+            schedule(entry);
 
             //TODO: Think about exception handling in detail
-        } catch (IOException | MessagingException | InterruptedException e) {
+        } catch (IOException | MessagingException e) {
             throw new MailQueueException("Unable to enqueue mail", e);
         }
 
@@ -251,12 +256,21 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
 
     private long computeNextDelivery(Duration delay) {
         try {
-            return Instant.now().plus(delay).getEpochSecond();
+            return Instant.now().plus(delay).toEpochMilli();
         } catch (ArithmeticException e) {
             return Long.MAX_VALUE;
         }
     }
 
+    private FileItem fileItem(int bucket, String key) {
+        String name = queueDirName + "/" + bucket + "/" + key;
+        return new FileItem(name + OBJECT_EXTENSION, name + MSG_EXTENSION);
+    }
+
+    private FileItem fileItem(FileMailQueueIndex.Entry entry) {
+        return fileItem(entry.getBucket(), entry.getKey());
+    }
+
     @Override
     public void enQueue(Mail mail) throws MailQueueException {
         enQueue(mail, 0, TimeUnit.MILLISECONDS);
@@ -269,16 +283,16 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
 
     private Mono<MailQueueItem> deQueueOneItem() {
         try {
-            FileItem item = null;
-            String k = null;
-            while (item == null) {
-                k = inmemoryQueue.take();
+            Optional<FileMailQueueIndex.Entry> entry = Optional.empty();
+            ReadyMail readyMail = null;
+            while (!entry.isPresent()) {
+                readyMail = inmemoryQueue.take();
 
-                item = keyMappings.get(k);
+                entry = index.get(readyMail.getKey());
 
             }
-            final String key = k;
-            final FileItem fitem = item;
+            final ReadyMail ready = readyMail;
+            final FileItem fitem = fileItem(entry.get());
             try {
                 final File objectFile = new File(fitem.getObjectFile());
                 final File msgFile = new File(fitem.getMessageFile());
@@ -295,15 +309,14 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
                         @Override
                         public void done(boolean success) throws MailQueueException {
                             if (!success) {
+                                inmemoryQueue.put(ready);
+                            } else {
                                 try {
-                                    inmemoryQueue.put(key);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                    throw new MailQueueException("Unable to rollback", e);
+                                    index.remove(ready.getKey());
+                                } catch (IOException e) {
+                                    throw new MailQueueException("Unable to remove mail from the queue index", e);
                                 }
-                            } else {
                                 fitem.delete();
-                                keyMappings.remove(key);
                             }
 
                             LifecycleUtil.dispose(mail);
@@ -399,19 +412,45 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
         }
     }
 
+    /**
+     * Reference to an indexed mail ready for delivery, ordered by priority then by scheduling order
+     */
+    private static final class ReadyMail {
+        private final FileMailQueueIndex.Entry entry;
+        private final long sequence;
+
+        private ReadyMail(FileMailQueueIndex.Entry entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
+
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        public int getPriority() {
+            return entry.getPriority();
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
     @Override
     public long getSize() throws MailQueueException {
-        return keyMappings.size();
+        return index.size();
     }
 
     @Override
     public long flush() throws MailQueueException {
-        Iterator<String> keys = keyMappings.keySet().iterator();
+        Set<String> readyKeys = inmemoryQueue.stream()
+            .map(ReadyMail::getKey)
+            .collect(ImmutableSet.toImmutableSet());
         long i = 0;
-        while (keys.hasNext()) {
-            String key = keys.next();
-            if (!inmemoryQueue.contains(key)) {
-                inmemoryQueue.add(key);
+        for (FileMailQueueIndex.Entry entry : index.entries()) {
+            if (!readyKeys.contains(entry.getKey())) {
+                inmemoryQueue.add(new ReadyMail(entry, sequence.incrementAndGet()));
                 i++;
             }
         }
@@ -420,13 +459,17 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
 
     @Override
     public long clear() throws MailQueueException {
-        long count = getSize();
+        List<FileMailQueueIndex.Entry> entries = index.entries();
 
-        keyMappings.values().forEach(Throwing.consumer(FileItem::delete));
-        keyMappings.clear();
+        try {
+            index.clear();
+        } catch (IOException e) {
+            throw new MailQueueException("Unable to clear the queue index", e);
+        }
         inmemoryQueue.clear();
+        entries.forEach(Throwing.consumer(entry -> fileItem(entry).delete()));
 
-        return count;
+        return entries.size();
     }
 
     /**
@@ -436,13 +479,14 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
     public long remove(Type type, String value) throws MailQueueException {
         switch (type) {
             case Name:
-                FileItem item = keyMappings.remove(value);
-                if (item != null) {
-                    item.delete();
-                    return 1;
-                } else {
-                    return 0;
+                long count = 0;
+                for (FileMailQueueIndex.Entry entry : index.entries()) {
+                    if (entry.getName().equals(value) && removeFromIndex(entry)) {
+                        fileItem(entry).delete();
+                        count++;
+                    }
                 }
+                return count;
 
             default:
                 break;
@@ -451,9 +495,17 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
 
     }
 
+    private boolean removeFromIndex(FileMailQueueIndex.Entry entry) throws MailQueueException {
+        try {
+            return index.remove(entry.getKey()).isPresent();
+        } catch (IOException e) {
+            throw new MailQueueException("Unable to remove mail from the queue index", e);
+        }
+    }
+
     @Override
     public MailQueueIterator browse() throws MailQueueException {
-        final Iterator<FileItem> items = keyMappings.values().iterator();
+        final Iterator<FileMailQueueIndex.Entry> entries = index.entries().iterator();
 
         return new MailQueueIterator() {
             private MailQueueItemView item;
@@ -480,10 +532,11 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
                     return true;
                 }
 
-                while (items.hasNext()) {
-                    try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(items.next().getObjectFile()))) {
+                while (entries.hasNext()) {
+                    FileMailQueueIndex.Entry entry = entries.next();
+                    try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(fileItem(entry).getObjectFile()))) {
                         final Mail mail = (Mail) in.readObject();
-                        item = new DefaultMailQueueItemView(mail, getNextDelivery(mail));
+                        item = new DefaultMailQueueItemView(mail, nextDeliveryDate(entry));
                         return true;
                     } catch (IOException | ClassNotFoundException e) {
                         LOGGER.info("Unable to load mail", e);
@@ -500,4 +553,9 @@ public class FileCacheableMailQueue implements ManageableMailQueue {
         };
     }
 
+    private Optional<ZonedDateTime> nextDeliveryDate(FileMailQueueIndex.Entry entry) {
+        return entry.getNextDelivery()
+            .map(next -> Instant.ofEpochMilli(next).atZone(ZoneId.systemDefault()));
+    }
+
 }
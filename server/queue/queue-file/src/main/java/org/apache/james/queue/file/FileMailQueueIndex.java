@@ -0,0 +1,343 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Append-only journal of the mails held by a {@link FileCacheableMailQueue}.
+ * <p/>
+ * Each enqueued mail appends an {@link Entry} carrying what is needed to schedule it (name, priority, next delivery)
+ * and each removal appends a tombstone, so that the queue is reloaded at startup by reading this file only, without
+ * deserializing every enqueued mail.
+ * <p/>
+ * Records are checksummed: a torn trailing record left by a crash is discarded on reload. Once tombstones outnumber
+ * live entries the journal is rewritten with live entries only.
+ */
+class FileMailQueueIndex implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileMailQueueIndex.class);
+
+    static final String INDEX_FILE_NAME = "queue.index";
+    @VisibleForTesting
+    static final int COMPACTION_THRESHOLD = 1000;
+    private static final byte ENQUEUED = 1;
+    private static final byte REMOVED = 2;
+    private static final long NO_NEXT_DELIVERY = Long.MIN_VALUE;
+    // record length + record type + payload + checksum
+    private static final int RECORD_OVERHEAD = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
+
+    static class Entry {
+        private final String key;
+        private final String name;
+        private final int bucket;
+        private final int priority;
+        private final Optional<Long> nextDelivery;
+
+        Entry(String key, String name, int bucket, int priority, Optional<Long> nextDelivery) {
+            this.key = key;
+            this.name = name;
+            this.bucket = bucket;
+            this.priority = priority;
+            this.nextDelivery = nextDelivery;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getBucket() {
+            return bucket;
+        }
+
+        int getPriority() {
+            return priority;
+        }
+
+        /**
+         * @return the epoch millisecond before which the mail should not be delivered, if any
+         */
+        Optional<Long> getNextDelivery() {
+            return nextDelivery;
+        }
+
+        @Override
+        public final boolean equals(Object o) {
+            if (o instanceof Entry) {
+                Entry that = (Entry) o;
+
+                return Objects.equals(this.key, that.key)
+                    && Objects.equals(this.name, that.name)
+                    && Objects.equals(this.bucket, that.bucket)
+                    && Objects.equals(this.priority, that.priority)
+                    && Objects.equals(this.nextDelivery, that.nextDelivery);
+            }
+            return false;
+        }
+
+        @Override
+        public final int hashCode() {
+            return Objects.hash(key, name, bucket, priority, nextDelivery);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("key", key)
+                .add("name", name)
+                .add("bucket", bucket)
+                .add("priority", priority)
+                .add("nextDelivery", nextDelivery)
+                .toString();
+        }
+    }
+
+    static boolean exists(File queueDir) {
+        return new File(queueDir, INDEX_FILE_NAME).exists();
+    }
+
+    static FileMailQueueIndex open(File queueDir, boolean sync) throws IOException {
+        File file = new File(queueDir, INDEX_FILE_NAME);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileMailQueueIndex index = new FileMailQueueIndex(file, channel, sync);
+            index.load();
+            return index;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private final File file;
+    private final boolean sync;
+    private final Map<String, Entry> entries;
+    private FileChannel channel;
+    private int tombstones;
+
+    private FileMailQueueIndex(File file, FileChannel channel, boolean sync) {
+        this.file = file;
+        this.channel = channel;
+        this.sync = sync;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        long validSize = 0;
+        if (size > 0) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            while (readRecord(buffer)) {
+                validSize = buffer.position();
+            }
+        }
+        if (validSize < size) {
+            LOGGER.warn("Discarding {} bytes of corrupted trailing records in {}", size - validSize, file.getAbsolutePath());
+            channel.truncate(validSize);
+        }
+        channel.position(validSize);
+    }
+
+    private boolean readRecord(ByteBuffer buffer) throws IOException {
+        try {
+            int payloadSize = buffer.getInt();
+            if (payloadSize < 0 || payloadSize > MAX_PAYLOAD_SIZE) {
+                return false;
+            }
+            byte type = buffer.get();
+            byte[] payload = new byte[payloadSize];
+            buffer.get(payload);
+            long checksum = buffer.getLong();
+            if (checksum != checksum(type, payload)) {
+                return false;
+            }
+            apply(type, new DataInputStream(new ByteArrayInputStream(payload)));
+            return true;
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    private void apply(byte type, DataInputStream payload) throws IOException {
+        switch (type) {
+            case ENQUEUED:
+                Entry entry = readEntry(payload);
+                entries.put(entry.getKey(), entry);
+                return;
+            case REMOVED:
+                if (entries.remove(payload.readUTF()) != null) {
+                    tombstones++;
+                }
+                return;
+            default:
+                throw new IOException("Unknown record type " + type + " in " + file.getAbsolutePath());
+        }
+    }
+
+    private Entry readEntry(DataInputStream payload) throws IOException {
+        String key = payload.readUTF();
+        String name = payload.readUTF();
+        int bucket = payload.readInt();
+        int priority = payload.readInt();
+        long nextDelivery = payload.readLong();
+        return new Entry(key, name, bucket, priority, Optional.of(nextDelivery).filter(value -> value != NO_NEXT_DELIVERY));
+    }
+
+    synchronized void append(Entry entry) throws IOException {
+        writeRecord(channel, ENQUEUED, serialize(entry));
+        entries.put(entry.getKey(), entry);
+    }
+
+    synchronized Optional<Entry> remove(String key) throws IOException {
+        if (!entries.containsKey(key)) {
+            return Optional.empty();
+        }
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeUTF(key);
+        }
+        writeRecord(channel, REMOVED, payload.toByteArray());
+        Entry removed = entries.remove(key);
+        tombstones++;
+        if (tombstones > COMPACTION_THRESHOLD && tombstones > entries.size()) {
+            compact();
+        }
+        return Optional.of(removed);
+    }
+
+    synchronized Optional<Entry> get(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    synchronized List<Entry> entries() {
+        return ImmutableList.copyOf(entries.values());
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() throws IOException {
+        entries.clear();
+        tombstones = 0;
+        channel.truncate(0);
+        channel.position(0);
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    @VisibleForTesting
+    synchronized long fileSize() throws IOException {
+        return channel.size();
+    }
+
+    private void compact() throws IOException {
+        File compacted = new File(file.getParentFile(), INDEX_FILE_NAME + ".compacting");
+        try (FileChannel compactedChannel = FileChannel.open(compacted.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Entry entry : entries.values()) {
+                writeRecord(compactedChannel, ENQUEUED, serialize(entry));
+            }
+            compactedChannel.force(false);
+        }
+        channel.close();
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        tombstones = 0;
+    }
+
+    private byte[] serialize(Entry entry) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(payload)) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getName());
+            out.writeInt(entry.getBucket());
+            out.writeInt(entry.getPriority());
+            out.writeLong(entry.getNextDelivery().orElse(NO_NEXT_DELIVERY));
+        }
+        return payload.toByteArray();
+    }
+
+    private void writeRecord(FileChannel target, byte type, byte[] payload) throws IOException {
+        long start = target.position();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_OVERHEAD + payload.length)
+            .putInt(payload.length)
+            .put(type)
+            .put(payload)
+            .putLong(checksum(type, payload));
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                target.write(record);
+            }
+            if (sync) {
+                target.force(false);
+            }
+        } catch (IOException e) {
+            // Do not leave a torn record in front of the next ones
+            target.truncate(start);
+            throw e;
+        }
+    }
+
+    private long checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,133 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.file;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.apache.james.queue.api.MailQueue;
+import org.apache.james.queue.api.MailQueueName;
+import org.apache.james.queue.api.ManageableMailQueue;
+import org.apache.james.queue.api.Mails;
+import org.apache.james.queue.api.RawMailQueueItemDecoratorFactory;
+import org.apache.james.server.core.MailImpl;
+import org.apache.mailet.Attribute;
+import org.apache.mailet.AttributeValue;
+import org.apache.mailet.Mail;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+
+import reactor.core.publisher.Flux;
+
+class FileCacheableMailQueueIndexingTest {
+    private static final boolean SYNC = false;
+    private static final MailQueueName QUEUE_NAME = MailQueueName.of("test");
+
+    @TempDir
+    File parentDir;
+
+    @Test
+    void legacyNextDeliveryShouldBeReadAsEpochSeconds() throws Exception {
+        Instant nextDelivery = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        Mail mail = legacyMail("name1");
+        mail.setAttribute(new Attribute(FileCacheableMailQueue.NEXT_DELIVERY, AttributeValue.of(nextDelivery.getEpochSecond())));
+        storeWithoutIndexing(mail, 1, "name1-1");
+
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            assertThat(ImmutableList.copyOf(mailQueue.browse()))
+                .singleElement()
+                .satisfies(item -> assertThat(item.getNextDelivery())
+                    .hasValueSatisfying(date -> assertThat(date.toInstant()).isEqualTo(nextDelivery)));
+        }
+    }
+
+    @Test
+    void legacyMailsDueForDeliveryShouldBeDequeued() throws Exception {
+        Mail mail = legacyMail("name1");
+        mail.setAttribute(new Attribute(FileCacheableMailQueue.NEXT_DELIVERY,
+            AttributeValue.of(Instant.now().minus(1, ChronoUnit.HOURS).getEpochSecond())));
+        storeWithoutIndexing(mail, 1, "name1-1");
+
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            MailQueue.MailQueueItem item = Flux.from(mailQueue.deQueue()).blockFirst(Duration.ofSeconds(10));
+
+            assertThat(item.getMail().getName()).isEqualTo("name1");
+        }
+    }
+
+    @Test
+    void mailsStoredButNotIndexedShouldBeIndexedOnRestart() throws Exception {
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            mailQueue.enQueue(Mails.defaultMail().name("name1").build());
+        }
+        storeWithoutIndexing(legacyMail("name2"), 2, "name2-2");
+
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            assertThat(mailQueue.getSize()).isEqualTo(2);
+            assertThat(ImmutableList.copyOf(mailQueue.browse()))
+                .extracting(item -> item.getMail().getName())
+                .containsOnly("name1", "name2");
+        }
+    }
+
+    @Test
+    void restartShouldNotIndexMailsTwice() throws Exception {
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            mailQueue.enQueue(Mails.defaultMail().name("name1").build());
+        }
+
+        try (FileCacheableMailQueue mailQueue = newMailQueue()) {
+            assertThat(mailQueue.getSize()).isEqualTo(1);
+        }
+    }
+
+    private FileCacheableMailQueue newMailQueue() throws Exception {
+        return new FileCacheableMailQueue(new RawMailQueueItemDecoratorFactory(), parentDir, QUEUE_NAME, SYNC);
+    }
+
+    private Mail legacyMail(String name) throws Exception {
+        MailImpl mail = MailImpl.duplicate(Mails.defaultMail().name(name).build());
+        mail.setName(name);
+        return mail;
+    }
+
+    /**
+     * Stores the mail files the way previous versions did, without indexing them
+     */
+    private void storeWithoutIndexing(Mail mail, int bucket, String key) throws Exception {
+        File bucketDir = new File(new File(parentDir, QUEUE_NAME.asString()), Integer.toString(bucket));
+        bucketDir.mkdirs();
+        try (FileOutputStream out = new FileOutputStream(new File(bucketDir, key + ".msg"))) {
+            mail.getMessage().writeTo(out);
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(new File(bucketDir, key + ".obj")))) {
+            out.writeObject(mail);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.queue.file;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.fge.lambdas.Throwing;
+
+class FileMailQueueIndexTest {
+    private static final boolean SYNC = false;
+    private static final FileMailQueueIndex.Entry ENTRY_1 = new FileMailQueueIndex.Entry("name1-1", "name1", 1, 5, Optional.empty());
+    private static final FileMailQueueIndex.Entry ENTRY_2 = new FileMailQueueIndex.Entry("name2-2", "name2", 2, 9, Optional.of(1234L));
+
+    @TempDir
+    File queueDir;
+
+    private FileMailQueueIndex testee;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testee = FileMailQueueIndex.open(queueDir, SYNC);
+    }
+
+    @Test
+    void openShouldCreateTheIndex() {
+        assertThat(FileMailQueueIndex.exists(queueDir)).isTrue();
+    }
+
+    @Test
+    void entriesShouldBeEmptyByDefault() {
+        assertThat(testee.entries()).isEmpty();
+    }
+
+    @Test
+    void entriesShouldReturnAppendedEntriesInOrder() throws Exception {
+        testee.append(ENTRY_1);
+        testee.append(ENTRY_2);
+
+        assertThat(testee.entries()).containsExactly(ENTRY_1, ENTRY_2);
+    }
+
+    @Test
+    void getShouldReturnEntryByKey() throws Exception {
+        testee.append(ENTRY_1);
+
+        assertThat(testee.get(ENTRY_1.getKey())).contains(ENTRY_1);
+    }
+
+    @Test
+    void removeShouldReturnRemovedEntry() throws Exception {
+        testee.append(ENTRY_1);
+
+        assertThat(testee.remove(ENTRY_1.getKey())).contains(ENTRY_1);
+    }
+
+    @Test
+    void removeShouldReturnEmptyWhenUnknownKey() throws Exception {
+        assertThat(testee.remove("unknown")).isEmpty();
+    }
+
+    @Test
+    void removeShouldOnlyRemoveTheGivenKey() throws Exception {
+        testee.append(ENTRY_1);
+        testee.append(ENTRY_2);
+
+        testee.remove(ENTRY_1.getKey());
+
+        assertThat(testee.entries()).containsExactly(ENTRY_2);
+        assertThat(testee.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reopeningShouldRestoreLiveEntries() throws Exception {
+        testee.append(ENTRY_1);
+        testee.append(ENTRY_2);
+        testee.remove(ENTRY_1.getKey());
+        testee.close();
+
+        FileMailQueueIndex reopened = FileMailQueueIndex.open(queueDir, SYNC);
+
+        assertThat(reopened.entries()).containsExactly(ENTRY_2);
+    }
+
+    @Test
+    void reopeningShouldDiscardTornTrailingRecord() throws Exception {
+        testee.append(ENTRY_1);
+        long sizeAfterFirstRecord = testee.fileSize();
+        testee.append(ENTRY_2);
+        testee.close();
+        try (RandomAccessFile file = new RandomAccessFile(new File(queueDir, FileMailQueueIndex.INDEX_FILE_NAME), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        FileMailQueueIndex reopened = FileMailQueueIndex.open(queueDir, SYNC);
+
+        assertThat(reopened.entries()).containsExactly(ENTRY_1);
+        assertThat(reopened.fileSize()).isEqualTo(sizeAfterFirstRecord);
+    }
+
+    @Test
+    void appendAfterRecoveryShouldBeReadable() throws Exception {
+        testee.append(ENTRY_1);
+        testee.close();
+        try (RandomAccessFile file = new RandomAccessFile(new File(queueDir, FileMailQueueIndex.INDEX_FILE_NAME), "rw")) {
+            file.seek(file.length());
+            file.write(new byte[] {0, 0, 0, 42, 1});
+        }
+        FileMailQueueIndex recovered = FileMailQueueIndex.open(queueDir, SYNC);
+        recovered.append(ENTRY_2);
+        recovered.close();
+
+        FileMailQueueIndex reopened = FileMailQueueIndex.open(queueDir, SYNC);
+
+        assertThat(reopened.entries()).containsExactly(ENTRY_1, ENTRY_2);
+    }
+
+    @Test
+    void reopeningShouldDiscardCorruptedRecord() throws Exception {
+        testee.append(ENTRY_1);
+        long sizeAfterFirstRecord = testee.fileSize();
+        testee.append(ENTRY_2);
+        testee.close();
+        try (RandomAccessFile file = new RandomAccessFile(new File(queueDir, FileMailQueueIndex.INDEX_FILE_NAME), "rw")) {
+            file.seek(sizeAfterFirstRecord + 8);
+            file.write(0xFF);
+        }
+
+        FileMailQueueIndex reopened = FileMailQueueIndex.open(queueDir, SYNC);
+
+        assertThat(reopened.entries()).containsExactly(ENTRY_1);
+    }
+
+    @Test
+    void clearShouldRemoveAllEntries() throws Exception {
+        testee.append(ENTRY_1);
+        testee.append(ENTRY_2);
+
+        testee.clear();
+        testee.close();
+
+        assertThat(FileMailQueueIndex.open(queueDir, SYNC).entries()).isEmpty();
+    }
+
+    @Test
+    void removalsShouldTriggerCompaction() throws Exception {
+        int count = FileMailQueueIndex.COMPACTION_THRESHOLD + 1;
+        IntStream.range(0, count)
+            .mapToObj(i -> new FileMailQueueIndex.Entry("key" + i, "name" + i, 1, 5, Optional.empty()))
+            .forEach(Throwing.consumer(testee::append));
+        long sizeBeforeRemovals = testee.fileSize();
+
+        IntStream.range(0, count)
+            .forEach(Throwing.intConsumer(i -> testee.remove("key" + i)));
+        testee.append(ENTRY_1);
+
+        assertThat(testee.fileSize()).isLessThan(sizeBeforeRemovals);
+        testee.close();
+        assertThat(FileMailQueueIndex.open(queueDir, SYNC).entries()).containsExactly(ENTRY_1);
+    }
+}
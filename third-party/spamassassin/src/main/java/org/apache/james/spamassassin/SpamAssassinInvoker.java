@@ -26,17 +26,23 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.james.core.Username;
+import org.apache.james.metrics.api.Metric;
 import org.apache.james.metrics.api.MetricFactory;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,13 +50,25 @@ import com.github.fge.lambdas.Throwing;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * Sends the message through daemonized SpamAssassin (spamd), visit <a
  * href="SpamAssassin.org">SpamAssassin.org</a> for info on configuration.
+ *
+ * An invoker bounds the number of concurrent spamd connections, see {@link SpamdClientConfiguration}.
+ * It is thread safe and meant to be shared.
  */
 public class SpamAssassinInvoker {
     private static final Logger LOGGER = LoggerFactory.getLogger(SpamAssassinInvoker.class);
 
+    @FunctionalInterface
+    private interface SpamdRequest<T> {
+        T execute() throws MessagingException;
+    }
+
     enum MessageClass {
         HAM("ham"),
         SPAM("spam");
@@ -66,10 +84,14 @@ public class SpamAssassinInvoker {
     private static final int HITS_INDEX = 3;
     private static final int REQUIRED_HITS_INDEX = 5;
     private static final String CRLF = "\r\n";
+    private static final String IN_FLIGHT_REQUESTS_METRIC = "spamAssassin-in-flight-requests";
 
     private final MetricFactory metricFactory;
     private final String spamdHost;
     private final int spamdPort;
+    private final SpamdClientConfiguration configuration;
+    private final Semaphore connectionPermits;
+    private final Metric inFlightRequests;
 
     /**
      * Init the spamassassin invoker
@@ -79,9 +101,16 @@ public class SpamAssassinInvoker {
      * @param spamdPort
      */
     public SpamAssassinInvoker(MetricFactory metricFactory, String spamdHost, int spamdPort) {
+        this(metricFactory, spamdHost, spamdPort, SpamdClientConfiguration.DEFAULT);
+    }
+
+    public SpamAssassinInvoker(MetricFactory metricFactory, String spamdHost, int spamdPort, SpamdClientConfiguration configuration) {
         this.metricFactory = metricFactory;
         this.spamdHost = spamdHost;
         this.spamdPort = spamdPort;
+        this.configuration = configuration;
+        this.connectionPermits = new Semaphore(configuration.getMaxConcurrentRequests(), true);
+        this.inFlightRequests = metricFactory.generate(IN_FLIGHT_REQUESTS_METRIC);
     }
 
     /**
@@ -111,7 +140,11 @@ public class SpamAssassinInvoker {
     }
 
     private SpamAssassinResult scanMailWithAdditionalHeaders(MimeMessage message, String... additionalHeaders) throws MessagingException {
-        try (Socket socket = new Socket(spamdHost, spamdPort);
+        return withConnectionPermit(() -> doScanMail(message, additionalHeaders));
+    }
+
+    private SpamAssassinResult doScanMail(MimeMessage message, String... additionalHeaders) throws MessagingException {
+        try (Socket socket = connect();
              OutputStream out = socket.getOutputStream();
              BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(out);
              PrintWriter writer = new PrintWriter(bufferedOutputStream);
@@ -146,7 +179,7 @@ public class SpamAssassinInvoker {
             return spamAssassinResult;
         } catch (UnknownHostException e) {
             throw new MessagingException("Error communicating with spamd. Unknown host: " + spamdHost);
-        } catch (IOException | MessagingException e) {
+        } catch (IOException | UncheckedIOException | MessagingException e) {
             throw new MessagingException("Error communicating with spamd on " + spamdHost + ":" + spamdPort, e);
         }
     }
@@ -217,8 +250,40 @@ public class SpamAssassinInvoker {
                 .sneakyThrow());
     }
 
+    /**
+     * Tells spamd that the given messages are spams.
+     *
+     * At most <code>maxConcurrentRequests</code> messages are requested from the publisher and
+     * reported at a time.
+     *
+     * @return whether each message had been set
+     */
+    public Flux<Boolean> learnAsSpam(Publisher<InputStream> messages, Username username) {
+        return Flux.from(messages)
+            .flatMap(message -> Mono.fromCallable(() -> learnAsSpam(message, username))
+                .subscribeOn(Schedulers.elastic()), configuration.getMaxConcurrentRequests());
+    }
+
+    /**
+     * Tells spamd that the given messages are hams.
+     *
+     * At most <code>maxConcurrentRequests</code> messages are requested from the publisher and
+     * reported at a time.
+     *
+     * @return whether each message had been set
+     */
+    public Flux<Boolean> learnAsHam(Publisher<InputStream> messages, Username username) {
+        return Flux.from(messages)
+            .flatMap(message -> Mono.fromCallable(() -> learnAsHam(message, username))
+                .subscribeOn(Schedulers.elastic()), configuration.getMaxConcurrentRequests());
+    }
+
     private boolean reportMessageAs(InputStream message, Username username, MessageClass messageClass) throws MessagingException {
-        try (Socket socket = new Socket(spamdHost, spamdPort);
+        return withConnectionPermit(() -> doReportMessageAs(message, username, messageClass));
+    }
+
+    private boolean doReportMessageAs(InputStream message, Username username, MessageClass messageClass) throws MessagingException {
+        try (Socket socket = connect();
              OutputStream out = socket.getOutputStream();
              BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(out);
              PrintWriter writer = new PrintWriter(bufferedOutputStream);
@@ -253,7 +318,7 @@ public class SpamAssassinInvoker {
             return hasBeenSet;
         } catch (UnknownHostException e) {
             throw new MessagingException("Error communicating with spamd. Unknown host: " + spamdHost);
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             throw new MessagingException("Error communicating with spamd on " + spamdHost + ":" + spamdPort, e);
         }
     }
@@ -261,4 +326,39 @@ public class SpamAssassinInvoker {
     private boolean hasBeenSet(String line) {
         return line.startsWith("DidSet: ");
     }
+
+    private <T> T withConnectionPermit(SpamdRequest<T> request) throws MessagingException {
+        acquireConnectionPermit();
+        inFlightRequests.increment();
+        try {
+            return request.execute();
+        } finally {
+            inFlightRequests.decrement();
+            connectionPermits.release();
+        }
+    }
+
+    private void acquireConnectionPermit() throws MessagingException {
+        try {
+            if (!connectionPermits.tryAcquire(configuration.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timeout waiting for one of the " + configuration.getMaxConcurrentRequests()
+                    + " connections to spamd on " + spamdHost + ":" + spamdPort);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for a connection to spamd on " + spamdHost + ":" + spamdPort, e);
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(spamdHost, spamdPort), Math.toIntExact(configuration.getConnectTimeout().toMillis()));
+            socket.setSoTimeout(Math.toIntExact(configuration.getReadTimeout().toMillis()));
+            return socket;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.spamassassin;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Limits applied by {@link SpamAssassinInvoker} to its spamd connections.
+ *
+ * The spamd protocol closes the connection after each answer, so rather than keeping connections
+ * around the invoker bounds how many of them are opened at once: callers exceeding
+ * <code>maxConcurrentRequests</code> wait up to <code>connectTimeout</code> for another request
+ * to complete.
+ */
+public class SpamdClientConfiguration {
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofMinutes(1);
+    public static final SpamdClientConfiguration DEFAULT = builder().build();
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Optional<Integer> maxConcurrentRequests;
+        private Optional<Duration> connectTimeout;
+        private Optional<Duration> readTimeout;
+
+        private Builder() {
+            this.maxConcurrentRequests = Optional.empty();
+            this.connectTimeout = Optional.empty();
+            this.readTimeout = Optional.empty();
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            Preconditions.checkArgument(maxConcurrentRequests > 0, "'maxConcurrentRequests' needs to be strictly positive");
+            this.maxConcurrentRequests = Optional.of(maxConcurrentRequests);
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            Preconditions.checkArgument(isStrictlyPositive(connectTimeout), "'connectTimeout' needs to be strictly positive");
+            this.connectTimeout = Optional.of(connectTimeout);
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            Preconditions.checkArgument(isStrictlyPositive(readTimeout), "'readTimeout' needs to be strictly positive");
+            this.readTimeout = Optional.of(readTimeout);
+            return this;
+        }
+
+        private boolean isStrictlyPositive(Duration duration) {
+            return !duration.isNegative() && !duration.isZero();
+        }
+
+        public SpamdClientConfiguration build() {
+            return new SpamdClientConfiguration(
+                maxConcurrentRequests.orElse(DEFAULT_MAX_CONCURRENT_REQUESTS),
+                connectTimeout.orElse(DEFAULT_CONNECT_TIMEOUT),
+                readTimeout.orElse(DEFAULT_READ_TIMEOUT));
+        }
+    }
+
+    private final int maxConcurrentRequests;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    private SpamdClientConfiguration(int maxConcurrentRequests, Duration connectTimeout, Duration readTimeout) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    @Override
+    public final boolean equals(Object o) {
+        if (o instanceof SpamdClientConfiguration) {
+            SpamdClientConfiguration that = (SpamdClientConfiguration) o;
+
+            return Objects.equals(this.maxConcurrentRequests, that.maxConcurrentRequests)
+                && Objects.equals(this.connectTimeout, that.connectTimeout)
+                && Objects.equals(this.readTimeout, that.readTimeout);
+        }
+        return false;
+    }
+
+    @Override
+    public final int hashCode() {
+        return Objects.hash(maxConcurrentRequests, connectTimeout, readTimeout);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("maxConcurrentRequests", maxConcurrentRequests)
+            .add("connectTimeout", connectTimeout)
+            .add("readTimeout", readTimeout)
+            .toString();
+    }
+}
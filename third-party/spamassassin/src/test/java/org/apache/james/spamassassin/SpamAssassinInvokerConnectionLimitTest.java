@@ -0,0 +1,190 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.spamassassin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.mail.MessagingException;
+
+import org.apache.james.core.Username;
+import org.apache.james.metrics.tests.RecordingMetricFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+
+class SpamAssassinInvokerConnectionLimitTest {
+    private static final Username USERNAME = Username.of("any@james");
+    private static final String DID_SET_ANSWER = "SPAMD/1.1 0 EX_OK\r\nDidSet: local\r\n";
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+    private AtomicInteger openConnections;
+    private AtomicInteger maxOpenConnections;
+    private CountDownLatch answerLatch;
+    private RecordingMetricFactory metricFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor = Executors.newCachedThreadPool();
+        openConnections = new AtomicInteger();
+        maxOpenConnections = new AtomicInteger();
+        answerLatch = new CountDownLatch(0);
+        metricFactory = new RecordingMetricFactory();
+        executor.submit(this::acceptConnections);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        try {
+            while (true) {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> answer(socket));
+            }
+        } catch (IOException e) {
+            // server socket closed
+        }
+    }
+
+    private void answer(Socket socket) {
+        int open = openConnections.incrementAndGet();
+        maxOpenConnections.accumulateAndGet(open, Math::max);
+        try (Socket connection = socket) {
+            try {
+                connection.getInputStream().readAllBytes();
+                Thread.sleep(50);
+                answerLatch.await();
+                OutputStream out = connection.getOutputStream();
+                out.write(DID_SET_ANSWER.getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+            } finally {
+                // before closing, as closing lets the client open its next connection
+                openConnections.decrementAndGet();
+            }
+        } catch (IOException | InterruptedException e) {
+            // connection closed
+        }
+    }
+
+    private SpamAssassinInvoker invoker(SpamdClientConfiguration configuration) {
+        return new SpamAssassinInvoker(metricFactory, "127.0.0.1", serverSocket.getLocalPort(), configuration);
+    }
+
+    private InputStream message(int index) {
+        return new ByteArrayInputStream(("Subject: message " + index + "\r\n\r\nbody\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void learnAsSpamShouldReportAllMessages() {
+        SpamAssassinInvoker testee = invoker(SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(2)
+            .build());
+
+        assertThat(testee.learnAsSpam(Flux.range(0, 10).map(this::message), USERNAME).collectList().block())
+            .hasSize(10)
+            .containsOnly(true);
+    }
+
+    @Test
+    void learnAsHamShouldNotExceedMaxConcurrentRequests() {
+        SpamAssassinInvoker testee = invoker(SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(2)
+            .build());
+
+        testee.learnAsHam(Flux.range(0, 10).map(this::message), USERNAME).blockLast();
+
+        assertThat(maxOpenConnections.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void concurrentCallersShouldNotExceedMaxConcurrentRequests() throws Exception {
+        SpamAssassinInvoker testee = invoker(SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(2)
+            .build());
+
+        Flux.range(0, 10)
+            .flatMap(index -> testee.learnAsSpam(Flux.just(message(index)), USERNAME))
+            .blockLast();
+
+        assertThat(maxOpenConnections.get()).isBetween(1, 2);
+        assertThat(metricFactory.countFor("spamAssassin-in-flight-requests")).isEqualTo(0);
+    }
+
+    @Test
+    void callersShouldFailWhenNoConnectionIsReleasedInTime() throws Exception {
+        answerLatch = new CountDownLatch(1);
+        SpamAssassinInvoker testee = invoker(SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build());
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            caller.submit(() -> testee.learnAsSpam(message(0), USERNAME));
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> testee.learnAsSpam(message(1), USERNAME))
+                .isInstanceOf(MessagingException.class)
+                .hasMessageContaining("Timeout waiting");
+        } finally {
+            answerLatch.countDown();
+            caller.shutdown();
+            caller.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void callersShouldFailWhenSpamdDoesNotAnswerInTime() {
+        answerLatch = new CountDownLatch(1);
+        SpamAssassinInvoker testee = invoker(SpamdClientConfiguration.builder()
+            .readTimeout(Duration.ofMillis(200))
+            .build());
+
+        try {
+            assertThatThrownBy(() -> testee.learnAsSpam(message(0), USERNAME))
+                .isInstanceOf(MessagingException.class);
+            assertThat(metricFactory.countFor("spamAssassin-in-flight-requests")).isEqualTo(0);
+        } finally {
+            answerLatch.countDown();
+        }
+    }
+}
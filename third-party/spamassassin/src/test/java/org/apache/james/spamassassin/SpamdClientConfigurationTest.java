@@ -0,0 +1,77 @@
+/****************************************************************
+ * Licensed to the Apache Software Foundation (ASF) under one   *
+ * or more contributor license agreements.  See the NOTICE file *
+ * distributed with this work for additional information        *
+ * regarding copyright ownership.  The ASF licenses this file   *
+ * to you under the Apache License, Version 2.0 (the            *
+ * "License"); you may not use this file except in compliance   *
+ * with the License.  You may obtain a copy of the License at   *
+ *                                                              *
+ *   http://www.apache.org/licenses/LICENSE-2.0                 *
+ *                                                              *
+ * Unless required by applicable law or agreed to in writing,   *
+ * software distributed under the License is distributed on an  *
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY       *
+ * KIND, either express or implied.  See the License for the    *
+ * specific language governing permissions and limitations      *
+ * under the License.                                           *
+ ****************************************************************/
+
+package org.apache.james.spamassassin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+
+class SpamdClientConfigurationTest {
+    @Test
+    void shouldMatchBeanContract() {
+        EqualsVerifier.forClass(SpamdClientConfiguration.class)
+            .verify();
+    }
+
+    @Test
+    void buildShouldApplyDefaults() {
+        SpamdClientConfiguration configuration = SpamdClientConfiguration.builder().build();
+
+        assertThat(configuration.getMaxConcurrentRequests()).isEqualTo(SpamdClientConfiguration.DEFAULT_MAX_CONCURRENT_REQUESTS);
+        assertThat(configuration.getConnectTimeout()).isEqualTo(SpamdClientConfiguration.DEFAULT_CONNECT_TIMEOUT);
+        assertThat(configuration.getReadTimeout()).isEqualTo(SpamdClientConfiguration.DEFAULT_READ_TIMEOUT);
+    }
+
+    @Test
+    void buildShouldKeepSpecifiedValues() {
+        SpamdClientConfiguration configuration = SpamdClientConfiguration.builder()
+            .maxConcurrentRequests(3)
+            .connectTimeout(Duration.ofSeconds(1))
+            .readTimeout(Duration.ofSeconds(2))
+            .build();
+
+        assertThat(configuration.getMaxConcurrentRequests()).isEqualTo(3);
+        assertThat(configuration.getConnectTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(configuration.getReadTimeout()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void maxConcurrentRequestsShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> SpamdClientConfiguration.builder().maxConcurrentRequests(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void connectTimeoutShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> SpamdClientConfiguration.builder().connectTimeout(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void readTimeoutShouldBeStrictlyPositive() {
+        assertThatThrownBy(() -> SpamdClientConfiguration.builder().readTimeout(Duration.ofSeconds(-1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}